@@ -12,6 +12,7 @@ plugins {
     id("implementation-structure")
     id("org.jetbrains.gradle.plugin.idea-ext")
     id("com.github.ben-manes.versions")
+    id("me.champeau.jmh")
 }
 
 val commonProject = project
@@ -210,6 +211,11 @@ dependencies {
     testImplementation("org.mockito:mockito-inline:$mockitoVersion")
 }
 
+// Benchmarks live in src/jmh and are run by hand, e.g. ./gradlew jmh -Pjmh.includes=RayTrace
+jmh {
+    includes.set(providers.gradleProperty("jmh.includes").map { listOf(it) }.orElse(listOf()))
+}
+
 val organization: String by project
 val projectUrl: String by project
 indraSpotlessLicenser {
@@ -16,6 +16,7 @@ pluginManagement {
         id("implementation-structure")
         id("org.jetbrains.gradle.plugin.idea-ext") version "1.1.6"
         id("com.github.ben-manes.versions") version "0.42.0"
+        id("me.champeau.jmh") version "0.6.8"
     }
 }
 
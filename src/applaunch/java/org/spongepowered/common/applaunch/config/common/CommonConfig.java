@@ -80,6 +80,9 @@ public final class CommonConfig implements Config {
     @Setting
     public final OptimizationCategory optimizations = new OptimizationCategory();
 
+    @Setting
+    public final SchedulerCategory scheduler = new SchedulerCategory();
+
     @Setting("phase-tracker")
     public final PhaseTrackerCategory phaseTracker = new PhaseTrackerCategory();
 
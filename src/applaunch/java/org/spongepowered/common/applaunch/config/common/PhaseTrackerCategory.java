@@ -102,6 +102,13 @@ public final class PhaseTrackerCategory {
                                                             + "The default value should almost always work properly -  it's unlikely you'll ever have to change it.")
     public int maxBlockProcessingDepth = 1000;
 
+    @Setting("parallel-snapshot-threshold")
+    @Comment("The number of block transactions in a single batch above which the resulting\n"
+             + "block snapshots are created on the common fork-join pool instead of the\n"
+             + "server thread. Large explosions or mass block changes benefit from this.\n"
+             + "Set to '0' to always create snapshots on the server thread.")
+    public int parallelSnapshotThreshold = 4096;
+
     @Setting("report-null-source-blocks-on-neighbor-notifications")
     @Comment("If true, when a mod attempts to perform a neighbor notification\n"
              + "on a block, some mods do not know to perform a 'null' check\n"
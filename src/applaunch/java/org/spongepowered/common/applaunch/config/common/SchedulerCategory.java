@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.applaunch.config.common;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+
+@ConfigSerializable
+public final class SchedulerCategory {
+
+    @Setting("async-executor-mode")
+    @Comment(
+        "The threads used to run asynchronous scheduler tasks. Supported values:\n"
+            + "  - CACHED: Create a new thread whenever all existing threads are busy\n"
+            + "  - VIRTUAL: Run every task on its own virtual thread, falls back to CACHED\n"
+            + "    if the JVM does not support virtual threads\n"
+            + "  - BOUNDED: Use a work stealing pool with a fixed amount of threads, see\n"
+            + "    'async-pool-size'"
+    )
+    public ExecutorMode asyncExecutorMode = ExecutorMode.CACHED;
+
+    @Setting("async-pool-size")
+    @Comment("The amount of threads of the 'BOUNDED' async executor. If '0',\n"
+            + "the amount of available processors is used.")
+    public int asyncPoolSize = 0;
+
+    @Setting("async-per-plugin-concurrency")
+    @Comment("The maximum amount of asynchronous tasks of a single plugin that may\n"
+            + "run at the same time. Further tasks of that plugin are queued until\n"
+            + "one of its running tasks completes, so a plugin flooding the scheduler\n"
+            + "cannot take up every thread. If '0', the amount is not limited.")
+    public int asyncPerPluginConcurrency = 0;
+
+    @Setting("async-per-plugin-max-pending")
+    @Comment("The maximum amount of asynchronous tasks of a single plugin that may\n"
+            + "be queued or running at the same time. Further tasks of that plugin are\n"
+            + "rejected until some of them completed, so a plugin flooding the\n"
+            + "scheduler cannot queue tasks without limit. If '0', the amount is not\n"
+            + "limited.")
+    public int asyncPerPluginMaxPending = 65536;
+
+    @Setting("sync-tick-budget-ms")
+    @Comment("The time in milliseconds synchronous tasks may take per tick. Tasks\n"
+            + "that are due once the budget is exhausted are carried over to the\n"
+            + "next tick, taking turns between plugins. Tasks built with\n"
+            + "'mustRunThisTick' always run when due. If '0', all due tasks run\n"
+            + "every tick.")
+    public int syncTickBudgetMillis = 0;
+
+    public enum ExecutorMode {
+        CACHED,
+        VIRTUAL,
+        BOUNDED
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.math.vector.Vector3d;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive block traversal and entity clipping of ray traces
+ * with the vector based stepping and {@link AABB#clip} they replaced. Rays
+ * are traced without a world, so only the traversal itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RayTraceBenchmark {
+
+    private static final int RAYS = 256;
+
+    @Param({"30", "120"})
+    public int length;
+
+    @Param({"16"})
+    public int entities;
+
+    private final Vector3d[] starts = new Vector3d[RayTraceBenchmark.RAYS];
+    private final Vector3d[] directions = new Vector3d[RayTraceBenchmark.RAYS];
+    private AABB[] boxes;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        for (int i = 0; i < RayTraceBenchmark.RAYS; i++) {
+            this.starts[i] = new Vector3d(random.nextDouble() * 16, 64 + random.nextDouble() * 16, random.nextDouble() * 16);
+            this.directions[i] = new Vector3d(random.nextGaussian(), random.nextGaussian(), random.nextGaussian()).normalize();
+        }
+        this.boxes = new AABB[this.entities];
+        for (int i = 0; i < this.entities; i++) {
+            final double x = random.nextDouble() * 64 - 32;
+            final double y = 64 + random.nextDouble() * 32 - 16;
+            final double z = random.nextDouble() * 64 - 32;
+            this.boxes[i] = new AABB(x, y, z, x + 0.6, y + 1.8, z + 0.6);
+        }
+    }
+
+    @Benchmark
+    public void stepBlocks(final Blackhole blackhole) {
+        for (int i = 0; i < RayTraceBenchmark.RAYS; i++) {
+            final Vector3d start = this.starts[i];
+            final Vector3d direction = this.directions[i];
+            final BlockStepper stepper = new BlockStepper(start.x(), start.y(), start.z(),
+                    direction.x(), direction.y(), direction.z(), this.length);
+            while (true) {
+                blackhole.consume(stepper.x() + stepper.y() + stepper.z());
+                if (stepper.isLast()) {
+                    break;
+                }
+                stepper.advance();
+            }
+        }
+    }
+
+    @Benchmark
+    public void stepBlocksWithVectors(final Blackhole blackhole) {
+        for (int i = 0; i < RayTraceBenchmark.RAYS; i++) {
+            final Vector3d direction = this.directions[i];
+            final Vector3i steps = new Vector3i(Math.signum(direction.x()), Math.signum(direction.y()), Math.signum(direction.z()));
+            Vector3d location = this.starts[i];
+            Vector3i block = location.floor().toInt();
+            double travelled = 0;
+            while (true) {
+                blackhole.consume(block);
+                // The distance to the next boundary is worked out from scratch for every block
+                final double toX = RayTraceBenchmark.toBoundary(location.x(), block.x(), direction.x());
+                final double toY = RayTraceBenchmark.toBoundary(location.y(), block.y(), direction.y());
+                final double toZ = RayTraceBenchmark.toBoundary(location.z(), block.z(), direction.z());
+                final double next = Math.min(toX, Math.min(toY, toZ));
+                if (travelled + next > this.length) {
+                    break;
+                }
+                location = location.add(direction.mul(next));
+                block = block.add(toX <= next ? steps.x() : 0, toY <= next ? steps.y() : 0, toZ <= next ? steps.z() : 0);
+                travelled += next;
+            }
+        }
+    }
+
+    private static double toBoundary(final double position, final int block, final double direction) {
+        if (direction > 0) {
+            return (block + 1 - position) / direction;
+        } else if (direction < 0) {
+            return (block - position) / direction;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Benchmark
+    public void clipEntities(final Blackhole blackhole) {
+        for (int i = 0; i < RayTraceBenchmark.RAYS; i++) {
+            final Vector3d start = this.starts[i];
+            final Vector3d direction = this.directions[i];
+            for (final AABB box : this.boxes) {
+                blackhole.consume(RayTraversal.clip(box, start.x(), start.y(), start.z(),
+                        direction.x(), direction.y(), direction.z(), this.length));
+            }
+        }
+    }
+
+    @Benchmark
+    public void clipEntitiesWithVanillaVectors(final Blackhole blackhole) {
+        for (int i = 0; i < RayTraceBenchmark.RAYS; i++) {
+            final Vector3d start = this.starts[i];
+            final Vector3d end = start.add(this.directions[i].mul(this.length));
+            final Vec3 from = new Vec3(start.x(), start.y(), start.z());
+            final Vec3 to = new Vec3(end.x(), end.y(), end.z());
+            for (final AABB box : this.boxes) {
+                blackhole.consume(box.clip(from, to));
+            }
+        }
+    }
+
+}
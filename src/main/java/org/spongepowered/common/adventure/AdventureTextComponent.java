@@ -39,18 +39,21 @@
 import org.spongepowered.common.bridge.network.chat.BaseComponentBridge;
 import org.spongepowered.common.util.LocaleCache;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 
 public class AdventureTextComponent implements net.minecraft.network.chat.Component, BaseComponentBridge {
+
     private net.minecraft.network.chat.@MonotonicNonNull Component converted;
     private @Nullable Locale deepConvertedLocalized;
     private final net.kyori.adventure.text.Component wrapped;
     private final @Nullable ComponentRenderer<Locale> renderer;
-    private @Nullable Locale lastLocale;
-    private @Nullable AdventureTextComponent lastRendered;
+    // The last render of this wrapper, saves hashing the component for repeated lookups
+    private volatile @Nullable Rendered lastRendered;
+    private volatile byte @Nullable [] encoded;
 
     public AdventureTextComponent(final net.kyori.adventure.text.Component wrapped, final @Nullable ComponentRenderer<Locale> renderer) {
         this.wrapped = wrapped;
@@ -65,12 +68,33 @@ public net.kyori.adventure.text.Component wrapped() {
         return this.wrapped;
     }
 
-    public synchronized AdventureTextComponent rendered(final Locale locale) {
-        if (Objects.equals(locale, this.lastLocale)) {
-            return this.lastRendered;
+    public AdventureTextComponent rendered(final Locale locale) {
+        if (this.renderer == null) {
+            return this;
+        }
+        final @Nullable Rendered last = this.lastRendered;
+        if (last != null && Objects.equals(last.locale, locale)) {
+            return last.component;
         }
-        this.lastLocale = locale;
-        return this.lastRendered = this.renderer == null ? this : new AdventureTextComponent(this.renderer.render(this.wrapped, locale), null);
+        final AdventureTextComponent rendered = RenderCache.INSTANCE.rendered(this.renderer, this.wrapped, locale);
+        this.lastRendered = new Rendered(locale, rendered);
+        return rendered;
+    }
+
+    /**
+     * Gets this component serialized to json and encoded as UTF-8, the way
+     * it is written into packets. The bytes are kept, and as renders are
+     * shared between equal components through the {@link RenderCache},
+     * sending a component to many players serializes it once per locale.
+     *
+     * @return The encoded json, not to be modified
+     */
+    public byte[] encoded() {
+        byte[] encoded = this.encoded;
+        if (encoded == null) {
+            encoded = this.encoded = net.minecraft.network.chat.Component.Serializer.toJson(this).getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
     }
 
     net.minecraft.network.chat.Component deepConverted() {
@@ -162,4 +186,15 @@ public <T> Optional<T> visit(final ContentConsumer<T> visitor) {
     public @Nullable Component bridge$adventureComponentIfPresent() {
         return this.bridge$asAdventureComponent();
     }
+
+    private static final class Rendered {
+
+        final @Nullable Locale locale;
+        final AdventureTextComponent component;
+
+        Rendered(final @Nullable Locale locale, final AdventureTextComponent component) {
+            this.locale = locale;
+            this.component = component;
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.adventure;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.renderer.ComponentRenderer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The renders of components per locale, shared by every
+ * {@link AdventureTextComponent} wrapping an equal component. A component
+ * wrapped anew for each player it is sent to is therefore rendered, and
+ * serialized through {@link AdventureTextComponent#encoded()}, once per
+ * locale. The least recently used renders are evicted once the cache is
+ * full.
+ */
+final class RenderCache {
+
+    private static final int MAX_RENDERS = 1024;
+
+    static final RenderCache INSTANCE = new RenderCache(RenderCache.MAX_RENDERS);
+
+    private final Map<Key, AdventureTextComponent> renders;
+
+    RenderCache(final int maxRenders) {
+        this.renders = new LinkedHashMap<Key, AdventureTextComponent>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, AdventureTextComponent> eldest) {
+                return this.size() > maxRenders;
+            }
+        };
+    }
+
+    AdventureTextComponent rendered(final ComponentRenderer<Locale> renderer, final Component component, final @Nullable Locale locale) {
+        final Key key = new Key(renderer, component, locale);
+        synchronized (this.renders) {
+            final @Nullable AdventureTextComponent cached = this.renders.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Rendered outside of the lock, another thread may have finished the same render meanwhile
+        final AdventureTextComponent rendered = new AdventureTextComponent(renderer.render(component, locale), null);
+        synchronized (this.renders) {
+            final @Nullable AdventureTextComponent raced = this.renders.putIfAbsent(key, rendered);
+            return raced == null ? rendered : raced;
+        }
+    }
+
+    int size() {
+        synchronized (this.renders) {
+            return this.renders.size();
+        }
+    }
+
+    private static final class Key {
+
+        private final ComponentRenderer<Locale> renderer;
+        private final Component component;
+        private final @Nullable Locale locale;
+        private final int hashCode;
+
+        Key(final ComponentRenderer<Locale> renderer, final Component component, final @Nullable Locale locale) {
+            this.renderer = renderer;
+            this.component = component;
+            this.locale = locale;
+            this.hashCode = 31 * (31 * renderer.hashCode() + component.hashCode()) + Objects.hashCode(locale);
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return this.hashCode == that.hashCode
+                && this.renderer.equals(that.renderer)
+                && Objects.equals(this.locale, that.locale)
+                && this.component.equals(that.component);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
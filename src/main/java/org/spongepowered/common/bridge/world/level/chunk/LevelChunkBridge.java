@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.bridge.world.level.chunk;
 
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.chunk.LevelChunk;
@@ -34,15 +35,17 @@
 import org.spongepowered.common.entity.PlayerTracker;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface LevelChunkBridge {
 
-    Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions();
-
-    Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions();
+    /**
+     * Gets the tracked block positions of this chunk, keyed by
+     * {@link org.spongepowered.common.util.Constants.Sponge#blockPosToInt}
+     * and mapped to the indices packed by {@link PlayerTracker#pack}.
+     */
+    Int2LongMap bridge$getTrackedPlayerPositions();
 
     Optional<UUID> bridge$getBlockCreatorUUID(BlockPos pos);
 
@@ -54,9 +57,7 @@ public interface LevelChunkBridge {
 
     void bridge$addTrackedBlockPosition(Block block, BlockPos pos, UUID uuid, PlayerTracker.Type trackerType);
 
-    void bridge$setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
-
-    void bridge$setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void bridge$setTrackedPlayerPositions(Int2LongMap trackedPlayerPositions);
 
     void bridge$setNeighbor(Direction direction, LevelChunk neighbor);
 
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.command.sponge;
 
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.JoinConfiguration;
@@ -38,6 +39,7 @@
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
+import org.apache.logging.log4j.Level;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
@@ -54,6 +56,7 @@
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.lifecycle.RefreshGameEvent;
 import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.network.channel.Channel;
 import org.spongepowered.api.util.blockray.RayTrace;
 import org.spongepowered.api.world.LocatableBlock;
 import org.spongepowered.api.world.server.ServerLocation;
@@ -63,14 +66,23 @@
 import org.spongepowered.common.bridge.server.level.ServerLevelBridge;
 import org.spongepowered.common.bridge.world.level.LevelBridge;
 import org.spongepowered.common.config.SpongeGameConfigs;
+import org.spongepowered.common.event.manager.EventProfiler;
+import org.spongepowered.common.event.manager.RegisteredListener;
 import org.spongepowered.common.event.manager.SpongeEventManager;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TickProfiler;
 import org.spongepowered.common.launch.Launch;
+import org.spongepowered.common.network.channel.ChannelMetrics;
+import org.spongepowered.common.network.channel.SpongeChannel;
+import org.spongepowered.common.scheduler.ServerScheduler;
 import org.spongepowered.plugin.PluginContainer;
 import org.spongepowered.plugin.metadata.PluginMetadata;
 import org.spongepowered.plugin.metadata.model.PluginContributor;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.lang.management.ManagementFactory;
 import java.lang.reflect.Method;
 import java.net.URL;
@@ -81,6 +93,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -119,9 +132,15 @@ public Command.Parameterized createSpongeCommand() {
                 .executor(this::auditSubcommandExecutor)
                 .build();
 
+        // /sponge channels
+        final Command.Parameterized channelsCommand = this.channelsSubcommand();
+
         // /sponge chunks
         final Command.Parameterized chunksCommand = this.chunksSubcommand();
 
+        // /sponge events
+        final Command.Parameterized eventsCommand = this.eventsSubcommand();
+
         // /sponge heap
         final Command.Parameterized heapCommand = Command.builder()
                 .permission("sponge.command.heap")
@@ -158,6 +177,16 @@ public Command.Parameterized createSpongeCommand() {
                 .addChild(pluginsInfoCommand, "info")
                 .build();
 
+        // /sponge profile
+        final Command.Parameterized profileCommand = this.profileSubcommand();
+
+        // /sponge scheduler
+        final Command.Parameterized schedulerCommand = Command.builder()
+                .permission("sponge.command.scheduler")
+                .shortDescription(Component.text("Reports deferred and most expensive synchronous tasks"))
+                .executor(this::schedulerExecutor)
+                .build();
+
         // /sponge tps
         final Command.Parameterized tpsCommand = Command.builder()
                 .permission("sponge.command.tps")
@@ -207,9 +236,13 @@ public Command.Parameterized createSpongeCommand() {
                 .permission("sponge.command.root")
                 .executor(this::rootCommand)
                 .addChild(auditCommand, "audit")
+                .addChild(channelsCommand, "channels")
                 .addChild(chunksCommand, "chunks")
+                .addChild(eventsCommand, "events")
                 .addChild(heapCommand, "heap")
                 .addChild(pluginsCommand, "plugins")
+                .addChild(profileCommand, "profile")
+                .addChild(schedulerCommand, "scheduler")
                 .addChild(tpsCommand, "tps")
                 .addChild(versionCommand, "version")
                 .addChild(whichCommand, "which")
@@ -427,6 +460,260 @@ private Command.Parameterized chunksSubcommand() {
                 .build();
     }
 
+    private Command.Parameterized channelsSubcommand() {
+        final Command.Parameterized resetCommand = Command.builder()
+                .executor(context -> {
+                    for (final Channel channel : Sponge.channelManager().channels()) {
+                        ((SpongeChannel) channel).metrics().reset();
+                    }
+                    context.sendMessage(Identity.nil(), Component.text("Reset the channel metrics.", NamedTextColor.GREEN));
+                    return CommandResult.success();
+                })
+                .build();
+        return Command.builder()
+                .addChild(resetCommand, "reset")
+                .executor(context -> {
+                    final List<Component> contents = new ArrayList<>();
+                    for (final Channel channel : Sponge.channelManager().channels()) {
+                        final ChannelMetrics metrics = ((SpongeChannel) channel).metrics();
+                        if (metrics.packetsReceived() == 0 && metrics.packetsSent() == 0) {
+                            continue;
+                        }
+                        final long invocations = metrics.handlerInvocations();
+                        contents.add(LinearComponents.linear(
+                                this.hl(channel.key().formatted()),
+                                Component.newline(),
+                                SpongeCommand.INDENT_COMPONENT,
+                                this.key("In: "), Component.text(metrics.packetsReceived() + " packets, "
+                                        + SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(metrics.bytesReceivedPerSecond() / 1024) + " KiB/s",
+                                        NamedTextColor.GRAY),
+                                this.key(" Out: "), Component.text(metrics.packetsSent() + " packets, "
+                                        + SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(metrics.bytesSentPerSecond() / 1024) + " KiB/s",
+                                        NamedTextColor.GRAY),
+                                Component.newline(),
+                                SpongeCommand.INDENT_COMPONENT,
+                                this.key("Handlers: "), Component.text(invocations, NamedTextColor.GRAY),
+                                this.key(" Total: "), Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(
+                                        metrics.handlerNanos() / 1.0E6D) + "ms", NamedTextColor.GRAY),
+                                this.key(" Avg: "), Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(
+                                        invocations == 0 ? 0 : metrics.handlerNanos() / 1.0E6D / invocations) + "ms", NamedTextColor.GRAY)
+                        ));
+                    }
+                    if (contents.isEmpty()) {
+                        contents.add(SpongeCommand.EMPTY);
+                    }
+                    SpongeCommon.game().serviceProvider()
+                            .paginationService()
+                            .builder()
+                            .contents(contents)
+                            .title(Component.text("Channel Traffic", NamedTextColor.WHITE))
+                            .padding(Component.text("-", NamedTextColor.WHITE))
+                            .sendTo(context.cause().audience());
+                    return CommandResult.success();
+                })
+                .permission("sponge.command.channels")
+                .shortDescription(Component.text("Reports the traffic of the network channels and the time spent handling it"))
+                .build();
+    }
+
+    private Command.Parameterized eventsSubcommand() {
+        final Parameter.Key<Boolean> allocationsKey = Parameter.key("allocations", Boolean.class);
+        final Command.Parameterized startCommand = Command.builder()
+                .addParameter(Parameter.literal(Boolean.class, true, "allocations").optional().key(allocationsKey).build())
+                .executor(context -> {
+                    final EventProfiler profiler = ((SpongeEventManager) SpongeCommon.game().eventManager()).profiler();
+                    final boolean allocations = context.hasAny(allocationsKey);
+                    if (allocations && !profiler.supportsAllocations()) {
+                        context.sendMessage(Identity.nil(), Component.text("This JVM does not support tracking allocations, only timings "
+                                + "will be recorded.", NamedTextColor.RED));
+                    }
+                    profiler.enable(allocations);
+                    context.sendMessage(Identity.nil(), Component.text("Started the event profiler.", NamedTextColor.GREEN));
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized stopCommand = Command.builder()
+                .executor(context -> {
+                    ((SpongeEventManager) SpongeCommon.game().eventManager()).profiler().disable();
+                    context.sendMessage(Identity.nil(), Component.text("Stopped the event profiler.", NamedTextColor.GREEN));
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized resetCommand = Command.builder()
+                .executor(context -> {
+                    ((SpongeEventManager) SpongeCommon.game().eventManager()).profiler().reset();
+                    context.sendMessage(Identity.nil(), Component.text("Reset the event profiler.", NamedTextColor.GREEN));
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized reportCommand = Command.builder()
+                .executor(context -> {
+                    final EventProfiler profiler = ((SpongeEventManager) SpongeCommon.game().eventManager()).profiler();
+                    final List<Component> contents = new ArrayList<>();
+                    for (final Map.Entry<RegisteredListener<?>, EventProfiler.Stats> entry : profiler.topListeners(10)) {
+                        final EventProfiler.Stats stats = entry.getValue();
+                        contents.add(LinearComponents.linear(
+                                this.hl(EventProfiler.describe(entry.getKey())),
+                                Component.newline(),
+                                SpongeCommand.INDENT_COMPONENT,
+                                this.key("Calls: "), Component.text(stats.invocations(), NamedTextColor.GRAY),
+                                this.key(" Total: "), Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(
+                                        stats.totalNanos() / 1.0E6D) + "ms", NamedTextColor.GRAY),
+                                this.key(" Max: "), Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(
+                                        stats.maxNanos() / 1.0E6D) + "ms", NamedTextColor.GRAY)
+                        ));
+                    }
+                    if (contents.isEmpty()) {
+                        contents.add(SpongeCommand.EMPTY);
+                    }
+                    SpongeCommon.game().serviceProvider()
+                            .paginationService()
+                            .builder()
+                            .contents(contents)
+                            .title(Component.text("Most Expensive Listeners", NamedTextColor.WHITE))
+                            .padding(Component.text("-", NamedTextColor.WHITE))
+                            .sendTo(context.cause().audience());
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized dumpCommand = Command.builder()
+                .executor(context -> {
+                    final File file = new File(new File(new File("."), "event-reports"),
+                            "events-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now()) + ".txt");
+                    context.sendMessage(Identity.nil(), Component.text("Writing event profiler report to: " + file.getAbsolutePath()));
+                    file.getParentFile().mkdirs();
+                    try (final PrintStream stream = new PrintStream(new FileOutputStream(file), false, "UTF-8")) {
+                        ((SpongeEventManager) SpongeCommon.game().eventManager()).profiler().report().print(stream);
+                    } catch (final IOException e) {
+                        SpongeCommon.logger().error("Could not write event profiler report to {}", file, e);
+                        context.sendMessage(Identity.nil(), Component.text("Failed to write the event profiler report. See the console for "
+                                + "details.", NamedTextColor.RED));
+                        return CommandResult.success();
+                    }
+                    context.sendMessage(Identity.nil(), Component.text("Event profiler report complete"));
+                    return CommandResult.success();
+                })
+                .build();
+        return Command.builder()
+                .addChild(startCommand, "start")
+                .addChild(stopCommand, "stop")
+                .addChild(resetCommand, "reset")
+                .addChild(reportCommand, "report")
+                .addChild(dumpCommand, "dump")
+                .permission("sponge.command.events")
+                .shortDescription(Component.text("Profile the time spent in event listeners"))
+                .build();
+    }
+
+    private Command.Parameterized profileSubcommand() {
+        final Parameter.Value<Integer> intervalParameter = Parameter.integerNumber().key("interval").optional().build();
+        final Command.Parameterized startCommand = Command.builder()
+                .addParameter(intervalParameter)
+                .executor(context -> {
+                    final int interval = context.one(intervalParameter).orElse(1);
+                    if (interval < 1) {
+                        context.sendMessage(Identity.nil(), Component.text("The sample interval must be at least 1.", NamedTextColor.RED));
+                        return CommandResult.success();
+                    }
+                    TickProfiler.INSTANCE.enable(interval);
+                    context.sendMessage(Identity.nil(), Component.text("Started the tick profiler, measuring 1 in " + interval + " ticks.",
+                            NamedTextColor.GREEN));
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized stopCommand = Command.builder()
+                .executor(context -> {
+                    TickProfiler.INSTANCE.disable();
+                    context.sendMessage(Identity.nil(), Component.text("Stopped the tick profiler.", NamedTextColor.GREEN));
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized resetCommand = Command.builder()
+                .executor(context -> {
+                    TickProfiler.INSTANCE.reset();
+                    context.sendMessage(Identity.nil(), Component.text("Reset the tick profiler.", NamedTextColor.GREEN));
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized reportCommand = Command.builder()
+                .executor(context -> {
+                    final List<Component> contents = new ArrayList<>();
+                    for (final Map.Entry<Object, TickProfiler.Stats> entry : TickProfiler.INSTANCE.topTypes(10)) {
+                        contents.add(this.profileEntry(TickProfiler.describe(entry.getKey()), entry.getValue()));
+                    }
+                    for (final Map.Entry<TickProfiler.Site, TickProfiler.Stats> entry : TickProfiler.INSTANCE.topChunks(10)) {
+                        contents.add(this.profileEntry(entry.getKey().toString(), entry.getValue()));
+                    }
+                    for (final Object2LongMap.Entry<PluginContainer> entry : TickProfiler.INSTANCE.topPlugins(10)) {
+                        contents.add(LinearComponents.linear(
+                                this.hl(entry.getKey().metadata().id()),
+                                Component.newline(),
+                                SpongeCommand.INDENT_COMPONENT,
+                                this.key("Total: "), Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(
+                                        entry.getLongValue() / 1.0E6D) + "ms", NamedTextColor.GRAY)
+                        ));
+                    }
+                    if (contents.isEmpty()) {
+                        contents.add(SpongeCommand.EMPTY);
+                    }
+                    SpongeCommon.game().serviceProvider()
+                            .paginationService()
+                            .builder()
+                            .contents(contents)
+                            .title(Component.text("Most Expensive Types, Chunks and Plugins", NamedTextColor.WHITE))
+                            .padding(Component.text("-", NamedTextColor.WHITE))
+                            .sendTo(context.cause().audience());
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized dumpCommand = Command.builder()
+                .executor(context -> {
+                    final String name = "ticks-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now());
+                    final File directory = new File(new File("."), "profile-reports");
+                    final File file = new File(directory, name + ".txt");
+                    final File flameGraphFile = new File(directory, name + ".folded");
+                    context.sendMessage(Identity.nil(), Component.text("Writing tick profiler report to: " + file.getAbsolutePath()));
+                    directory.mkdirs();
+                    try (final PrintStream stream = new PrintStream(new FileOutputStream(file), false, "UTF-8");
+                         final PrintStream flameGraphStream = new PrintStream(new FileOutputStream(flameGraphFile), false, "UTF-8")) {
+                        TickProfiler.INSTANCE.report().print(stream);
+                        TickProfiler.INSTANCE.writeFlameGraph(flameGraphStream);
+                    } catch (final IOException e) {
+                        SpongeCommon.logger().error("Could not write tick profiler report to {}", file, e);
+                        context.sendMessage(Identity.nil(), Component.text("Failed to write the tick profiler report. See the console for "
+                                + "details.", NamedTextColor.RED));
+                        return CommandResult.success();
+                    }
+                    context.sendMessage(Identity.nil(), Component.text("Tick profiler report complete, flame graph stacks written to: "
+                            + flameGraphFile.getAbsolutePath()));
+                    return CommandResult.success();
+                })
+                .build();
+        return Command.builder()
+                .addChild(startCommand, "start")
+                .addChild(stopCommand, "stop")
+                .addChild(resetCommand, "reset")
+                .addChild(reportCommand, "report")
+                .addChild(dumpCommand, "dump")
+                .permission("sponge.command.profile")
+                .shortDescription(Component.text("Profile the time spent ticking entities and block entities"))
+                .build();
+    }
+
+    private Component profileEntry(final String name, final TickProfiler.Stats stats) {
+        return LinearComponents.linear(
+                this.hl(name),
+                Component.newline(),
+                SpongeCommand.INDENT_COMPONENT,
+                this.key("Ticks: "), Component.text(stats.ticks(), NamedTextColor.GRAY),
+                this.key(" Total: "), Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(
+                        stats.totalNanos() / 1.0E6D) + "ms", NamedTextColor.GRAY),
+                this.key(" Max: "), Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(
+                        stats.maxNanos() / 1.0E6D) + "ms", NamedTextColor.GRAY),
+                this.key(" Events: "), Component.text(stats.events(), NamedTextColor.GRAY)
+        );
+    }
+
     private @NonNull CommandResult heapSubcommandExecutor(final CommandContext context) {
         final File file = new File(new File(new File("."), "dumps"),
                 "heap-dump-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now()) + "-server.hprof");
@@ -490,6 +777,19 @@ private Command.Parameterized chunksSubcommand() {
         return CommandResult.success();
     }
 
+    private @NonNull CommandResult schedulerExecutor(final CommandContext context) {
+        final ServerScheduler scheduler = SpongeCommon.serverScheduler();
+        context.sendMessage(Identity.nil(), LinearComponents.linear(
+                this.key("Deferrals: "), Component.text(scheduler.deferrals(), NamedTextColor.GRAY),
+                Component.newline(),
+                this.key("Deferred tasks: "), this.value(scheduler.deferredTasks()),
+                Component.newline(),
+                Component.text("The most expensive plugins have been written to the console.")
+        ));
+        scheduler.report(10).log(SpongeCommon.logger(), Level.INFO);
+        return CommandResult.success();
+    }
+
     private @NonNull CommandResult tpsExecutor(final CommandContext context) {
         if (SpongeCommon.game().isServerAvailable()) {
             final List<Component> tps = new ArrayList<>();
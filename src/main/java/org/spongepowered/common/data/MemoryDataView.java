@@ -32,7 +32,8 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
 import org.apache.commons.lang3.ArrayUtils;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
@@ -46,6 +47,7 @@
 import org.spongepowered.api.registry.RegistryHolder;
 import org.spongepowered.api.registry.RegistryType;
 import org.spongepowered.api.util.Coerce;
+import org.spongepowered.common.data.persistence.NBTTranslator;
 import org.spongepowered.common.registry.provider.KeyProvider;
 
 import java.util.ArrayList;
@@ -66,11 +68,19 @@
  */
 public class MemoryDataView implements DataView {
 
-    protected final Map<String, Object> map = Maps.newLinkedHashMap();
+    // Open addressing keeps the entries in flat arrays instead of an entry object each
+    protected final Map<String, Object> map = new Object2ObjectLinkedOpenHashMap<>(4);
     private final DataContainer container;
     private final DataView parent;
     private final DataQuery path;
     private final DataView.SafetyMode safety;
+    // Entries that have not been copied into the map yet, see #fillLazily
+    private volatile @Nullable CompoundTag pending;
+    private boolean filling;
+    // Bumped on the container whenever any view within it changes
+    private int modCount;
+    private @Nullable Cached<Set<DataQuery>> keys;
+    private @Nullable Cached<Map<DataQuery, Object>> values;
 
     MemoryDataView(final DataView.SafetyMode safety) {
         checkState(this instanceof DataContainer, "Cannot construct a root MemoryDataView without a container!");
@@ -88,6 +98,72 @@ private MemoryDataView(final DataView parent, final DataQuery path, final DataVi
         this.safety = Objects.requireNonNull(safety, "Safety mode");
     }
 
+    /**
+     * Makes this empty view take its entries from the given compound once it
+     * is first accessed, instead of copying them in right away. Nested
+     * compounds are filled in lazily as well. The compound is only ever read,
+     * so it must not be modified afterwards.
+     *
+     * @param compound The compound to fill this view from
+     */
+    public void fillLazily(final CompoundTag compound) {
+        Objects.requireNonNull(compound, "compound");
+        checkState(this.map.isEmpty() && this.pending == null, "Only an empty view can be filled lazily");
+        this.pending = compound;
+    }
+
+    /**
+     * Gets the compound this view is still to be filled from, which is only
+     * present while nothing has accessed the entries of this view. The
+     * compound must not be modified.
+     *
+     * @return The pending compound, if present
+     */
+    public Optional<CompoundTag> pendingCompound() {
+        return Optional.ofNullable(this.pending);
+    }
+
+    /**
+     * Shrinks the storage of this view to fit its current entries, for views
+     * that are done being written to.
+     */
+    public void trim() {
+        this.inflate();
+        ((Object2ObjectLinkedOpenHashMap<String, Object>) this.map).trim();
+    }
+
+    private void modified() {
+        if (this.container instanceof MemoryDataView) {
+            ((MemoryDataView) this.container).modCount++;
+        }
+        this.keys = null;
+        this.values = null;
+    }
+
+    private int stamp() {
+        return this.container instanceof MemoryDataView ? ((MemoryDataView) this.container).modCount : -1;
+    }
+
+    private void inflate() {
+        if (this.pending == null) {
+            return;
+        }
+        synchronized (this) {
+            final CompoundTag compound = this.pending;
+            // Setting the entries comes back through here while filling
+            if (compound == null || this.filling) {
+                return;
+            }
+            this.filling = true;
+            try {
+                NBTTranslator.INSTANCE.addOwned(compound, this);
+            } finally {
+                this.filling = false;
+            }
+            this.pending = null;
+        }
+    }
+
     @Override
     public DataContainer container() {
         return this.container;
@@ -111,6 +187,12 @@ public Optional<DataView> parent() {
 
     @Override
     public Set<DataQuery> keys(final boolean deep) {
+        this.inflate();
+        final @Nullable Cached<Set<DataQuery>> cached = this.keys;
+        final int stamp = this.stamp();
+        if (!deep && cached != null && cached.stamp == stamp) {
+            return cached.value;
+        }
         final ImmutableSet.Builder<DataQuery> builder = ImmutableSet.builder();
 
         for (final Map.Entry<String, Object> entry : this.map.entrySet()) {
@@ -124,12 +206,24 @@ public Set<DataQuery> keys(final boolean deep) {
                     }
                 }
             }
+            return builder.build();
         }
-        return builder.build();
+        final Set<DataQuery> keys = builder.build();
+        this.keys = new Cached<>(stamp, keys);
+        return keys;
     }
 
     @Override
     public Map<DataQuery, Object> values(final boolean deep) {
+        // Cloned arrays are handed out fresh on every call, so those values can't be shared
+        final boolean cacheable = !deep && this.safety != DataView.SafetyMode.ALL_DATA_CLONED && this.stamp() != -1;
+        if (cacheable) {
+            this.inflate();
+            final @Nullable Cached<Map<DataQuery, Object>> cached = this.values;
+            if (cached != null && cached.stamp == this.stamp()) {
+                return cached.value;
+            }
+        }
         final ImmutableMap.Builder<DataQuery, Object> builder = ImmutableMap.builder();
         for (final DataQuery query : this.keys(deep)) {
             final Object value = this.get(query).get();
@@ -139,7 +233,11 @@ public Map<DataQuery, Object> values(final boolean deep) {
                 builder.put(query, this.get(query).get());
             }
         }
-        return builder.build();
+        final Map<DataQuery, Object> values = builder.build();
+        if (cacheable) {
+            this.values = new Cached<>(this.stamp(), values);
+        }
+        return values;
     }
 
     @Override
@@ -149,6 +247,7 @@ public final boolean contains(final DataQuery path) {
 
         final String key = queryParts.get(0);
         if (queryParts.size() == 1) {
+            this.inflate();
             return this.map.containsKey(key);
         }
         final Optional<DataView> subViewOptional = this.getUnsafeView(key);
@@ -188,6 +287,7 @@ public Optional<Object> get(final DataQuery path) {
 
         final String key = queryParts.get(0);
         if (sz == 1) {
+            this.inflate();
             final Object object = this.map.get(key);
             if (object == null) {
                 return Optional.empty();
@@ -233,6 +333,7 @@ public DataView set(final DataQuery path, final Object value) {
         checkState(!path.parts().isEmpty(), "The path is empty");
         checkArgument(value != this, "Cannot set a DataView to itself.");
 
+        this.inflate();
         final List<String> parts = path.parts();
         final String key = parts.get(0);
         if (parts.size() > 1) {
@@ -249,6 +350,15 @@ public DataView set(final DataQuery path, final Object value) {
             return this;
         }
 
+        if (value instanceof MemoryDataView && !(this.map.get(key) instanceof DataView)) {
+            // Share the compound an untouched view is still waiting on, neither view ever modifies it
+            final @Nullable CompoundTag compound = ((MemoryDataView) value).pending;
+            if (compound != null && !compound.isEmpty()) {
+                ((MemoryDataView) this.createView(DataQuery.of(key))).fillLazily(compound);
+                return this;
+            }
+        }
+
         final Object serialized = DataSerializer.serialize(this.safetyMode(), value);
 
         checkArgument(this.isEmpty() || !this.equals(serialized), "Cannot insert self-referencing DataView!");
@@ -261,6 +371,7 @@ public DataView set(final DataQuery path, final Object value) {
             }
         } else {
             this.map.put(key, serialized);
+            this.modified();
         }
 
         return this;
@@ -280,7 +391,10 @@ public DataView remove(final DataQuery path) {
             final DataView subView = subViewOptional.get();
             subView.remove(path.popFirst());
         } else {
-            this.map.remove(parts.get(0));
+            this.inflate();
+            if (this.map.remove(parts.get(0)) != null) {
+                this.modified();
+            }
         }
         return this;
     }
@@ -294,12 +408,14 @@ public DataView createView(final DataQuery path) {
 
         checkArgument(sz != 0, "The size of the query must be at least 1");
 
+        this.inflate();
         final String key = queryParts.get(0);
         final DataQuery keyQuery = DataQuery.of(key);
 
         if (sz == 1) {
             final DataView result = new MemoryDataView(this, keyQuery, this.safety);
             this.map.put(key, result);
+            this.modified();
             return result;
         }
         final DataQuery subQuery = path.popFirst();
@@ -307,6 +423,7 @@ public DataView createView(final DataQuery path) {
         if (subView == null) {
             subView = new MemoryDataView(this.parent, keyQuery, this.safety);
             this.map.put(key, subView);
+            this.modified();
         }
         return subView.createView(subQuery);
     }
@@ -378,6 +495,7 @@ private Optional<DataView> getUnsafeView(final DataQuery path) {
     }
 
     private Optional<DataView> getUnsafeView(final String path) {
+        this.inflate();
         final Object object = this.map.get(path);
         if (!(object instanceof DataView)) {
             return Optional.empty();
@@ -667,18 +785,17 @@ public <T> Optional<List<T>> getObjectList(final DataQuery path, final Class<T>
 
     @Override
     public DataContainer copy() {
-        final DataContainer container = new MemoryDataContainer(this.safety);
-        this.keys(false)
-            .forEach(query ->
-                this.get(query).ifPresent(obj ->
-                    container.set(query, obj)
-                )
-            );
-        return container;
+        return this.copy(this.safety);
     }
 
     @Override
     public DataContainer copy(final org.spongepowered.api.data.persistence.DataView.SafetyMode safety) {
+        final @Nullable CompoundTag compound = this.pending;
+        if (compound != null) {
+            final MemoryDataContainer container = new MemoryDataContainer(safety);
+            container.fillLazily(compound);
+            return container;
+        }
         final DataContainer container = new MemoryDataContainer(safety);
         this.keys(false)
             .forEach(query ->
@@ -691,6 +808,10 @@ public DataContainer copy(final org.spongepowered.api.data.persistence.DataView.
 
     @Override
     public boolean isEmpty() {
+        final @Nullable CompoundTag compound = this.pending;
+        if (compound != null) {
+            return compound.isEmpty();
+        }
         return this.map.isEmpty();
     }
 
@@ -701,6 +822,7 @@ public org.spongepowered.api.data.persistence.DataView.SafetyMode safetyMode() {
 
     @Override
     public int hashCode() {
+        this.inflate();
         return Objects.hash(this.map, this.path);
     }
 
@@ -713,6 +835,8 @@ public boolean equals(final @Nullable Object obj) {
             return false;
         }
         final MemoryDataView other = (MemoryDataView) obj;
+        this.inflate();
+        other.inflate();
 
         return com.google.common.base.Objects.equal(this.map.entrySet(), other.map.entrySet())
             && com.google.common.base.Objects.equal(this.path, other.path);
@@ -725,6 +849,18 @@ public String toString() {
             helper.add("path", this.path);
         }
         helper.add("safety", this.safety.name());
+        this.inflate();
         return helper.add("map", this.map).toString();
     }
+
+    private static final class Cached<T> {
+
+        final int stamp;
+        final T value;
+
+        Cached(final int stamp, final T value) {
+            this.stamp = stamp;
+            this.value = value;
+        }
+    }
 }
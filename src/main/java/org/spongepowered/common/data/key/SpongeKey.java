@@ -40,11 +40,15 @@
 
 import java.lang.reflect.Type;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
 import java.util.function.Supplier;
 
 public final class SpongeKey<V extends Value<E>, E> extends AbstractResourceKeyed implements Key<V> {
 
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private final int id;
     private final Type valueType;
     private final Type elementType;
     private final Comparator<? super E> elementComparator;
@@ -58,6 +62,7 @@ public SpongeKey(final ResourceKey key, final Type valueType, final Type element
             final BiPredicate<? super E, ? super E> elementIncludesTester, final Supplier<E> defaultValueSupplier) {
         super(key);
 
+        this.id = SpongeKey.nextId.getAndIncrement();
         this.valueType = valueType;
         this.elementType = elementType;
         this.elementComparator = elementComparator;
@@ -93,6 +98,16 @@ public <H extends DataHolder> void registerEvent(final PluginContainer plugin, f
         ((SpongeDataManager) Sponge.game().dataManager()).registerKeyListener(new KeyBasedDataListener<>(plugin, holderFilter, this, listener));
     }
 
+    /**
+     * Gets the dense id of this key, assigned in creation order starting
+     * at zero. Used to index data provider lookups by key.
+     *
+     * @return The id
+     */
+    public int getId() {
+        return this.id;
+    }
+
     public ValueConstructor<V, E> getValueConstructor() {
         return this.valueConstructor;
     }
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.data.MemoryDataView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds a {@link DataContainer} from the events of a {@link DataVisitor}.
+ * Every view is trimmed once it ends, as the result is usually only read.
+ */
+final class DataViewBuilder implements DataVisitor {
+
+    private final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final Function<DataView, Object> viewFinisher;
+
+    /**
+     * @param viewFinisher Gets the value to store for a finished view, which
+     *     may be something other than the view itself
+     */
+    DataViewBuilder(final Function<DataView, Object> viewFinisher) {
+        this.viewFinisher = viewFinisher;
+        this.frames.push(new Frame(this.container, null));
+    }
+
+    DataContainer result() {
+        if (this.frames.size() != 1) {
+            throw new IllegalStateException("Not all views and lists have ended");
+        }
+        ((MemoryDataView) this.container).trim();
+        return this.container;
+    }
+
+    @Override
+    public void beginView(final @Nullable String key) {
+        final Object parent = this.frames.getFirst().target;
+        final DataView view;
+        if (parent instanceof DataView) {
+            view = ((DataView) parent).createView(DataQuery.of(DataViewBuilder.requireKey(key)));
+        } else {
+            view = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        }
+        this.frames.push(new Frame(view, key));
+    }
+
+    @Override
+    public void endView() {
+        final Frame frame = this.frames.pop();
+        final DataView view = (DataView) frame.target;
+        if (view instanceof MemoryDataView) {
+            ((MemoryDataView) view).trim();
+        }
+        final Object value = this.viewFinisher.apply(view);
+        final Object parent = this.frames.getFirst().target;
+        if (parent instanceof DataView) {
+            if (value != view) {
+                final DataQuery query = DataQuery.of(DataViewBuilder.requireKey(frame.key));
+                ((DataView) parent).remove(query);
+                ((DataView) parent).set(query, value);
+            }
+        } else {
+            DataViewBuilder.asList(parent).add(value);
+        }
+    }
+
+    @Override
+    public void beginList(final @Nullable String key) {
+        this.frames.push(new Frame(new ArrayList<>(), key));
+    }
+
+    @Override
+    public void endList() {
+        final Frame frame = this.frames.pop();
+        this.value(frame.key, frame.target);
+    }
+
+    @Override
+    public void value(final @Nullable String key, final @Nullable Object value) {
+        final Object parent = this.frames.getFirst().target;
+        if (parent instanceof DataView) {
+            ((DataView) parent).set(DataQuery.of(DataViewBuilder.requireKey(key)), value);
+        } else {
+            DataViewBuilder.asList(parent).add(value);
+        }
+    }
+
+    private static String requireKey(final @Nullable String key) {
+        if (key == null) {
+            throw new IllegalStateException("Entries of a view must have a key");
+        }
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<@Nullable Object> asList(final Object target) {
+        return (List<@Nullable Object>) target;
+    }
+
+    private static final class Frame {
+
+        final Object target;
+        final @Nullable String key;
+
+        Frame(final Object target, final @Nullable String key) {
+            this.target = target;
+            this.key = key;
+        }
+    }
+}
@@ -24,12 +24,12 @@
  */
 package org.spongepowered.common.data.persistence;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.data.persistence.DataContainer;
 import org.spongepowered.api.data.persistence.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.api.data.persistence.InvalidDataFormatException;
 import org.spongepowered.api.data.persistence.StringDataFormat;
-import org.spongepowered.configurate.CommentedConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
@@ -46,7 +46,9 @@
 import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
 
 public final class HoconDataFormat implements StringDataFormat {
 
@@ -65,18 +67,84 @@ public DataContainer readFrom(final InputStream input) throws InvalidDataFormatE
         return HoconDataFormat.readFrom(() -> new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
     }
 
+    /**
+     * Reads a HOCON document, reporting its contents to the visitor instead
+     * of building a {@link DataContainer}. HOCON can only be parsed as a
+     * whole, so the document is still loaded as configuration nodes first.
+     *
+     * @param input The reader to read from
+     * @param visitor The visitor to report to
+     * @throws InvalidDataFormatException If the document could not be parsed
+     */
+    public void readFrom(final Reader input, final DataVisitor visitor) throws InvalidDataFormatException {
+        HoconDataFormat.visitRoot(HoconDataFormat.load(() -> HoconDataFormat.createBufferedReader(input)), visitor);
+    }
+
+    /**
+     * Reads a UTF-8 encoded HOCON document, reporting its contents to the
+     * visitor instead of building a {@link DataContainer}.
+     *
+     * @param input The stream to read from
+     * @param visitor The visitor to report to
+     * @throws InvalidDataFormatException If the document could not be parsed
+     */
+    public void readFrom(final InputStream input, final DataVisitor visitor) throws InvalidDataFormatException {
+        HoconDataFormat.visitRoot(
+            HoconDataFormat.load(() -> new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))), visitor);
+    }
+
     private static DataContainer readFrom(final Callable<BufferedReader> source) throws InvalidDataFormatException {
+        final DataViewBuilder builder = new DataViewBuilder(Function.identity());
+        HoconDataFormat.visitRoot(HoconDataFormat.load(source), builder);
+        return builder.result();
+    }
+
+    private static ConfigurationNode load(final Callable<BufferedReader> source) throws InvalidDataFormatException {
         final HoconConfigurationLoader loader = HoconConfigurationLoader.builder()
                 .source(source)
                 .build();
         try {
-            final CommentedConfigurationNode node = loader.load();
-            return ConfigurateTranslator.instance().translate(node);
+            return loader.load();
         } catch (final ConfigurateException ex) {
             throw new InvalidDataFormatException(ex);
         }
     }
 
+    private static void visitRoot(final ConfigurationNode node, final DataVisitor visitor) {
+        if (!node.empty() && !node.isMap()) {
+            throw new IllegalArgumentException("Only mapping nodes can be represented in DataViews");
+        }
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) {
+            HoconDataFormat.visitNode(entry.getValue(), HoconDataFormat.keyOf(entry.getValue()), visitor);
+        }
+    }
+
+    private static String keyOf(final ConfigurationNode node) {
+        final @Nullable Object key = node.key();
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported in data views (at " + node.path() + ")");
+        }
+        return key.toString();
+    }
+
+    private static void visitNode(final ConfigurationNode node, final @Nullable String key, final DataVisitor visitor) {
+        if (node.isMap()) {
+            visitor.beginView(key);
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) {
+                HoconDataFormat.visitNode(entry.getValue(), HoconDataFormat.keyOf(entry.getValue()), visitor);
+            }
+            visitor.endView();
+        } else if (node.isList()) {
+            visitor.beginList(key);
+            for (final ConfigurationNode child : node.childrenList()) {
+                HoconDataFormat.visitNode(child, null, visitor);
+            }
+            visitor.endList();
+        } else {
+            visitor.value(key, node.raw());
+        }
+    }
+
     @Override
     public String write(final DataView data) throws IOException {
         final StringWriter writer = new StringWriter();
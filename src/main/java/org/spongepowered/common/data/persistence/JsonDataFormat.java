@@ -30,6 +30,9 @@
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.data.persistence.DataContainer;
 import org.spongepowered.api.data.persistence.DataQuery;
@@ -85,67 +88,161 @@ public DataContainer readFrom(Reader input) throws InvalidDataException, IOExcep
 
     @Override
     public DataContainer readFrom(InputStream input) throws IOException {
-        try (JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)))) {
+        try (JsonReader reader = JsonDataFormat.createReader(input)) {
             return JsonDataFormat.readFrom(reader);
         }
     }
 
+    /**
+     * Reads a JSON document, reporting its contents to the visitor as they
+     * are read instead of building a {@link DataContainer}.
+     *
+     * @param input The reader to read from
+     * @param visitor The visitor to report to
+     * @throws IOException If the document could not be read
+     */
+    public void readFrom(final Reader input, final DataVisitor visitor) throws IOException {
+        try (JsonReader reader = new JsonReader(input)) {
+            JsonDataFormat.visitView(reader, visitor);
+        }
+    }
+
+    /**
+     * Reads a UTF-8 encoded JSON document, reporting its contents to the
+     * visitor as they are read instead of building a {@link DataContainer}.
+     *
+     * @param input The stream to read from
+     * @param visitor The visitor to report to
+     * @throws IOException If the document could not be read
+     */
+    public void readFrom(final InputStream input, final DataVisitor visitor) throws IOException {
+        try (JsonReader reader = JsonDataFormat.createReader(input)) {
+            JsonDataFormat.visitView(reader, visitor);
+        }
+    }
+
+    private static JsonReader createReader(final InputStream input) {
+        return new JsonReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+
     private static DataContainer readFrom(JsonReader reader) throws IOException {
-        return JsonDataFormat.createContainer(reader);
+        final DataViewBuilder builder = new DataViewBuilder(JsonDataFormat::finishView);
+        JsonDataFormat.visitView(reader, builder);
+        return builder.result();
     }
 
-    private static DataContainer createContainer(JsonReader reader) throws IOException {
-        DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
-        JsonDataFormat.readView(reader, container);
-        return container;
+    private static Object finishView(final DataView view) {
+        // Array types are read as they stream by when their type comes first, as written
+        // by this format, anything else ends up as a view that is converted here
+        return view.getString(DataQuery.of(ARRAYTYPE)).map(type -> JsonDataFormat.readArray(type, view)).orElse(view);
     }
 
-    private static void readView(JsonReader reader, DataView view) throws IOException {
+    private static void visitView(final JsonReader reader, final DataVisitor visitor) throws IOException {
         reader.beginObject();
-
         while (reader.hasNext()) {
-            DataQuery key = of(reader.nextName());
-
-            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
-                // Check this early so we don't need to copy the view
-                final DataView subView = view.createView(key);
-                JsonDataFormat.readView(reader, subView);
-                // handle special array types
-                subView.getString(DataQuery.of(ARRAYTYPE)).ifPresent(type -> {
-                    view.remove(key);
-                    view.set(key, JsonDataFormat.readArray(type, subView));
-                });
-            } else {
-                view.set(key, JsonDataFormat.read(reader));
-            }
+            JsonDataFormat.visitValue(reader, reader.nextName(), visitor);
         }
-
         reader.endObject();
     }
 
-    private static @org.checkerframework.checker.nullness.qual.Nullable Object read(JsonReader reader) throws IOException {
-        JsonToken token = reader.peek();
+    private static void visitValue(final JsonReader reader, final @Nullable String key, final DataVisitor visitor) throws IOException {
+        final JsonToken token = reader.peek();
         switch (token) {
             case BEGIN_OBJECT:
-                final DataContainer container = JsonDataFormat.createContainer(reader);
-                // handle special array types
-                return container.getString(DataQuery.of(ARRAYTYPE)).map(s -> JsonDataFormat.readArray(s, container)).orElse(container);
+                reader.beginObject();
+                if (!reader.hasNext()) {
+                    visitor.beginView(key);
+                    visitor.endView();
+                    reader.endObject();
+                    return;
+                }
+                final String first = reader.nextName();
+                if (ARRAYTYPE.equals(first) && reader.peek() == JsonToken.STRING) {
+                    visitor.value(key, JsonDataFormat.readTypedArray(reader, reader.nextString()));
+                    return;
+                }
+                visitor.beginView(key);
+                JsonDataFormat.visitValue(reader, first, visitor);
+                while (reader.hasNext()) {
+                    JsonDataFormat.visitValue(reader, reader.nextName(), visitor);
+                }
+                visitor.endView();
+                reader.endObject();
+                return;
             case BEGIN_ARRAY:
-                return JsonDataFormat.readArray(reader);
+                reader.beginArray();
+                visitor.beginList(key);
+                while (reader.hasNext()) {
+                    JsonDataFormat.visitValue(reader, null, visitor);
+                }
+                visitor.endList();
+                reader.endArray();
+                return;
             case BOOLEAN:
-                return reader.nextBoolean();
+                visitor.value(key, reader.nextBoolean());
+                return;
             case NULL:
                 reader.nextNull();
-                return null;
+                visitor.value(key, null);
+                return;
             case STRING:
-                return reader.nextString();
+                visitor.value(key, reader.nextString());
+                return;
             case NUMBER:
-                return JsonDataFormat.readNumber(reader);
+                visitor.value(key, JsonDataFormat.readNumber(reader));
+                return;
             default:
                 throw new IOException("Unexpected token: " + token);
         }
     }
 
+    /**
+     * Reads the rest of an array type object whose type was just read,
+     * straight into a primitive array.
+     */
+    private static Object readTypedArray(final JsonReader reader, final String type) throws IOException {
+        if (!INT.equals(type) && !BYTE.equals(type) && !LONG.equals(type)) {
+            throw new IllegalArgumentException("Unknown type " + type);
+        }
+        @Nullable Object array = null;
+        while (reader.hasNext()) {
+            if (!VALUE.equals(reader.nextName())) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            switch (type) {
+                case INT:
+                    final IntArrayList ints = new IntArrayList();
+                    while (reader.hasNext()) {
+                        ints.add(reader.nextInt());
+                    }
+                    array = ints.toIntArray();
+                    break;
+                case BYTE:
+                    final ByteArrayList bytes = new ByteArrayList();
+                    while (reader.hasNext()) {
+                        bytes.add((byte) reader.nextInt());
+                    }
+                    array = bytes.toByteArray();
+                    break;
+                default:
+                    final LongArrayList longs = new LongArrayList();
+                    while (reader.hasNext()) {
+                        longs.add(reader.nextLong());
+                    }
+                    array = longs.toLongArray();
+                    break;
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        if (array == null) {
+            throw new InvalidDataException("Missing " + VALUE + " of " + type + " array");
+        }
+        return array;
+    }
+
     private static Object readArray(String type, DataView container) {
         final Object value = container.get(of(VALUE)).get();
         final List<Object> list = new ArrayList<>();
@@ -158,15 +255,15 @@ private static Object readArray(String type, DataView container) {
         }
         switch (type) {
             case INT:
-                return list.stream().mapToInt(n -> (int) n).toArray();
+                return list.stream().mapToInt(n -> ((Number) n).intValue()).toArray();
             case BYTE:
                 final byte[] bytes = new byte[list.size()];
                 for (int i = 0; i < list.size(); i++) {
-                    bytes[i] = (byte) list.get(i);
+                    bytes[i] = ((Number) list.get(i)).byteValue();
                 }
                 return bytes;
             case LONG:
-                return list.stream().mapToLong(n -> (long) n).toArray();
+                return list.stream().mapToLong(n -> ((Number) n).longValue()).toArray();
             default:
                 throw new IllegalArgumentException("Unknown type " + type);
 
@@ -189,18 +286,6 @@ private static Number readNumber(JsonReader reader) throws IOException {
         return nextLong;
     }
 
-    private static List<?> readArray(JsonReader reader) throws IOException {
-        reader.beginArray();
-
-        List<Object> result = new ArrayList<>();
-        while (reader.hasNext()) {
-            result.add(JsonDataFormat.read(reader));
-        }
-
-        reader.endArray();
-        return result;
-    }
-
     @Override
     public void writeTo(OutputStream output, DataView data) throws IOException {
         try (JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)))) {
@@ -50,7 +50,7 @@ public DataContainer readFrom(InputStream input) throws InvalidDataFormatExcepti
         }
         try {
             CompoundTag tag = NbtIo.read(dis);
-            return NBTTranslator.INSTANCE.translateFrom(tag);
+            return NBTTranslator.INSTANCE.translateOwned(tag);
         } finally {
             dis.close();
         }
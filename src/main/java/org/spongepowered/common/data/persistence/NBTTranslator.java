@@ -49,10 +49,13 @@
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.persistence.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.data.MemoryDataView;
 import org.spongepowered.common.util.Constants;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public final class NBTTranslator implements DataTranslator<CompoundTag> {
 
@@ -69,16 +72,27 @@ private static CompoundTag containerToCompound(final DataView container) {
     }
 
     private static void containerToCompound(final DataView container, final CompoundTag compound) {
-        // We don't need to get deep values since all nested DataViews will be found
-        // from the instance of checks.
         checkNotNull(container);
         checkNotNull(compound);
-        for (Map.Entry<DataQuery, Object> entry : container.values(false).entrySet()) {
-            Object value = entry.getValue();
-            String key = entry.getKey().asString('.');
+        if (container instanceof MemoryDataView) {
+            final Optional<CompoundTag> pending = ((MemoryDataView) container).pendingCompound();
+            if (pending.isPresent()) {
+                // Nothing touched the view since it was translated, so the original
+                // compound still holds exactly its entries
+                for (final String key : pending.get().getAllKeys()) {
+                    compound.put(key, pending.get().get(key).copy());
+                }
+                return;
+            }
+        }
+        // Walking the keys rather than values(false), which would turn every
+        // nested view into an intermediate map first
+        for (final DataQuery query : container.keys(false)) {
+            final Object value = container.get(query).get();
+            final String key = query.asString('.');
             if (value instanceof DataView) {
-                CompoundTag inner = new CompoundTag();
-                NBTTranslator.containerToCompound(container.getView(entry.getKey()).get(), inner);
+                final CompoundTag inner = new CompoundTag();
+                NBTTranslator.containerToCompound((DataView) value, inner);
                 compound.put(key, inner);
             } else if (value instanceof Boolean) {
                 compound.put(key + NBTTranslator.BOOLEAN_IDENTIFIER, ByteTag.valueOf((Boolean) value));
@@ -168,15 +182,17 @@ private static Tag getBaseFromObject(final Object value) {
         throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
     }
 
-    private static DataContainer getViewFromCompound(CompoundTag compound) {
+    private static DataContainer getViewFromCompound(final CompoundTag compound, final boolean owned) {
         checkNotNull(compound);
-        DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
-        NBTTranslator.INSTANCE.addTo(compound, container);
+        final MemoryDataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        // The entries are only converted once they are accessed, compounds that are
+        // not owned are copied first so later changes to them don't leak into the view
+        container.fillLazily(owned ? compound : compound.copy());
         return container;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static void setInternal(Tag base, byte type, DataView view, String key) {
+    private static void setInternal(Tag base, byte type, DataView view, String key, final boolean owned) {
         checkNotNull(base);
         checkNotNull(view);
         checkNotNull(key);
@@ -217,13 +233,17 @@ private static void setInternal(Tag base, byte type, DataView view, String key)
                 int count = list.size();
                 List objectList = Lists.newArrayListWithCapacity(count);
                 for (final Tag inbt : list) {
-                    objectList.add(NBTTranslator.fromTagBase(inbt, listType));
+                    objectList.add(NBTTranslator.fromTagBase(inbt, listType, owned));
                 }
                 view.set(of(key), objectList);
                 break;
             case Constants.NBT.TAG_COMPOUND:
                 DataView internalView = view.createView(of(key));
                 CompoundTag compound = (CompoundTag) base;
+                if (owned && internalView instanceof MemoryDataView) {
+                    ((MemoryDataView) internalView).fillLazily(compound);
+                    break;
+                }
                 for (String internalKey : compound.getAllKeys()) {
                     Tag internalBase = compound.get(internalKey);
                     byte internalType = internalBase.getId();
@@ -231,7 +251,7 @@ private static void setInternal(Tag base, byte type, DataView view, String key)
                     // Reasoning: This avoids creating a new DataContainer which would
                     // then be copied in to the owning DataView anyways. We can internally
                     // set the actual data directly to the child view instead.
-                    NBTTranslator.setInternal(internalBase, internalType, internalView, internalKey);
+                    NBTTranslator.setInternal(internalBase, internalType, internalView, internalKey, owned);
                 }
                 break;
             case Constants.NBT.TAG_INT_ARRAY:
@@ -246,7 +266,7 @@ private static void setInternal(Tag base, byte type, DataView view, String key)
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static Object fromTagBase(Tag base, byte type) {
+    private static Object fromTagBase(Tag base, byte type, final boolean owned) {
         switch (type) {
             case Constants.NBT.TAG_BYTE:
                 return ((ByteTag) base).getAsByte();
@@ -270,11 +290,11 @@ private static Object fromTagBase(Tag base, byte type) {
                 int count = list.size();
                 List objectList = Lists.newArrayListWithCapacity(count);
                 for (Tag inbt : list) {
-                    objectList.add(NBTTranslator.fromTagBase(inbt, listType));
+                    objectList.add(NBTTranslator.fromTagBase(inbt, listType, owned));
                 }
                 return objectList;
             case Constants.NBT.TAG_COMPOUND:
-                return NBTTranslator.getViewFromCompound((CompoundTag) base);
+                return NBTTranslator.getViewFromCompound((CompoundTag) base, owned);
             case Constants.NBT.TAG_INT_ARRAY:
                 return ((IntArrayTag) base).getAsIntArray();
             case Constants.NBT.TAG_LONG_ARRAY:
@@ -289,7 +309,7 @@ public void translateContainerToData(CompoundTag node, DataView container) {
     }
 
     public DataContainer translateFrom(CompoundTag node) {
-        return NBTTranslator.getViewFromCompound(node);
+        return NBTTranslator.getViewFromCompound(node, false);
     }
 
     @Override
@@ -304,15 +324,44 @@ public CompoundTag translate(DataView view) throws InvalidDataException {
 
     @Override
     public DataContainer translate(CompoundTag obj) throws InvalidDataException {
-        return NBTTranslator.getViewFromCompound(obj);
+        return NBTTranslator.getViewFromCompound(obj, false);
+    }
+
+    /**
+     * Translates a compound that nothing else modifies any more, such as one
+     * that was just read or parsed. Unlike {@link #translate(CompoundTag)}
+     * the compound is not copied, the view takes it over and converts its
+     * entries once they are accessed.
+     *
+     * @param compound The compound, which must not be modified afterwards
+     * @return The view
+     */
+    public DataContainer translateOwned(final CompoundTag compound) {
+        return NBTTranslator.getViewFromCompound(compound, true);
     }
 
     @Override
     public DataView addTo(CompoundTag compound, DataView container) {
+        return NBTTranslator.addTo(compound, container, false);
+    }
+
+    /**
+     * Adds the entries of a compound that nothing else modifies any more to
+     * the view, leaving nested compounds to be filled in lazily.
+     *
+     * @param compound The compound, which must not be modified afterwards
+     * @param container The view to add the entries to
+     * @return The view
+     */
+    public DataView addOwned(final CompoundTag compound, final DataView container) {
+        return NBTTranslator.addTo(compound, container, true);
+    }
+
+    private static DataView addTo(final CompoundTag compound, final DataView container, final boolean owned) {
         for (String key : compound.getAllKeys()) {
             Tag base = compound.get(key);
             byte type = base.getId();
-            NBTTranslator.setInternal(base, type, container, key); // gotta love recursion
+            NBTTranslator.setInternal(base, type, container, key, owned); // gotta love recursion
         }
         return container;
     }
@@ -24,7 +24,7 @@
  */
 package org.spongepowered.common.data.provider;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.data.DataProvider;
 import org.spongepowered.api.data.Key;
 import org.spongepowered.api.data.value.Value;
@@ -35,10 +35,20 @@
 
 public final class DataProviderLookup {
 
-    private final Map<Key<?>, DataProvider<?, ?>> providerMap;
+    private final Collection<DataProvider<?, ?>> providers;
+    // Indexed by SpongeKey#getId, null for keys without a provider
+    private final DataProvider<?, ?>[] providersById;
 
-    DataProviderLookup(Map<Key<?>, DataProvider<?, ?>> providerMap) {
-        this.providerMap = ImmutableMap.copyOf(providerMap);
+    DataProviderLookup(final Map<Key<?>, DataProvider<?, ?>> providerMap) {
+        this.providers = ImmutableList.copyOf(providerMap.values());
+        int size = 0;
+        for (final Key<?> key : providerMap.keySet()) {
+            size = Math.max(size, ((SpongeKey<?, ?>) key).getId() + 1);
+        }
+        this.providersById = new DataProvider<?, ?>[size];
+        for (final Map.Entry<Key<?>, DataProvider<?, ?>> entry : providerMap.entrySet()) {
+            this.providersById[((SpongeKey<?, ?>) entry.getKey()).getId()] = entry.getValue();
+        }
     }
 
     /**
@@ -47,7 +57,7 @@ public final class DataProviderLookup {
      * @return The delegate data providers
      */
     public Collection<DataProvider<?, ?>> getAllProviders() {
-        return this.providerMap.values();
+        return this.providers;
     }
 
     /**
@@ -60,6 +70,14 @@ public final class DataProviderLookup {
      */
     @SuppressWarnings("unchecked")
     public <V extends Value<E>, E> DataProvider<V, E> getProvider(Key<V> key) {
-        return (DataProvider<V, E>) this.providerMap.getOrDefault(key, ((SpongeKey<V, E>) key).getEmptyDataProvider());
+        final SpongeKey<V, E> spongeKey = (SpongeKey<V, E>) key;
+        final int id = spongeKey.getId();
+        if (id < this.providersById.length) {
+            final DataProvider<?, ?> provider = this.providersById[id];
+            if (provider != null) {
+                return (DataProvider<V, E>) provider;
+            }
+        }
+        return spongeKey.getEmptyDataProvider();
     }
 }
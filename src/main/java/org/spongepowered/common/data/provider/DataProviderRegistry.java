@@ -44,7 +44,6 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -52,37 +51,7 @@
 
 public final class DataProviderRegistry {
 
-    private static class LookupKey {
-
-        final Class<?> holderType;
-
-        final Key<?> key;
-        private LookupKey(final Class<?> holderType, final Key<?> key) {
-            this.holderType = holderType;
-            this.key = key;
-        }
-
-        @Override
-        public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || this.getClass() != o.getClass()) {
-                return false;
-            }
-            final LookupKey lookupKey = (LookupKey) o;
-            return this.holderType.equals(lookupKey.holderType) &&
-                    this.key.equals(lookupKey.key);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.holderType, this.key);
-        }
-
-    }
     private final Multimap<Key<?>, DataProvider<?,?>> dataProviders = HashMultimap.create();
-    private final Map<LookupKey, DataProvider<?,?>> dataProviderCache = new ConcurrentHashMap<>();
     private final Map<Class<?>, DataProviderLookup> dataProviderLookupCache = new ConcurrentHashMap<>();
 
     private static boolean filterHolderType(final DataProvider<?,?> provider, final Class<?> holderType) {
@@ -94,15 +63,10 @@ private static boolean filterHolderType(final DataProvider<?,?> provider, final
         return true;
     }
 
-    @SuppressWarnings("unchecked")
-    private DataProvider<?,?> loadProvider(final LookupKey key) {
-        return this.buildDelegate((Key<Value<Object>>) key.key, provider -> DataProviderRegistry.filterHolderType(provider, key.holderType));
-    }
-
     @SuppressWarnings(value = {"unchecked", "rawtypes"})
     private DataProviderLookup loadProviderLookup(final Class<?> holderType) {
         final Stream<DataProvider> stream = this.dataProviders.keySet().stream()
-                .map(key -> this.getProvider((Key) key, holderType))
+                .map(key -> this.buildDelegate((Key) key, provider -> DataProviderRegistry.filterHolderType((DataProvider<?, ?>) provider, holderType)))
                 .filter(provider -> !(provider instanceof EmptyDataProvider));
         final Map<Key<?>, DataProvider<?, ?>> map = stream.collect(Collectors.toMap(p -> (Key<?>) p.key(), p -> (DataProvider<?, ?>) p));
         return new DataProviderLookup(map);
@@ -135,6 +99,11 @@ private static <V extends Value<E>, E> DataProvider<V, E> buildDelegateProvider(
      * @return The built lookup
      */
     public DataProviderLookup getProviderLookup(final Class<?> dataHolderType) {
+        // Plain get first, computeIfAbsent locks the bin even if the lookup is present
+        final DataProviderLookup lookup = this.dataProviderLookupCache.get(dataHolderType);
+        if (lookup != null) {
+            return lookup;
+        }
         return this.dataProviderLookupCache.computeIfAbsent(dataHolderType, this::loadProviderLookup);
     }
 
@@ -189,9 +158,8 @@ public Collection<DataProvider<?,?>> getAllProviders(final Class<?> dataHolderTy
      * @param <E> The element type of the value
      * @return The delegate data provider
      */
-    @SuppressWarnings({"unchecked"})
     public <V extends Value<E>, E> DataProvider<V, E> getProvider(final Key<V> key, final Class<?> dataHolderType) {
-        return (DataProvider<V, E>) this.dataProviderCache.computeIfAbsent(new LookupKey(dataHolderType, key), this::loadProvider);
+        return this.getProviderLookup(dataHolderType).getProvider(key);
     }
 
     /**
@@ -201,7 +169,6 @@ public <V extends Value<E>, E> DataProvider<V, E> getProvider(final Key<V> key,
      */
     public void register(final DataProvider<?,?> provider) {
         this.dataProviders.put(provider.key(), provider);
-        this.dataProviderCache.clear();
         this.dataProviderLookupCache.clear();
     }
 
@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.entity;
 
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
 import org.spongepowered.common.util.Constants;
 
 public final class PlayerTracker {
@@ -39,25 +41,38 @@ public enum Type {
         }
     }
 
-    public int creatorindex;
-    public int notifierIndex;
+    /**
+     * The packed indices of a position that neither has a creator nor a notifier.
+     */
+    public static final long NONE = PlayerTracker.pack(-1, -1);
 
-    public PlayerTracker() {
-        this.creatorindex = -1;
-        this.notifierIndex = -1;
+    /**
+     * Packs the creator and notifier indices of a tracked position into a
+     * single long, the creator in the upper and the notifier in the lower half.
+     */
+    public static long pack(final int creatorIndex, final int notifierIndex) {
+        return (long) creatorIndex << 32 | notifierIndex & 0xFFFFFFFFL;
     }
 
-    public PlayerTracker(int index, Type type) {
-        if (type == Type.CREATOR) {
-            this.creatorindex = index;
-            this.notifierIndex = -1;
-        } else {
-            this.notifierIndex = index;
-            this.creatorindex = -1;
-        }
+    public static int creatorIndex(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int notifierIndex(final long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Creates a map from {@link Constants.Sponge#blockPosToInt block positions}
+     * to {@link #pack packed} indices, returning {@link #NONE} for untracked
+     * positions.
+     */
+    public static Int2LongMap newPositionMap(final int expected) {
+        final Int2LongMap map = new Int2LongOpenHashMap(expected);
+        map.defaultReturnValue(PlayerTracker.NONE);
+        return map;
     }
 
-    public void setNotifier(int notifierIndex) {
-        this.notifierIndex = notifierIndex;
+    private PlayerTracker() {
     }
 }
@@ -81,7 +81,6 @@
 import org.spongepowered.common.profile.SpongeGameProfile;
 import org.spongepowered.common.service.server.permission.BridgeSubject;
 import org.spongepowered.common.service.server.permission.SubjectHelper;
-import org.spongepowered.common.user.SpongeUserManager;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.FileUtil;
 import org.spongepowered.common.util.MissingImplementationException;
@@ -89,7 +88,6 @@
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.Collections;
@@ -161,6 +159,13 @@ public static SpongeUserData create(final GameProfile profile) throws IOExceptio
         }
     }
 
+    /**
+     * Creates a user from a snapshot that was not written to disk yet.
+     */
+    public static SpongeUserData create(final GameProfile profile, final CompoundTag snapshot) {
+        return new SpongeUserData(profile, snapshot.copy());
+    }
+
     private SpongeUserData(final GameProfile profile, final CompoundTag tag) {
         this.profile = profile;
         this.compound = tag;
@@ -417,20 +422,14 @@ public void markDirty() {
         ((SpongeServer) SpongeCommon.server()).userManager().markDirty(this);
     }
 
-    public void save() throws IOException {
+    /**
+     * Writes the current state of this user into its compound and returns a
+     * copy of it, which can be written to disk off the server thread.
+     */
+    public CompoundTag createSnapshot() {
         synchronized (this) {
-            final SpongeUserManager userManager = ((SpongeServer) SpongeCommon.server()).userManager();
-            final LevelStorageSource.LevelStorageAccess storageSource = ((MinecraftServerAccessor) Sponge.server()).accessor$storageSource();
-            final File file = storageSource.getLevelPath(LevelResource.PLAYER_DATA_DIR).resolve(this.uniqueId() + ".dat").toFile();
             this.writeCompound(this.compound);
-            try (final FileOutputStream out = new FileOutputStream(file)) {
-                NbtIo.writeCompressed(this.compound, out);
-                userManager.unmarkDirty(this);
-            } catch (final IOException e) {
-                // We log the message here because the error may be swallowed by a completable future.
-                SpongeCommon.logger().warn("Failed to save user file [{}]!", file, e);
-                throw e;
-            }
+            return this.compound.copy();
         }
     }
 
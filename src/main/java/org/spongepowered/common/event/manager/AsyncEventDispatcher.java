@@ -0,0 +1,208 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Posts events without blocking the posting thread.
+ *
+ * <p>Listeners of the same {@link Order} that belong to different plugins
+ * run concurrently, each plugin on its own serial lane, while every order
+ * acts as a barrier that has to complete before listeners of the next order
+ * are called. A plugin that blocks in a listener therefore only delays its
+ * own lane and the orders after it, not the listeners of other plugins in
+ * the same order.</p>
+ */
+final class AsyncEventDispatcher {
+
+    private final ExecutorService executor;
+    private final Invoker invoker;
+    private final Map<PluginContainer, Lane> lanes = new ConcurrentHashMap<>();
+
+    AsyncEventDispatcher() {
+        this(AsyncEventDispatcher.createExecutor(), AsyncEventDispatcher::invoke);
+    }
+
+    AsyncEventDispatcher(final ExecutorService executor, final Invoker invoker) {
+        this.executor = executor;
+        this.invoker = invoker;
+    }
+
+    /**
+     * Uses virtual threads when the runtime provides them, falls back to a
+     * cached pool of daemon threads otherwise.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge-AsyncEvent-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+    }
+
+    CompletableFuture<Boolean> post(final Event event, final RegisteredListener.Cache cache) {
+        CompletableFuture<Void> stage = CompletableFuture.completedFuture(null);
+        for (final Order order : Order.values()) {
+            final List<RegisteredListener<?>> listeners = cache.getListenersByOrder(order);
+            if (listeners.isEmpty()) {
+                continue;
+            }
+            stage = stage.thenCompose(ignored -> this.postOrder(event, order, listeners));
+        }
+        return stage.handle((ignored, throwable) -> {
+            if (throwable != null) {
+                SpongeCommon.logger().error("Could not post {} asynchronously", event.getClass().getSimpleName(), throwable);
+            }
+            if (event instanceof AbstractEvent) {
+                ((AbstractEvent) event).currentOrder = null;
+            }
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        });
+    }
+
+    private CompletableFuture<Void> postOrder(final Event event, final Order order, final List<RegisteredListener<?>> listeners) {
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = order;
+        }
+        final Map<PluginContainer, List<RegisteredListener<?>>> byPlugin = new LinkedHashMap<>();
+        for (final RegisteredListener<?> listener : listeners) {
+            byPlugin.computeIfAbsent(listener.getPlugin(), plugin -> new ArrayList<>()).add(listener);
+        }
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[byPlugin.size()];
+        int index = 0;
+        for (final Map.Entry<PluginContainer, List<RegisteredListener<?>>> entry : byPlugin.entrySet()) {
+            final PluginContainer plugin = entry.getKey();
+            final List<RegisteredListener<?>> pluginListeners = entry.getValue();
+            futures[index++] = CompletableFuture.runAsync(() -> this.invoker.invoke(event, plugin, pluginListeners),
+                    this.lanes.computeIfAbsent(plugin, key -> new Lane(this.executor)));
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void invoke(final Event event, final PluginContainer plugin, final List<RegisteredListener<?>> listeners) {
+        try (
+                final CauseStackManager.StackFrame frame = PhaseTracker.getCauseStackManager().pushCauseFrame();
+                final @Nullable PhaseContext<@NonNull ?> context = SpongeEventManager.createListenerContext(plugin)
+        ) {
+            frame.pushCause(plugin);
+            if (context != null) {
+                context.buildAndSwitch();
+            }
+            for (final RegisteredListener listener : listeners) {
+                try {
+                    listener.handle(event);
+                } catch (final Throwable e) {
+                    SpongeCommon.logger().error("Could not pass {} to {}", event.getClass().getSimpleName(), plugin.metadata().id(), e);
+                }
+            }
+        } catch (final Throwable e) {
+            SpongeCommon.logger().error("Could not pass {} to {}", event.getClass().getSimpleName(), plugin.metadata().id(), e);
+        }
+    }
+
+    /**
+     * Calls the listeners of a single plugin, within one order, for an event.
+     */
+    @FunctionalInterface
+    interface Invoker {
+
+        void invoke(Event event, PluginContainer plugin, List<RegisteredListener<?>> listeners);
+    }
+
+    /**
+     * Runs the submitted tasks of a single plugin one after another on the
+     * shared executor.
+     */
+    private static final class Lane implements Executor, Runnable {
+
+        private final Executor executor;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(final Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            this.queue.add(command);
+            this.schedule();
+        }
+
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                this.executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable next;
+                while ((next = this.queue.poll()) != null) {
+                    next.run();
+                }
+            } finally {
+                this.scheduled.set(false);
+                if (!this.queue.isEmpty()) {
+                    this.schedule();
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.configurate.util.Types;
+
+/**
+ * Tracks the listened event types an {@link EventType} depends on, so that
+ * listener changes only invalidate the caches they actually affect.
+ */
+final class BakedEventType {
+
+    private final EventType<?> eventType;
+    private final Class<?>[] hierarchy;
+    private volatile long invalidatedAt;
+
+    BakedEventType(final EventType<?> eventType) {
+        this.eventType = eventType;
+        this.hierarchy = Types.allSuperTypesAndInterfaces(eventType.getType())
+                .map(GenericTypeReflector::erase)
+                .filter(Event.class::isAssignableFrom)
+                .distinct()
+                .toArray(Class<?>[]::new);
+    }
+
+    EventType<?> eventType() {
+        return this.eventType;
+    }
+
+    /**
+     * Gets all event types, including the type itself, that listeners can be
+     * registered for and still receive this event type.
+     *
+     * @return The event hierarchy
+     */
+    Class<?>[] hierarchy() {
+        return this.hierarchy;
+    }
+
+    long invalidatedAt() {
+        return this.invalidatedAt;
+    }
+
+    void invalidate(final long generation) {
+        this.invalidatedAt = generation;
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TickProfiler;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.List;
+
+/**
+ * Dispatches an event to a baked, ordered list of {@link RegisteredListener}s.
+ *
+ * <p>Consecutive listeners that belong to the same plugin are treated as a
+ * single run, sharing one cause frame and one listener phase context instead
+ * of creating them for every single listener. The actual invocation of each
+ * listener is delegated to {@link #invoke(int, Event)}, which generated
+ * subclasses implement with a dedicated call site per listener.</p>
+ *
+ * @see EventDispatcherFactory
+ */
+public abstract class EventDispatcher {
+
+    protected final RegisteredListener<?>[] listeners;
+    protected final EventListener<?>[] delegates;
+    /**
+     * The start index of every plugin run, terminated by the listener count.
+     */
+    private final int[] runs;
+
+    protected EventDispatcher(final RegisteredListener<?>[] listeners) {
+        this.listeners = listeners;
+        this.delegates = new EventListener<?>[listeners.length];
+        int runCount = 0;
+        final int[] runs = new int[listeners.length + 1];
+        for (int i = 0; i < listeners.length; i++) {
+            this.delegates[i] = listeners[i].getListener();
+            if (i == 0 || listeners[i - 1].getPlugin() != listeners[i].getPlugin()) {
+                runs[runCount++] = i;
+            }
+        }
+        runs[runCount++] = listeners.length;
+        this.runs = new int[runCount];
+        System.arraycopy(runs, 0, this.runs, 0, runCount);
+    }
+
+    static RegisteredListener<?>[] toArray(final List<RegisteredListener<?>> listeners) {
+        return listeners.toArray(new RegisteredListener<?>[0]);
+    }
+
+    public final boolean isEmpty() {
+        return this.listeners.length == 0;
+    }
+
+    public final void dispatch(final Event event) {
+        this.dispatch(event, null);
+    }
+
+    /**
+     * Dispatches the event, recording every listener invocation to the given
+     * profiler if present.
+     *
+     * @param event The event
+     * @param profiler The profiler, or null if profiling is disabled
+     */
+    public final void dispatch(final Event event, final @Nullable EventProfiler profiler) {
+        final RegisteredListener<?>[] listeners = this.listeners;
+        final int[] runs = this.runs;
+        final @Nullable AbstractEvent abstractEvent = event instanceof AbstractEvent ? (AbstractEvent) event : null;
+        for (int run = 0; run < runs.length - 1; run++) {
+            final int start = runs[run];
+            final int end = runs[run + 1];
+            final PluginContainer plugin = listeners[start].getPlugin();
+            final int tickRun = TickProfiler.INSTANCE.beginPlugin();
+            try (
+                    final CauseStackManager.StackFrame frame = PhaseTracker.getCauseStackManager().pushCauseFrame();
+                    final @Nullable PhaseContext<@NonNull ?> context = SpongeEventManager.createListenerContext(plugin)
+            ) {
+                frame.pushCause(plugin);
+                if (context != null) {
+                    context.buildAndSwitch();
+                }
+                for (int i = start; i < end; i++) {
+                    if (abstractEvent != null) {
+                        abstractEvent.currentOrder = listeners[i].getOrder();
+                    }
+                    try {
+                        if (profiler == null) {
+                            this.invoke(i, event);
+                        } else {
+                            final long allocated = profiler.allocatedBytes();
+                            final long start = System.nanoTime();
+                            try {
+                                this.invoke(i, event);
+                            } finally {
+                                profiler.recordListener(listeners[i], System.nanoTime() - start, profiler.allocatedBytes() - allocated);
+                            }
+                        }
+                    } catch (final Throwable e) {
+                        SpongeCommon.logger().error("Could not pass {} to {}", event.getClass().getSimpleName(), plugin.metadata().id(), e);
+                    }
+                }
+            } catch (final Throwable e) {
+                SpongeCommon.logger().error("Could not pass {} to {}", event.getClass().getSimpleName(), plugin.metadata().id(), e);
+            }
+            TickProfiler.INSTANCE.endPlugin(tickRun, plugin);
+        }
+        if (abstractEvent != null) {
+            abstractEvent.currentOrder = null;
+        }
+    }
+
+    /**
+     * Invokes the listener at the given index of {@link #listeners}.
+     *
+     * @param index The listener index
+     * @param event The event
+     * @throws Exception If the listener fails
+     */
+    protected abstract void invoke(int index, Event event) throws Exception;
+
+    /**
+     * A non generated dispatcher, used when no class could or should be
+     * compiled for a listener list.
+     */
+    static final class Looping extends EventDispatcher {
+
+        Looping(final RegisteredListener<?>[] listeners) {
+            super(listeners);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @Override
+        protected void invoke(final int index, final Event event) throws Exception {
+            ((EventListener) this.delegates[index]).handle(event);
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PROTECTED;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+import org.spongepowered.common.event.gen.LoaderClassWriter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles an {@link EventDispatcher} per baked {@link EventType}.
+ *
+ * <p>The generated class stores every listener in its own field and
+ * implements {@link EventDispatcher#invoke(int, Event)} as a table switch with
+ * one {@link EventListener#handle(Event)} call site per listener, which keeps
+ * each call site monomorphic instead of funneling all listeners of all events
+ * through a single megamorphic one.</p>
+ *
+ * <p>Every class is defined in its own class loader so that dispatchers of
+ * invalidated handler caches can be unloaded again.</p>
+ */
+public final class EventDispatcherFactory {
+
+    /**
+     * Listener lists longer than this are dispatched without compiling a
+     * class, the generated switch would otherwise get close to the method
+     * size limit.
+     */
+    static final int MAX_COMPILED_LISTENERS = 1024;
+
+    private static final String BASE_DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String LISTENER_ARRAY_DESCRIPTOR = "[" + Type.getDescriptor(RegisteredListener.class);
+    private static final String DELEGATES_DESCRIPTOR = "[" + EventDispatcherFactory.LISTENER_DESCRIPTOR;
+    private static final String INVOKE_METHOD_DESCRIPTOR = "(I" + Type.getDescriptor(Event.class) + ")V";
+    private static final String HANDLE_METHOD_DESCRIPTOR = '(' + Type.getDescriptor(Event.class) + ")V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final String targetPackage;
+
+    public EventDispatcherFactory(final String targetPackage) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+    }
+
+    public EventDispatcher create(final EventType<?> eventType, final List<RegisteredListener<?>> listeners) {
+        final RegisteredListener<?>[] array = EventDispatcher.toArray(listeners);
+        if (array.length == 0 || array.length > EventDispatcherFactory.MAX_COMPILED_LISTENERS) {
+            return new EventDispatcher.Looping(array);
+        }
+        final String name = this.targetPackage + eventType.getType().getSimpleName() + "Dispatcher_" + this.id.incrementAndGet();
+        try {
+            final DefineableClassLoader classLoader = new DefineableClassLoader(EventDispatcher.class.getClassLoader());
+            final Class<? extends EventDispatcher> clazz = classLoader.defineClass(name,
+                    EventDispatcherFactory.generateClass(name, classLoader, array.length));
+            return clazz.getConstructor(RegisteredListener[].class).newInstance((Object) array);
+        } catch (final Exception | LinkageError e) {
+            SpongeCommon.logger().warn("Failed to compile event dispatcher for {}, falling back to a looping dispatcher", eventType, e);
+            return new EventDispatcher.Looping(array);
+        }
+    }
+
+    private static byte[] generateClass(String name, final ClassLoader loader, final int listenerCount) {
+        name = name.replace('.', '/');
+
+        final ClassWriter cw = new LoaderClassWriter(loader, ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_8, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, EventDispatcherFactory.BASE_DISPATCHER, null);
+        for (int i = 0; i < listenerCount; i++) {
+            final FieldVisitor fv = cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, EventDispatcherFactory.LISTENER_DESCRIPTOR, null, null);
+            fv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", '(' + EventDispatcherFactory.LISTENER_ARRAY_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESPECIAL, EventDispatcherFactory.BASE_DISPATCHER, "<init>",
+                    '(' + EventDispatcherFactory.LISTENER_ARRAY_DESCRIPTOR + ")V", false);
+            for (int i = 0; i < listenerCount; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, EventDispatcherFactory.BASE_DISPATCHER, "delegates", EventDispatcherFactory.DELEGATES_DESCRIPTOR);
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitInsn(AALOAD);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, EventDispatcherFactory.LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PROTECTED, "invoke", EventDispatcherFactory.INVOKE_METHOD_DESCRIPTOR, null,
+                    new String[] { "java/lang/Exception" });
+            mv.visitCode();
+            final Label end = new Label();
+            final Label[] cases = new Label[listenerCount];
+            for (int i = 0; i < listenerCount; i++) {
+                cases[i] = new Label();
+            }
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitTableSwitchInsn(0, listenerCount - 1, end, cases);
+            for (int i = 0; i < listenerCount; i++) {
+                mv.visitLabel(cases[i]);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, EventDispatcherFactory.LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(EventListener.class), "handle",
+                        EventDispatcherFactory.HANDLE_METHOD_DESCRIPTOR, true);
+                mv.visitInsn(RETURN);
+            }
+            mv.visitLabel(end);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+}
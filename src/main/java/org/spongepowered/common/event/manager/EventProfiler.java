@@ -0,0 +1,215 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.util.PrettyPrinter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An opt-in profiler recording invocation counts, time and optionally
+ * allocated bytes per {@link RegisteredListener} and per {@link EventType}.
+ *
+ * <p>All counters are striped, so listeners called concurrently from
+ * different threads do not contend on the same counter. While disabled the
+ * event manager does not call into the profiler at all.</p>
+ */
+public final class EventProfiler {
+
+    private final Map<RegisteredListener<?>, Stats> listenerStats = new ConcurrentHashMap<>();
+    private final Map<EventType<?>, Stats> eventStats = new ConcurrentHashMap<>();
+    private final @Nullable ThreadMXBean allocationBean;
+    private volatile boolean enabled;
+    private volatile boolean trackAllocations;
+    private volatile long startTime;
+
+    EventProfiler() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            this.allocationBean = bean;
+        } else {
+            this.allocationBean = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public boolean isTrackingAllocations() {
+        return this.trackAllocations;
+    }
+
+    /**
+     * Gets whether allocated bytes can be tracked on this JVM.
+     *
+     * @return Whether allocations are supported
+     */
+    public boolean supportsAllocations() {
+        return this.allocationBean != null;
+    }
+
+    public void enable(final boolean trackAllocations) {
+        if (trackAllocations && this.allocationBean != null) {
+            ((com.sun.management.ThreadMXBean) this.allocationBean).setThreadAllocatedMemoryEnabled(true);
+        }
+        this.trackAllocations = trackAllocations && this.allocationBean != null;
+        if (!this.enabled) {
+            this.startTime = System.nanoTime();
+        }
+        this.enabled = true;
+    }
+
+    public void disable() {
+        this.enabled = false;
+    }
+
+    public void reset() {
+        this.listenerStats.clear();
+        this.eventStats.clear();
+        this.startTime = System.nanoTime();
+    }
+
+    long allocatedBytes() {
+        if (!this.trackAllocations || this.allocationBean == null) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) this.allocationBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    void recordListener(final RegisteredListener<?> listener, final long nanos, final long allocatedBytes) {
+        this.listenerStats.computeIfAbsent(listener, k -> new Stats()).record(nanos, allocatedBytes);
+    }
+
+    void recordEvent(final EventType<?> eventType, final long nanos, final long allocatedBytes) {
+        this.eventStats.computeIfAbsent(eventType, k -> new Stats()).record(nanos, allocatedBytes);
+    }
+
+    /**
+     * Gets the listeners with the highest cumulative time.
+     *
+     * @param limit The maximum amount of listeners
+     * @return The listener entries, most expensive first
+     */
+    public List<Map.Entry<RegisteredListener<?>, Stats>> topListeners(final int limit) {
+        return EventProfiler.top(this.listenerStats, limit);
+    }
+
+    public List<Map.Entry<EventType<?>, Stats>> topEvents(final int limit) {
+        return EventProfiler.top(this.eventStats, limit);
+    }
+
+    private static <K> List<Map.Entry<K, Stats>> top(final Map<K, Stats> stats, final int limit) {
+        final List<Map.Entry<K, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<K, Stats> entry) -> entry.getValue().totalNanos()).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    public static String describe(final RegisteredListener<?> listener) {
+        return listener.getPlugin().metadata().id() + ": " + listener.getHandle().getClass().getName()
+                + " (" + listener.getEventType() + ", " + listener.getOrder() + ")";
+    }
+
+    public PrettyPrinter report() {
+        final long elapsed = this.startTime == 0 ? 0 : System.nanoTime() - this.startTime;
+        final PrettyPrinter printer = new PrettyPrinter(160)
+                .add("Sponge Event Profiler Report").centre().hr()
+                .kv("Enabled", this.enabled)
+                .kv("Tracking allocations", this.trackAllocations)
+                .kv("Sampled for", "%d s", TimeUnit.NANOSECONDS.toSeconds(elapsed))
+                .add()
+                .add("Listeners").hr()
+                .table("Listener", -90, "Calls", PrettyPrinter.Alignment.RIGHT, "Total ms", PrettyPrinter.Alignment.RIGHT,
+                        "Avg us", PrettyPrinter.Alignment.RIGHT, "Max us", PrettyPrinter.Alignment.RIGHT,
+                        "Alloc KiB", PrettyPrinter.Alignment.RIGHT);
+        for (final Map.Entry<RegisteredListener<?>, Stats> entry : this.topListeners(Integer.MAX_VALUE)) {
+            final Stats stats = entry.getValue();
+            printer.tr(EventProfiler.describe(entry.getKey()), stats.invocations(), stats.totalNanos() / 1_000_000,
+                    stats.averageNanos() / 1_000, stats.maxNanos() / 1_000, stats.allocatedBytes() / 1024);
+        }
+        printer.add()
+                .add("Events").hr()
+                .table("Event", -90, "Posts", PrettyPrinter.Alignment.RIGHT, "Total ms", PrettyPrinter.Alignment.RIGHT,
+                        "Avg us", PrettyPrinter.Alignment.RIGHT, "Max us", PrettyPrinter.Alignment.RIGHT,
+                        "Alloc KiB", PrettyPrinter.Alignment.RIGHT);
+        for (final Map.Entry<EventType<?>, Stats> entry : this.topEvents(Integer.MAX_VALUE)) {
+            final Stats stats = entry.getValue();
+            printer.tr(entry.getKey(), stats.invocations(), stats.totalNanos() / 1_000_000,
+                    stats.averageNanos() / 1_000, stats.maxNanos() / 1_000, stats.allocatedBytes() / 1024);
+        }
+        return printer;
+    }
+
+    public static final class Stats {
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        void record(final long nanos, final long allocatedBytes) {
+            this.invocations.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+            if (allocatedBytes > 0) {
+                this.allocatedBytes.add(allocatedBytes);
+            }
+        }
+
+        public long invocations() {
+            return this.invocations.sum();
+        }
+
+        public long totalNanos() {
+            return this.totalNanos.sum();
+        }
+
+        public long averageNanos() {
+            final long invocations = this.invocations();
+            return invocations == 0 ? 0 : this.totalNanos() / invocations;
+        }
+
+        public long maxNanos() {
+            return this.maxNanos.get();
+        }
+
+        public long allocatedBytes() {
+            return this.allocatedBytes.sum();
+        }
+
+    }
+
+}
@@ -74,6 +74,10 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
@@ -99,9 +103,16 @@ public static final class Cache {
         private final List<RegisteredListener<?>> beforeModifications = new ArrayList<>();
         private final List<RegisteredListener<?>> afterModifications = new ArrayList<>();
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
-
-        Cache(final List<RegisteredListener<?>> listeners) {
+        private final EventDispatcher dispatcher;
+        private final BakedEventType bakedType;
+        private final long generation;
+
+        Cache(final BakedEventType bakedType, final long generation, final List<RegisteredListener<?>> listeners,
+                final EventDispatcherFactory dispatcherFactory) {
+            this.bakedType = bakedType;
+            this.generation = generation;
             this.listeners = listeners;
+            this.dispatcher = dispatcherFactory.create(bakedType.eventType(), listeners);
 
             this.listenersByOrder = new EnumMap<>(Order.class);
             for (final RegisteredListener<?> handler : listeners) {
@@ -119,6 +130,29 @@ public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        public EventType<?> getEventType() {
+            return this.bakedType.eventType();
+        }
+
+        /**
+         * Gets whether listeners for any type in the event hierarchy were
+         * changed after this cache was baked.
+         *
+         * @return Whether this cache is outdated
+         */
+        public boolean isStale() {
+            return this.bakedType.invalidatedAt() > this.generation;
+        }
+
+        /**
+         * Gets the compiled dispatcher for all listeners of this cache.
+         *
+         * @return The dispatcher
+         */
+        public EventDispatcher getDispatcher() {
+            return this.dispatcher;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(final Order order) {
             final List<RegisteredListener<?>> list = this.listenersByOrder.get(Objects.requireNonNull(order, "order"));
             if (list == null) {
@@ -50,10 +50,10 @@
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TickProfiler;
 import org.spongepowered.common.event.tracking.phase.plugin.EventListenerPhaseContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 import org.spongepowered.common.util.TypeTokenUtil;
-import org.spongepowered.configurate.util.Types;
 import org.spongepowered.plugin.PluginContainer;
 
 import java.io.IOException;
@@ -64,16 +64,17 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public abstract class SpongeEventManager implements EventManager {
 
@@ -84,20 +85,44 @@ public abstract class SpongeEventManager implements EventManager {
     private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent;
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Only the entries whose event hierarchy includes the type of an
+     * added or removed handler are invalidated, see
+     * {@link #bakedTypesByListenedType}. Invalidated entries are rebuilt off
+     * thread and swapped in, an entry that is still stale when it is used is
+     * rebuilt on the spot.</p>
+     *
+     * <p>Every baked cache compiles its own {@link EventDispatcher}, so the
+     * dispatchers are rebuilt together with the cache.</p>
      */
     protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
             Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
+    /**
+     * An index from every type in the hierarchy of a baked event type to the
+     * baked event type, guarded by {@link #lock}.
+     */
+    private final Multimap<Class<?>, BakedEventType> bakedTypesByListenedType;
+    private final Map<EventType<?>, BakedEventType> bakedTypes;
+    /**
+     * Incremented on every listener change, guarded by {@link #lock}.
+     */
+    private long generation;
     private final Map<ClassLoader, AnnotatedEventListener.Factory> classLoaders;
     private final Set<Object> registeredListeners;
+    private final EventDispatcherFactory dispatcherFactory;
+    private final AsyncEventDispatcher asyncDispatcher;
+    private final EventProfiler profiler;
 
     public SpongeEventManager() {
         this.lock = new Object();
         this.handlersByEvent = HashMultimap.create();
+        this.bakedTypesByListenedType = HashMultimap.create();
+        this.bakedTypes = new HashMap<>();
         this.classLoaders = new IdentityHashMap<>();
         this.registeredListeners = new ReferenceOpenHashSet<>();
         this.checker = new ListenerChecker(ShouldFire.class);
+        this.dispatcherFactory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher");
+        this.asyncDispatcher = new AsyncEventDispatcher();
+        this.profiler = new EventProfiler();
 
         // Caffeine offers no control over the concurrency level of the
         // ConcurrentHashMap which backs the cache. By default this concurrency
@@ -166,15 +191,15 @@ private static <T extends Event> RegisteredListener<T> createRegistration(final
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(final EventType<T> eventType) {
         final List<RegisteredListener<?>> handlers = new ArrayList<>();
-        final Stream<? extends Class<?>> types = Types.allSuperTypesAndInterfaces(eventType.getType())
-                .map(GenericTypeReflector::erase)
-                .filter(Event.class::isAssignableFrom);
+        final BakedEventType bakedType;
+        final long generation;
 
         // TODO: Move @Includes and @Excludes from filters to the baking process, this simplifies the generated
         //       filter code and makes the filter baking target more specific handlers.
         synchronized (this.lock) {
-            for (final Iterator<? extends Class<?>> it = types.iterator(); it.hasNext(); ) {
-                final Class<?> type = it.next();
+            bakedType = this.bakedTypes.computeIfAbsent(eventType, this::indexBakedType);
+            generation = this.generation;
+            for (final Class<?> type : bakedType.hierarchy()) {
                 final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
                 if (GenericEvent.class.isAssignableFrom(type)) {
                     final Type genericType = Objects.requireNonNull(eventType.getGenericType());
@@ -191,41 +216,66 @@ <T extends Event> RegisteredListener.Cache bakeHandlers(final EventType<T> event
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return new RegisteredListener.Cache(bakedType, generation, handlers, this.dispatcherFactory);
+    }
+
+    private BakedEventType indexBakedType(final EventType<?> eventType) {
+        final BakedEventType bakedType = new BakedEventType(eventType);
+        for (final Class<?> type : bakedType.hierarchy()) {
+            this.bakedTypesByListenedType.put(type, bakedType);
+        }
+        return bakedType;
+    }
+
+    /**
+     * Marks all baked event types that can receive events listened to as one
+     * of the given types as stale, must be called while holding
+     * {@link #lock}.
+     *
+     * @param changedTypes The types of the added or removed listeners
+     * @return The affected event types
+     */
+    private Set<EventType<?>> invalidateBakedTypes(final Set<Class<?>> changedTypes) {
+        final long generation = ++this.generation;
+        final Set<EventType<?>> affected = new HashSet<>();
+        for (final Class<?> changedType : changedTypes) {
+            for (final BakedEventType bakedType : this.bakedTypesByListenedType.get(changedType)) {
+                bakedType.invalidate(generation);
+                affected.add(bakedType.eventType());
+            }
+        }
+        return affected;
+    }
+
+    private void refreshHandlers(final Set<EventType<?>> affected) {
+        for (final EventType<?> eventType : affected) {
+            this.handlersCache.refresh(eventType);
+        }
     }
 
     private void register(final List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
+        final Set<Class<?>> changedTypes = new HashSet<>();
+        final Set<EventType<?>> affected;
 
         synchronized (this.lock) {
             for (final RegisteredListener<?> handler : handlers) {
                 final Class<?> raw = handler.getEventType().getType();
                 if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
+                    changedTypes.add(raw);
                     this.checker.registerListenerFor(raw);
                 }
             }
+            if (changedTypes.isEmpty()) {
+                return;
+            }
+            affected = this.invalidateBakedTypes(changedTypes);
         }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
-        }
+        this.refreshHandlers(affected);
     }
 
     private void register(final RegisteredListener<? extends Event> handler) {
-        boolean changed = false;
-
-        synchronized (this.lock) {
-            final Class<?> raw = handler.getEventType().getType();
-            if (this.handlersByEvent.put(raw, handler)) {
-                changed = true;
-                this.checker.registerListenerFor(raw);
-            }
-        }
-
-        if (changed) {
-            this.handlersCache.invalidateAll();
-        }
+        this.register(Collections.singletonList(handler));
     }
 
     private void registerListener(final PluginContainer plugin, final Object listenerObject) {
@@ -330,7 +380,8 @@ public SpongeEventManager registerListeners(final PluginContainer plugin, final
     }
 
     private void unregister(final Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
+        final Set<Class<?>> changedTypes = new HashSet<>();
+        final Set<EventType<?>> affected;
 
         synchronized (this.lock) {
             final Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
@@ -338,16 +389,18 @@ private void unregister(final Predicate<RegisteredListener<?>> unregister) {
                 final RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changedTypes.add(handler.getEventType().getType());
                     this.checker.unregisterListenerFor(handler.getEventType().getType());
                     this.registeredListeners.remove(handler.getHandle());
                 }
             }
+            if (changedTypes.isEmpty()) {
+                return;
+            }
+            affected = this.invalidateBakedTypes(changedTypes);
         }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
-        }
+        this.refreshHandlers(affected);
     }
 
     @Override
@@ -370,11 +423,22 @@ protected RegisteredListener.Cache getHandlerCache(final Event event) {
         } else {
             eventType = new EventType(eventClass, null);
         }
-        return this.handlersCache.get(eventType);
+        RegisteredListener.Cache cache = this.handlersCache.get(eventType);
+        if (cache.isStale()) {
+            // The off thread rebuild has not been swapped in yet
+            cache = this.bakeHandlers(eventType);
+            this.handlersCache.put(eventType, cache);
+        }
+        return cache;
+    }
+
+    public EventProfiler profiler() {
+        return this.profiler;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected final boolean post(final Event event, final List<RegisteredListener<?>> handlers) {
+        final @Nullable EventProfiler profiler = this.profiler.isEnabled() ? this.profiler : null;
         for (final RegisteredListener handler : handlers) {
             try (
                     final CauseStackManager.StackFrame frame = PhaseTracker.getCauseStackManager().pushCauseFrame();
@@ -387,7 +451,17 @@ protected final boolean post(final Event event, final List<RegisteredListener<?>
                 if (event instanceof AbstractEvent) {
                     ((AbstractEvent) event).currentOrder = handler.getOrder();
                 }
-                handler.handle(event);
+                if (profiler == null) {
+                    handler.handle(event);
+                } else {
+                    final long allocated = profiler.allocatedBytes();
+                    final long start = System.nanoTime();
+                    try {
+                        handler.handle(event);
+                    } finally {
+                        profiler.recordListener(handler, System.nanoTime() - start, profiler.allocatedBytes() - allocated);
+                    }
+                }
             } catch (final Throwable e) {
                 SpongeCommon.logger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin().metadata().id(), e);
             }
@@ -414,8 +488,47 @@ protected final boolean post(final Event event, final List<RegisteredListener<?>
     @Override
     public boolean post(final Event event) {
         try (final NoExceptionClosable ignored = this.preparePost(event)) {
-            return this.post(event, this.getHandlerCache(event).getListeners());
+            final RegisteredListener.Cache cache = this.getHandlerCache(event);
+            final TickProfiler tickProfiler = TickProfiler.INSTANCE;
+            if (tickProfiler.isRecording()) {
+                tickProfiler.recordEvent();
+            }
+            if (this.profiler.isEnabled()) {
+                final long allocated = this.profiler.allocatedBytes();
+                final long start = System.nanoTime();
+                cache.getDispatcher().dispatch(event, this.profiler);
+                this.profiler.recordEvent(cache.getEventType(), System.nanoTime() - start, this.profiler.allocatedBytes() - allocated);
+            } else {
+                cache.getDispatcher().dispatch(event);
+            }
         }
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
+    /**
+     * Posts an event without blocking the calling thread.
+     *
+     * <p>Listeners are called neither on the calling thread nor on the main
+     * thread, but on a pool shared by all asynchronously posted events, so
+     * they must not touch game state that is only safe to use from the main
+     * thread.</p>
+     *
+     * <p>Listeners of different plugins within the same {@link Order} are
+     * called concurrently, listeners of a later order are only called once
+     * all listeners of the previous orders completed. The event, including
+     * the current order of an {@link AbstractEvent}, is shared mutable state
+     * between the plugin lanes running concurrently within an order, so
+     * listeners may observe changes made by other plugins at any time. The
+     * current order is set once before an order starts and is not
+     * synchronized with the lanes.</p>
+     *
+     * @param event The event
+     * @return A future completing with whether the event was cancelled
+     */
+    public CompletableFuture<Boolean> postAsync(final Event event) {
+        final NoExceptionClosable closable = this.preparePost(event);
+        return this.asyncDispatcher.post(event, this.getHandlerCache(event))
+                .whenComplete((cancelled, throwable) -> closable.close());
     }
 
     public boolean postToPlugin(final Event event, final PluginContainer plugin) {
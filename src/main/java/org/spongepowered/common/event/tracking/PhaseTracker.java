@@ -203,7 +203,15 @@ public static Block validateBlockForNeighborNotification(final ServerLevel world
         INITIAL_POOL_SIZE = Math.max(0, Math.min(PhaseTracker.MAX_POOL_SIZE, initialPoolSize));
     }
 
-    private final Deque<Object> cause = Queues.newArrayDeque();
+    // The cause stack is a plain array with the most recent cause at causeSize - 1,
+    // pushing and popping causes does not allocate once the array has grown.
+    private Object[] causes = new Object[32];
+    private int causeSize = 0;
+    // Materialised causes indexed by the stack depth they were created at. A cause
+    // is only valid as long as the context it was created with is still current,
+    // popping back down to a depth reuses the cause that was created at that depth.
+    private @Nullable Cause[] causeCache = new Cause[33];
+    private @Nullable EventContext[] causeCacheContext = new EventContext[33];
     // Frames in use
     private final Deque<SpongeCauseStackFrame> frames = Queues.newArrayDeque();
     // Frames not currently in use
@@ -211,7 +219,6 @@ public static Block validateBlockForNeighborNotification(final ServerLevel world
     private final Map<EventContextKey<?>, Object> ctx = Maps.newHashMap();
     private int min_depth = 0;
     private int[] duplicateCauses = new int[100];
-    private @Nullable Cause cached_cause;
     private @Nullable EventContext cached_ctx;
     private final AtomicBoolean pendingProviders = new AtomicBoolean(false);
     private @Nullable WeakReference<Thread> sidedThread;
@@ -488,14 +495,53 @@ public String toString() {
     @Override
     public Cause currentCause() {
         this.enforceMainThread();
-        if (this.cached_cause == null || this.cached_ctx == null) {
-            if (this.cause.isEmpty()) {
-                this.cached_cause = Cause.of(this.currentContext(), SpongeCommon.game());
+        final EventContext context = this.currentContext();
+        final int size = this.causeSize;
+        @Nullable Cause cause = this.causeCache[size];
+        if (cause == null || this.causeCacheContext[size] != context) {
+            if (size == 0) {
+                cause = Cause.of(context, SpongeCommon.game());
             } else {
-                this.cached_cause = Cause.of(this.currentContext(), this.cause);
+                // Most recently pushed cause first
+                final Object[] snapshot = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    snapshot[i] = this.causes[size - 1 - i];
+                }
+                cause = Cause.of(context, Arrays.asList(snapshot));
             }
+            this.causeCache[size] = cause;
+            this.causeCacheContext[size] = context;
+        }
+        return cause;
+    }
+
+    private @Nullable Object peekCauseInternal() {
+        return this.causeSize == 0 ? null : this.causes[this.causeSize - 1];
+    }
+
+    private void pushCauseInternal(final Object obj) {
+        final int size = this.causeSize;
+        if (size == this.causes.length) {
+            final int newLength = size * 2;
+            this.causes = Arrays.copyOf(this.causes, newLength);
+            this.causeCache = Arrays.copyOf(this.causeCache, newLength + 1);
+            this.causeCacheContext = Arrays.copyOf(this.causeCacheContext, newLength + 1);
         }
-        return this.cached_cause;
+        this.causes[size] = obj;
+        this.causeSize = size + 1;
+        // Whatever was cached at the new depth belonged to a previously popped cause
+        this.causeCache[size + 1] = null;
+        this.causeCacheContext[size + 1] = null;
+    }
+
+    private Object popCauseInternal() {
+        final int size = this.causeSize - 1;
+        final Object obj = this.causes[size];
+        this.causes[size] = null;
+        this.causeCache[size + 1] = null;
+        this.causeCacheContext[size + 1] = null;
+        this.causeSize = size;
+        return obj;
     }
 
     @Override
@@ -511,15 +557,14 @@ public EventContext currentContext() {
     public CauseStackManager pushCause(final Object obj) {
         checkNotNull(obj, "obj");
         this.enforceMainThread();
-        this.cached_cause = null;
-        if (this.cause.peek() == obj) {
+        if (this.peekCauseInternal() == obj) {
             // We don't want to be pushing duplicate objects
             // to the root and secondary entry of the cause.
             // This avoids some odd corner cases of the phase tracking system pushing
             // objects without being able to definitively say if the object is already pushed
             // without generating cause frames forcibly.
             // BUT, we do want to at least mark the index of the duplicated object for later popping (if some consumer is doing manual push and pops)
-            final int dupedIndex = this.cause.size();
+            final int dupedIndex = this.causeSize;
             if (this.duplicateCauses.length <= dupedIndex) {
                 // Make sure that we have enough space. If not, increase by 50%
                 this.duplicateCauses = Arrays.copyOf(this.duplicateCauses, (int) (dupedIndex * 1.5));
@@ -529,28 +574,27 @@ public CauseStackManager pushCause(final Object obj) {
             this.duplicateCauses[dupedIndex] = this.duplicateCauses[dupedIndex] + 1;
             return this;
         }
-        this.cause.push(obj);
+        this.pushCauseInternal(obj);
         return this;
     }
 
     @Override
     public Object popCause() {
         this.enforceMainThread();
-        final int size = this.cause.size();
+        final int size = this.causeSize;
         // First, check for duplicate causes. If there are duplicates,
         // we can artificially "pop" by just peeking.
         final int dupeCause = this.duplicateCauses[size];
         if (dupeCause > 0) {
             // Make sure to just decrement the duplicate causes.
             this.duplicateCauses[size] = dupeCause - 1;
-            return checkNotNull(this.cause.peek());
+            return checkNotNull(this.peekCauseInternal());
         }
         if (size <= this.min_depth) {
             throw new IllegalStateException("Cause stack corruption, tried to pop more objects off than were pushed since last frame (Size was "
                                                 + size + " but mid depth is " + this.min_depth + ")");
         }
-        this.cached_cause = null;
-        return this.cause.pop();
+        return this.popCauseInternal();
     }
 
     @Override
@@ -564,14 +608,14 @@ public void popCauses(final int n) {
     @Override
     public Object peekCause() {
         this.enforceMainThread();
-        return this.cause.peek();
+        return this.peekCauseInternal();
     }
 
     @Override
     public StackFrame pushCauseFrame() {
         this.enforceMainThread();
         // Ensure duplicate causes will be correctly sized.
-        final int size = this.cause.size();
+        final int size = this.causeSize;
         if (this.duplicateCauses.length <= size) {
             this.duplicateCauses = Arrays.copyOf(this.duplicateCauses, (int) (size * 1.5));
         }
@@ -663,8 +707,12 @@ public void popCauseFrame(final StackFrame oldFrame) {
         this.frames.pop();
 
         // Remove new values
+        if (frame.hasContextDelta()) {
+            // The context is restored to exactly what it was before this frame first
+            // modified it, so the context that was current back then can be reused.
+            this.cached_ctx = frame.getOriginalContext();
+        }
         for (final Map.Entry<EventContextKey<?>, Object> entry : frame.getOriginalContextDelta().entrySet()) {
-            this.cached_ctx = null;
             if (entry.getValue() == null) { // wasn't present before, remove
                 this.ctx.remove(entry.getKey());
             } else { // was there, replace
@@ -673,8 +721,8 @@ public void popCauseFrame(final StackFrame oldFrame) {
         }
 
         // If there were any objects left on the stack then we pop them off
-        while (this.cause.size() > this.min_depth) {
-            final int index = this.cause.size();
+        while (this.causeSize > this.min_depth) {
+            final int index = this.causeSize;
 
             // Then, only pop the potential duplicate causes (if any) if and only if
             // there was a duplicate cause pushed prior to the frame being popped.
@@ -684,13 +732,10 @@ public void popCauseFrame(final StackFrame oldFrame) {
                 // And of course, reset the number of duplicates in the entry.
                 this.duplicateCauses[index] = 0;
             }
-            this.cause.pop();
-
-            // and clear the cached causes
-            this.cached_cause = null;
+            this.popCauseInternal();
         }
         this.min_depth = frame.old_min_depth;
-        final int size = this.cause.size();
+        final int size = this.causeSize;
         if (this.duplicateCauses.length > size) {
             // Then set the last cause index to whatever the size of the entry was at the time.
             this.duplicateCauses[size] = frame.lastCauseSize;
@@ -710,10 +755,12 @@ public <T> CauseStackManager addContext(final EventContextKey<T> key, final T va
         checkNotNull(key, "key");
         checkNotNull(value, "value");
         this.enforceMainThread();
-        this.cached_ctx = null;
         final @Nullable Object existing = this.ctx.put(key, value);
         if (!this.frames.isEmpty()) {
-            this.frames.peek().storeOriginalContext(key, existing);
+            this.frames.peek().storeOriginalContext(key, existing, this.cached_ctx);
+        }
+        if (existing != value) {
+            this.cached_ctx = null;
         }
         return this;
     }
@@ -729,10 +776,12 @@ public <T> Optional<T> context(final EventContextKey<T> key) {
     public <T> Optional<T> removeContext(final EventContextKey<T> key) {
         checkNotNull(key, "key");
         this.enforceMainThread();
-        this.cached_ctx = null;
-        final Object existing = this.ctx.remove(key);
+        final @Nullable Object existing = this.ctx.remove(key);
         if (!this.frames.isEmpty()) {
-            this.frames.peek().storeOriginalContext(key, existing);
+            this.frames.peek().storeOriginalContext(key, existing, this.cached_ctx);
+        }
+        if (existing != null) {
+            this.cached_ctx = null;
         }
         return Optional.ofNullable((T) existing);
     }
@@ -775,9 +824,9 @@ private void checkProviders() {
     private void registerPhaseContextProvider(final PhaseContext<?> context) {
         checkNotNull(context.state.getFrameModifier(), "Consumer");
         // Reset our cached objects
-        this.pendingProviders.compareAndSet(false, true); //I Reset the cache
-        this.cached_cause = null; // Reset the cache
-        this.cached_ctx = null; // Reset the cache
+        // Pending providers only take effect through pushed frames, which will
+        // invalidate the cached cause and context themselves.
+        this.pendingProviders.compareAndSet(false, true);
         // Since we cannot rely on the PhaseStack being tied to this stack of providers,
         // we have to make the tuple to tie the phase context to provide the consumer.
         this.phaseContextProviders.push(context);
@@ -41,6 +41,8 @@ public final class SpongeCauseStackFrame implements CauseStackManager.StackFrame
     private final PhaseTracker tracker;
     private final Map<EventContextKey<?>, Object> storedContextValues;
     private final Map<EventContextKey<?>, Object> storedContext;
+    // The context that was current before this frame first modified it
+    private @Nullable EventContext originalContext;
     int old_min_depth;
     int lastCauseSize;
 
@@ -56,6 +58,7 @@ public final class SpongeCauseStackFrame implements CauseStackManager.StackFrame
     public void clear() {
         this.storedContextValues.clear();
         this.storedContext.clear();
+        this.originalContext = null;
         this.lastCauseSize = -1;
         this.old_min_depth = -1;
         this.stackDebug = null;
@@ -85,12 +88,23 @@ public void store(EventContextKey<?> key, Object existing) {
     }
 
     // Note that a null object indicates that the context should be removed
-    void storeOriginalContext(final EventContextKey<?> key, final @Nullable Object value) {
+    void storeOriginalContext(final EventContextKey<?> key, final @Nullable Object value, final @Nullable EventContext current) {
+        if (this.storedContext.isEmpty()) {
+            this.originalContext = current;
+        }
         if (!this.storedContext.containsKey(key)) {
             this.storedContext.put(key, value);
         }
     }
 
+    boolean hasContextDelta() {
+        return !this.storedContext.isEmpty();
+    }
+
+    @Nullable EventContext getOriginalContext() {
+        return this.originalContext;
+    }
+
     Map<EventContextKey<?>, Object> getOriginalContextDelta() {
         return this.storedContext;
     }
@@ -0,0 +1,506 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.util.PrettyPrinter;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An opt-in profiler attributing the time spent ticking entities and block
+ * entities, and the events posted meanwhile, to their type, to the chunk they
+ * are in and to the plugins whose listeners ran during the tick.
+ *
+ * <p>Ticks are recorded by {@link TrackingUtil} on the server thread, which
+ * is also the only thread reading the results, so nothing here is
+ * synchronized. While disabled a tick costs a single volatile read.</p>
+ *
+ * <p>With a sample interval of {@code n} only one in {@code n} top level
+ * ticks is measured and the recorded values are scaled by {@code n}. Ticks
+ * nested in a measured tick, like passengers ticked by their vehicle, are
+ * always measured so that only the self time is attributed to each.</p>
+ */
+public final class TickProfiler {
+
+    public static final TickProfiler INSTANCE = new TickProfiler();
+
+    private static final int NOT_SAMPLED = -1;
+    private static final int MAX_DEPTH = 16;
+
+    private final Map<Site, Stats> sites = new HashMap<>();
+    private final Site lookup = new Site();
+    private final long[] frameStart = new long[TickProfiler.MAX_DEPTH];
+    private final long[] frameChildren = new long[TickProfiler.MAX_DEPTH];
+    private final int[] frameEvents = new int[TickProfiler.MAX_DEPTH];
+    private final List<Object2LongOpenHashMap<PluginContainer>> framePlugins = new ArrayList<>(TickProfiler.MAX_DEPTH);
+    // The listener run the tick began in, plus one, or 0 if none
+    private final int[] frameRun = new int[TickProfiler.MAX_DEPTH];
+    private int depth;
+    // Listener runs, nested when a listener posts another event
+    private final long[] runStart = new long[TickProfiler.MAX_DEPTH];
+    private final long[] runChildren = new long[TickProfiler.MAX_DEPTH];
+    private final int[] runFrame = new int[TickProfiler.MAX_DEPTH];
+    private int runDepth;
+    private int weight;
+    private @Nullable Thread thread;
+    private volatile boolean enabled;
+    private volatile int sampleInterval = 1;
+    private long startTime;
+
+    private TickProfiler() {
+        for (int i = 0; i < TickProfiler.MAX_DEPTH; i++) {
+            this.framePlugins.add(new Object2LongOpenHashMap<>());
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int sampleInterval() {
+        return this.sampleInterval;
+    }
+
+    /**
+     * Starts recording, measuring one in {@code sampleInterval} ticks.
+     *
+     * @param sampleInterval The sample interval, 1 to measure every tick
+     */
+    public void enable(final int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("The sample interval must be at least 1, got " + sampleInterval);
+        }
+        this.sampleInterval = sampleInterval;
+        if (!this.enabled) {
+            this.startTime = System.nanoTime();
+        }
+        this.enabled = true;
+    }
+
+    public void disable() {
+        this.enabled = false;
+    }
+
+    public void reset() {
+        this.sites.clear();
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Begins a tick, to be ended with {@link #endEntity} or
+     * {@link #endBlockEntity} once the tick and its phase context completed.
+     *
+     * @return The frame of the tick, or a negative value if the tick is not
+     *     measured
+     */
+    public int begin() {
+        if (!this.enabled) {
+            return TickProfiler.NOT_SAMPLED;
+        }
+        final int depth = this.depth;
+        if (depth == 0) {
+            final int interval = this.sampleInterval;
+            if (interval > 1 && ThreadLocalRandom.current().nextInt(interval) != 0) {
+                return TickProfiler.NOT_SAMPLED;
+            }
+            this.weight = interval;
+            this.thread = Thread.currentThread();
+            this.runDepth = 0;
+        } else if (depth == TickProfiler.MAX_DEPTH) {
+            return TickProfiler.NOT_SAMPLED;
+        }
+        this.depth = depth + 1;
+        this.frameChildren[depth] = 0;
+        this.frameEvents[depth] = 0;
+        this.frameRun[depth] = depth == 0 ? 0 : this.runDepth;
+        this.frameStart[depth] = System.nanoTime();
+        return depth;
+    }
+
+    public void endEntity(final int frame, final Entity entity) {
+        if (frame != TickProfiler.NOT_SAMPLED) {
+            this.end(frame, entity.getType(), entity.level == null ? null : entity.level.dimension().location(),
+                    Mth.floor(entity.getX()) >> 4, Mth.floor(entity.getZ()) >> 4);
+        }
+    }
+
+    public void endBlockEntity(final int frame, final BlockEntity blockEntity) {
+        if (frame != TickProfiler.NOT_SAMPLED) {
+            final @Nullable Level level = blockEntity.getLevel();
+            this.end(frame, blockEntity.getType(), level == null ? null : level.dimension().location(),
+                    blockEntity.getBlockPos().getX() >> 4, blockEntity.getBlockPos().getZ() >> 4);
+        }
+    }
+
+    void end(final int frame, final Object type, final @Nullable ResourceLocation world, final int chunkX, final int chunkZ) {
+        final long elapsed = System.nanoTime() - this.frameStart[frame];
+        this.depth = frame;
+        if (frame > 0) {
+            this.frameChildren[frame - 1] += elapsed;
+        }
+        final int run = this.frameRun[frame];
+        if (run > 0) {
+            // The tick is not part of the self time of the listener run it happened in
+            this.runChildren[run - 1] += elapsed;
+        }
+        final Object2LongOpenHashMap<PluginContainer> plugins = this.framePlugins.get(frame);
+        if (world == null) {
+            plugins.clear();
+            return;
+        }
+        this.lookup.set(world, ChunkPos.asLong(chunkX, chunkZ), type);
+        Stats stats = this.sites.get(this.lookup);
+        if (stats == null) {
+            stats = new Stats();
+            this.sites.put(this.lookup.copy(), stats);
+        }
+        stats.record(elapsed - this.frameChildren[frame], this.frameEvents[frame], this.weight);
+        if (!plugins.isEmpty()) {
+            stats.recordPlugins(plugins, this.weight);
+            plugins.clear();
+        }
+    }
+
+    /**
+     * Gets whether the current thread is within a measured tick, in which
+     * case posted events and listener times should be reported to this
+     * profiler.
+     *
+     * @return Whether a tick is being measured on this thread
+     */
+    public boolean isRecording() {
+        return this.depth > 0 && this.thread == Thread.currentThread();
+    }
+
+    /**
+     * Counts an event posted during the current tick. Only valid while
+     * {@link #isRecording()}.
+     */
+    public void recordEvent() {
+        this.frameEvents[this.depth - 1]++;
+    }
+
+    /**
+     * Begins a run of listeners of a single plugin, to be ended with
+     * {@link #endPlugin(int, PluginContainer)}.
+     *
+     * @return The listener run, or a negative value if it is not measured
+     */
+    public int beginPlugin() {
+        if (!this.isRecording() || this.runDepth == TickProfiler.MAX_DEPTH) {
+            return TickProfiler.NOT_SAMPLED;
+        }
+        final int run = this.runDepth++;
+        this.runChildren[run] = 0;
+        this.runFrame[run] = this.depth - 1;
+        this.runStart[run] = System.nanoTime();
+        return run;
+    }
+
+    /**
+     * Ends a listener run, adding its self time to the plugin in the current
+     * tick. Time spent in events posted by the listeners and in ticks they
+     * caused is not part of the self time, so it is not counted twice.
+     *
+     * @param run The listener run
+     * @param plugin The plugin
+     */
+    public void endPlugin(final int run, final PluginContainer plugin) {
+        if (run == TickProfiler.NOT_SAMPLED) {
+            return;
+        }
+        final long elapsed = System.nanoTime() - this.runStart[run];
+        this.runDepth = run;
+        final int frame = this.runFrame[run];
+        if (run > 0 && this.runFrame[run - 1] == frame) {
+            this.runChildren[run - 1] += elapsed;
+        }
+        this.framePlugins.get(frame).addTo(plugin, elapsed - this.runChildren[run]);
+    }
+
+    /**
+     * Gets the entity and block entity types with the highest cumulative
+     * tick time.
+     *
+     * @param limit The maximum amount of types
+     * @return The type entries, most expensive first
+     */
+    public List<Map.Entry<Object, Stats>> topTypes(final int limit) {
+        final Map<Object, Stats> types = new HashMap<>();
+        for (final Map.Entry<Site, Stats> entry : this.sites.entrySet()) {
+            types.computeIfAbsent(entry.getKey().type, k -> new Stats()).merge(entry.getValue());
+        }
+        return TickProfiler.top(types, limit);
+    }
+
+    /**
+     * Gets the chunks with the highest cumulative tick time of the entities
+     * and block entities within them.
+     *
+     * @param limit The maximum amount of chunks
+     * @return The chunk entries, most expensive first, keyed by a site
+     *     without a type
+     */
+    public List<Map.Entry<Site, Stats>> topChunks(final int limit) {
+        final Map<Site, Stats> chunks = new HashMap<>();
+        for (final Map.Entry<Site, Stats> entry : this.sites.entrySet()) {
+            final Site site = entry.getKey();
+            chunks.computeIfAbsent(new Site().set(site.world, site.chunk, null), k -> new Stats()).merge(entry.getValue());
+        }
+        return TickProfiler.top(chunks, limit);
+    }
+
+    /**
+     * Gets the plugins whose listeners took the most time during ticks.
+     *
+     * @param limit The maximum amount of plugins
+     * @return The plugin entries with their time in nanoseconds, most
+     *     expensive first
+     */
+    public List<Object2LongMap.Entry<PluginContainer>> topPlugins(final int limit) {
+        final Object2LongOpenHashMap<PluginContainer> plugins = new Object2LongOpenHashMap<>();
+        for (final Stats stats : this.sites.values()) {
+            if (stats.pluginNanos != null) {
+                for (final Object2LongMap.Entry<PluginContainer> entry : stats.pluginNanos.object2LongEntrySet()) {
+                    plugins.addTo(entry.getKey(), entry.getLongValue());
+                }
+            }
+        }
+        final List<Object2LongMap.Entry<PluginContainer>> entries = new ArrayList<>(plugins.object2LongEntrySet());
+        entries.sort(Comparator.comparingLong(Object2LongMap.Entry<PluginContainer>::getLongValue).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    private static <K> List<Map.Entry<K, Stats>> top(final Map<K, Stats> stats, final int limit) {
+        final List<Map.Entry<K, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<K, Stats> entry) -> entry.getValue().totalNanos()).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    public static String describe(final Object type) {
+        final @Nullable ResourceLocation key;
+        if (type instanceof EntityType) {
+            key = Registry.ENTITY_TYPE.getKey((EntityType<?>) type);
+        } else {
+            key = Registry.BLOCK_ENTITY_TYPE.getKey((BlockEntityType<?>) type);
+        }
+        return key == null ? type.toString() : key.toString();
+    }
+
+    public PrettyPrinter report() {
+        final long elapsed = this.startTime == 0 ? 0 : System.nanoTime() - this.startTime;
+        final PrettyPrinter printer = new PrettyPrinter(160)
+                .add("Sponge Tick Profiler Report").centre().hr()
+                .kv("Enabled", this.enabled)
+                .kv("Sample interval", "1 in %d ticks", this.sampleInterval)
+                .kv("Sampled for", "%d s", TimeUnit.NANOSECONDS.toSeconds(elapsed))
+                .add()
+                .add("Types").hr()
+                .table("Type", -60, "Ticks", PrettyPrinter.Alignment.RIGHT, "Total ms", PrettyPrinter.Alignment.RIGHT,
+                        "Avg us", PrettyPrinter.Alignment.RIGHT, "Max us", PrettyPrinter.Alignment.RIGHT,
+                        "Events", PrettyPrinter.Alignment.RIGHT);
+        for (final Map.Entry<Object, Stats> entry : this.topTypes(Integer.MAX_VALUE)) {
+            final Stats stats = entry.getValue();
+            printer.tr(TickProfiler.describe(entry.getKey()), stats.ticks(), stats.totalNanos() / 1_000_000,
+                    stats.averageNanos() / 1_000, stats.maxNanos() / 1_000, stats.events());
+        }
+        printer.add()
+                .add("Chunks").hr()
+                .table("Chunk", -60, "Ticks", PrettyPrinter.Alignment.RIGHT, "Total ms", PrettyPrinter.Alignment.RIGHT,
+                        "Avg us", PrettyPrinter.Alignment.RIGHT, "Max us", PrettyPrinter.Alignment.RIGHT,
+                        "Events", PrettyPrinter.Alignment.RIGHT);
+        for (final Map.Entry<Site, Stats> entry : this.topChunks(100)) {
+            final Stats stats = entry.getValue();
+            printer.tr(entry.getKey(), stats.ticks(), stats.totalNanos() / 1_000_000,
+                    stats.averageNanos() / 1_000, stats.maxNanos() / 1_000, stats.events());
+        }
+        printer.add()
+                .add("Plugin listeners during ticks").hr()
+                .table("Plugin", -60, "Total ms", PrettyPrinter.Alignment.RIGHT);
+        for (final Object2LongMap.Entry<PluginContainer> entry : this.topPlugins(Integer.MAX_VALUE)) {
+            printer.tr(entry.getKey().metadata().id(), entry.getLongValue() / 1_000_000);
+        }
+        return printer;
+    }
+
+    /**
+     * Writes the recorded self times in nanoseconds in the collapsed stack
+     * format read by flame graph tools, one
+     * {@code world;chunk;kind;type[;plugin] nanos} line per site.
+     *
+     * @param stream The stream to write to
+     */
+    public void writeFlameGraph(final PrintStream stream) {
+        for (final Map.Entry<Site, Stats> entry : this.sites.entrySet()) {
+            final Site site = entry.getKey();
+            final Stats stats = entry.getValue();
+            final String stack = site.world + ";chunk[" + ChunkPos.getX(site.chunk) + "," + ChunkPos.getZ(site.chunk) + "];"
+                    + (site.type instanceof EntityType ? "entity" : "block_entity") + ";" + TickProfiler.describe(site.type);
+            long self = stats.totalNanos();
+            if (stats.pluginNanos != null) {
+                for (final Object2LongMap.Entry<PluginContainer> plugin : stats.pluginNanos.object2LongEntrySet()) {
+                    stream.println(stack + ";plugin:" + plugin.getKey().metadata().id() + " " + plugin.getLongValue());
+                    self -= plugin.getLongValue();
+                }
+            }
+            if (self > 0) {
+                stream.println(stack + " " + self);
+            }
+        }
+    }
+
+    /**
+     * A chunk of a world, optionally narrowed down to a ticked type.
+     */
+    public static final class Site {
+
+        @Nullable ResourceLocation world;
+        long chunk;
+        @Nullable Object type;
+
+        Site set(final @Nullable ResourceLocation world, final long chunk, final @Nullable Object type) {
+            this.world = world;
+            this.chunk = chunk;
+            this.type = type;
+            return this;
+        }
+
+        Site copy() {
+            return new Site().set(this.world, this.chunk, this.type);
+        }
+
+        public int chunkX() {
+            return ChunkPos.getX(this.chunk);
+        }
+
+        public int chunkZ() {
+            return ChunkPos.getZ(this.chunk);
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            final Site that = (Site) o;
+            return this.chunk == that.chunk
+                    && this.type == that.type
+                    && Objects.equals(this.world, that.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Objects.hashCode(this.world) + Long.hashCode(this.chunk)) + System.identityHashCode(this.type);
+        }
+
+        @Override
+        public String toString() {
+            return this.world + " [" + this.chunkX() + ", " + this.chunkZ() + "]"
+                    + (this.type == null ? "" : " " + TickProfiler.describe(this.type));
+        }
+
+    }
+
+    public static final class Stats {
+
+        private long ticks;
+        private long totalNanos;
+        private long maxNanos;
+        private long events;
+        private @Nullable Object2LongOpenHashMap<PluginContainer> pluginNanos;
+
+        void record(final long nanos, final int events, final int weight) {
+            this.ticks += weight;
+            this.totalNanos += nanos * weight;
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+            this.events += (long) events * weight;
+        }
+
+        void recordPlugins(final Object2LongMap<PluginContainer> plugins, final int weight) {
+            if (this.pluginNanos == null) {
+                this.pluginNanos = new Object2LongOpenHashMap<>();
+            }
+            for (final Object2LongMap.Entry<PluginContainer> entry : plugins.object2LongEntrySet()) {
+                this.pluginNanos.addTo(entry.getKey(), entry.getLongValue() * weight);
+            }
+        }
+
+        void merge(final Stats other) {
+            this.ticks += other.ticks;
+            this.totalNanos += other.totalNanos;
+            this.maxNanos = Math.max(this.maxNanos, other.maxNanos);
+            this.events += other.events;
+            if (other.pluginNanos != null) {
+                this.recordPlugins(other.pluginNanos, 1);
+            }
+        }
+
+        public long ticks() {
+            return this.ticks;
+        }
+
+        public long totalNanos() {
+            return this.totalNanos;
+        }
+
+        public long averageNanos() {
+            return this.ticks == 0 ? 0 : this.totalNanos / this.ticks;
+        }
+
+        public long maxNanos() {
+            return this.maxNanos;
+        }
+
+        public long events() {
+            return this.events;
+        }
+
+    }
+
+}
@@ -125,6 +125,7 @@ public static void tickEntity(final Consumer<net.minecraft.world.entity.Entity>
             return;
         }
 
+        final int profilerFrame = TickProfiler.INSTANCE.begin();
         final EntityTickContext tickContext = TickPhase.Tick.ENTITY.createPhaseContext(PhaseTracker.SERVER).source(entity);
         try (final EntityTickContext context = tickContext) {
             if (entity instanceof CreatorTrackedBridge) {
@@ -141,6 +142,8 @@ public static void tickEntity(final Consumer<net.minecraft.world.entity.Entity>
             }
         } catch (final Exception e) {
             PhasePrinter.printExceptionFromPhase(PhaseTracker.getInstance().stack, e, tickContext);
+        } finally {
+            TickProfiler.INSTANCE.endEntity(profilerFrame, entity);
         }
     }
 
@@ -151,6 +154,7 @@ public static void tickRidingEntity(final net.minecraft.world.entity.Entity enti
             return;
         }
 
+        final int profilerFrame = TickProfiler.INSTANCE.begin();
         final EntityTickContext tickContext = TickPhase.Tick.ENTITY.createPhaseContext(PhaseTracker.SERVER).source(entity);
         try (final EntityTickContext context = tickContext) {
             if (entity instanceof CreatorTrackedBridge) {
@@ -167,6 +171,8 @@ public static void tickRidingEntity(final net.minecraft.world.entity.Entity enti
             }
         } catch (final Exception e) {
             PhasePrinter.printExceptionFromPhase(PhaseTracker.getInstance().stack, e, tickContext);
+        } finally {
+            TickProfiler.INSTANCE.endEntity(profilerFrame, entity);
         }
     }
 
@@ -185,6 +191,7 @@ public static void tickTileEntity(final TrackedWorldBridge mixinWorldServer, fin
             ((ActiveChunkReferantBridge) tile).bridge$setActiveChunk((TrackedLevelChunkBridge) tileEntity.getLevel().getChunkAt(tileEntity.getBlockPos()));
         }
 
+        final int profilerFrame = TickProfiler.INSTANCE.begin();
         final TileEntityTickContext context = TickPhase.Tick.TILE_ENTITY.createPhaseContext(PhaseTracker.SERVER).source(mixinTileEntity);
         try (final PhaseContext<?> phaseContext = context) {
 
@@ -213,6 +220,8 @@ public static void tickTileEntity(final TrackedWorldBridge mixinWorldServer, fin
 
         } catch (final Exception e) {
             PhasePrinter.printExceptionFromPhase(PhaseTracker.getInstance().stack, e, context);
+        } finally {
+            TickProfiler.INSTANCE.endBlockEntity(profilerFrame, tileEntity);
         }
         // We delay clearing active chunk if TE is invalidated during tick so we must remove it after
         if (tileEntity.isRemoved()) {
@@ -25,8 +25,9 @@
 package org.spongepowered.common.event.tracking.context.transaction.block;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.ListMultimap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.state.BlockState;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -42,6 +43,7 @@
 import org.spongepowered.api.world.server.ServerWorld;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.SpongeServer;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.context.transaction.GameTransaction;
@@ -75,46 +77,49 @@ public final Optional<ChangeBlockEvent.All> generateEvent(
         if (!o.isPresent()) {
             return Optional.empty();
         }
-        final ListMultimap<BlockPos, SpongeBlockSnapshot> positions = LinkedListMultimap.create();
+        final int parallelThreshold = SpongeConfigs.getCommon().get().phaseTracker.parallelSnapshotThreshold;
+        if (parallelThreshold > 0 && transactions.size() >= parallelThreshold) {
+            // Building the resulting snapshots only reads state captured when the transaction was
+            // logged, so large batches can have them built on the common pool before being collected.
+            transactions.parallelStream()
+                .forEach(transaction -> ((BlockEventBasedTransaction) transaction).prepareSnapshots());
+        }
+
+        // Keyed by the packed position, in the order the positions were first changed
+        final Long2ObjectLinkedOpenHashMap<List<SpongeBlockSnapshot>> positions = new Long2ObjectLinkedOpenHashMap<>(transactions.size());
         for (final GameTransaction<@NonNull ?> transaction : transactions) {
             final BlockEventBasedTransaction blockTransaction = (BlockEventBasedTransaction) transaction;
-            if (!positions.containsKey(blockTransaction.affectedPosition)) {
-                positions.put(
-                    blockTransaction.affectedPosition,
-                    blockTransaction.getOriginalSnapshot()
-                );
+            final long key = blockTransaction.affectedPosition.asLong();
+            @Nullable List<SpongeBlockSnapshot> snapshots = positions.get(key);
+            if (snapshots == null) {
+                snapshots = new ArrayList<>(2);
+                snapshots.add(blockTransaction.getOriginalSnapshot());
+                positions.put(key, snapshots);
             }
-            if (blockTransaction.getResultingSnapshot() != null) {
-                positions.put(
-                        blockTransaction.affectedPosition,
-                        blockTransaction.getResultingSnapshot()
-                );
+            final @Nullable SpongeBlockSnapshot resultingSnapshot = blockTransaction.getResultingSnapshot();
+            if (resultingSnapshot != null) {
+                snapshots.add(resultingSnapshot);
             }
         }
 
-        final ImmutableList<BlockTransaction> eventTransactions = positions.asMap().values()
-            .stream()
-            .map(spongeBlockSnapshots -> {
-                final List<SpongeBlockSnapshot> snapshots = new ArrayList<>(spongeBlockSnapshots);
-                if (snapshots.isEmpty() || snapshots.size() < 2) {
-                    // Error case
-                    return Optional.<BlockTransaction>empty();
-                }
-                final SpongeBlockSnapshot original = snapshots.get(0);
-                final SpongeBlockSnapshot result = snapshots.get(snapshots.size() - 1);
-                final ImmutableList<BlockSnapshot> intermediary;
-                if (snapshots.size() > 2) {
-                    intermediary = ImmutableList.copyOf(snapshots.subList(1, snapshots.size() - 2));
-                } else {
-                    intermediary = ImmutableList.of();
-                }
-                final Operation operation = context.getBlockOperation(original, result);
-                final BlockTransaction eventTransaction = new BlockTransaction(original, result, intermediary, operation);
-                return Optional.of(eventTransaction);
-            })
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(ImmutableList.toImmutableList());
+        final ImmutableList.Builder<BlockTransaction> builder = ImmutableList.builder();
+        for (final List<SpongeBlockSnapshot> snapshots : positions.values()) {
+            if (snapshots.size() < 2) {
+                // Error case
+                continue;
+            }
+            final SpongeBlockSnapshot original = snapshots.get(0);
+            final SpongeBlockSnapshot result = snapshots.get(snapshots.size() - 1);
+            final ImmutableList<BlockSnapshot> intermediary;
+            if (snapshots.size() > 2) {
+                intermediary = ImmutableList.copyOf(snapshots.subList(1, snapshots.size() - 2));
+            } else {
+                intermediary = ImmutableList.of();
+            }
+            final Operation operation = context.getBlockOperation(original, result);
+            builder.add(new BlockTransaction(original, result, intermediary, operation));
+        }
+        final ImmutableList<BlockTransaction> eventTransactions = builder.build();
 
         if (eventTransactions.isEmpty()) {
             return Optional.empty();
@@ -126,6 +131,14 @@ public final Optional<ChangeBlockEvent.All> generateEvent(
         ));
     }
 
+    /**
+     * Eagerly creates any snapshots that would otherwise be created while
+     * generating the event. Called off the server thread for large batches,
+     * so implementations may only read state captured at construction.
+     */
+    void prepareSnapshots() {
+    }
+
     protected abstract SpongeBlockSnapshot getResultingSnapshot();
 
     protected abstract SpongeBlockSnapshot getOriginalSnapshot();
@@ -138,20 +151,30 @@ public final boolean markCancelledTransactions(final ChangeBlockEvent.All event,
         if (event.isCancelled()) {
             event.transactions().forEach(BlockTransaction::invalidate);
         }
+        // Lazily index the game transactions by position, so that invalidating
+        // many event transactions doesn't rescan every game transaction each time.
+        @Nullable Long2ObjectMap<List<GameTransaction<ChangeBlockEvent.All>>> byPosition = null;
         for (final Transaction<BlockSnapshot> transaction : event.transactions()) {
             if (!transaction.isValid()) {
                 cancelledAny = true;
-                for (final GameTransaction<ChangeBlockEvent.All> gameTransaction : blockTransactions) {
-                    final BlockEventBasedTransaction blockTransaction = (BlockEventBasedTransaction) gameTransaction;
-                    final Vector3i position = transaction.original().position();
-                    final BlockPos affectedPosition = blockTransaction.affectedPosition;
-                    if (position.x() == affectedPosition.getX()
-                        && position.y() == affectedPosition.getY()
-                        && position.z() == affectedPosition.getZ()
-                    ) {
-                        gameTransaction.markCancelled();
+                if (byPosition == null) {
+                    byPosition = new Long2ObjectOpenHashMap<>(blockTransactions.size());
+                    for (final GameTransaction<ChangeBlockEvent.All> gameTransaction : blockTransactions) {
+                        final long key = ((BlockEventBasedTransaction) gameTransaction).affectedPosition.asLong();
+                        @Nullable List<GameTransaction<ChangeBlockEvent.All>> atPosition = byPosition.get(key);
+                        if (atPosition == null) {
+                            atPosition = new ArrayList<>(1);
+                            byPosition.put(key, atPosition);
+                        }
+                        atPosition.add(gameTransaction);
                     }
                 }
+                final Vector3i position = transaction.original().position();
+                final @Nullable List<GameTransaction<ChangeBlockEvent.All>> affected =
+                    byPosition.get(BlockPos.asLong(position.x(), position.y(), position.z()));
+                if (affected != null) {
+                    affected.forEach(GameTransaction::markCancelled);
+                }
             }
         }
 
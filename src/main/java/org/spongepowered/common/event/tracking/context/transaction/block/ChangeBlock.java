@@ -63,6 +63,10 @@ public final class ChangeBlock extends BlockEventBasedTransaction {
     final SpongeBlockChangeFlag blockChangeFlag;
     @Nullable public BlockEntity queuedRemoval;
     @Nullable public BlockEntity queuedAdd;
+    // Built when the batch is turned into an event rather than when the
+    // transaction is logged, so large batches can build theirs off the
+    // server thread, see BlockEventBasedTransaction
+    private @Nullable SpongeBlockSnapshot resultingSnapshot;
 
     public ChangeBlock(
         final SpongeBlockSnapshot attachedSnapshot, final BlockState newState,
@@ -168,8 +172,20 @@ public void addToPrinter(final PrettyPrinter printer) {
             .add(" %s : %s", "ChangeFlag", this.blockChangeFlag);
     }
 
+    @Override
+    void prepareSnapshots() {
+        this.getResultingSnapshot();
+    }
+
     @Override
     protected SpongeBlockSnapshot getResultingSnapshot() {
+        if (this.resultingSnapshot == null) {
+            this.resultingSnapshot = this.createResultingSnapshot();
+        }
+        return this.resultingSnapshot;
+    }
+
+    private SpongeBlockSnapshot createResultingSnapshot() {
         final SpongeBlockSnapshot.BuilderImpl builder = SpongeBlockSnapshot.BuilderImpl.pooled()
                 .position(this.original.position())
                 .blockState((org.spongepowered.api.block.BlockState) this.newState);
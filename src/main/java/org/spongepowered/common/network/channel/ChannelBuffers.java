@@ -47,6 +47,29 @@ public static void write(final ChannelBuf target, final ChannelBuf source) {
         ((FriendlyByteBuf) target).writeBytes((FriendlyByteBuf) source);
     }
 
+    /**
+     * Creates a read-only view of the buffer with its own reader and writer
+     * index, so one encoded payload can be handed to many packets.
+     *
+     * @param buf The buffer to view
+     * @return The read-only view
+     */
+    public static ChannelBuf readOnlyView(final ChannelBuf buf) {
+        return ChannelBuffers.wrap(((ByteBuf) buf).duplicate().asReadOnly());
+    }
+
+    /**
+     * Creates a slice of the readable bytes of the buffer that keeps it
+     * alive until the slice is released, so the payload can be read after
+     * the packet it arrived with was released.
+     *
+     * @param buf The buffer to slice
+     * @return The retained slice
+     */
+    public static ChannelBuf retainedSlice(final ChannelBuf buf) {
+        return ChannelBuffers.wrap(((ByteBuf) buf).retainedSlice());
+    }
+
     private ChannelBuffers() {
     }
 }
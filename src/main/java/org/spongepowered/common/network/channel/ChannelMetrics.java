@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network.channel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the traffic of a single channel and the time spent in its
+ * handlers. Counters may be updated from any thread.
+ */
+public final class ChannelMetrics {
+
+    private final LongAdder packetsReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder packetsSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder handlerInvocations = new LongAdder();
+    private final LongAdder handlerNanos = new LongAdder();
+    private volatile long since = System.nanoTime();
+
+    void received(final int bytes) {
+        this.packetsReceived.increment();
+        this.bytesReceived.add(bytes);
+    }
+
+    public void sent(final int bytes) {
+        this.packetsSent.increment();
+        this.bytesSent.add(bytes);
+    }
+
+    public void handled(final long nanos) {
+        this.handlerInvocations.increment();
+        this.handlerNanos.add(nanos);
+    }
+
+    public long packetsReceived() {
+        return this.packetsReceived.sum();
+    }
+
+    public long bytesReceived() {
+        return this.bytesReceived.sum();
+    }
+
+    public long packetsSent() {
+        return this.packetsSent.sum();
+    }
+
+    public long bytesSent() {
+        return this.bytesSent.sum();
+    }
+
+    public long handlerInvocations() {
+        return this.handlerInvocations.sum();
+    }
+
+    public long handlerNanos() {
+        return this.handlerNanos.sum();
+    }
+
+    public double bytesReceivedPerSecond() {
+        return this.bytesReceived() / this.elapsedSeconds();
+    }
+
+    public double bytesSentPerSecond() {
+        return this.bytesSent() / this.elapsedSeconds();
+    }
+
+    private double elapsedSeconds() {
+        return Math.max(1, System.nanoTime() - this.since) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Clears all counters, rates are measured from the reset on.
+     */
+    public void reset() {
+        this.since = System.nanoTime();
+        this.packetsReceived.reset();
+        this.bytesReceived.reset();
+        this.packetsSent.reset();
+        this.bytesSent.reset();
+        this.handlerInvocations.reset();
+        this.handlerNanos.reset();
+    }
+}
@@ -57,6 +57,7 @@ public abstract class SpongeChannel implements Channel {
     private final SpongeChannelManager manager;
     private final Logger logger;
     private final int type;
+    private final ChannelMetrics metrics = new ChannelMetrics();
 
     private volatile ChannelExceptionHandler<EngineConnection> exceptionHandler =
             ChannelExceptionHandler.logEverything().suppress(ChannelNotSupportedException.class);
@@ -76,6 +77,10 @@ public Logger getLogger() {
         return this.logger;
     }
 
+    public ChannelMetrics metrics() {
+        return this.metrics;
+    }
+
     @Override
     public SpongeChannelManager manager() {
         return this.manager;
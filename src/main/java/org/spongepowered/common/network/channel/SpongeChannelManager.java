@@ -25,16 +25,20 @@
 package org.spongepowered.common.network.channel;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.kyori.adventure.text.Component;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundCustomPayloadPacket;
 import net.minecraft.network.protocol.game.ServerboundCustomPayloadPacket;
 import net.minecraft.network.protocol.login.ClientboundCustomQueryPacket;
 import net.minecraft.network.protocol.login.ServerboundCustomQueryPacket;
 import net.minecraft.server.network.ServerLoginPacketListenerImpl;
+import net.minecraft.util.thread.BlockableEventLoop;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.network.EngineConnection;
+import org.spongepowered.api.network.EngineConnectionSide;
 import org.spongepowered.api.network.channel.Channel;
 import org.spongepowered.api.network.channel.ChannelBuf;
 import org.spongepowered.api.network.channel.ChannelManager;
@@ -44,6 +48,7 @@
 import org.spongepowered.api.network.channel.raw.RawDataChannel;
 import org.spongepowered.api.registry.DuplicateRegistrationException;
 import org.spongepowered.api.util.Tuple;
+import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.accessor.network.protocol.game.ClientboundCustomPayloadPacketAccessor;
 import org.spongepowered.common.accessor.network.protocol.game.ServerboundCustomPayloadPacketAccessor;
 import org.spongepowered.common.accessor.network.protocol.login.ClientboundCustomQueryPacketAccessor;
@@ -64,6 +69,12 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import javax.inject.Singleton;
@@ -72,10 +83,18 @@
 @Singleton
 public final class SpongeChannelManager implements ChannelManager {
 
+    private static final int HANDLER_QUEUE_CAPACITY = 4096;
+
     private final Map<ResourceKey, SpongeChannel> channels = new HashMap<>();
     private final Map<Class<?>, Tuple<Integer, CreateFunction<SpongeChannel>>> channelBuilders = new HashMap<>();
 
     private final ChannelBufferAllocator bufferAllocator;
+    private final ThreadFactory handlerThreadFactory = new ThreadFactoryBuilder()
+            .setNameFormat("Sponge-ChannelHandler-%d")
+            .setDaemon(true)
+            .build();
+    // Fed by packets of remote peers, so both the threads and the queue are bounded
+    private volatile @Nullable ThreadPoolExecutor handlerExecutor;
 
     public SpongeChannelManager(final ChannelBufferAllocator bufferAllocator) {
         this.bufferAllocator = bufferAllocator;
@@ -89,6 +108,77 @@ public ChannelBufferAllocator getBufferAllocator() {
         return this.bufferAllocator;
     }
 
+    /**
+     * Gets the executor that runs handlers in the given way for connections
+     * of the given side.
+     *
+     * @param execution The way to run handlers
+     * @param side The side of the connection
+     * @return The executor
+     */
+    public Executor executor(final HandlerExecution execution, final EngineConnectionSide<?> side) {
+        switch (execution) {
+            case ASYNC:
+                return this.handlerExecutor();
+            case MAIN:
+                // Runs right away when already on the main thread
+                return side == EngineConnectionSide.CLIENT ? (BlockableEventLoop<?>) Sponge.client() : (BlockableEventLoop<?>) Sponge.server();
+            default:
+                return Runnable::run;
+        }
+    }
+
+    /**
+     * Runs the task in the given way for the given connection. If the
+     * handler pool is saturated the task is dropped and the connection is
+     * closed, as it sends packets faster than they can be handled.
+     *
+     * @param execution The way to run the task
+     * @param connection The connection the task handles a packet of
+     * @param task The task
+     * @return Whether the task was accepted
+     */
+    public boolean execute(final HandlerExecution execution, final EngineConnection connection, final Runnable task) {
+        try {
+            this.executor(execution, connection.side()).execute(task);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            SpongeCommon.logger().warn("Closing connection {}, its packets exceed the capacity of the channel handler pool.",
+                    connection.address());
+            connection.close(Component.text("Too many packets"));
+            return false;
+        }
+    }
+
+    private ThreadPoolExecutor handlerExecutor() {
+        final @Nullable ThreadPoolExecutor executor = this.handlerExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (this) {
+            if (this.handlerExecutor == null) {
+                final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+                final ThreadPoolExecutor created = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(SpongeChannelManager.HANDLER_QUEUE_CAPACITY), this.handlerThreadFactory,
+                        new ThreadPoolExecutor.AbortPolicy());
+                created.allowCoreThreadTimeOut(true);
+                this.handlerExecutor = created;
+            }
+            return this.handlerExecutor;
+        }
+    }
+
+    /**
+     * Stops the handler pool once the engine stops, handlers queued by then
+     * still run. A new pool is created if the engine starts again.
+     */
+    public synchronized void shutdown() {
+        if (this.handlerExecutor != null) {
+            this.handlerExecutor.shutdown();
+            this.handlerExecutor = null;
+        }
+    }
+
     interface CreateFunction<C extends Channel> {
 
         C create(int type, ResourceKey key, SpongeChannelManager registry);
@@ -299,6 +389,7 @@ private boolean handlePlayPayload(final EngineConnection connection, final Resou
         }
         final SpongeChannel channel = this.channels.get(channelKey);
         if (channel != null) {
+            channel.metrics().received(payload.readableBytes());
             try {
                 channel.handlePlayPayload(connection, payload);
             } finally {
@@ -352,6 +443,7 @@ private boolean handleLoginRequestPayload(final EngineConnection connection, fin
         }
         final SpongeChannel channel = this.channels.get(actualChannelKey);
         if (channel != null) {
+            channel.metrics().received(actualPayload.readableBytes());
             channel.handleLoginRequestPayload(connection, transactionId, actualPayload);
             return true;
         }
@@ -41,6 +41,7 @@
 import org.spongepowered.api.network.channel.packet.TransactionalPacketBinding;
 import org.spongepowered.api.network.channel.packet.TransactionalPacketRegistry;
 import org.spongepowered.common.network.channel.ChannelBuffers;
+import org.spongepowered.common.network.channel.HandlerExecution;
 import org.spongepowered.common.network.channel.SpongeChannel;
 import org.spongepowered.common.network.channel.SpongeChannelManager;
 
@@ -235,12 +236,26 @@ protected <P extends RequestPacket<R>, R extends Packet, C extends EngineConnect
     }
 
     protected <P extends Packet, C extends EngineConnection> void handle(final C connection, final HandlerPacketBinding<P> binding, final P packet) {
-        for (final PacketHandler<? super P, ? super C> handler : ((SpongeHandlerPacketBinding<P>) binding).getHandlers(connection)) {
-            try {
-                handler.handle(packet, connection);
-            } catch (final Throwable t) {
-                this.handleException(connection, new ChannelException("Failed to handle packet", t), null);
+        final SpongeHandlerPacketBinding<P> handlerBinding = (SpongeHandlerPacketBinding<P>) binding;
+        for (final PacketHandler<? super P, ? super C> handler : handlerBinding.getHandlers(connection)) {
+            final HandlerExecution execution = handlerBinding.execution(handler);
+            if (execution == HandlerExecution.NETWORK) {
+                this.runHandler(connection, handler, packet);
+            } else {
+                this.manager().execute(execution, connection, () -> this.runHandler(connection, handler, packet));
             }
         }
     }
+
+    protected <P extends Packet, C extends EngineConnection> void runHandler(final C connection, final PacketHandler<? super P, ? super C> handler,
+            final P packet) {
+        final long start = System.nanoTime();
+        try {
+            handler.handle(packet, connection);
+        } catch (final Throwable t) {
+            this.handleException(connection, new ChannelException("Failed to handle packet", t), null);
+        } finally {
+            this.metrics().handled(System.nanoTime() - start);
+        }
+    }
 }
@@ -176,6 +176,7 @@ public CompletableFuture<Void> sendTo(final EngineConnection connection, final P
                 return future;
             }
 
+            SpongeBasicPacketChannel.this.metrics().sent(payload.readableBytes());
             final net.minecraft.network.protocol.Packet<?> mcPacket = PacketUtil.createPlayPayload(SpongeBasicPacketChannel.this.key(), payload, connection.side());
             PacketSender.sendTo(connection, mcPacket, future);
             return future;
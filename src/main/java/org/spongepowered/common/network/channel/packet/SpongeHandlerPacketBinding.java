@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.network.channel.packet;
 
+import com.google.common.collect.MapMaker;
 import org.spongepowered.api.network.EngineConnection;
 import org.spongepowered.api.network.EngineConnectionSide;
 import org.spongepowered.api.network.channel.packet.HandlerPacketBinding;
@@ -31,15 +32,18 @@
 import org.spongepowered.api.network.channel.packet.PacketBinding;
 import org.spongepowered.api.network.channel.packet.PacketHandler;
 import org.spongepowered.common.network.channel.ConcurrentMultimap;
+import org.spongepowered.common.network.channel.HandlerExecution;
 import org.spongepowered.common.network.channel.SpongeChannel;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 public final class SpongeHandlerPacketBinding<P extends Packet> extends SpongePacketBinding<P> implements HandlerPacketBinding<P> {
 
     private final ConcurrentMultimap<Class<?>, PacketHandler<? super P, ?>> handlers = new ConcurrentMultimap<>();
+    private final Map<PacketHandler<? super P, ?>, HandlerExecution> executions = new MapMaker().weakKeys().makeMap();
 
     SpongeHandlerPacketBinding(final int opcode, final Class<P> packetType) {
         super(opcode, packetType);
@@ -49,18 +53,71 @@
         return (Collection) SpongeChannel.getResponseHandlers(connection, this.handlers.get());
     }
 
+    /**
+     * Gets how the handler is run, handlers that were added without
+     * specifying it are run on the network thread.
+     *
+     * @param handler The handler
+     * @return How the handler is run
+     */
+    public HandlerExecution execution(final PacketHandler<? super P, ?> handler) {
+        return this.executions.getOrDefault(handler, HandlerExecution.NETWORK);
+    }
+
+    /**
+     * Gets whether all handlers for the connection are run on the handler
+     * pool, in which case the packet doesn't need to be decoded on the
+     * network thread either.
+     *
+     * @param connection The connection
+     * @return Whether all handlers run asynchronously
+     */
+    public boolean isHandledAsync(final EngineConnection connection) {
+        final Collection<PacketHandler<? super P, ? super EngineConnection>> handlers = this.getHandlers(connection);
+        if (handlers.isEmpty()) {
+            return false;
+        }
+        for (final PacketHandler<? super P, ? super EngineConnection> handler : handlers) {
+            if (this.execution(handler) != HandlerExecution.ASYNC) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public <C extends EngineConnection> PacketBinding<P> addHandler(final EngineConnectionSide<C> side,
             final PacketHandler<? super P, ? super C> handler) {
+        return this.addHandler(side, handler, HandlerExecution.NETWORK);
+    }
+
+    public <C extends EngineConnection> PacketBinding<P> addHandler(final EngineConnectionSide<C> side,
+            final PacketHandler<? super P, ? super C> handler, final HandlerExecution execution) {
         Objects.requireNonNull(side, "side");
-        return this.addHandler(SpongeChannel.getConnectionClass(side), handler);
+        return this.addHandler(SpongeChannel.getConnectionClass(side), handler, execution);
     }
 
     @Override
     public <C extends EngineConnection> PacketBinding<P> addHandler(final Class<C> connectionType,
             final PacketHandler<? super P, ? super C> handler) {
+        return this.addHandler(connectionType, handler, HandlerExecution.NETWORK);
+    }
+
+    /**
+     * Adds a handler for the connection type that is run as specified by the
+     * execution. A handler added more than once is run as it was last added.
+     *
+     * @param connectionType The connection type
+     * @param handler The handler
+     * @param execution How the handler is run
+     * @return This binding, for chaining
+     */
+    public <C extends EngineConnection> PacketBinding<P> addHandler(final Class<C> connectionType,
+            final PacketHandler<? super P, ? super C> handler, final HandlerExecution execution) {
         Objects.requireNonNull(connectionType, "connectionType");
         Objects.requireNonNull(handler, "handler");
+        Objects.requireNonNull(execution, "execution");
+        this.executions.put(handler, execution);
         this.handlers.modify(map -> map.put(connectionType, handler));
         return this;
     }
@@ -70,6 +127,10 @@ public PacketBinding<P> addHandler(final PacketHandler<? super P, EngineConnecti
         return this.addHandler(EngineConnection.class, handler);
     }
 
+    public PacketBinding<P> addHandler(final PacketHandler<? super P, EngineConnection> handler, final HandlerExecution execution) {
+        return this.addHandler(EngineConnection.class, handler, execution);
+    }
+
     @Override
     public <C extends EngineConnection> PacketBinding<P> removeHandler(final EngineConnectionSide<C> side,
             final PacketHandler<? super P, ? super C> handler) {
@@ -92,6 +153,7 @@ public PacketBinding<P> removeHandler(final PacketHandler<? super P, ?> handler)
         Objects.requireNonNull(handler, "handler");
         this.handlers.modify(map -> map.entries()
                 .removeIf(entry -> entry.getValue() == handler));
+        this.executions.remove(handler);
         return this;
     }
 }
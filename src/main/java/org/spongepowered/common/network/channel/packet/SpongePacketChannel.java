@@ -34,9 +34,12 @@
 import org.spongepowered.api.network.channel.NoResponseException;
 import org.spongepowered.api.network.channel.packet.Packet;
 import org.spongepowered.api.network.channel.packet.PacketChannel;
+import org.spongepowered.api.network.channel.packet.PacketHandler;
 import org.spongepowered.api.network.channel.packet.RequestPacket;
 import org.spongepowered.api.network.channel.packet.RequestPacketHandler;
+import org.spongepowered.common.network.channel.ChannelBuffers;
 import org.spongepowered.common.network.channel.ConnectionUtil;
+import org.spongepowered.common.network.channel.HandlerExecution;
 import org.spongepowered.common.network.channel.PacketSender;
 import org.spongepowered.common.network.channel.PacketUtil;
 import org.spongepowered.common.network.channel.SpongeChannelManager;
@@ -44,6 +47,7 @@
 import org.spongepowered.common.network.channel.TransactionStore;
 import org.spongepowered.common.util.Constants;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -134,6 +138,7 @@ private <P extends RequestPacket<R>, R extends Packet> void sendRequestPacketTo(
             transactionStore.put(transactionId, this, transactionData);
         }
 
+        this.metrics().sent(payload.readableBytes());
         final net.minecraft.network.protocol.Packet<?> mcPacket = mcPacketSupplier.get();
         PacketSender.sendTo(connection, mcPacket, sendFuture -> {
             if (!sendFuture.isSuccess()) {
@@ -199,6 +204,7 @@ private <P extends RequestPacket<R>, R extends Packet> void sendResponsePacketTo
             return;
         }
 
+        this.metrics().sent(payload.readableBytes());
         final net.minecraft.network.protocol.Packet<?> mcPacket = mcPacketSupplier.get();
         PacketSender.sendTo(connection, mcPacket);
     }
@@ -235,10 +241,83 @@ private <P extends Packet> void sendNormalPacketTo(final EngineConnection connec
             return;
         }
 
+        this.metrics().sent(payload.readableBytes());
         final net.minecraft.network.protocol.Packet<?> mcPacket = mcPacketSupplier.get();
         PacketSender.sendTo(connection, mcPacket, future);
     }
 
+    /**
+     * Sends the packet to all the given connections. Unlike sending it to
+     * each connection separately, the packet is only encoded once and the
+     * payload is shared between the connections.
+     *
+     * <p>Request packets need a transaction per connection and are sent to
+     * each of them separately.</p>
+     *
+     * @param connections The connections to send the packet to
+     * @param packet The packet to send
+     * @return The future, completed once the packet was sent to every connection
+     */
+    public CompletableFuture<Void> sendTo(final Collection<? extends EngineConnection> connections, final Packet packet) {
+        Objects.requireNonNull(connections, "connections");
+        Objects.requireNonNull(packet, "packet");
+
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[connections.size()];
+        int index = 0;
+        if (packet instanceof RequestPacket) {
+            for (final EngineConnection connection : connections) {
+                futures[index++] = this.sendTo(connection, packet);
+            }
+            return CompletableFuture.allOf(futures);
+        }
+
+        final SpongePacketBinding<Packet> binding = this.requireBinding(packet.getClass());
+        @Nullable ChannelBuf payload = null;
+        @Nullable Throwable encodeFailure = null;
+        for (final EngineConnection connection : connections) {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            futures[index++] = future;
+            if (!this.checkSupported(connection, future)) {
+                continue;
+            }
+            final boolean isLoginPhase = ConnectionUtil.isLoginPhase(connection);
+            final EngineConnectionSide<?> side = connection.side();
+            if (isLoginPhase && side == EngineConnectionSide.CLIENT) {
+                // The channel key is written in front, the payload can't be shared
+                this.sendNormalPacketTo(connection, packet, future);
+                continue;
+            }
+
+            // Play payloads and server side login payloads are the same, only
+            // the minecraft packet that carries them differs.
+            if (payload == null && encodeFailure == null) {
+                final ChannelBuf buf = this.manager().getBufferAllocator().buffer();
+                buf.writeVarLong(SpongePacketChannel.packTypeAndValue(SpongePacketChannel.TYPE_NORMAL, binding.opcode()));
+                try {
+                    this.encodePayload(buf, packet);
+                    payload = buf;
+                } catch (final Throwable ex) {
+                    encodeFailure = ex;
+                }
+            }
+            if (encodeFailure != null) {
+                future.completeExceptionally(encodeFailure);
+                continue;
+            }
+
+            this.metrics().sent(payload.readableBytes());
+            final net.minecraft.network.protocol.Packet<?> mcPacket;
+            if (isLoginPhase) {
+                final int transactionId = ConnectionUtil.getTransactionStore(connection).nextId();
+                mcPacket = PacketUtil.createLoginPayloadRequest(this.key(), ChannelBuffers.readOnlyView(payload), transactionId);
+            } else {
+                mcPacket = PacketUtil.createPlayPayload(this.key(), ChannelBuffers.readOnlyView(payload), side);
+            }
+            PacketSender.sendTo(connection, mcPacket, future);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
     @Override
     public <R extends Packet> CompletableFuture<R> sendTo(final EngineConnection connection, final RequestPacket<R> packet) {
         final CompletableFuture<R> future = new CompletableFuture<>();
@@ -336,6 +415,29 @@ protected void success0(final Packet response) {
 
     private void handleNormalPacket(final EngineConnection connection, final int opcode, final ChannelBuf payload) {
         final SpongePacketBinding<Packet> binding = this.requireBinding(opcode);
+        if (binding instanceof SpongeHandlerPacketBinding && ((SpongeHandlerPacketBinding<Packet>) binding).isHandledAsync(connection)) {
+            // None of the handlers need this thread, so decode on the handler pool too
+            final SpongeHandlerPacketBinding<Packet> handlerBinding = (SpongeHandlerPacketBinding<Packet>) binding;
+            final ChannelBuf retained = ChannelBuffers.retainedSlice(payload);
+            final boolean accepted = this.manager().execute(HandlerExecution.ASYNC, connection, () -> {
+                final Packet packet;
+                try {
+                    packet = this.decodePayload(handlerBinding.getPacketConstructor(), retained);
+                } catch (final Throwable ex) {
+                    this.handleException(connection, ex, null);
+                    return;
+                } finally {
+                    ChannelBuffers.release(retained);
+                }
+                for (final PacketHandler<? super Packet, ? super EngineConnection> handler : handlerBinding.getHandlers(connection)) {
+                    this.runHandler(connection, handler, packet);
+                }
+            });
+            if (!accepted) {
+                ChannelBuffers.release(retained);
+            }
+            return;
+        }
         final Packet packet = this.decodePayload(binding.getPacketConstructor(), payload);
 
         if (binding instanceof SpongeHandlerPacketBinding) {
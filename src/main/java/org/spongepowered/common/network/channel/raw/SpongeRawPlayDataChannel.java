@@ -25,11 +25,13 @@
 package org.spongepowered.common.network.channel.raw;
 
 import net.minecraft.network.protocol.Packet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.network.EngineConnection;
 import org.spongepowered.api.network.EngineConnectionSide;
 import org.spongepowered.api.network.channel.ChannelBuf;
 import org.spongepowered.api.network.channel.raw.play.RawPlayDataChannel;
 import org.spongepowered.api.network.channel.raw.play.RawPlayDataHandler;
+import org.spongepowered.common.network.channel.ChannelBuffers;
 import org.spongepowered.common.network.channel.ConcurrentMultimap;
 import org.spongepowered.common.network.channel.ConnectionUtil;
 import org.spongepowered.common.network.channel.PacketSender;
@@ -116,18 +118,63 @@ public CompletableFuture<Void> sendTo(final EngineConnection connection, final C
             return future;
         }
 
+        this.parent.metrics().sent(payload.readableBytes());
         final Packet<?> mcPacket = PacketUtil.createPlayPayload(this.parent.key(), payload, connection.side());
         PacketSender.sendTo(connection, mcPacket, future);
         return future;
     }
 
+    /**
+     * Sends the payload to all the given connections. The payload is only
+     * written once and is shared between the connections.
+     *
+     * @param connections The connections to send the payload to
+     * @param consumer The consumer that writes the payload
+     * @return The future, completed once the payload was sent to every connection
+     */
+    public CompletableFuture<Void> sendTo(final Collection<? extends EngineConnection> connections, final Consumer<ChannelBuf> consumer) {
+        Objects.requireNonNull(connections, "connections");
+        Objects.requireNonNull(consumer, "payload");
+
+        for (final EngineConnection connection : connections) {
+            ConnectionUtil.checkPlayPhase(connection);
+        }
+
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[connections.size()];
+        int index = 0;
+        @Nullable ChannelBuf payload = null;
+        @Nullable Throwable encodeFailure = null;
+        try {
+            payload = this.parent.encodePayload(consumer);
+        } catch (final Throwable ex) {
+            encodeFailure = ex;
+        }
+        for (final EngineConnection connection : connections) {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            futures[index++] = future;
+            if (encodeFailure != null) {
+                this.parent.handleException(connection, encodeFailure, future);
+                continue;
+            }
+            this.parent.metrics().sent(payload.readableBytes());
+            final Packet<?> mcPacket = PacketUtil.createPlayPayload(this.parent.key(), ChannelBuffers.readOnlyView(payload), connection.side());
+            PacketSender.sendTo(connection, mcPacket, future);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
     private <C extends EngineConnection> Collection<RawPlayDataHandler<? super C>> getHandlers(final C connection) {
         return (Collection) SpongeChannel.getResponseHandlers(connection, this.handlers.get());
     }
 
     <C extends EngineConnection> void handlePayload(final C connection, final ChannelBuf payload) {
         for (final RawPlayDataHandler<? super C> handler : this.getHandlers(connection)) {
-            handler.handlePayload(payload.slice(), connection);
+            final long start = System.nanoTime();
+            try {
+                handler.handlePayload(payload.slice(), connection);
+            } finally {
+                this.parent.metrics().handled(System.nanoTime() - start);
+            }
         }
     }
 }
@@ -24,23 +24,28 @@
  */
 package org.spongepowered.common.scheduler;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.scheduler.ScheduledTask;
-import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.launch.Launch;
 import org.spongepowered.common.util.PrettyPrinter;
+import org.spongepowered.plugin.PluginContainer;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 public final class AsyncScheduler extends SpongeScheduler {
 
@@ -48,15 +53,12 @@ public final class AsyncScheduler extends SpongeScheduler {
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
     private final AtomicBoolean stateChanged = new AtomicBoolean(false);
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
-                                                                                   .setNameFormat("Sponge-AsyncScheduler-%d")
-                                                                                   .build());
+    // The configured executor of asynchronous tasks.
+    private final AsyncTaskExecutor executor = new AsyncTaskExecutor(SpongeConfigs.getCommon().get().scheduler);
     private volatile boolean running = true;
 
     // Adjustable timeout for pending Tasks
     private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
 
     public AsyncScheduler() {
         super("A");
@@ -68,7 +70,6 @@ public AsyncScheduler() {
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (this.running) {
             this.recalibrateMinimumTimeout();
             this.runTick();
@@ -78,40 +79,9 @@ private void mainLoop() {
     private void recalibrateMinimumTimeout() {
         this.lock.lock();
         try {
-            final Set<ScheduledTask> tasks = this.tasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            final long now = System.nanoTime();
-            for (final ScheduledTask tmpTask : tasks) {
-                final SpongeScheduledTask task = (SpongeScheduledTask) tmpTask;
-                if (task.state() == SpongeScheduledTask.ScheduledTaskState.EXECUTING) {
-                    // bail out for this task. We'll signal when we complete the task.
-                    continue;
-                }
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.task.delay == 0 && task.task.interval == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                final long timeSinceLast = now - task.timestamp();
-
-                if (task.task.delay > 0 && task.state() == SpongeScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an delay and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.task.delay - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.task.interval > 0 && task.state().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.task.interval - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                final long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
+            // Tasks that are still executing are not considered, their
+            // completion signals the scheduler.
+            this.minimumTimeout = this.nanosUntilNextTask();
         } finally {
             this.lock.unlock();
         }
@@ -147,11 +117,6 @@ protected void preTick() {
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
-    }
-
     @Override
     protected void finallyPostTick() {
         this.lock.unlock();
@@ -171,12 +136,72 @@ protected void onTaskCompletion(final SpongeScheduledTask task) {
     }
 
     @Override
-    protected void executeRunnable(final Runnable runnable) {
-        this.executor.submit(runnable);
+    protected void executeRunnable(final PluginContainer plugin, final Runnable runnable,
+            final Consumer<RejectedExecutionException> rejected) {
+        this.executor.execute(plugin, runnable, rejected);
     }
 
+    /**
+     * Submits a callable on behalf of the plugin in the current cause, see
+     * {@link #submit(PluginContainer, Callable)}. The common plugin is used
+     * when no plugin can be determined, which is always the case off the
+     * server thread.
+     *
+     * @param callable The callable
+     * @param <T> The result type
+     * @return The future result
+     */
     public <T> CompletableFuture<T> submit(final Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.executor);
+        @Nullable PluginContainer plugin = null;
+        if (PhaseTracker.SERVER.onSidedThread()) {
+            plugin = PhaseTracker.getCauseStackManager().currentCause().first(PluginContainer.class).orElse(null);
+        }
+        return this.submit(plugin == null ? Launch.instance().commonPlugin() : plugin, callable);
+    }
+
+    /**
+     * Submits a callable to be run by the executor, counting against the
+     * concurrency limit of the given plugin.
+     *
+     * @param plugin The plugin the callable is run for
+     * @param callable The callable
+     * @param <T> The result type
+     * @return The future result, failing with a
+     *     {@link RejectedExecutionException} if the plugin has too many
+     *     pending tasks
+     */
+    public <T> CompletableFuture<T> submit(final PluginContainer plugin, final Callable<T> callable) {
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(callable, "callable");
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        this.executor.execute(plugin, () -> {
+            try {
+                future.complete(callable.call());
+            } catch (final Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, future::completeExceptionally);
+        return future;
+    }
+
+    /**
+     * Gets the amount of tasks per plugin that are waiting for the plugin's
+     * concurrency limit to run.
+     *
+     * @return The queue depth per plugin
+     */
+    public Map<PluginContainer, Integer> queueDepths() {
+        return this.executor.queueDepths();
+    }
+
+    /**
+     * Gets the amount of tasks per plugin that are running or waiting for a
+     * thread of the executor.
+     *
+     * @return The active tasks per plugin
+     */
+    public Map<PluginContainer, Integer> activeTasks() {
+        return this.executor.activeTasks();
     }
 
     public void close() {
@@ -194,6 +219,9 @@ public void close() {
                         .add("Sponge async scheduler failed to shut down in 5 seconds! Tasks that may have been active:")
                         .addWithIndices(tasks)
                         .add()
+                        .add("Tasks waiting for their plugin's concurrency limit:")
+                        .add(this.queueDepths())
+                        .add()
                         .add("We will now attempt immediate shutdown.")
                         .log(SpongeCommon.logger(), Level.WARN);
 
@@ -0,0 +1,223 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.common.SchedulerCategory;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the tasks of the {@link AsyncScheduler} on the executor selected in
+ * the {@link SchedulerCategory}, optionally limiting how many tasks of a
+ * single plugin may run at the same time.
+ *
+ * <p>Tasks exceeding the limit of their plugin wait in a queue of that
+ * plugin instead of occupying threads of the shared executor. Tasks of a
+ * plugin that already has too many pending tasks are rejected.</p>
+ */
+final class AsyncTaskExecutor {
+
+    private final ExecutorService executor;
+    private final int perPluginConcurrency;
+    private final int perPluginMaxPending;
+    private final Map<PluginContainer, Lane> lanes = new ConcurrentHashMap<>();
+
+    AsyncTaskExecutor(final SchedulerCategory config) {
+        this.executor = AsyncTaskExecutor.createExecutor(config);
+        this.perPluginConcurrency = Math.max(0, config.asyncPerPluginConcurrency);
+        this.perPluginMaxPending = Math.max(0, config.asyncPerPluginMaxPending);
+    }
+
+    private static ExecutorService createExecutor(final SchedulerCategory config) {
+        switch (config.asyncExecutorMode) {
+            case VIRTUAL:
+                try {
+                    final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                    return (ExecutorService) method.invoke(null);
+                } catch (final ReflectiveOperationException | RuntimeException e) {
+                    SpongeCommon.logger().warn("Virtual threads are not supported by this JVM, falling back to the cached async executor");
+                }
+                break;
+            case BOUNDED:
+                final int parallelism = config.asyncPoolSize > 0 ? config.asyncPoolSize : Runtime.getRuntime().availableProcessors();
+                final AtomicInteger threadId = new AtomicInteger();
+                return new ForkJoinPool(parallelism, pool -> {
+                    final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("Sponge-AsyncScheduler-" + threadId.getAndIncrement());
+                    return thread;
+                }, null, true);
+            default:
+                break;
+        }
+        return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat("Sponge-AsyncScheduler-%d")
+                .build());
+    }
+
+    /**
+     * Runs the runnable on behalf of the plugin. If the runnable cannot be
+     * run, because the plugin has too many pending tasks or the executor was
+     * shut down, the rejection handler is called instead, either right away
+     * or on the thread of a completing task of the plugin.
+     *
+     * @param plugin The plugin
+     * @param runnable The runnable
+     * @param rejected The rejection handler
+     */
+    void execute(final PluginContainer plugin, final Runnable runnable, final Consumer<RejectedExecutionException> rejected) {
+        this.lanes.computeIfAbsent(plugin, key -> new Lane(plugin)).execute(runnable, rejected);
+    }
+
+    /**
+     * Gets the amount of tasks per plugin that are waiting for their plugin's
+     * concurrency limit.
+     *
+     * @return The queue depth per plugin
+     */
+    Map<PluginContainer, Integer> queueDepths() {
+        final Map<PluginContainer, Integer> depths = new HashMap<>();
+        this.lanes.forEach((plugin, lane) -> depths.put(plugin, lane.queued.get()));
+        return Collections.unmodifiableMap(depths);
+    }
+
+    /**
+     * Gets the amount of tasks per plugin that are currently submitted to the
+     * executor.
+     *
+     * @return The active tasks per plugin
+     */
+    Map<PluginContainer, Integer> activeTasks() {
+        final Map<PluginContainer, Integer> active = new HashMap<>();
+        this.lanes.forEach((plugin, lane) -> active.put(plugin, lane.active.get()));
+        return Collections.unmodifiableMap(active);
+    }
+
+    void shutdown() {
+        this.executor.shutdown();
+    }
+
+    void shutdownNow() {
+        this.executor.shutdownNow();
+    }
+
+    boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.executor.awaitTermination(timeout, unit);
+    }
+
+    private static final class Pending {
+
+        final Runnable runnable;
+        final Consumer<RejectedExecutionException> rejected;
+
+        Pending(final Runnable runnable, final Consumer<RejectedExecutionException> rejected) {
+            this.runnable = runnable;
+            this.rejected = rejected;
+        }
+
+    }
+
+    private final class Lane {
+
+        final PluginContainer plugin;
+        final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+        // Queued and running tasks, bounded by the max pending setting
+        final AtomicInteger outstanding = new AtomicInteger();
+
+        Lane(final PluginContainer plugin) {
+            this.plugin = plugin;
+        }
+
+        void execute(final Runnable runnable, final Consumer<RejectedExecutionException> rejected) {
+            final int maxPending = AsyncTaskExecutor.this.perPluginMaxPending;
+            if (this.outstanding.incrementAndGet() > maxPending && maxPending > 0) {
+                this.outstanding.decrementAndGet();
+                rejected.accept(new RejectedExecutionException("Plugin '" + this.plugin.metadata().id()
+                        + "' has more than " + maxPending + " pending async tasks"));
+                return;
+            }
+            this.pending.add(new Pending(runnable, rejected));
+            this.queued.incrementAndGet();
+            this.drain();
+        }
+
+        private void drain() {
+            final int limit = AsyncTaskExecutor.this.perPluginConcurrency;
+            while (!this.pending.isEmpty()) {
+                final int current = this.active.get();
+                if (limit > 0 && current >= limit) {
+                    // A completing task drains again
+                    return;
+                }
+                if (!this.active.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                final Pending next = this.pending.poll();
+                if (next == null) {
+                    this.active.decrementAndGet();
+                    continue;
+                }
+                this.queued.decrementAndGet();
+                try {
+                    AsyncTaskExecutor.this.executor.execute(() -> {
+                        try {
+                            next.runnable.run();
+                        } finally {
+                            this.outstanding.decrementAndGet();
+                            this.active.decrementAndGet();
+                            this.drain();
+                        }
+                    });
+                } catch (final RejectedExecutionException e) {
+                    // The task was already taken off the queue, so it is
+                    // handed back to its submitter rather than lost
+                    this.outstanding.decrementAndGet();
+                    this.active.decrementAndGet();
+                    next.rejected.accept(e);
+                }
+            }
+        }
+
+    }
+
+}
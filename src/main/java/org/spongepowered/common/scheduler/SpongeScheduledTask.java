@@ -45,6 +45,15 @@ public final class SpongeScheduledTask implements ScheduledTask {
     private ScheduledTaskState state;
     private boolean isCancelled = false;
 
+    // The position in the scheduler's task queue, only valid while queued
+    private long dueTimestamp;
+    private long dueSequence;
+    private boolean dueTickBased;
+    // Whether the task sits in a task queue, and whether it was counted as a
+    // cancelled task of that queue. Guarded by the scheduler's queue lock.
+    private boolean queued;
+    private boolean countedCancelled;
+
     SpongeScheduledTask(final SpongeScheduler scheduler, final SpongeTask task, final String name) {
         this.scheduler = scheduler;
         this.task = task;
@@ -80,6 +89,7 @@ public boolean cancel() {
                 || this.state() == ScheduledTaskState.EXECUTING;
         this.state = ScheduledTaskState.CANCELED;
         this.isCancelled = true;
+        this.scheduler.onTaskCancelled(this);
         return success;
     }
 
@@ -110,6 +120,40 @@ long nextExecutionTimestamp() {
         return this.timestamp + this.task.delay;
     }
 
+    long dueTimestamp() {
+        return this.dueTimestamp;
+    }
+
+    long dueSequence() {
+        return this.dueSequence;
+    }
+
+    boolean dueTickBased() {
+        return this.dueTickBased;
+    }
+
+    void setDue(final long dueTimestamp, final boolean tickBased, final long sequence) {
+        this.dueTimestamp = dueTimestamp;
+        this.dueTickBased = tickBased;
+        this.dueSequence = sequence;
+    }
+
+    boolean queued() {
+        return this.queued;
+    }
+
+    void setQueued(final boolean queued) {
+        this.queued = queued;
+    }
+
+    boolean countedCancelled() {
+        return this.countedCancelled;
+    }
+
+    void setCountedCancelled(final boolean countedCancelled) {
+        this.countedCancelled = countedCancelled;
+    }
+
     ScheduledTaskState state() {
         return this.state;
     }
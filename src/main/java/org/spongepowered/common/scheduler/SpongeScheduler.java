@@ -37,7 +37,9 @@
 import org.spongepowered.common.launch.Launch;
 import org.spongepowered.plugin.PluginContainer;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -47,8 +49,10 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,8 +65,16 @@ public abstract class SpongeScheduler implements Scheduler {
 
     private final String tag;
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    // All pending (and running) ScheduledTasks, for lookups
     private final Map<UUID, SpongeScheduledTask> tasks = new ConcurrentHashMap<>();
+    // The same tasks ordered by their next execution, one queue per clock so
+    // that a tick only visits the tasks that are due. Guarded by queueLock.
+    private final Object queueLock = new Object();
+    private final TaskQueue tickBasedQueue = new TaskQueue();
+    private final TaskQueue wallClockQueue = new TaskQueue();
+    // Due tasks whose previous execution did not finish yet, guarded by queueLock
+    private final List<SpongeScheduledTask> parked = new ArrayList<>();
+    private long queueSequence = 0L;
     private long sequenceNumber = 0L;
 
     SpongeScheduler(final String tag) {
@@ -93,6 +105,7 @@ protected long timestamp(final boolean tickBased) {
     protected void addTask(final SpongeScheduledTask task) {
         task.setTimestamp(this.timestamp(task.task.tickBasedDelay));
         this.tasks.put(task.uniqueId(), task);
+        this.enqueue(task, task.timestamp() + task.task.delay, task.task.tickBasedDelay);
     }
 
     /**
@@ -104,6 +117,52 @@ private void removeTask(final SpongeScheduledTask task) {
         this.tasks.remove(task.uniqueId());
     }
 
+    private void enqueue(final SpongeScheduledTask task, final long dueTimestamp, final boolean tickBased) {
+        synchronized (this.queueLock) {
+            task.setDue(dueTimestamp, tickBased, this.queueSequence++);
+            this.queue(tickBased).add(task);
+        }
+    }
+
+    TaskQueue queue(final boolean tickBased) {
+        return tickBased ? this.tickBasedQueue : this.wallClockQueue;
+    }
+
+    /**
+     * Called when a task got cancelled, the task is removed from the lookup
+     * map right away and dropped from the task queue lazily.
+     *
+     * @param task The cancelled task
+     */
+    void onTaskCancelled(final SpongeScheduledTask task) {
+        this.removeTask(task);
+        synchronized (this.queueLock) {
+            this.queue(task.dueTickBased()).taskCancelled(task);
+        }
+    }
+
+    /**
+     * Gets the time until the next queued task is due, tasks that are still
+     * executing are not taken into account.
+     *
+     * @return The time in nanoseconds, zero if a task is overdue or
+     *     {@link Long#MAX_VALUE} if no task is queued
+     */
+    protected long nanosUntilNextTask() {
+        synchronized (this.queueLock) {
+            final long tickBased = this.tickBasedQueue.nextDueTimestamp();
+            final long wallClock = this.wallClockQueue.nextDueTimestamp();
+            long timeout = Long.MAX_VALUE;
+            if (tickBased != Long.MAX_VALUE) {
+                timeout = Math.max(0, tickBased - this.timestamp(true));
+            }
+            if (wallClock != Long.MAX_VALUE) {
+                timeout = Math.min(timeout, Math.max(0, wallClock - this.timestamp(false)));
+            }
+            return timeout;
+        }
+    }
+
     @Override
     public Optional<ScheduledTask> findTask(final UUID id) {
         Objects.requireNonNull(id, "id");
@@ -176,18 +235,64 @@ public SpongeScheduledTask submit(Task task, String name) {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks that are due.
      */
     final void runTick() {
         this.preTick();
         try {
-            this.tasks.values().forEach(this::processTask);
+            this.processDueTasks(this.pollDueTasks());
             this.postTick();
         } finally {
             this.finallyPostTick();
         }
     }
 
+    private List<SpongeScheduledTask> pollDueTasks() {
+        final List<SpongeScheduledTask> due = new ArrayList<>();
+        synchronized (this.queueLock) {
+            // Tasks that were due while still executing get their turn as
+            // soon as the previous execution completed.
+            if (!this.parked.isEmpty()) {
+                final Iterator<SpongeScheduledTask> it = this.parked.iterator();
+                while (it.hasNext()) {
+                    final SpongeScheduledTask task = it.next();
+                    if (task.isCancelled()) {
+                        it.remove();
+                    } else if (!SpongeScheduler.isExecuting(task)) {
+                        it.remove();
+                        due.add(task);
+                    }
+                }
+            }
+            this.pollDue(this.tickBasedQueue, this.timestamp(true), due);
+            this.pollDue(this.wallClockQueue, this.timestamp(false), due);
+        }
+        return due;
+    }
+
+    private void pollDue(final TaskQueue queue, final long now, final List<SpongeScheduledTask> due) {
+        @Nullable SpongeScheduledTask task;
+        while ((task = queue.pollDue(now)) != null) {
+            due.add(task);
+        }
+    }
+
+    private static boolean isExecuting(final SpongeScheduledTask task) {
+        return task.state() == SpongeScheduledTask.ScheduledTaskState.EXECUTING
+                || task.state() == SpongeScheduledTask.ScheduledTaskState.SWITCHING;
+    }
+
+    /**
+     * Processes the tasks that are due in this tick.
+     *
+     * @param due The due tasks, in the order they became due
+     */
+    protected void processDueTasks(final List<SpongeScheduledTask> due) {
+        for (final SpongeScheduledTask task : due) {
+            this.processTask(task);
+        }
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -208,11 +313,11 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes a task that is due.
      *
      * @param task The task to process
      */
-    private void processTask(final SpongeScheduledTask task) {
+    final void processTask(final SpongeScheduledTask task) {
         // If the task is now slated to be cancelled, we just remove it as if it
         // no longer exists.
         if (task.state() == SpongeScheduledTask.ScheduledTaskState.CANCELED) {
@@ -221,41 +326,24 @@ private void processTask(final SpongeScheduledTask task) {
         }
         // If the task is already being processed, we wait for the previous
         // occurrence to terminate.
-        if (task.state() == SpongeScheduledTask.ScheduledTaskState.EXECUTING) {
+        if (SpongeScheduler.isExecuting(task)) {
+            synchronized (this.queueLock) {
+                this.parked.add(task);
+            }
             return;
         }
-        final long threshold;
-        final boolean tickBased;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (interval) of the repeating task parameter.
-        if (task.state() == SpongeScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.task.delay;
-            tickBased = task.task.tickBasedDelay;
-        } else if (task.state() == SpongeScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.task.interval;
-            tickBased = task.task.tickBasedInterval;
-        } else {
-            threshold = Long.MAX_VALUE;
-            tickBased = false;
-        }
-        // This moment is 'now'
-        final long now = this.timestamp(tickBased);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
-        // Repeating tasks get a reset-timestamp each time they are set RUNNING
-        // If the task has a interval of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.timestamp())) {
-            task.setState(SpongeScheduledTask.ScheduledTaskState.SWITCHING);
-            // It is always interval here because that's the only thing that matters
-            // at this point.
-            task.setTimestamp(this.timestamp(task.task.tickBasedInterval));
-            this.startTask(task);
+        task.setState(SpongeScheduledTask.ScheduledTaskState.SWITCHING);
+        // It is always interval here because that's the only thing that matters
+        // at this point. Repeating tasks get a reset-timestamp each time they
+        // are started and are queued for their next execution right away.
+        task.setTimestamp(this.timestamp(task.task.tickBasedInterval));
+        if (task.task.interval == 0L) {
             // If task is one time shot, remove it from the map.
-            if (task.task.interval == 0L) {
-                this.removeTask(task);
-            }
+            this.removeTask(task);
+        } else {
+            this.enqueue(task, task.timestamp() + task.task.interval, task.task.tickBasedInterval);
         }
+        this.startTask(task);
     }
 
     /**
@@ -264,7 +352,7 @@ private void processTask(final SpongeScheduledTask task) {
      * @param task The task to start
      */
     private void startTask(final SpongeScheduledTask task) {
-        this.executeRunnable(() -> {
+        this.executeRunnable(task.task().plugin(), () -> {
             task.setState(SpongeScheduledTask.ScheduledTaskState.EXECUTING);
             try (final @Nullable PhaseContext<@NonNull ?> context = this.createContext(task, task.task().plugin())) {
                 if (context != null) {
@@ -282,6 +370,13 @@ private void startTask(final SpongeScheduledTask task) {
                 }
                 this.onTaskCompletion(task);
             }
+        }, e -> {
+            SpongeCommon.logger().error("The Scheduler could not run the task '{}' owned by '{}'.",
+                    task.name(), task.task().plugin().metadata().id(), e);
+            if (!task.isCancelled()) {
+                task.setState(SpongeScheduledTask.ScheduledTaskState.RUNNING);
+            }
+            this.onTaskCompletion(task);
         });
     }
 
@@ -299,7 +394,8 @@ protected void onTaskCompletion(final SpongeScheduledTask task) {
         // no-op for sync methods.
     }
 
-    protected void executeRunnable(final Runnable runnable) {
+    protected void executeRunnable(final PluginContainer plugin, final Runnable runnable,
+            final Consumer<RejectedExecutionException> rejected) {
         runnable.run();
     }
 
@@ -46,15 +46,17 @@ public final class SpongeTask implements Task {
     final long interval; // nanos
     final boolean tickBasedDelay;
     final boolean tickBasedInterval;
+    final boolean mustRunThisTick;
 
     SpongeTask(final PluginContainer plugin, final Consumer<ScheduledTask> executor, final long delay,
-            final long interval, final boolean tickBasedDelay, final boolean tickBasedInterval) {
+            final long interval, final boolean tickBasedDelay, final boolean tickBasedInterval, final boolean mustRunThisTick) {
         this.plugin = plugin;
         this.executor = executor;
         this.delay = delay;
         this.interval = interval;
         this.tickBasedDelay = tickBasedDelay;
         this.tickBasedInterval = tickBasedInterval;
+        this.mustRunThisTick = mustRunThisTick;
     }
 
     @Override
@@ -82,6 +84,7 @@ public String toString() {
                 .add("plugin", this.plugin.metadata().id())
                 .add("delay", this.delay)
                 .add("interval", this.interval)
+                .add("mustRunThisTick", this.mustRunThisTick)
                 .toString();
     }
 
@@ -94,6 +97,20 @@ public static final class BuilderImpl implements Task.Builder {
         private long interval;
         private boolean tickBasedDelay;
         private boolean tickBasedInterval;
+        private boolean mustRunThisTick;
+
+        /**
+         * Sets whether the task always runs in the tick it is due, even if
+         * the sync scheduler already exhausted its tick budget. Has no effect
+         * on asynchronous tasks.
+         *
+         * @param mustRunThisTick Whether the task may not be deferred
+         * @return This builder, for chaining
+         */
+        public BuilderImpl mustRunThisTick(final boolean mustRunThisTick) {
+            this.mustRunThisTick = mustRunThisTick;
+            return this;
+        }
 
         @Override
         public Task.Builder execute(final Consumer<ScheduledTask> executor) {
@@ -195,6 +212,7 @@ public Task.Builder from(final Task value) {
             this.delay = task.delay;
             this.tickBasedDelay = task.tickBasedDelay;
             this.tickBasedInterval = task.tickBasedInterval;
+            this.mustRunThisTick = task.mustRunThisTick;
             return this;
         }
 
@@ -206,6 +224,7 @@ public Task.Builder reset() {
             this.delay = 0;
             this.tickBasedDelay = false;
             this.tickBasedInterval = false;
+            this.mustRunThisTick = false;
             return this;
         }
 
@@ -214,7 +233,8 @@ public Task build() {
             Objects.requireNonNull(this.executor, "executor");
             Objects.requireNonNull(this.plugin, "plugin");
 
-            return new SpongeTask(this.plugin, this.executor, this.delay, this.interval, this.tickBasedDelay, this.tickBasedInterval);
+            return new SpongeTask(this.plugin, this.executor, this.delay, this.interval, this.tickBasedDelay, this.tickBasedInterval,
+                    this.mustRunThisTick);
         }
     }
 }
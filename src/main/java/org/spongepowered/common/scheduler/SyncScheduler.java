@@ -24,11 +24,30 @@
  */
 package org.spongepowered.common.scheduler;
 
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.util.PrettyPrinter;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 public abstract class SyncScheduler extends SpongeScheduler {
 
     // The number of ticks elapsed since this scheduler began.
     private long counter = 0L;
 
+    // Tasks that were due but did not fit into the tick budget, served
+    // round-robin per plugin. The plugin at the head is served next.
+    private final ArrayDeque<PluginTasks> deferred = new ArrayDeque<>();
+    private final Map<PluginContainer, PluginTasks> deferredByPlugin = new HashMap<>();
+    private final Map<PluginContainer, PluginStats> stats = new HashMap<>();
+    private long deferrals;
+
     SyncScheduler(final String tag) {
         super(tag);
     }
@@ -50,4 +69,146 @@ protected long timestamp(final boolean tickBased) {
         }
         return super.timestamp(false);
     }
+
+    @Override
+    protected void processDueTasks(final List<SpongeScheduledTask> due) {
+        final long budget = TimeUnit.MILLISECONDS.toNanos(SpongeConfigs.getCommon().get().scheduler.syncTickBudgetMillis);
+        if (budget <= 0 && this.deferred.isEmpty()) {
+            for (final SpongeScheduledTask task : due) {
+                this.runMeasured(task);
+            }
+            return;
+        }
+        final long start = System.nanoTime();
+        for (final SpongeScheduledTask task : due) {
+            if (task.task.mustRunThisTick) {
+                this.runMeasured(task);
+            } else {
+                this.deferredByPlugin.computeIfAbsent(task.task().plugin(), plugin -> {
+                    final PluginTasks tasks = new PluginTasks(plugin);
+                    this.deferred.addLast(tasks);
+                    return tasks;
+                }).tasks.addLast(task);
+            }
+        }
+        while (!this.deferred.isEmpty()) {
+            if (budget > 0 && System.nanoTime() - start >= budget) {
+                this.recordDeferrals();
+                return;
+            }
+            final PluginTasks next = this.deferred.pollFirst();
+            if (next.deferred > 0) {
+                next.deferred--;
+            }
+            this.runMeasured(next.tasks.pollFirst());
+            if (next.tasks.isEmpty()) {
+                this.deferredByPlugin.remove(next.plugin);
+            } else {
+                this.deferred.addLast(next);
+            }
+        }
+    }
+
+    private void runMeasured(final SpongeScheduledTask task) {
+        final long start = System.nanoTime();
+        try {
+            this.processTask(task);
+        } finally {
+            this.stats(task.task().plugin()).record(System.nanoTime() - start);
+        }
+    }
+
+    private void recordDeferrals() {
+        for (final PluginTasks tasks : this.deferred) {
+            // Tasks carried over from earlier ticks were already counted
+            final int newlyDeferred = tasks.tasks.size() - tasks.deferred;
+            this.deferrals += newlyDeferred;
+            this.stats(tasks.plugin).deferrals += newlyDeferred;
+            tasks.deferred = tasks.tasks.size();
+        }
+    }
+
+    private PluginStats stats(final PluginContainer plugin) {
+        return this.stats.computeIfAbsent(plugin, key -> new PluginStats());
+    }
+
+    /**
+     * Gets the amount of task executions that were carried over to a later
+     * tick because the tick budget was exhausted.
+     *
+     * @return The amount of deferrals
+     */
+    public long deferrals() {
+        return this.deferrals;
+    }
+
+    /**
+     * Gets the amount of tasks currently waiting for a tick with remaining
+     * budget.
+     *
+     * @return The amount of deferred tasks
+     */
+    public int deferredTasks() {
+        int count = 0;
+        for (final PluginTasks tasks : this.deferred) {
+            count += tasks.tasks.size();
+        }
+        return count;
+    }
+
+    /**
+     * Creates a report of the plugins that spent the most time in
+     * synchronous tasks.
+     *
+     * @param limit The maximum amount of plugins
+     * @return The report
+     */
+    public PrettyPrinter report(final int limit) {
+        final List<Map.Entry<PluginContainer, PluginStats>> entries = new ArrayList<>(this.stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<PluginContainer, PluginStats> entry) -> entry.getValue().totalNanos).reversed());
+        final PrettyPrinter printer = new PrettyPrinter(100)
+                .add("Sync Scheduler Report").centre().hr()
+                .kv("Tick budget", "%d ms", SpongeConfigs.getCommon().get().scheduler.syncTickBudgetMillis)
+                .kv("Deferrals", this.deferrals)
+                .kv("Deferred tasks", this.deferredTasks())
+                .add()
+                .table("Plugin", "Runs", PrettyPrinter.Alignment.RIGHT, "Total ms", PrettyPrinter.Alignment.RIGHT,
+                        "Max ms", PrettyPrinter.Alignment.RIGHT, "Deferrals", PrettyPrinter.Alignment.RIGHT);
+        for (final Map.Entry<PluginContainer, PluginStats> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            final PluginStats stats = entry.getValue();
+            printer.tr(entry.getKey().metadata().id(), stats.runs, TimeUnit.NANOSECONDS.toMillis(stats.totalNanos),
+                    TimeUnit.NANOSECONDS.toMillis(stats.maxNanos), stats.deferrals);
+        }
+        return printer;
+    }
+
+    private static final class PluginTasks {
+
+        final PluginContainer plugin;
+        final ArrayDeque<SpongeScheduledTask> tasks = new ArrayDeque<>();
+        // The amount of tasks at the head of the queue that were already
+        // counted as deferred, new tasks are only ever added to the tail
+        int deferred;
+
+        PluginTasks(final PluginContainer plugin) {
+            this.plugin = plugin;
+        }
+
+    }
+
+    private static final class PluginStats {
+
+        long runs;
+        long totalNanos;
+        long maxNanos;
+        long deferrals;
+
+        void record(final long nanos) {
+            this.runs++;
+            this.totalNanos += nanos;
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+        }
+
+    }
+
 }
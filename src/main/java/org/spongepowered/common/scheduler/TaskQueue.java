@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * A queue of {@link SpongeScheduledTask}s ordered by the timestamp of their
+ * next execution, all measured with the same clock.
+ *
+ * <p>Not thread safe, the owning {@link SpongeScheduler} guards access.</p>
+ */
+final class TaskQueue {
+
+    private static final Comparator<SpongeScheduledTask> COMPARATOR = Comparator
+            .comparingLong(SpongeScheduledTask::dueTimestamp)
+            .thenComparingLong(SpongeScheduledTask::dueSequence);
+    /**
+     * The minimum amount of cancelled tasks before the queue is purged of
+     * them, smaller amounts are simply dropped once they are due.
+     */
+    private static final int PURGE_THRESHOLD = 64;
+
+    private final PriorityQueue<SpongeScheduledTask> queue = new PriorityQueue<>(TaskQueue.COMPARATOR);
+    private int cancelled;
+
+    void add(final SpongeScheduledTask task) {
+        task.setQueued(true);
+        this.queue.add(task);
+    }
+
+    /**
+     * Removes and returns the next task that is due at the given timestamp.
+     *
+     * @param now The current timestamp of this queue's clock
+     * @return The due task, or null if no task is due
+     */
+    @Nullable SpongeScheduledTask pollDue(final long now) {
+        final @Nullable SpongeScheduledTask head = this.queue.peek();
+        if (head == null || head.dueTimestamp() > now) {
+            return null;
+        }
+        final SpongeScheduledTask task = this.queue.poll();
+        this.dequeued(task);
+        return task;
+    }
+
+    private void dequeued(final SpongeScheduledTask task) {
+        task.setQueued(false);
+        if (task.countedCancelled()) {
+            task.setCountedCancelled(false);
+            this.cancelled--;
+        }
+    }
+
+    int size() {
+        return this.queue.size();
+    }
+
+    int cancelledCount() {
+        return this.cancelled;
+    }
+
+    /**
+     * Gets the timestamp at which the next task is due.
+     *
+     * @return The timestamp, or {@link Long#MAX_VALUE} if the queue is empty
+     */
+    long nextDueTimestamp() {
+        final @Nullable SpongeScheduledTask head = this.queue.peek();
+        return head == null ? Long.MAX_VALUE : head.dueTimestamp();
+    }
+
+    /**
+     * Called when a task got cancelled. Only tasks that are still queued and
+     * were not counted before count towards purging the queue.
+     *
+     * @param task The cancelled task
+     */
+    void taskCancelled(final SpongeScheduledTask task) {
+        if (!task.queued() || task.countedCancelled()) {
+            return;
+        }
+        task.setCountedCancelled(true);
+        if (++this.cancelled >= TaskQueue.PURGE_THRESHOLD && this.cancelled > this.queue.size() / 2) {
+            this.queue.removeIf(queued -> {
+                if (queued.isCancelled()) {
+                    this.dequeued(queued);
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+}
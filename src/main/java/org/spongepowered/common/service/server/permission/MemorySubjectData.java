@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.service.server.permission;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -47,6 +49,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A subject data implementation storing all contained data in memory.
@@ -64,6 +67,10 @@ public class MemorySubjectData implements SubjectData {
     protected final ConcurrentMap<Set<Context>, NodeTree> permissions = new ConcurrentHashMap<>();
     protected final ConcurrentMap<Set<Context>, List<SubjectReference>> parents = new ConcurrentHashMap<>();
 
+    // Bumped whenever this subject data changes
+    private final AtomicLong version = new AtomicLong();
+    private volatile @Nullable ResolvedPermissions resolvedPermissions;
+
     /**
      * Creates a new subject data instance, using the provided service to
      * request instances of permission subjects.
@@ -82,6 +89,43 @@ protected void onUpdate() {
         // Do nothing - users of the class will override.
     }
 
+    private void update() {
+        this.invalidateResolvedPermissions();
+        this.onUpdate();
+    }
+
+    /**
+     * Invalidates the resolved permission values of this subject data and of
+     * all subject data that inherited values from it, to be called when
+     * anything a resolved value may depend on has changed.
+     */
+    protected void invalidateResolvedPermissions() {
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * Gets whether the parents of this subject data may change without
+     * this subject data being updated, for example when they are derived
+     * from external state. Permission values inherited from parents are
+     * not cached for such subject data.
+     *
+     * @return Whether the parents may change without an update
+     */
+    protected boolean hasVolatileParents() {
+        return false;
+    }
+
+    ResolvedPermissions resolvedPermissions() {
+        @Nullable ResolvedPermissions resolved = this.resolvedPermissions;
+        if (resolved == null || !resolved.isValid()) {
+            // A value computed against an outdated version only ever ends
+            // up in the instance that is being replaced here.
+            resolved = new ResolvedPermissions(this, this.version.get(), !this.hasVolatileParents());
+            this.resolvedPermissions = resolved;
+        }
+        return resolved;
+    }
+
     @Override
     public Subject subject() {
         return this.subject;
@@ -142,7 +186,7 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, final Str
                 }
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -176,7 +220,7 @@ public CompletableFuture<Boolean> setPermissions(Set<Context> contexts, final Ma
                     throw new IllegalStateException("Unhandled enum state " + method);
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -217,7 +261,7 @@ public CompletableFuture<Boolean> setFallbackPermissionValue(Set<Context> contex
                 }
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -237,7 +281,7 @@ public CompletableFuture<Boolean> clearFallbackPermissionValues() {
                 }
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(anyUpdated);
     }
 
@@ -246,7 +290,7 @@ public CompletableFuture<Boolean> clearPermissions() {
         final boolean wasEmpty = this.permissions.isEmpty();
         this.permissions.clear();
         if (!wasEmpty) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(!wasEmpty);
     }
@@ -255,7 +299,7 @@ public CompletableFuture<Boolean> clearPermissions() {
     public CompletableFuture<Boolean> clearPermissions(final Set<Context> context) {
         final boolean changed = this.permissions.remove(Objects.requireNonNull(context, "context")) != null;
         if (changed) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(changed);
     }
@@ -302,7 +346,7 @@ public CompletableFuture<Boolean> setParents(Set<Context> contexts, final List<?
                     throw new IllegalStateException("Unhandled enum state " + method);
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -323,7 +367,7 @@ public CompletableFuture<Boolean> addParent(Set<Context> contexts, final Subject
                     .build();
 
             if (this.updateCollection(this.parents, contexts, oldParents, newParents)) {
-                this.onUpdate();
+                this.update();
                 return CompletableFuture.completedFuture(true);
             }
         }
@@ -354,7 +398,7 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, final Subj
             newParents.remove(parent);
 
             if (this.updateCollection(this.parents, contexts, oldParents, ImmutableList.copyOf(newParents))) {
-                this.onUpdate();
+                this.update();
                 return CompletableFuture.completedFuture(true);
             }
         }
@@ -365,7 +409,7 @@ public CompletableFuture<Boolean> clearParents() {
         final boolean wasEmpty = this.parents.isEmpty();
         this.parents.clear();
         if (!wasEmpty) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(!wasEmpty);
     }
@@ -374,7 +418,7 @@ public CompletableFuture<Boolean> clearParents() {
     public CompletableFuture<Boolean> clearParents(final Set<Context> contexts) {
         final boolean changed = this.parents.remove(Objects.requireNonNull(contexts, "contexts")) != null;
         if (changed) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(changed);
     }
@@ -402,7 +446,7 @@ public CompletableFuture<Boolean> setOption(Set<Context> contexts, final String
             }
 
             if ((origMap = this.options.putIfAbsent(contexts, Collections.singletonMap(key.toLowerCase(), value))) == null) {
-                this.onUpdate();
+                this.update();
                 return CompletableFuture.completedFuture(true);
             }
         }
@@ -419,7 +463,7 @@ public CompletableFuture<Boolean> setOption(Set<Context> contexts, final String
             }
             newMap = ImmutableMap.copyOf(newMap);
         } while (!this.options.replace(contexts, origMap, newMap));
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -449,7 +493,7 @@ public CompletableFuture<Boolean> setOptions(Set<Context> contexts, final Map<St
                     throw new IllegalStateException("Unhandled enum state " + method);
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -458,7 +502,7 @@ public CompletableFuture<Boolean> clearOptions() {
         final boolean wasEmpty = this.options.isEmpty();
         this.options.clear();
         if (!wasEmpty) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(!wasEmpty);
     }
@@ -467,7 +511,7 @@ public CompletableFuture<Boolean> clearOptions() {
     public CompletableFuture<Boolean> clearOptions(final Set<Context> contexts) {
         final boolean ret = this.options.remove(Objects.requireNonNull(contexts, "contexts")) != null;
         if (ret) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(ret);
     }
@@ -484,6 +528,7 @@ public CompletableFuture<Boolean> copyFrom(final SubjectData other, final Transf
             this.permissions.clear();
             this.parents.clear();
             this.options.clear();
+            this.invalidateResolvedPermissions();
         }
 
         otherPerms.forEach((ctx, permissions) -> this.setPermissions(ctx, permissions, method));
@@ -498,4 +543,92 @@ public CompletableFuture<Boolean> moveFrom(final SubjectData other, final Transf
         return this.copyFrom(other, method).thenCompose(res ->
                 CompletableFuture.allOf(other.clearOptions(), other.clearParents(), other.clearPermissions()).thenApply(x -> res));
     }
+
+    /**
+     * Permission values of the global context resolved for a single
+     * version of subject data. They stay valid until the subject data or
+     * any subject data they inherited values from changes.
+     */
+    static final class ResolvedPermissions {
+
+        private static final int MAX_CACHED_VALUES = 1024;
+        // The resolved permissions inheriting values on this thread, which
+        // depend on every other resolved permissions used meanwhile
+        private static final ThreadLocal<@Nullable ResolvedPermissions> INHERITING = new ThreadLocal<>();
+
+        final MemorySubjectData data;
+        final long version;
+        final boolean inherit;
+        // Values of this subject data's own node tree
+        final Cache<String, Tristate> nodeValues = ResolvedPermissions.newCache();
+        // Values including those inherited from parents, only used if inherit is true
+        final Cache<String, Tristate> inheritedValues = ResolvedPermissions.newCache();
+        private final Set<ResolvedPermissions> dependencies = ConcurrentHashMap.newKeySet();
+
+        ResolvedPermissions(final MemorySubjectData data, final long version, final boolean inherit) {
+            this.data = data;
+            this.version = version;
+            this.inherit = inherit;
+        }
+
+        /**
+         * Gets whether neither the subject data nor any subject data values
+         * were inherited from changed since these were resolved.
+         *
+         * @return Whether these resolved permissions are still valid
+         */
+        boolean isValid() {
+            if (this.data.version.get() != this.version) {
+                return false;
+            }
+            for (final ResolvedPermissions dependency : this.dependencies) {
+                if (!dependency.isValid()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Marks these resolved permissions as used by the resolved permissions
+         * currently inheriting values on this thread, if any.
+         */
+        void markUsed() {
+            final @Nullable ResolvedPermissions inheriting = ResolvedPermissions.INHERITING.get();
+            if (inheriting != null && inheriting != this) {
+                inheriting.dependencies.add(this);
+            }
+        }
+
+        /**
+         * Starts inheriting values from parents into these resolved
+         * permissions. Values that aren't cached are inherited into the
+         * resolved permissions that were already inheriting instead.
+         *
+         * @return The resolved permissions that were inheriting before, to
+         *     be passed to {@link #endInheriting(ResolvedPermissions)}
+         */
+        @Nullable ResolvedPermissions beginInheriting() {
+            final @Nullable ResolvedPermissions previous = ResolvedPermissions.INHERITING.get();
+            if (this.inherit) {
+                ResolvedPermissions.INHERITING.set(this);
+            }
+            return previous;
+        }
+
+        static void endInheriting(final @Nullable ResolvedPermissions previous) {
+            if (previous == null) {
+                ResolvedPermissions.INHERITING.remove();
+            } else {
+                ResolvedPermissions.INHERITING.set(previous);
+            }
+        }
+
+        // Keyed by every permission string that is queried, so bounded
+        private static Cache<String, Tristate> newCache() {
+            return Caffeine.newBuilder()
+                .maximumSize(ResolvedPermissions.MAX_CACHED_VALUES)
+                .build();
+        }
+    }
 }
@@ -88,8 +88,15 @@ public CompletableFuture<Boolean> clearParents(final Set<Context> contexts) {
         return this.clearParents();
     }
 
+    @Override
+    protected boolean hasVolatileParents() {
+        // Subclasses may derive the parent from outside state, like the ops list
+        return true;
+    }
+
     public void setParent(final @Nullable SubjectReference parent) {
         this.parent = parent;
+        this.invalidateResolvedPermissions();
     }
 
     public @Nullable SubjectReference parent() {
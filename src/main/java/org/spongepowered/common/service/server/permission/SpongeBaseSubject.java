@@ -81,14 +81,38 @@ public final Tristate permissionValue(final String permission, final Set<Context
     }
 
     protected Tristate dataPermissionValue(final MemorySubjectData subject, final String permission) {
-        Tristate res = subject.nodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+        final MemorySubjectData.ResolvedPermissions resolved = subject.resolvedPermissions();
+        resolved.markUsed();
+        if (!resolved.inherit) {
+            return this.inheritPermissionValue(subject, permission, resolved);
+        }
+        @Nullable Tristate res = resolved.inheritedValues.getIfPresent(permission);
+        if (res == null) {
+            res = this.inheritPermissionValue(subject, permission, resolved);
+            resolved.inheritedValues.put(permission, res);
+        }
+        return res;
+    }
+
+    private Tristate inheritPermissionValue(final MemorySubjectData subject, final String permission,
+            final MemorySubjectData.ResolvedPermissions resolved) {
+        @Nullable Tristate res = resolved.nodeValues.getIfPresent(permission);
+        if (res == null) {
+            res = subject.nodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+            resolved.nodeValues.put(permission, res);
+        }
 
         if (res == Tristate.UNDEFINED) {
-            for (final SubjectReference parent : subject.parents(SubjectData.GLOBAL_CONTEXT)) {
-                res = parent.resolve().join().permissionValue(permission, (Cause) null);
-                if (res != Tristate.UNDEFINED) {
-                    return res;
+            final MemorySubjectData.@Nullable ResolvedPermissions previous = resolved.beginInheriting();
+            try {
+                for (final SubjectReference parent : subject.parents(SubjectData.GLOBAL_CONTEXT)) {
+                    res = parent.resolve().join().permissionValue(permission, (Cause) null);
+                    if (res != Tristate.UNDEFINED) {
+                        return res;
+                    }
                 }
+            } finally {
+                MemorySubjectData.ResolvedPermissions.endInheriting(previous);
             }
         }
 
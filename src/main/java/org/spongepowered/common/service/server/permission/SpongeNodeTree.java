@@ -25,62 +25,129 @@
 package org.spongepowered.common.service.server.permission;
 
 import com.google.common.collect.ImmutableMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.service.permission.NodeTree;
 import org.spongepowered.api.util.Tristate;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
+/**
+ * A {@link NodeTree} backed by an immutable trie. Node segments are interned
+ * to int ids shared by all trees, so looking up a permission only scans the
+ * queried string without splitting or allocating, and modified trees share
+ * all nodes that are not on a modified path with the tree they came from.
+ */
 public final class SpongeNodeTree implements NodeTree {
 
-    private static final Pattern NODE_SPLIT = Pattern.compile("\\.");
+    private static final Object segmentLock = new Object();
+    private static volatile SegmentTable segments = new SegmentTable(256);
+
     private final Node rootNode;
 
     SpongeNodeTree(final Tristate value) {
-        this.rootNode = new Node(new HashMap<>());
-        this.rootNode.value = value;
+        this.rootNode = new Node(null, Node.NO_KEYS, Node.NO_CHILDREN, value);
     }
 
     SpongeNodeTree(final Node rootNode) {
         this.rootNode = rootNode;
     }
 
-    <T> void populate(final Map<String, T> values, final Function<T, Tristate> converter) {
-        for (final Map.Entry<String, T> value : values.entrySet()) {
-            final String[] parts = SpongeNodeTree.NODE_SPLIT.split(value.getKey().toLowerCase(), -1);
-            Node currentNode = this.rootNode;
-            for (final String part : parts) {
-                if (currentNode.children.containsKey(part)) {
-                    currentNode = currentNode.children.get(part);
-                } else {
-                    final Node newNode = new Node(new HashMap<>());
-                    currentNode.children.put(part, newNode);
-                    currentNode = newNode;
-                }
+    /**
+     * Gets the id of the given segment of a node, ignoring case.
+     *
+     * @param node The node
+     * @param start The start of the segment, inclusive
+     * @param end The end of the segment, exclusive
+     * @return The id, or -1 if the segment was never interned
+     */
+    static int segmentId(final String node, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + Character.toLowerCase(node.charAt(i));
+        }
+        return SpongeNodeTree.segments.find(hash, node, start, end);
+    }
+
+    private static int internSegment(final String node, final int start, final int end) {
+        final int existing = SpongeNodeTree.segmentId(node, start, end);
+        if (existing != -1) {
+            return existing;
+        }
+        final char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = Character.toLowerCase(node.charAt(i));
+        }
+        final String segment = new String(chars);
+        synchronized (SpongeNodeTree.segmentLock) {
+            SegmentTable table = SpongeNodeTree.segments;
+            final int id = table.find(segment.hashCode(), segment, 0, segment.length());
+            if (id != -1) {
+                return id;
+            }
+            if ((table.size + 1) * 2 > table.slots.length) {
+                table = table.grow();
             }
-            currentNode.value = converter.apply(value.getValue());
+            // Readers racing with this insert at worst miss the new segment, which
+            // can't be part of any tree they could have obtained yet.
+            final int newId = table.insert(segment);
+            SpongeNodeTree.segments = table;
+            return newId;
         }
     }
 
+    private static Node withValue(final Node root, final Object edit, final String node, final Tristate value, final boolean clearPath) {
+        final Node newRoot = root.editable(edit);
+        Node current = newRoot;
+        final int length = node.length();
+        int start = 0;
+        while (true) {
+            int end = node.indexOf('.', start);
+            if (end == -1) {
+                end = length;
+            }
+            current = current.editableChild(edit, SpongeNodeTree.internSegment(node, start, end));
+            if (clearPath) {
+                // Setting a node clears the values of the nodes leading up to it
+                current.value = Tristate.UNDEFINED;
+            }
+            if (end == length) {
+                break;
+            }
+            start = end + 1;
+        }
+        current.value = value;
+        return newRoot;
+    }
+
     @Override
     public Tristate get(final String node) {
-        final String[] parts = SpongeNodeTree.NODE_SPLIT.split(node.toLowerCase(), -1);
         Node currentNode = this.rootNode;
         Tristate lastUndefinedVal = Tristate.UNDEFINED;
-        for (String str : parts) {
-            if (!currentNode.children.containsKey(str)) {
+        final int length = node.length();
+        int start = 0;
+        while (true) {
+            int end = node.indexOf('.', start);
+            if (end == -1) {
+                end = length;
+            }
+            final int id = SpongeNodeTree.segmentId(node, start, end);
+            final @Nullable Node child = id == -1 ? null : currentNode.child(id);
+            if (child == null) {
                 break;
             }
-            currentNode = currentNode.children.get(str);
+            currentNode = child;
             if (currentNode.value != Tristate.UNDEFINED) {
                 lastUndefinedVal = currentNode.value;
             }
+            if (end == length) {
+                break;
+            }
+            start = end + 1;
         }
         return lastUndefinedVal;
-
     }
 
     @Override
@@ -89,75 +156,200 @@ public Tristate rootValue() {
     }
 
     @Override
-    public NodeTree withRootValue(Tristate state) {
-        final Node newRoot = new Node(this.rootNode.children);
-        newRoot.value = Objects.requireNonNull(state, "state");
-        return new SpongeNodeTree(newRoot);
+    public NodeTree withRootValue(final Tristate state) {
+        return new SpongeNodeTree(new Node(null, this.rootNode.keys, this.rootNode.children, Objects.requireNonNull(state, "state")));
     }
 
-
     @Override
     public Map<String, Boolean> asMap() {
         final ImmutableMap.Builder<String, Boolean> ret = ImmutableMap.builder();
-        for (final Map.Entry<String, Node> ent : this.rootNode.children.entrySet()) {
-            this.populateMap(ret, ent.getKey(), ent.getValue());
+        final String[] names = SpongeNodeTree.segments.names;
+        for (int i = 0; i < this.rootNode.keys.length; i++) {
+            this.populateMap(ret, names, names[this.rootNode.keys[i]], this.rootNode.children[i]);
         }
         return ret.build();
     }
 
-    private void populateMap(final ImmutableMap.Builder<String, Boolean> values, final String prefix, final Node currentNode) {
+    private void populateMap(final ImmutableMap.Builder<String, Boolean> values, final String[] names, final String prefix,
+        final Node currentNode) {
         if (currentNode.value != Tristate.UNDEFINED) {
             values.put(prefix, currentNode.value.asBoolean());
         }
-        for (final Map.Entry<String, Node> ent : currentNode.children.entrySet()) {
-            this.populateMap(values, prefix + '.' + ent.getKey(), ent.getValue());
+        for (int i = 0; i < currentNode.keys.length; i++) {
+            this.populateMap(values, names, prefix + '.' + names[currentNode.keys[i]], currentNode.children[i]);
         }
     }
 
     @Override
     public NodeTree withValue(final String node, final Tristate value) {
-        final String[] parts = SpongeNodeTree.NODE_SPLIT.split(node.toLowerCase(), -1);
-        final Node newRoot = new Node(new HashMap<>(this.rootNode.children));
-        Node newPtr = newRoot;
-        Node currentPtr = this.rootNode;
-
-        newPtr.value = currentPtr == null ? Tristate.UNDEFINED : currentPtr.value;
-        for (String part : parts) {
-            final Node oldChild = currentPtr == null ? null : currentPtr.children.get(part);
-            final Node newChild = new Node(oldChild != null ? new HashMap<>(oldChild.children) : new HashMap<>());
-            newPtr.children.put(part, newChild);
-            currentPtr = oldChild;
-            newPtr = newChild;
-        }
-        newPtr.value = value;
-        return new SpongeNodeTree(newRoot);
+        Objects.requireNonNull(value, "value");
+        return new SpongeNodeTree(SpongeNodeTree.withValue(this.rootNode, new Object(), node, value, true));
     }
 
     @Override
     public NodeTree withAll(final Map<String, Boolean> values) {
-        NodeTree ret = this;
-        for (final Map.Entry<String, Boolean> ent : values.entrySet()) {
-            ret = ret.withValue(ent.getKey(), Tristate.fromBoolean(ent.getValue()));
-        }
-        return ret;
+        return this.withAll(values, Tristate::fromBoolean, true);
     }
 
     @Override
     public NodeTree withAllTristates(final Map<String, Tristate> values) {
-        NodeTree ret = this;
-        for (Map.Entry<String, Tristate> ent : values.entrySet()) {
-            ret = ret.withValue(ent.getKey(), ent.getValue());
+        return this.withAll(values, Function.identity(), true);
+    }
+
+    private <T> NodeTree withAll(final Map<String, T> values, final Function<T, Tristate> converter, final boolean clearPath) {
+        if (values.isEmpty()) {
+            return this;
         }
-        return ret;
+        // Nodes copied for this edit are modified in place by the following values
+        final Object edit = new Object();
+        Node root = this.rootNode;
+        for (final Map.Entry<String, T> ent : values.entrySet()) {
+            root = SpongeNodeTree.withValue(root, edit, ent.getKey(), converter.apply(ent.getValue()), clearPath);
+        }
+        return new SpongeNodeTree(root);
     }
 
-    public static class Node {
+    static final class Node {
+
+        static final int[] NO_KEYS = new int[0];
+        static final Node[] NO_CHILDREN = new Node[0];
+
+        // The edit that created this node and may still modify it in place
+        private final @Nullable Object edit;
+        // Sorted segment ids, and the children for them
+        int[] keys;
+        Node[] children;
+        Tristate value;
+
+        Node(final @Nullable Object edit, final int[] keys, final Node[] children, final Tristate value) {
+            this.edit = edit;
+            this.keys = keys;
+            this.children = children;
+            this.value = value;
+        }
+
+        @Nullable Node child(final int id) {
+            final int index = Arrays.binarySearch(this.keys, id);
+            return index < 0 ? null : this.children[index];
+        }
 
-        final Map<String, SpongeNodeTree.Node> children;
-        Tristate value = Tristate.UNDEFINED;
+        Node editable(final Object edit) {
+            if (this.edit == edit) {
+                return this;
+            }
+            return new Node(edit, this.keys.clone(), this.children.clone(), this.value);
+        }
 
-        Node(Map<String, SpongeNodeTree.Node> children) {
+        Node editableChild(final Object edit, final int id) {
+            int index = Arrays.binarySearch(this.keys, id);
+            if (index >= 0) {
+                final Node child = this.children[index].editable(edit);
+                this.children[index] = child;
+                return child;
+            }
+            index = -(index + 1);
+            final Node child = new Node(edit, Node.NO_KEYS, Node.NO_CHILDREN, Tristate.UNDEFINED);
+            final int size = this.keys.length;
+            final int[] keys = new int[size + 1];
+            final Node[] children = new Node[size + 1];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.children, 0, children, 0, index);
+            keys[index] = id;
+            children[index] = child;
+            System.arraycopy(this.keys, index, keys, index + 1, size - index);
+            System.arraycopy(this.children, index, children, index + 1, size - index);
+            this.keys = keys;
             this.children = children;
+            return child;
+        }
+    }
+
+    private static final class Segment {
+
+        final String name;
+        final int hash;
+        final int id;
+
+        Segment(final String name, final int id) {
+            this.name = name;
+            this.hash = name.hashCode();
+            this.id = id;
+        }
+
+        boolean matches(final String node, final int start, final int end) {
+            if (this.name.length() != end - start) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (this.name.charAt(i - start) != Character.toLowerCase(node.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * An open addressing table of lower case segments. Only modified while
+     * holding the segment lock, and kept at most half full so lookups always
+     * terminate.
+     */
+    private static final class SegmentTable {
+
+        final Segment[] slots;
+        final String[] names;
+        int size;
+
+        SegmentTable(final int capacity) {
+            this.slots = new Segment[capacity];
+            this.names = new String[capacity / 2];
+        }
+
+        int find(final int hash, final String node, final int start, final int end) {
+            final Segment[] slots = this.slots;
+            final int mask = slots.length - 1;
+            for (int i = SegmentTable.spread(hash) & mask; ; i = (i + 1) & mask) {
+                final @Nullable Segment segment = slots[i];
+                if (segment == null) {
+                    return -1;
+                }
+                if (segment.hash == hash && segment.matches(node, start, end)) {
+                    return segment.id;
+                }
+            }
+        }
+
+        int insert(final String name) {
+            final int id = this.size;
+            this.names[id] = name;
+            this.place(new Segment(name, id));
+            this.size = id + 1;
+            return id;
+        }
+
+        private void place(final Segment segment) {
+            final int mask = this.slots.length - 1;
+            int i = SegmentTable.spread(segment.hash) & mask;
+            while (this.slots[i] != null) {
+                i = (i + 1) & mask;
+            }
+            this.slots[i] = segment;
+        }
+
+        SegmentTable grow() {
+            final SegmentTable table = new SegmentTable(this.slots.length * 2);
+            System.arraycopy(this.names, 0, table.names, 0, this.size);
+            for (final @Nullable Segment segment : this.slots) {
+                if (segment != null) {
+                    table.place(segment);
+                }
+            }
+            table.size = this.size;
+            return table;
+        }
+
+        private static int spread(final int hash) {
+            return hash ^ (hash >>> 16);
         }
     }
 
@@ -165,16 +357,12 @@ public static final class FactoryImpl implements Factory {
 
         @Override
         public NodeTree ofBooleans(final Map<String, Boolean> values, final Tristate defaultValue) {
-            SpongeNodeTree newTree = new SpongeNodeTree(defaultValue);
-            newTree.populate(values, Tristate::fromBoolean);
-            return newTree;
+            return new SpongeNodeTree(defaultValue).withAll(values, Tristate::fromBoolean, false);
         }
 
         @Override
         public NodeTree ofTristates(final Map<String, Tristate> values, final Tristate defaultValue) {
-            final SpongeNodeTree newTree = new SpongeNodeTree(defaultValue);
-            newTree.populate(values, Function.identity());
-            return newTree;
+            return new SpongeNodeTree(defaultValue).withAll(values, Function.identity(), false);
         }
 
     }
@@ -26,7 +26,7 @@
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.level.storage.PlayerDataStorage;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -53,6 +53,7 @@
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
@@ -64,8 +65,6 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -76,7 +75,7 @@ public final class SpongeUserManager implements UserManager {
 
     // This is the important set - this tells us if a User file actually exists,
     // it should mirror the filesystem.
-    private final Set<UUID> knownUUIDs = new HashSet<>();
+    private final Set<UUID> knownUUIDs = ConcurrentHashMap.newKeySet();
     private final Cache<UUID, SpongeUserData> userCache = Caffeine.newBuilder()
             .expireAfterAccess(1, TimeUnit.HOURS)
             .build();
@@ -84,10 +83,7 @@ public final class SpongeUserManager implements UserManager {
     private final Map<String, SpongeUserMutableWatchEvent> watcherUpdateMap = new HashMap<>();
 
     private final MinecraftServer server;
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
-            .setDaemon(true)
-            .setNameFormat("Sponge-User-Data-Loader")
-            .build());
+    private final UserDataStorage storage = new UserDataStorage(this::getSaveHandlerDirectory);
 
     private @Nullable WatchService filesystemWatchService = null;
     private @Nullable WatchKey watchKey = null;
@@ -126,18 +122,34 @@ public CompletableFuture<User> loadOrCreate(final UUID uuid) {
         if (currentUser != null) {
             return CompletableFuture.completedFuture(SpongeUserView.create(uuidToUse));
         }
-        return CompletableFuture.supplyAsync(() -> {
+        return this.storage.submit(uuidToUse, () -> {
             if (always || this.knownUUIDs.contains(uuidToUse)) {
-                final com.mojang.authlib.@Nullable GameProfile profile = this.server.getProfileCache().get(uuidToUse);
-                try {
-                    this.createUser(profile == null ? new com.mojang.authlib.GameProfile(uuidToUse, null) : profile);
-                } catch (final IOException e) {
-                    throw new CompletionException(e);
+                // Another load of this user may have been queued before this one
+                if (this.userCache.getIfPresent(uuidToUse) == null) {
+                    final com.mojang.authlib.@Nullable GameProfile profile = this.server.getProfileCache().get(uuidToUse);
+                    try {
+                        this.createUser(profile == null ? new com.mojang.authlib.GameProfile(uuidToUse, null) : profile);
+                    } catch (final IOException e) {
+                        throw new CompletionException(e);
+                    }
                 }
                 return SpongeUserView.create(uuidToUse);
             }
             return null;
-        }, this.executorService);
+        });
+    }
+
+    /**
+     * Loads the given users into the cache. The files are read in parallel,
+     * users without a data file are skipped.
+     *
+     * @param uniqueIds The users to load
+     * @return A future completing once all users are loaded
+     */
+    public CompletableFuture<Void> prefetch(final Collection<UUID> uniqueIds) {
+        return CompletableFuture.allOf(uniqueIds.stream()
+                .map(uuid -> this.fetchUser(uuid, false))
+                .toArray(CompletableFuture[]::new));
     }
 
     @Override
@@ -179,24 +191,25 @@ public CompletableFuture<Boolean> delete(final UUID uuid) {
             // cannot delete live player.
             return CompletableFuture.completedFuture(false);
         }
-        return CompletableFuture.supplyAsync(() -> {
+        return this.storage.submit(uuid, () -> {
+            // A queued write would bring the file back
+            final boolean discarded = this.storage.discard(uuid);
             final @Nullable Path dataFile = this.getPlayerDataFile(uuid);
-            if (dataFile != null) {
-                try {
-                    if (Files.deleteIfExists(dataFile)) {
-                        final @Nullable SpongeUserData data = this.userCache.getIfPresent(uuid);
-                        if (data != null) {
-                            this.dirtyUsers.remove(data);
-                        }
-                        this.userCache.invalidate(uuid);
+            try {
+                final boolean deleted = dataFile != null && Files.deleteIfExists(dataFile);
+                if (deleted || discarded) {
+                    final @Nullable SpongeUserData data = this.userCache.getIfPresent(uuid);
+                    if (data != null) {
+                        this.dirtyUsers.remove(data);
                     }
-                } catch (final SecurityException | IOException e) {
-                    SpongeCommon.logger().warn("Unable to delete file {}", dataFile, e);
-                    return false;
+                    this.userCache.invalidate(uuid);
                 }
+            } catch (final SecurityException | IOException e) {
+                SpongeCommon.logger().warn("Unable to delete file {}", dataFile, e);
+                return false;
             }
             return true;
-        }, this.executorService);
+        });
     }
 
     @Override
@@ -214,35 +227,37 @@ public boolean removeFromCache(final UUID uuid) {
     public CompletableFuture<Boolean> forceSave(final UUID uuid) {
         final @Nullable SpongeUserData data = this.userCache.getIfPresent(uuid);
         if (data != null && this.dirtyUsers.contains(data)) {
-            return CompletableFuture.supplyAsync(() -> {
-                try {
-                    data.save();
-                } catch (final IOException e) {
-                    throw new CompletionException(e);
-                }
-                return true;
-            });
-
+            return this.save(data).thenApply(ignored -> true);
         }
         return CompletableFuture.completedFuture(false);
     }
 
     @Override
     public boolean exists(final UUID playerUuid) {
-        if (this.userCache.getIfPresent(playerUuid) == null) {
-            // Does the file exist?
-            final @Nullable Path path = this.getPlayerDataFile(playerUuid);
-            return path != null && Files.exists(path);
+        this.pollFilesystemEvents();
+        if (this.isKnown(playerUuid)) {
+            return true;
         }
-        return true;
+        // The watcher reports new files asynchronously, so check the disk once before denying
+        if (this.getPlayerDataFile(playerUuid) != null) {
+            this.knownUUIDs.add(playerUuid);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isKnown(final UUID playerUuid) {
+        // The known ids mirror the user files on disk, kept up to date by the watcher
+        return this.knownUUIDs.contains(playerUuid) || this.userCache.getIfPresent(playerUuid) != null;
     }
 
     @Override
     public Stream<GameProfile> streamOfMatches(final String lastKnownName) {
         final String nameToCheck = Objects.requireNonNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
+        this.pollFilesystemEvents();
         return ((Server) this.server).gameProfileManager().cache()
                 .streamOfMatches(nameToCheck)
-                .filter(gameProfile -> this.exists(gameProfile.uuid()));
+                .filter(gameProfile -> this.isKnown(gameProfile.uuid()));
     }
 
     private UUID ensureNonEmptyUUID(final UUID uuid) {
@@ -260,16 +275,19 @@ public void handlePlayerLogin(final com.mojang.authlib.GameProfile mcProfile) th
         if (currentUser != null) {
             // If currentUser have this then we know that the user has changed.
             if (this.dirtyUsers.contains(currentUser)) {
-                currentUser.save();
+                this.save(currentUser);
             }
             // The views will now point at the player.
             this.userCache.invalidate(currentUser.uniqueId());
         }
+        // Vanilla reads the player file next, so queued writes have to be on disk by now.
+        this.storage.await(mcProfile.getId());
     }
 
     private void createUser(final com.mojang.authlib.GameProfile profile) throws IOException {
         this.pollFilesystemWatcher();
-        final @Nullable SpongeUserData user = SpongeUserData.create(profile);
+        final @Nullable CompoundTag pending = this.storage.pendingSnapshot(profile.getId());
+        final SpongeUserData user = pending == null ? SpongeUserData.create(profile) : SpongeUserData.create(profile, pending);
         this.userCache.put(profile.getId(), user);
         this.knownUUIDs.add(profile.getId());
     }
@@ -356,6 +374,13 @@ void refreshFilesystemProfiles() {
         }
     }
 
+    private void pollFilesystemEvents() {
+        // Unlike pollFilesystemWatcher, never rebuild everything from disk for a query
+        if (this.watchKey != null && this.watchKey.isValid()) {
+            this.pollFilesystemWatcher();
+        }
+    }
+
     private void pollFilesystemWatcher() {
         if (this.watchKey == null || !this.watchKey.isValid()) {
             // Reboot this if it's somehow failed.
@@ -429,15 +454,31 @@ public void saveDirtyUsers() {
         // If they are online, Minecraft will do the save automatically.
         this.dirtyUsers.removeIf(SpongeUserData::isOnline);
         for (final SpongeUserData user : new HashSet<>(this.dirtyUsers)) {
-            try {
-                user.save();
-            } catch (final IOException ignored) {
-                // There isn't much we can do here. The error has been logged, but
-                // the user is still available at this time so let's continue...
-            }
+            // Failures are logged by the storage, the user is still available
+            // at this time so let's continue...
+            this.save(user);
         }
     }
 
+    private CompletableFuture<Void> save(final SpongeUserData user) {
+        // Unmark first, so changes made after the snapshot mark the user again
+        this.unmarkDirty(user);
+        return this.storage.write(user.uniqueId(), user.createSnapshot()).whenComplete((ignored, error) -> {
+            // Retry with the next save unless a newer snapshot is already queued
+            if (error != null && !this.storage.hasPendingWrite(user.uniqueId())
+                    && user == this.userCache.getIfPresent(user.uniqueId())) {
+                this.dirtyUsers.add(user);
+            }
+        });
+    }
+
+    /**
+     * Waits for all queued user data to be written, called when the server stops.
+     */
+    public void shutdown() {
+        this.storage.shutdown();
+    }
+
     public void unmarkDirty(final SpongeUserData user) {
         this.dirtyUsers.remove(user);
     }
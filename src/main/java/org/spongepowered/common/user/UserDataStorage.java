@@ -0,0 +1,225 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.user;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.spongepowered.common.SpongeCommon;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reads and writes offline user data off the server thread.
+ *
+ * <p>Work is spread over a few single threaded lanes, and every user is
+ * always handled by the same lane. Reads and writes of one user therefore
+ * happen in submission order, while different users are processed in
+ * parallel. Snapshots queued for a user that is not written yet replace
+ * each other, so only the newest one reaches the disk.</p>
+ */
+@DefaultQualifier(NonNull.class)
+final class UserDataStorage {
+
+    private final Supplier<Path> directory;
+    private final ExecutorService[] lanes;
+    private final Map<UUID, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    UserDataStorage(final Supplier<Path> directory) {
+        this.directory = directory;
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("Sponge-User-Data-IO-%d")
+                .build();
+        this.lanes = new ExecutorService[Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2))];
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    private ExecutorService lane(final UUID uniqueId) {
+        return this.lanes[Math.floorMod(uniqueId.hashCode(), this.lanes.length)];
+    }
+
+    /**
+     * Runs the given task on the lane of the given user, after every
+     * write that was queued for that user before.
+     */
+    <T> CompletableFuture<T> submit(final UUID uniqueId, final Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, this.lane(uniqueId));
+    }
+
+    /**
+     * Queues the snapshot to be written, replacing a snapshot of the same
+     * user that is still waiting to be written.
+     *
+     * @return A future completing once the snapshot is on disk
+     */
+    CompletableFuture<Void> write(final UUID uniqueId, final CompoundTag snapshot) {
+        final boolean[] queued = new boolean[1];
+        final PendingWrite pending = this.pendingWrites.compute(uniqueId, (k, existing) -> {
+            if (existing != null) {
+                existing.snapshot = snapshot;
+                return existing;
+            }
+            queued[0] = true;
+            return new PendingWrite(snapshot);
+        });
+        if (queued[0]) {
+            this.lane(uniqueId).execute(() -> this.flush(uniqueId, pending));
+        }
+        return pending.future;
+    }
+
+    /**
+     * Gets the snapshot that is waiting to be written for the given user.
+     * Only call this from the lane of that user, see {@link #submit}.
+     */
+    @Nullable CompoundTag pendingSnapshot(final UUID uniqueId) {
+        final @Nullable PendingWrite pending = this.pendingWrites.get(uniqueId);
+        return pending == null ? null : pending.snapshot;
+    }
+
+    /**
+     * Gets whether a snapshot of the given user is waiting to be written.
+     */
+    boolean hasPendingWrite(final UUID uniqueId) {
+        return this.pendingWrites.containsKey(uniqueId);
+    }
+
+    /**
+     * Drops the snapshot that is waiting to be written for the given user.
+     *
+     * @return Whether there was a snapshot to drop
+     */
+    boolean discard(final UUID uniqueId) {
+        final @Nullable PendingWrite pending = this.pendingWrites.remove(uniqueId);
+        if (pending == null) {
+            return false;
+        }
+        pending.future.complete(null);
+        return true;
+    }
+
+    /**
+     * Blocks until everything queued for the given user is written.
+     */
+    void await(final UUID uniqueId) throws IOException {
+        final @Nullable PendingWrite pending = this.pendingWrites.get(uniqueId);
+        try {
+            if (pending != null) {
+                pending.future.join();
+            } else {
+                CompletableFuture.runAsync(() -> {}, this.lane(uniqueId)).join();
+            }
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes everything that is still queued and stops the lanes.
+     */
+    void shutdown() {
+        for (final ExecutorService lane : this.lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (final ExecutorService lane : this.lanes) {
+                if (!lane.awaitTermination(1, TimeUnit.MINUTES)) {
+                    SpongeCommon.logger().warn("Timed out waiting for user data to be saved!");
+                    return;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(final UUID uniqueId, final PendingWrite pending) {
+        // Once removed, newer snapshots queue a new write behind this one
+        if (!this.pendingWrites.remove(uniqueId, pending)) {
+            // Discarded in the meantime
+            return;
+        }
+        final Path file = this.directory.get().resolve(uniqueId + ".dat");
+        try {
+            UserDataStorage.writeAtomically(file, pending.snapshot);
+            pending.future.complete(null);
+        } catch (final IOException e) {
+            // We log the message here because the error may be swallowed by a completable future.
+            SpongeCommon.logger().warn("Failed to save user file [{}]!", file, e);
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private static void writeAtomically(final Path file, final CompoundTag compound) throws IOException {
+        // The temporary file must not end with .dat, the user manager watches for those
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (final OutputStream out = Files.newOutputStream(temp)) {
+                NbtIo.writeCompressed(compound, out);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static final class PendingWrite {
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        volatile CompoundTag snapshot;
+
+        PendingWrite(final CompoundTag snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
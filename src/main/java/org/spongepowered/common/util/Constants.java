@@ -162,6 +162,8 @@ public static final class V3 {
         public static final String SPONGE_ENTITY_CREATOR = "Creator";
         public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
         public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+        public static final String SPONGE_TRACKED_POSITIONS = "TrackedPositions";
+        public static final String SPONGE_TRACKED_INDICES = "TrackedIndices";
 
         @Deprecated
         public static final String LEGACY_SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
@@ -206,6 +208,17 @@ public static int blockPosToInt(final BlockPos pos) {
             return serialized;
         }
 
+        /**
+         * Convert a BlockPos serialized by {@link #blockPosToShort} into the
+         * value {@link #blockPosToInt} produces for the same position
+         */
+        public static int blockPosShortToInt(final short serialized) {
+            final int x = serialized & Constants.Chunk.XZ_MASK;
+            final int y = (serialized >> 4) & Constants.Chunk.Y_SHORT_MASK;
+            final int z = (serialized >> 12) & Constants.Chunk.XZ_MASK;
+            return x | y << 4 | z << 28;
+        }
+
         public static final class PlayerData {
 
             public static final DataQuery PLAYER_DATA_JOIN = of("FirstJoin");
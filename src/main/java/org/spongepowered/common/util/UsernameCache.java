@@ -41,6 +41,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,12 +51,15 @@ public final class UsernameCache {
     private static final Charset CHARSET = Charsets.UTF_8;
 
     private final Map<UUID, String> usernameByUniqueId;
+    // Keyed by lower case name
+    private final Map<String, UUID> uniqueIdByName;
     private final Gson gson;
     private final Path cacheFile;
     private boolean dirty = false;
 
     public UsernameCache(final Server server) {
         this.usernameByUniqueId = new ConcurrentHashMap<>();
+        this.uniqueIdByName = new ConcurrentHashMap<>();
         this.gson = new GsonBuilder().setPrettyPrinting().create();
         this.cacheFile = server.game().gameDirectory().resolve("usernamecache.json");
     }
@@ -64,18 +68,23 @@ public void setUsername(final UUID uniqueId, final String username) {
         Preconditions.checkNotNull(uniqueId);
         Preconditions.checkNotNull(username);
 
-        if (username.equals(this.usernameByUniqueId.get(uniqueId))) {
+        final @Nullable String previous = this.usernameByUniqueId.put(uniqueId, username);
+        if (username.equals(previous)) {
             return;
         }
-
-        this.usernameByUniqueId.put(uniqueId, username);
+        if (previous != null) {
+            this.uniqueIdByName.remove(UsernameCache.normalize(previous), uniqueId);
+        }
+        this.uniqueIdByName.put(UsernameCache.normalize(username), uniqueId);
         this.dirty = true;
     }
 
     public boolean removeUsername(final UUID uniqueId) {
         Preconditions.checkNotNull(uniqueId);
 
-        if (this.usernameByUniqueId.remove(uniqueId) != null) {
+        final @Nullable String previous = this.usernameByUniqueId.remove(uniqueId);
+        if (previous != null) {
+            this.uniqueIdByName.remove(UsernameCache.normalize(previous), uniqueId);
             this.dirty = true;
             return true;
         }
@@ -92,13 +101,11 @@ public boolean removeUsername(final UUID uniqueId) {
     public @Nullable UUID getLastKnownUUID(final String username) {
         Preconditions.checkNotNull(username);
 
-        for (Map.Entry<UUID, String> mapEntry : this.usernameByUniqueId.entrySet()) {
-            if (mapEntry.getValue().equalsIgnoreCase(username)) {
-                return mapEntry.getKey();
-            }
-        }
+        return this.uniqueIdByName.get(UsernameCache.normalize(username));
+    }
 
-        return null;
+    private static String normalize(final String username) {
+        return username.toLowerCase(Locale.ROOT);
     }
 
     public boolean containsUUID(final UUID uniqueId) {
@@ -113,6 +120,7 @@ public Map<UUID, String> getAll() {
 
     public void load() {
         this.usernameByUniqueId.clear();
+        this.uniqueIdByName.clear();
 
         if (Files.notExists(this.cacheFile)) {
             return;
@@ -121,6 +129,7 @@ public void load() {
         try (final BufferedReader reader = Files.newBufferedReader(this.cacheFile, UsernameCache.CHARSET)) {
             final Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
             this.usernameByUniqueId.putAll(this.gson.fromJson(reader, type));
+            this.usernameByUniqueId.forEach((uniqueId, username) -> this.uniqueIdByName.put(UsernameCache.normalize(username), uniqueId));
         } catch (final JsonSyntaxException e) {
             SpongeCommon.logger().error("Could not parse username cache file as valid json, deleting file", e);
             this.deleteCacheFile();
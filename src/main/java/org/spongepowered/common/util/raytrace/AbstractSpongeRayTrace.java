@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.util.raytrace;
 
-import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -39,12 +38,8 @@
 import org.spongepowered.api.world.LocatableBlock;
 import org.spongepowered.api.world.server.ServerLocation;
 import org.spongepowered.api.world.server.ServerWorld;
-import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.math.vector.Vector3d;
-import org.spongepowered.math.vector.Vector3i;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -153,167 +148,109 @@
     public @NonNull Optional<RayTraceResult<@NonNull T>> execute() {
         this.setupEnd();
 
-        // get the direction
-        final Vector3d directionWithLength = this.end.sub(this.start);
-        final double length = directionWithLength.length();
-        final Vector3d direction = directionWithLength.normalize();
-        if (direction.lengthSquared() == 0) {
-            throw new IllegalStateException("The start and end must be two different vectors");
+        final RayTraversal traversal = new RayTraversal(this.resolveWorld());
+        if (this.requiresEntityTracking()) {
+            traversal.gatherEntities(new AABB(this.start.x(), this.start.y(), this.start.z(), this.end.x(), this.end.y(), this.end.z()),
+                    this.entitySelector(), this.continueWhileEntity);
         }
+        return this.trace(traversal, this.start, this.end);
+    }
 
-        final ServerWorld serverWorld = Sponge.server().worldManager().world(this.world)
-                .orElseThrow(() -> new IllegalStateException("World with key " + this.world.formatted() + " is not loaded!"));
-
-        Vector3i currentBlock = this.initialBlock(direction);
-        final Vector3i steps = this.createSteps(direction);
-
-        // The ray equation is, vec(u) + t vec(d). From a point (x, y), there is a t
-        // that we need to traverse to get to a boundary. We work that out now...
-        TData tData = this.createInitialTData(direction);
-        Vector3d currentLocation = new Vector3d(this.start.x(), this.start.y(), this.start.z());
-        final boolean requiresEntityTracking = this.requiresEntityTracking();
+    @Override
+    public @NonNull RayTrace<@NonNull T> reset() {
+        this.select = this.defaultFilter;
+        this.world = null;
+        this.start = null;
+        this.end = null;
+        this.continueWhileBlock = null;
+        this.continueWhileEntity = null;
+        this.continueWhileLocation = null;
+        return this;
+    }
 
-        boolean requireAdvancement = true;
-        while (requireAdvancement) {
-            final net.minecraft.world.phys.Vec3 vec3dstart = VecHelper.toVanillaVector3d(currentLocation);
+    private Optional<RayTraceResult<@NonNull T>> trace(final RayTraversal traversal, final Vector3d start, final Vector3d end) {
+        final double startX = start.x();
+        final double startY = start.y();
+        final double startZ = start.z();
+        double directionX = end.x() - startX;
+        double directionY = end.y() - startY;
+        double directionZ = end.z() - startZ;
+        final double length = Math.sqrt(directionX * directionX + directionY * directionY + directionZ * directionZ);
+        if (length == 0) {
+            throw new IllegalStateException("The start and end must be two different vectors");
+        }
+        directionX /= length;
+        directionY /= length;
+        directionZ /= length;
+        traversal.beginRay(startX, startY, startZ, directionX, directionY, directionZ, length);
+
+        final BlockStepper stepper = new BlockStepper(startX, startY, startZ, directionX, directionY, directionZ, length);
+        while (true) {
+            final int blockX = stepper.x();
+            final int blockY = stepper.y();
+            final int blockZ = stepper.z();
             // As this iteration is for the CURRENT block location, we need to check where we are with the filter.
-            if (this.continueWhileLocation != null && !this.continueWhileLocation.test(ServerLocation.of(serverWorld, currentBlock))) {
+            if (this.continueWhileLocation != null && !this.continueWhileLocation.test(traversal.location(blockX, blockY, blockZ))) {
                 return Optional.empty();
             }
-            final Vector3d nextLocation;
-            final net.minecraft.world.phys.Vec3 vec3dend;
-            if (tData.getTotalTWithNextStep() > length) {
-                // This is the last step, we break out of the loop after this set of checks.
-                requireAdvancement = false;
-                nextLocation = this.end;
-                vec3dend = VecHelper.toVanillaVector3d(this.end);
-            } else {
-                nextLocation = currentLocation.add(
-                        direction.x() * tData.getNextStep(),
-                        direction.y() * tData.getNextStep(),
-                        direction.z() * tData.getNextStep()
-                );
-                vec3dend = VecHelper.toVanillaVector3d(nextLocation);
-            }
+            final double exit = stepper.exit();
 
             // Get the selection result.
-            final Optional<RayTraceResult<@NonNull T>> result = this.testSelectLocation(serverWorld, vec3dstart, vec3dend);
-            if (result.isPresent() && !this.shouldCheckFailures()) {
+            final @Nullable RayTraceResult<@NonNull T> result = this.testSelectLocation(traversal, blockX, blockY, blockZ,
+                    stepper.enter(), exit);
+            if (result != null && !this.shouldCheckFailures()) {
                 // either this is a block ray, so no failures need to be checked, else
                 // we return the entity later if there isn't an entity in front of it
                 // that's blocking the view.
-                return result;
+                return Optional.of(result);
             }
 
             // Ensure that the block can be travelled through.
-            if (!this.shouldAdvanceThroughBlock(serverWorld, vec3dstart, vec3dend)) {
+            if (this.continueWhileBlock != null && !this.continueWhileBlock.test(traversal.locatableBlock(blockX, blockY, blockZ))) {
                 return Optional.empty();
             }
 
             // Ensure that the entities in the block can be travelled through.
-            if (requiresEntityTracking && this.continueWhileEntity != null) {
-                final double resultDistance;
-                if (result.isPresent()) {
-                    resultDistance = result.get().hitPosition().distanceSquared(currentLocation);
-                } else {
-                    resultDistance = Double.MAX_VALUE;
-                }
-                final AABB targetAABB = this.getBlockAABB(currentBlock);
-                for (final net.minecraft.world.entity.Entity entity : this.getFailingEntities(serverWorld, targetAABB)) {
-                    final Optional<net.minecraft.world.phys.Vec3> vec3d = entity.getBoundingBox().clip(vec3dstart, vec3dend);
-                    if (vec3d.isPresent()) {
-                        final net.minecraft.world.phys.Vec3 hitPosition = vec3d.get();
-                        final double sqdist = hitPosition.distanceToSqr(vec3dstart);
-                        if (sqdist < resultDistance) {
-                            // We have a failure, so at this point we just bail out and end the trace.
-                            return Optional.empty();
-                        }
-                    }
-                }
+            final double failingHit = traversal.failingHit();
+            if (failingHit <= exit && (result == null || failingHit < traversal.selectedHit())) {
+                // We have a failure, so at this point we just bail out and end the trace.
+                return Optional.empty();
             }
 
             // If we still have a result at this point, return it.
-            if (result.isPresent()) {
-                return result;
+            if (result != null) {
+                return Optional.of(result);
             }
-
-            if (requireAdvancement) {
-                currentLocation = nextLocation;
-                currentBlock = this.getNextBlock(currentBlock, tData, steps);
-                tData = this.advance(tData, steps, direction);
+            // If the next boundary is past the end, this is the last step.
+            if (stepper.isLast()) {
+                return Optional.empty();
             }
+            stepper.advance();
         }
-
-        return Optional.empty();
-    }
-
-    @Override
-    public @NonNull RayTrace<@NonNull T> reset() {
-        this.select = this.defaultFilter;
-        this.world = null;
-        this.start = null;
-        this.end = null;
-        this.continueWhileBlock = null;
-        this.continueWhileEntity = null;
-        this.continueWhileLocation = null;
-        return this;
-    }
-
-    final Vector3i getNextBlock(final Vector3i current, final TData data, final Vector3i steps) {
-        return current.add(
-                data.nextStepWillAdvanceX() ? steps.x() : 0,
-                data.nextStepWillAdvanceY() ? steps.y() : 0,
-                data.nextStepWillAdvanceZ() ? steps.x() : 0
-        );
-    }
-
-    final Vector3i createSteps(final Vector3d direction) {
-        return new Vector3i(
-                Math.signum(direction.x()),
-                Math.signum(direction.y()),
-                Math.signum(direction.z())
-        );
-    }
-
-    final AABB getBlockAABB(final Vector3i currentBlock) {
-        return new AABB(currentBlock.x(),
-                currentBlock.y(), currentBlock.z(), currentBlock.x() + 1, currentBlock.y() + 1, currentBlock.z() + 1);
     }
 
-    private List<net.minecraft.world.entity.Entity> getFailingEntities(final ServerWorld serverWorld, final AABB targetAABB) {
-        return ((Level) serverWorld).getEntities((net.minecraft.world.entity.Entity) null, targetAABB, (Predicate) this.continueWhileEntity.negate());
+    private ServerWorld resolveWorld() {
+        return Sponge.server().worldManager().world(this.world)
+                .orElseThrow(() -> new IllegalStateException("World with key " + this.world.formatted() + " is not loaded!"));
     }
 
     boolean requiresEntityTracking() {
         return this.continueWhileEntity != null;
     }
 
-    List<net.minecraft.world.entity.Entity> selectEntities(final ServerWorld serverWorld, final AABB targetAABB) {
-        return Collections.emptyList();
-    }
-
-    abstract Optional<RayTraceResult<@NonNull T>> testSelectLocation(final ServerWorld serverWorld,
-            final net.minecraft.world.phys.Vec3 location,
-            final net.minecraft.world.phys.Vec3 exitLocation);
-
-    final LocatableBlock getBlock(final ServerWorld world, final net.minecraft.world.phys.Vec3 in, final net.minecraft.world.phys.Vec3 out) {
-        final Vector3i coord = new Vector3i(
-                Math.min(in.x, out.x),
-                Math.min(in.y, out.y),
-                Math.min(in.z, out.z)
-        );
-        return world.locatableBlock(coord);
+    /**
+     * Gets the filter for entities this ray trace can select, if it
+     * selects entities at all.
+     */
+    @Nullable Predicate<Entity> entitySelector() {
+        return null;
     }
 
-    private boolean shouldAdvanceThroughBlock(final ServerWorld serverWorld,
-            final net.minecraft.world.phys.Vec3 location,
-            final net.minecraft.world.phys.Vec3 exitLocation) {
-        if (this.continueWhileBlock == null) {
-            return true;
-        }
-
-        return this.continueWhileBlock.test(this.getBlock(serverWorld, location, exitLocation));
-    }
+    /**
+     * Tests whether the ray selects something in the given block, which it
+     * enters and exits at the given distances along the ray.
+     */
+    abstract @Nullable RayTraceResult<@NonNull T> testSelectLocation(RayTraversal traversal, int x, int y, int z, double enter, double exit);
 
     boolean shouldCheckFailures() {
         return false;
@@ -338,95 +275,4 @@ final void setupEnd() {
         }
     }
 
-    final Vector3i initialBlock(final Vector3d direction) {
-        return new Vector3i(
-                this.start.x() - (direction.x() < 0 && this.start.x() == 0 ? 1 : 0),
-                this.start.y() - (direction.y() < 0 && this.start.y() == 0 ? 1 : 0),
-                this.start.z() - (direction.z() < 0 && this.start.z() == 0 ? 1 : 0)
-        );
-    }
-
-    final TData createInitialTData(final Vector3d direction) {
-        return new TData(
-                0,
-                this.getT(this.start.x(), direction.x(), this.end.x()),
-                this.getT(this.start.y(), direction.y(), this.end.y()),
-                this.getT(this.start.z(), direction.z(), this.end.z())
-        );
-    }
-
-    final TData advance(final TData data, final Vector3i steps, final Vector3d direction) {
-        final double nextStep = data.getNextStep();
-        return new TData(
-                data.getTotalTWithNextStep(),
-                data.nextStepWillAdvanceX() ? steps.x() / direction.x() : data.gettToX() - nextStep,
-                data.nextStepWillAdvanceY() ? steps.y() / direction.y() : data.gettToY() - nextStep,
-                data.nextStepWillAdvanceZ() ? steps.z() / direction.z() : data.gettToZ() - nextStep
-        );
-    }
-
-    private double getT(final double start, final double direction, final double end) {
-        if (direction > 0) {
-            return (Math.min(end, Math.ceil(start)) - start) / direction;
-        } else if (direction < 0) {
-            return (Math.max(end, Math.floor(start)) - start) / direction;
-        } else {
-            // Infinity - indicates we never reach a boundary.
-            return Double.POSITIVE_INFINITY;
-        }
-    }
-
-    static final class TData {
-
-        private final double totalT;
-        private final double tToX;
-        private final double tToY;
-        private final double tToZ;
-        private final double nextStep;
-
-        TData(final double totalT, final double tToX, final double tToY, final double tToZ) {
-            this.totalT = totalT;
-            this.tToX = tToX;
-            this.tToY = tToY;
-            this.tToZ = tToZ;
-            this.nextStep = Math.min(tToX, Math.min(tToY, tToZ));
-        }
-
-        public double getTotalT() {
-            return this.totalT;
-        }
-
-        public double gettToX() {
-            return this.tToX;
-        }
-
-        public double gettToY() {
-            return this.tToY;
-        }
-
-        public double gettToZ() {
-            return this.tToZ;
-        }
-
-        public boolean nextStepWillAdvanceX() {
-            return this.tToX <= this.nextStep;
-        }
-
-        public boolean nextStepWillAdvanceY() {
-            return this.tToY <= this.nextStep;
-        }
-
-        public boolean nextStepWillAdvanceZ() {
-            return this.tToZ <= this.nextStep;
-        }
-
-        public double getNextStep() {
-            return this.nextStep;
-        }
-
-        public double getTotalTWithNextStep() {
-            return this.nextStep + this.totalT;
-        }
-    }
-
 }
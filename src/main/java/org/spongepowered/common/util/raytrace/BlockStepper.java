@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+/**
+ * Steps along a ray through every block it passes, in order. For each axis
+ * the distance along the ray at which it crosses the next block boundary is
+ * tracked, along with the distance it takes to cross a whole block, so that
+ * stepping to the next block is a few additions.
+ */
+final class BlockStepper {
+
+    private final double length;
+    private final int stepX;
+    private final int stepY;
+    private final int stepZ;
+    private final double deltaX;
+    private final double deltaY;
+    private final double deltaZ;
+    private int x;
+    private int y;
+    private int z;
+    private double boundaryX;
+    private double boundaryY;
+    private double boundaryZ;
+    private double enter;
+
+    /**
+     * @param length The length of the ray, the direction must be normalized
+     */
+    BlockStepper(final double startX, final double startY, final double startZ,
+            final double directionX, final double directionY, final double directionZ, final double length) {
+        this.length = length;
+        this.stepX = (int) Math.signum(directionX);
+        this.stepY = (int) Math.signum(directionY);
+        this.stepZ = (int) Math.signum(directionZ);
+        this.x = BlockStepper.initialBlock(startX, directionX);
+        this.y = BlockStepper.initialBlock(startY, directionY);
+        this.z = BlockStepper.initialBlock(startZ, directionZ);
+        this.boundaryX = BlockStepper.firstBoundary(startX, directionX, this.x);
+        this.boundaryY = BlockStepper.firstBoundary(startY, directionY, this.y);
+        this.boundaryZ = BlockStepper.firstBoundary(startZ, directionZ, this.z);
+        this.deltaX = this.stepX == 0 ? Double.POSITIVE_INFINITY : this.stepX / directionX;
+        this.deltaY = this.stepY == 0 ? Double.POSITIVE_INFINITY : this.stepY / directionY;
+        this.deltaZ = this.stepZ == 0 ? Double.POSITIVE_INFINITY : this.stepZ / directionZ;
+    }
+
+    static int initialBlock(final double start, final double direction) {
+        final int block = (int) Math.floor(start);
+        // Travelling backwards from a block boundary starts in the block behind it.
+        return direction < 0 && block == start ? block - 1 : block;
+    }
+
+    static double firstBoundary(final double start, final double direction, final int block) {
+        if (direction > 0) {
+            return (block + 1 - start) / direction;
+        } else if (direction < 0) {
+            return (block - start) / direction;
+        } else {
+            // Infinity - indicates we never reach a boundary.
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    int x() {
+        return this.x;
+    }
+
+    int y() {
+        return this.y;
+    }
+
+    int z() {
+        return this.z;
+    }
+
+    /**
+     * Gets how far along the ray it enters the current block.
+     */
+    double enter() {
+        return this.enter;
+    }
+
+    private double nextBoundary() {
+        return Math.min(this.boundaryX, Math.min(this.boundaryY, this.boundaryZ));
+    }
+
+    /**
+     * Gets how far along the ray it exits the current block, or the length
+     * of the ray if it ends within the block.
+     */
+    double exit() {
+        return Math.min(this.nextBoundary(), this.length);
+    }
+
+    /**
+     * Gets whether the ray ends within the current block.
+     */
+    boolean isLast() {
+        return this.nextBoundary() > this.length;
+    }
+
+    /**
+     * Steps to the next block. Where the ray crosses an edge or corner,
+     * every axis crossed at once is stepped together.
+     */
+    void advance() {
+        final double next = this.nextBoundary();
+        if (this.boundaryX <= next) {
+            this.x += this.stepX;
+            this.boundaryX += this.deltaX;
+        }
+        if (this.boundaryY <= next) {
+            this.y += this.stepY;
+            this.boundaryY += this.deltaY;
+        }
+        if (this.boundaryZ <= next) {
+            this.z += this.stepZ;
+            this.boundaryZ += this.deltaZ;
+        }
+        this.enter = next;
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.phys.AABB;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.world.LocatableBlock;
+import org.spongepowered.api.world.server.ServerLocation;
+import org.spongepowered.api.world.server.ServerWorld;
+import org.spongepowered.common.world.server.SpongeLocatableBlock;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The state shared by the rays of a single trace call: the resolved world,
+ * the chunk blocks were last read from and the entities gathered along the
+ * rays, so that stepping from block to block needs no further lookups.
+ */
+final class RayTraversal {
+
+    private final ServerWorld world;
+    private final Level level;
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    private @Nullable LevelChunk chunk;
+    private int chunkX;
+    private int chunkZ;
+    private @Nullable LocatableBlock block;
+
+    private final List<net.minecraft.world.entity.Entity> selectable = new ArrayList<>();
+    private final List<net.minecraft.world.entity.Entity> failing = new ArrayList<>();
+
+    private double startX;
+    private double startY;
+    private double startZ;
+    private double directionX;
+    private double directionY;
+    private double directionZ;
+    private double selectedHit;
+    private net.minecraft.world.entity.@Nullable Entity selectedEntity;
+    private double failingHit;
+
+    RayTraversal(final ServerWorld world) {
+        this.world = world;
+        this.level = (Level) world;
+    }
+
+    /**
+     * Collects the entities within the given bounds that may either be
+     * selected or that stop the rays, in a single query.
+     */
+    void gatherEntities(final AABB bounds, final @Nullable Predicate<Entity> select,
+            final @Nullable Predicate<Entity> continueWhileEntity) {
+        this.selectable.clear();
+        this.failing.clear();
+        for (final net.minecraft.world.entity.Entity entity : this.level.getEntities((net.minecraft.world.entity.Entity) null, bounds,
+                e -> true)) {
+            if (select != null && select.test((Entity) entity)) {
+                this.selectable.add(entity);
+            }
+            if (continueWhileEntity != null && !continueWhileEntity.test((Entity) entity)) {
+                this.failing.add(entity);
+            }
+        }
+    }
+
+    /**
+     * Starts a new ray, working out where it first hits a selectable and a
+     * failing entity among the gathered ones.
+     *
+     * @param length The length of the ray, the direction must be normalized
+     */
+    void beginRay(final double startX, final double startY, final double startZ,
+            final double directionX, final double directionY, final double directionZ, final double length) {
+        this.startX = startX;
+        this.startY = startY;
+        this.startZ = startZ;
+        this.directionX = directionX;
+        this.directionY = directionY;
+        this.directionZ = directionZ;
+
+        this.selectedHit = Double.POSITIVE_INFINITY;
+        this.selectedEntity = null;
+        for (final net.minecraft.world.entity.Entity entity : this.selectable) {
+            final double hit =
+                    RayTraversal.clip(entity.getBoundingBox(), startX, startY, startZ, directionX, directionY, directionZ, length);
+            if (hit < this.selectedHit) {
+                this.selectedHit = hit;
+                this.selectedEntity = entity;
+            }
+        }
+        this.failingHit = Double.POSITIVE_INFINITY;
+        for (final net.minecraft.world.entity.Entity entity : this.failing) {
+            this.failingHit = Math.min(this.failingHit,
+                    RayTraversal.clip(entity.getBoundingBox(), startX, startY, startZ, directionX, directionY, directionZ, length));
+        }
+    }
+
+    /**
+     * Gets how far along a ray it enters the box, or positive infinity if it
+     * misses the box, starts inside of it or ends before reaching it.
+     *
+     * @param length The length of the ray, the direction must be normalized
+     */
+    static double clip(final AABB box, final double startX, final double startY, final double startZ,
+            final double directionX, final double directionY, final double directionZ, final double length) {
+        double near = Double.NEGATIVE_INFINITY;
+        double far = Double.POSITIVE_INFINITY;
+        if (directionX == 0) {
+            if (startX <= box.minX || startX >= box.maxX) {
+                return Double.POSITIVE_INFINITY;
+            }
+        } else {
+            final double t1 = (box.minX - startX) / directionX;
+            final double t2 = (box.maxX - startX) / directionX;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        if (directionY == 0) {
+            if (startY <= box.minY || startY >= box.maxY) {
+                return Double.POSITIVE_INFINITY;
+            }
+        } else {
+            final double t1 = (box.minY - startY) / directionY;
+            final double t2 = (box.maxY - startY) / directionY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        if (directionZ == 0) {
+            if (startZ <= box.minZ || startZ >= box.maxZ) {
+                return Double.POSITIVE_INFINITY;
+            }
+        } else {
+            final double t1 = (box.minZ - startZ) / directionZ;
+            final double t2 = (box.maxZ - startZ) / directionZ;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        if (near <= 0 || near > far || near > length) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return near;
+    }
+
+    double selectedHit() {
+        return this.selectedHit;
+    }
+
+    net.minecraft.world.entity.@Nullable Entity selectedEntity() {
+        return this.selectedEntity;
+    }
+
+    double failingHit() {
+        return this.failingHit;
+    }
+
+    Vector3d pointAt(final double t) {
+        return new Vector3d(
+                this.startX + this.directionX * t,
+                this.startY + this.directionY * t,
+                this.startZ + this.directionZ * t
+        );
+    }
+
+    ServerLocation location(final int x, final int y, final int z) {
+        return ServerLocation.of(this.world, x, y, z);
+    }
+
+    LocatableBlock locatableBlock(final int x, final int y, final int z) {
+        final LocatableBlock cached = this.block;
+        if (cached != null && this.pos.getX() == x && this.pos.getY() == y && this.pos.getZ() == z) {
+            return cached;
+        }
+        final LocatableBlock block = new SpongeLocatableBlock(this.world, x, y, z, this.blockState(x, y, z));
+        this.block = block;
+        return block;
+    }
+
+    private BlockState blockState(final int x, final int y, final int z) {
+        final int chunkX = x >> 4;
+        final int chunkZ = z >> 4;
+        LevelChunk chunk = this.chunk;
+        if (chunk == null || this.chunkX != chunkX || this.chunkZ != chunkZ) {
+            chunk = this.level.getChunk(chunkX, chunkZ);
+            this.chunk = chunk;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+        return (BlockState) chunk.getBlockState(this.pos.set(x, y, z));
+    }
+
+}
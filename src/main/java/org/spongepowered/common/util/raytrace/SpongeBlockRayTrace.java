@@ -24,16 +24,13 @@
  */
 package org.spongepowered.common.util.raytrace;
 
-import net.minecraft.world.phys.Vec3;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.util.blockray.RayTraceResult;
 import org.spongepowered.api.world.LocatableBlock;
-import org.spongepowered.api.world.server.ServerWorld;
-import org.spongepowered.common.util.VecHelper;
 
-import java.util.Optional;
 import java.util.function.Predicate;
 
 public final class SpongeBlockRayTrace extends AbstractSpongeRayTrace<@NonNull LocatableBlock> {
@@ -48,14 +45,13 @@ public final class SpongeBlockRayTrace extends AbstractSpongeRayTrace<@NonNull L
     }
 
     @Override
-    final Optional<RayTraceResult<@NonNull LocatableBlock>> testSelectLocation(final ServerWorld serverWorld,
-            final Vec3 location,
-            final Vec3 exitLocation) {
+    final @Nullable RayTraceResult<@NonNull LocatableBlock> testSelectLocation(final RayTraversal traversal,
+            final int x, final int y, final int z, final double enter, final double exit) {
 
-        final LocatableBlock initialBlock = this.getBlock(serverWorld, location, exitLocation);
+        final LocatableBlock initialBlock = traversal.locatableBlock(x, y, z);
         if (this.select.test(initialBlock)) {
-            return Optional.of(new SpongeRayTraceResult<>(initialBlock, VecHelper.toVector3d(location)));
+            return new SpongeRayTraceResult<>(initialBlock, traversal.pointAt(enter));
         }
-        return Optional.empty();
+        return null;
     }
 }
@@ -24,18 +24,11 @@
  */
 package org.spongepowered.common.util.raytrace;
 
-import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.Vec3;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.util.blockray.RayTraceResult;
-import org.spongepowered.api.world.LocatableBlock;
-import org.spongepowered.api.world.server.ServerWorld;
-import org.spongepowered.common.util.VecHelper;
 
-import java.util.List;
-import java.util.Optional;
 import java.util.function.Predicate;
 
 public final class SpongeEntityRayTrace extends AbstractSpongeRayTrace<@NonNull Entity> {
@@ -52,27 +45,20 @@ boolean requiresEntityTracking() {
     }
 
     @Override
-    List<net.minecraft.world.entity.Entity> selectEntities(final ServerWorld serverWorld, final AABB targetAABB) {
-        return ((Level) serverWorld).getEntities((net.minecraft.world.entity.Entity) null, targetAABB, (Predicate) this.select);
+    @Nullable Predicate<Entity> entitySelector() {
+        return this.select;
     }
 
     @Override
-    final Optional<RayTraceResult<@NonNull Entity>> testSelectLocation(final ServerWorld serverWorld, final Vec3 vec3din, final Vec3 vec3dend) {
-        double currentSqDist = Double.MAX_VALUE;
-        RayTraceResult<@NonNull Entity> returnedEntity = null;
-        final LocatableBlock locatableBlock = this.getBlock(serverWorld, vec3din, vec3dend);
-        for (final net.minecraft.world.entity.Entity entity : this.selectEntities(serverWorld, this.getBlockAABB(locatableBlock.blockPosition()))) {
-            final Optional<Vec3> vec3d = entity.getBoundingBox().clip(vec3din, vec3dend);
-            if (vec3d.isPresent()) {
-                final Vec3 hitPosition = vec3d.get();
-                final double sqdist = hitPosition.distanceToSqr(vec3din);
-                if (sqdist < currentSqDist) {
-                    currentSqDist = sqdist;
-                    returnedEntity = new SpongeRayTraceResult<>((Entity) entity, VecHelper.toVector3d(hitPosition));
-                }
-            }
+    final @Nullable RayTraceResult<@NonNull Entity> testSelectLocation(final RayTraversal traversal,
+            final int x, final int y, final int z, final double enter, final double exit) {
+        // The closest entity along the whole ray is known up front, so it is
+        // selected once the ray reaches the block it is entered in.
+        final net.minecraft.world.entity.@Nullable Entity entity = traversal.selectedEntity();
+        if (entity != null && traversal.selectedHit() <= exit) {
+            return new SpongeRayTraceResult<>((Entity) entity, traversal.pointAt(traversal.selectedHit()));
         }
-        return Optional.ofNullable(returnedEntity);
+        return null;
     }
 
     @Override final boolean shouldCheckFailures() {
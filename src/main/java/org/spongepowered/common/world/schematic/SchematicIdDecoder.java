@@ -0,0 +1,228 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * Incrementally decodes the varint encoded palette ids of a schematic block
+ * or biome container. Ids arrive in schematic order,
+ * {@code (y * length + z) * width + x}, and are handed to a {@link Sink}
+ * using the index layout of the volume buffers for a {@link Window}, so
+ * neither the encoded array nor the ids outside of the window have to be
+ * kept in memory.
+ */
+final class SchematicIdDecoder {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final int width;
+    private final int height;
+    private final int length;
+    private final Window window;
+    private final Sink sink;
+
+    private int x;
+    private int y;
+    private int z;
+    private int value;
+    private int varIntLength;
+
+    SchematicIdDecoder(final Vector3i schematicSize, final Window window, final Sink sink) {
+        this.width = schematicSize.x();
+        this.height = schematicSize.y();
+        this.length = schematicSize.z();
+        this.window = window;
+        this.sink = sink;
+    }
+
+    void decode(final byte[] data) {
+        this.decode(data, 0, data.length);
+    }
+
+    void decode(final byte[] data, final int offset, final int count) {
+        for (int i = offset; i < offset + count; i++) {
+            final byte read = data[i];
+            this.value |= (read & 127) << (this.varIntLength++ * 7);
+            if (this.varIntLength > 5) {
+                throw new InvalidDataException("VarInt too big (probably corrupted data)");
+            }
+            if ((read & 128) != 128) {
+                this.accept(this.value);
+                this.value = 0;
+                this.varIntLength = 0;
+            }
+        }
+    }
+
+    /**
+     * Decodes {@code count} bytes straight from the input, reading them in
+     * small chunks rather than as a single array.
+     */
+    void decode(final DataInput input, final int count) throws IOException {
+        final byte[] chunk = new byte[Math.min(count, SchematicIdDecoder.CHUNK_SIZE)];
+        int remaining = count;
+        while (remaining > 0) {
+            final int read = Math.min(remaining, chunk.length);
+            input.readFully(chunk, 0, read);
+            this.decode(chunk, 0, read);
+            remaining -= read;
+        }
+    }
+
+    void finish() {
+        if (this.varIntLength != 0) {
+            throw new InvalidDataException("Schematic data ends with an incomplete VarInt");
+        }
+    }
+
+    private void accept(final int id) {
+        if (this.y >= this.height) {
+            throw new InvalidDataException("Schematic data holds more entries than its dimensions allow");
+        }
+        if (this.window.contains(this.x, this.y, this.z)) {
+            this.sink.accept(this.window.index(this.x, this.y, this.z), id);
+        }
+        if (++this.x == this.width) {
+            this.x = 0;
+            if (++this.z == this.length) {
+                this.z = 0;
+                this.y++;
+            }
+        }
+    }
+
+    interface Sink {
+
+        void accept(int index, int id);
+    }
+
+    /**
+     * Collects block ids into packed backing data, widening the packing as
+     * soon as an id does not fit. The palette does not have to be known up
+     * front, which matters when the ids are streamed before it.
+     */
+    static final class BlockIds implements Sink {
+
+        private BlockBackingData.PackedBackingData data;
+
+        BlockIds(final int size, final int highestId) {
+            this.data = new BlockBackingData.PackedBackingData(size, Math.max(1, highestId));
+        }
+
+        @Override
+        public void accept(final int index, final int id) {
+            // The backing data starts zeroed
+            if (id == 0) {
+                return;
+            }
+            if (id > this.data.getMax()) {
+                this.data = this.data.grow(id);
+            }
+            this.data.set(index, id);
+        }
+
+        BlockBackingData data() {
+            return this.data;
+        }
+    }
+
+    static final class BiomeIds implements Sink {
+
+        private final byte[] data;
+
+        BiomeIds(final int size) {
+            this.data = new byte[size];
+        }
+
+        @Override
+        public void accept(final int index, final int id) {
+            this.data[index] = (byte) id;
+        }
+
+        byte[] data() {
+            return this.data;
+        }
+    }
+
+    /**
+     * An inclusive box of schematic local coordinates that is being read.
+     */
+    static final class Window {
+
+        final Vector3i min;
+        final Vector3i max;
+        final Vector3i size;
+        private final int yLine;
+        private final int yzSlice;
+
+        private Window(final Vector3i min, final Vector3i max) {
+            this.min = min;
+            this.max = max;
+            this.size = max.sub(min).add(Vector3i.ONE);
+            this.yLine = this.size.y();
+            this.yzSlice = this.yLine * this.size.z();
+        }
+
+        /**
+         * Clamps the requested box to the schematic, where {@code null}
+         * bounds select the whole schematic.
+         */
+        static Window of(final Vector3i schematicSize, final @Nullable Vector3i min, final @Nullable Vector3i max) {
+            final Vector3i schematicMax = schematicSize.sub(Vector3i.ONE);
+            final Vector3i clampedMin = min == null ? Vector3i.ZERO : min.max(Vector3i.ZERO);
+            final Vector3i clampedMax = max == null ? schematicMax : max.min(schematicMax);
+            if (clampedMin.x() > clampedMax.x() || clampedMin.y() > clampedMax.y() || clampedMin.z() > clampedMax.z()) {
+                throw new IllegalArgumentException(String.format(
+                    "Window (%s, %s) does not intersect the schematic of size %s", min, max, schematicSize));
+            }
+            return new Window(clampedMin, clampedMax);
+        }
+
+        int volume() {
+            return this.size.x() * this.size.y() * this.size.z();
+        }
+
+        boolean contains(final int x, final int y, final int z) {
+            return x >= this.min.x() && x <= this.max.x()
+                && y >= this.min.y() && y <= this.max.y()
+                && z >= this.min.z() && z <= this.max.z();
+        }
+
+        /**
+         * Gets the volume buffer index of a schematic local position, matching
+         * the layout used by {@code AbstractVolumeBuffer}.
+         */
+        int index(final int x, final int y, final int z) {
+            return (x - this.min.x()) * this.yzSlice + (z - this.min.z()) * this.yLine + (y - this.min.y());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import org.spongepowered.math.vector.Vector3i;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Varint encodes the palette ids of a volume in schematic order,
+ * {@code (y * length + z) * width + x}. The ids are looked up once to
+ * measure the encoded length, which also assigns every id in the palette,
+ * and again while encoding, so the encoded data is either allocated at its
+ * exact size or never held in memory at all.
+ */
+final class SchematicIdEncoder {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Vector3i min;
+    private final Vector3i size;
+    private final IdLookup lookup;
+    private int encodedLength = -1;
+
+    SchematicIdEncoder(final Vector3i min, final Vector3i size, final IdLookup lookup) {
+        this.min = min;
+        this.size = size;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Gets the number of bytes the encoded ids take up.
+     */
+    int encodedLength() {
+        if (this.encodedLength == -1) {
+            long length = 0;
+            for (int y = 0; y < this.size.y(); y++) {
+                for (int z = 0; z < this.size.z(); z++) {
+                    for (int x = 0; x < this.size.x(); x++) {
+                        length += SchematicIdEncoder.varIntSize(this.id(x, y, z));
+                    }
+                }
+            }
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Encoded schematic data exceeds the maximum array size");
+            }
+            this.encodedLength = (int) length;
+        }
+        return this.encodedLength;
+    }
+
+    byte[] encode() {
+        final byte[] data = new byte[this.encodedLength()];
+        int position = 0;
+        for (int y = 0; y < this.size.y(); y++) {
+            for (int z = 0; z < this.size.z(); z++) {
+                for (int x = 0; x < this.size.x(); x++) {
+                    position = SchematicIdEncoder.writeVarInt(data, position, this.id(x, y, z));
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Writes the ids as the payload of an NBT byte array, length first,
+     * passing them through a small fixed size buffer.
+     */
+    void write(final DataOutput output) throws IOException {
+        output.writeInt(this.encodedLength());
+        final byte[] chunk = new byte[SchematicIdEncoder.CHUNK_SIZE];
+        int position = 0;
+        for (int y = 0; y < this.size.y(); y++) {
+            for (int z = 0; z < this.size.z(); z++) {
+                for (int x = 0; x < this.size.x(); x++) {
+                    if (position > chunk.length - 5) {
+                        output.write(chunk, 0, position);
+                        position = 0;
+                    }
+                    position = SchematicIdEncoder.writeVarInt(chunk, position, this.id(x, y, z));
+                }
+            }
+        }
+        output.write(chunk, 0, position);
+    }
+
+    private int id(final int x, final int y, final int z) {
+        return this.lookup.id(this.min.x() + x, this.min.y() + y, this.min.z() + z);
+    }
+
+    static int varIntSize(final int value) {
+        int id = value;
+        int size = 1;
+        while ((id & -128) != 0) {
+            size++;
+            id >>>= 7;
+        }
+        return size;
+    }
+
+    static int writeVarInt(final byte[] data, final int position, final int value) {
+        int id = value;
+        int index = position;
+        while ((id & -128) != 0) {
+            data[index++] = (byte) (id & 127 | 128);
+            id >>>= 7;
+        }
+        data[index++] = (byte) id;
+        return index;
+    }
+
+    interface IdLookup {
+
+        int id(int x, int y, int z);
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NumericTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.nbt.TagTypes;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.data.persistence.NBTTranslator;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes gzipped Sponge schematic files without materialising the
+ * block and biome data arrays. Everything but those arrays goes through the
+ * {@link SchematicTranslator} as usual, while the arrays are decoded from the
+ * stream into the volume buffers, or encoded from the schematic into the
+ * stream, as they pass by.
+ *
+ * <p>Decoding an array while it streams requires the schematic dimensions to
+ * precede it, which files written by {@link #write(Schematic, OutputStream)}
+ * guarantee. Arrays of files that do not are read whole and decoded
+ * afterwards. Schematics older than the current version are always
+ * translated from memory.</p>
+ *
+ * <p>NIO channels can be read and written through
+ * {@link java.nio.channels.Channels#newInputStream} and
+ * {@link java.nio.channels.Channels#newOutputStream}.</p>
+ */
+public final class SchematicStreams {
+
+    private static final String SCHEMATIC = Constants.Sponge.Schematic.SCHEMATIC.asString('.');
+    private static final String BLOCK_CONTAINER = Constants.Sponge.Schematic.BLOCK_CONTAINER.asString('.');
+    private static final String BIOME_CONTAINER = Constants.Sponge.Schematic.BIOME_CONTAINER.asString('.');
+    private static final String PALETTE = Constants.Sponge.Schematic.PALETTE.asString('.');
+    private static final String DATA = Constants.Sponge.Schematic.BLOCK_DATA.asString('.');
+    private static final String WIDTH = Constants.Sponge.Schematic.WIDTH.asString('.');
+    private static final String HEIGHT = Constants.Sponge.Schematic.HEIGHT.asString('.');
+    private static final String LENGTH = Constants.Sponge.Schematic.LENGTH.asString('.');
+
+    /**
+     * Reads a whole schematic. The stream is closed afterwards.
+     *
+     * @param compressed The gzipped schematic
+     * @return The schematic
+     * @throws IOException If the stream could not be read
+     */
+    public static Schematic read(final InputStream compressed) throws IOException {
+        return SchematicStreams.read(compressed, null, null);
+    }
+
+    /**
+     * Reads the part of a schematic that lies within the given box of
+     * schematic local coordinates, where {@code null} bounds leave that side
+     * of the box unbounded. The stream is closed afterwards.
+     *
+     * @param compressed The gzipped schematic
+     * @param min The minimum local position to read, inclusive
+     * @param max The maximum local position to read, inclusive
+     * @return The schematic covering the window
+     * @throws IOException If the stream could not be read
+     */
+    public static Schematic read(final InputStream compressed, final @Nullable Vector3i min, final @Nullable Vector3i max)
+        throws IOException {
+        final Reader reader = new Reader(min, max);
+        final CompoundTag root = reader.read(compressed);
+        // Nobody else holds the freshly read compound, so it does not need to be copied
+        final DataContainer data = NBTTranslator.INSTANCE.translateOwned(root);
+        return SchematicTranslator.get().translate(data, min, max, reader.blocks, reader.biomes);
+    }
+
+    /**
+     * Writes a schematic. The dimensions and palettes are written ahead of
+     * the data arrays so that the result can be read back while streaming.
+     * The stream is closed afterwards.
+     *
+     * @param schematic The schematic
+     * @param compressed The stream to write the gzipped schematic to
+     * @throws IOException If the stream could not be written to
+     */
+    public static void write(final Schematic schematic, final OutputStream compressed) throws IOException {
+        final Map<DataQuery, SchematicIdEncoder> deferredData = new HashMap<>();
+        final DataContainer data = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        SchematicTranslator.get().addTo(schematic, data.createView(Constants.Sponge.Schematic.SCHEMATIC), deferredData);
+        SchematicStreams.write(NBTTranslator.INSTANCE.translate(data), deferredData, compressed);
+    }
+
+    /**
+     * Writes a gzipped compound, writing the data arrays of the deferred
+     * encoders, by their full path, after the other entries of their parent
+     * compound.
+     */
+    static void write(
+        final CompoundTag root,
+        final Map<DataQuery, SchematicIdEncoder> deferredData,
+        final OutputStream compressed
+    ) throws IOException {
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(compressed)))) {
+            output.writeByte(Constants.NBT.TAG_COMPOUND);
+            output.writeUTF("");
+            SchematicStreams.writeCompound(output, root, DataQuery.of(), deferredData);
+        }
+    }
+
+    private static void writeCompound(
+        final DataOutput output,
+        final CompoundTag compound,
+        final DataQuery path,
+        final Map<DataQuery, SchematicIdEncoder> deferredData
+    ) throws IOException {
+        // Plain values first, so the dimensions and palettes precede the data arrays
+        final List<String> compounds = new ArrayList<>();
+        for (final String key : compound.getAllKeys()) {
+            final Tag tag = compound.get(key);
+            if (tag.getId() == Constants.NBT.TAG_COMPOUND) {
+                compounds.add(key);
+                continue;
+            }
+            output.writeByte(tag.getId());
+            output.writeUTF(key);
+            tag.write(output);
+        }
+        for (final String key : compounds) {
+            output.writeByte(Constants.NBT.TAG_COMPOUND);
+            output.writeUTF(key);
+            SchematicStreams.writeCompound(output, compound.getCompound(key), path.then(key), deferredData);
+        }
+        for (final Map.Entry<DataQuery, SchematicIdEncoder> entry : deferredData.entrySet()) {
+            final List<String> parts = entry.getKey().parts();
+            if (parts.size() == path.parts().size() + 1 && entry.getKey().pop().equals(path)) {
+                output.writeByte(Constants.NBT.TAG_BYTE_ARRAY);
+                output.writeUTF(parts.get(parts.size() - 1));
+                entry.getValue().write(output);
+            }
+        }
+        output.writeByte(Constants.NBT.TAG_END);
+    }
+
+    private enum Section {
+        ROOT,
+        SCHEMATIC,
+        BLOCKS,
+        BIOMES,
+        OTHER
+    }
+
+    static final class Reader {
+
+        private final @Nullable Vector3i min;
+        private final @Nullable Vector3i max;
+        private int width;
+        private int height;
+        private int length;
+        @Nullable BlockBackingData blocks;
+        byte @Nullable [] biomes;
+
+        Reader(final @Nullable Vector3i min, final @Nullable Vector3i max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * Reads the gzipped schematic, decoding the block and biome data
+         * arrays as they pass by. The stream is closed afterwards.
+         *
+         * @return The schematic without the decoded data arrays
+         */
+        CompoundTag read(final InputStream compressed) throws IOException {
+            try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(compressed)))) {
+                if (input.readByte() != Constants.NBT.TAG_COMPOUND) {
+                    throw new InvalidDataException("Schematic root is not a compound tag");
+                }
+                input.readUTF();
+                return this.readCompound(input, 0, Section.ROOT);
+            }
+        }
+
+        private CompoundTag readCompound(final DataInput input, final int depth, final Section section) throws IOException {
+            final CompoundTag compound = new CompoundTag();
+            byte type;
+            while ((type = input.readByte()) != Constants.NBT.TAG_END) {
+                final String name = input.readUTF();
+                if (type == Constants.NBT.TAG_COMPOUND) {
+                    compound.put(name, this.readCompound(input, depth + 1, Reader.child(section, name)));
+                } else if (type == Constants.NBT.TAG_BYTE_ARRAY && SchematicStreams.DATA.equals(name) && this.canStream(section)) {
+                    this.readData(input, section, compound);
+                } else {
+                    final Tag tag = TagTypes.getType(type).load(input, depth + 1, NbtAccounter.UNLIMITED);
+                    compound.put(name, tag);
+                    if ((section == Section.ROOT || section == Section.SCHEMATIC) && tag instanceof NumericTag) {
+                        this.readDimension(name, (NumericTag) tag);
+                    }
+                }
+            }
+            return compound;
+        }
+
+        private static Section child(final Section parent, final String name) {
+            if (parent == Section.ROOT && SchematicStreams.SCHEMATIC.equals(name)) {
+                return Section.SCHEMATIC;
+            }
+            if (parent == Section.ROOT || parent == Section.SCHEMATIC) {
+                if (SchematicStreams.BLOCK_CONTAINER.equals(name)) {
+                    return Section.BLOCKS;
+                }
+                if (SchematicStreams.BIOME_CONTAINER.equals(name)) {
+                    return Section.BIOMES;
+                }
+            }
+            return Section.OTHER;
+        }
+
+        private void readDimension(final String name, final NumericTag tag) {
+            if (SchematicStreams.WIDTH.equals(name)) {
+                this.width = tag.getAsShort();
+            } else if (SchematicStreams.HEIGHT.equals(name)) {
+                this.height = tag.getAsShort();
+            } else if (SchematicStreams.LENGTH.equals(name)) {
+                this.length = tag.getAsShort();
+            }
+        }
+
+        private boolean canStream(final Section section) {
+            return (section == Section.BLOCKS || section == Section.BIOMES)
+                && this.width > 0 && this.height > 0 && this.length > 0;
+        }
+
+        private void readData(final DataInput input, final Section section, final CompoundTag container) throws IOException {
+            final Vector3i size = new Vector3i(this.width, this.height, this.length);
+            final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(size, this.min, this.max);
+            final int count = input.readInt();
+            if (section == Section.BLOCKS) {
+                // The palette may not have been read yet, the packed ids widen as needed
+                final int highestId = container.contains(SchematicStreams.PALETTE, Constants.NBT.TAG_COMPOUND)
+                    ? container.getCompound(SchematicStreams.PALETTE).size() - 1
+                    : 0;
+                final SchematicIdDecoder.BlockIds ids = new SchematicIdDecoder.BlockIds(window.volume(), highestId);
+                SchematicStreams.decode(input, count, size, window, ids);
+                this.blocks = ids.data();
+            } else {
+                final SchematicIdDecoder.BiomeIds ids = new SchematicIdDecoder.BiomeIds(window.volume());
+                SchematicStreams.decode(input, count, size, window, ids);
+                this.biomes = ids.data();
+            }
+        }
+    }
+
+    private static void decode(
+        final DataInput input,
+        final int count,
+        final Vector3i size,
+        final SchematicIdDecoder.Window window,
+        final SchematicIdDecoder.Sink sink
+    ) throws IOException {
+        final SchematicIdDecoder decoder = new SchematicIdDecoder(size, window, sink);
+        decoder.decode(input, count);
+        decoder.finish();
+    }
+
+    private SchematicStreams() {
+    }
+}
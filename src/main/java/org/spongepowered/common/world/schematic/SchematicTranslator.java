@@ -55,8 +55,6 @@
 import org.spongepowered.api.world.schematic.PaletteTypes;
 import org.spongepowered.api.world.schematic.Schematic;
 import org.spongepowered.api.world.volume.archetype.entity.EntityArchetypeEntry;
-import org.spongepowered.api.world.volume.biome.BiomeVolume;
-import org.spongepowered.api.world.volume.block.BlockVolume;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.block.BlockStateSerializerDeserializer;
 import org.spongepowered.common.block.entity.SpongeBlockEntityArchetypeBuilder;
@@ -67,14 +65,17 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.volume.VolumeStreamUtils;
 import org.spongepowered.common.world.volume.buffer.archetype.SpongeArchetypeVolume;
+import org.spongepowered.common.world.volume.buffer.biome.ByteArrayMutableBiomeBuffer;
+import org.spongepowered.common.world.volume.buffer.block.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
 import org.spongepowered.math.vector.Vector3d;
 import org.spongepowered.math.vector.Vector3i;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
@@ -110,6 +111,38 @@ public TypeToken<Schematic> token() {
 
     @Override
     public Schematic translate(final DataView unprocessed) throws InvalidDataException {
+        return this.translate(unprocessed, null, null);
+    }
+
+    /**
+     * Translates only the part of a schematic that lies within the given
+     * box of schematic local coordinates. Blocks, biomes and entities outside
+     * of it are skipped while decoding rather than loaded and discarded.
+     *
+     * @param unprocessed The schematic data
+     * @param min The minimum local position to read, inclusive
+     * @param max The maximum local position to read, inclusive
+     * @return The schematic covering the window
+     * @throws InvalidDataException If the data is not a valid schematic
+     */
+    public Schematic translate(final DataView unprocessed, final @Nullable Vector3i min, final @Nullable Vector3i max)
+        throws InvalidDataException {
+        return this.translate(unprocessed, min, max, null, null);
+    }
+
+    /**
+     * @param streamedBlocks Block ids that were decoded while the data was
+     *     streamed, in which case the block container has no data array
+     * @param streamedBiomes Biome ids that were decoded while the data was
+     *     streamed, in which case the biome container has no data array
+     */
+    Schematic translate(
+        final DataView unprocessed,
+        final @Nullable Vector3i min,
+        final @Nullable Vector3i max,
+        final @Nullable BlockBackingData streamedBlocks,
+        final byte @Nullable [] streamedBiomes
+    ) throws InvalidDataException {
         if (SchematicTranslator.VANILLA_FIXER == null) {
             SchematicTranslator.VANILLA_FIXER = SpongeCommon.server().getFixerUpper();
         }
@@ -193,24 +226,29 @@ public Schematic translate(final DataView unprocessed) throws InvalidDataExcepti
         }
 
         final Vector3i offset = new Vector3i(offsetArray[0], offsetArray[1], offsetArray[2]);
-        final SpongeArchetypeVolume archetypeVolume = new SpongeArchetypeVolume(
-            offset, new Vector3i(width, height, length),
-            Sponge.server()
-        );
-
-        updatedView.getView(Constants.Sponge.Schematic.BLOCK_CONTAINER)
-            .ifPresent(
-                blocks -> SchematicTranslator.deserializeBlockContainer(blocks, archetypeVolume, width, length,
-                    offset, needsFixers
-                ));
-
-        updatedView.getView(Constants.Sponge.Schematic.BIOME_CONTAINER)
-            .ifPresent(
-                biomes -> SchematicTranslator.deserializeBiomeContainer(biomes, archetypeVolume, width, length,
-                    offset
-                ));
-
+        final Vector3i schematicSize = new Vector3i(width, height, length);
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(schematicSize, min, max);
+        final boolean windowed = min != null || max != null;
+        final Vector3i start = offset.add(window.min);
+
+        final Optional<DataView> blockContainer = updatedView.getView(Constants.Sponge.Schematic.BLOCK_CONTAINER);
+        final ArrayMutableBlockBuffer blocks = blockContainer
+            .map(view -> SchematicTranslator.deserializeBlockContainer(view, schematicSize, window, start, streamedBlocks))
+            .orElseGet(() -> new ArrayMutableBlockBuffer(start, window.size));
+        final ByteArrayMutableBiomeBuffer biomes = updatedView.getView(Constants.Sponge.Schematic.BIOME_CONTAINER)
+            .map(view -> SchematicTranslator.deserializeBiomeContainer(view, schematicSize, window, start, streamedBiomes))
+            .orElseGet(() -> new ByteArrayMutableBiomeBuffer(
+                PaletteTypes.BIOME_PALETTE.get().create(Sponge.server(), RegistryTypes.BIOME),
+                start,
+                window.size
+            ));
+        final SpongeArchetypeVolume archetypeVolume = new SpongeArchetypeVolume(blocks, biomes);
 
+        blockContainer.flatMap(view -> view.getViewList(Constants.Sponge.Schematic.BLOCKENTITY_CONTAINER))
+            .ifPresent(tileData ->
+                tileData.forEach(
+                    SchematicTranslator.deserializeBlockEntities(offset, archetypeVolume, windowed, needsFixers))
+            );
 
         updatedView.getViewList(Constants.Sponge.Schematic.ENTITIES)
             .map(List::stream)
@@ -222,6 +260,7 @@ offset, new Vector3i(width, height, length),
             .map(SchematicTranslator.deserializeEntityArchetype())
             .filter(Optional::isPresent)
             .map(Optional::get)
+            .filter(entry -> !windowed || archetypeVolume.contains(entry.position().toInt()))
             .forEach(archetypeVolume::addEntity);
 
         builder.volume(archetypeVolume);
@@ -250,7 +289,7 @@ private static Function<DataView, Optional<EntityArchetypeEntry>> deserializeEnt
     @NotNull
     private static Consumer<DataView> deserializeBlockEntities(
         final Vector3i offset, final SpongeArchetypeVolume archetypeVolume,
-        final boolean needsFixers
+        final boolean windowed, final boolean needsFixers
     ) {
         return blockEntityData -> {
             final int[] pos = (int[]) blockEntityData.get(Constants.Sponge.Schematic.BLOCKENTITY_POS)
@@ -265,6 +304,10 @@ private static Consumer<DataView> deserializeBlockEntities(
                     final int x = pos[0] - offset.x();
                     final int y = pos[1] - offset.y();
                     final int z = pos[2] - offset.z();
+                    if (windowed && !archetypeVolume.contains(x, y, z)) {
+                        // Outside of the window being read, a full read still fails on these
+                        return;
+                    }
                     final BlockEntityArchetype.Builder builder = SpongeBlockEntityArchetypeBuilder.pooled()
                         .state(archetypeVolume.block(x, y, z))
                         .blockEntity(type);
@@ -276,13 +319,12 @@ private static Consumer<DataView> deserializeBlockEntities(
         };
     }
 
-    private static void deserializeBlockContainer(
+    private static ArrayMutableBlockBuffer deserializeBlockContainer(
         final DataView view,
-        final SpongeArchetypeVolume archetypeVolume,
-        final int width,
-        final int length,
-        final Vector3i offset,
-        final boolean needsFixers
+        final Vector3i schematicSize,
+        final SchematicIdDecoder.Window window,
+        final Vector3i start,
+        final @Nullable BlockBackingData streamedBlocks
     ) {
         final MutableBimapPalette<BlockState, BlockType> palette;
         final DataView paletteMap = view.getView(Constants.Sponge.Schematic.BLOCK_PALETTE)
@@ -304,25 +346,29 @@ private static void deserializeBlockContainer(
             );
         }
 
-        final byte[] blockData = (byte[]) view.get(Constants.Sponge.Schematic.BLOCK_DATA)
-            .orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
-        SchematicTranslator.readByteArrayData(
-            width, (width * length), offset, palette, blockData, archetypeVolume,
-            BlockVolume.Modifiable::setBlock
-        );
-        view.getViewList(Constants.Sponge.Schematic.BLOCKENTITY_CONTAINER)
-            .ifPresent(tileData ->
-                tileData.forEach(
-                    SchematicTranslator.deserializeBlockEntities(offset, archetypeVolume, needsFixers))
-            );
+        final BlockBackingData data;
+        if (streamedBlocks != null) {
+            data = streamedBlocks;
+        } else {
+            final byte[] blockData = (byte[]) view.get(Constants.Sponge.Schematic.BLOCK_DATA)
+                .orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
+            // Ids are decoded straight into the packed data of the buffer, the palette
+            // is shared with the buffer so no per block palette lookups are needed
+            final SchematicIdDecoder.BlockIds ids = new SchematicIdDecoder.BlockIds(window.volume(), palette.highestId());
+            final SchematicIdDecoder decoder = new SchematicIdDecoder(schematicSize, window, ids);
+            decoder.decode(blockData);
+            decoder.finish();
+            data = ids.data();
+        }
+        return new ArrayMutableBlockBuffer(palette, data, start, window.size);
     }
 
-    private static void deserializeBiomeContainer(
+    private static ByteArrayMutableBiomeBuffer deserializeBiomeContainer(
         final DataView view,
-        final SpongeArchetypeVolume archetypeVolume,
-        final int width,
-        final int length,
-        final Vector3i offset
+        final Vector3i schematicSize,
+        final SchematicIdDecoder.Window window,
+        final Vector3i start,
+        final byte @Nullable [] streamedBiomes
     ) {
         final MutableBimapPalette<Biome, Biome> biomePalette;
         final DataView biomeMap = view.getView(Constants.Sponge.Schematic.BIOME_PALETTE)
@@ -342,57 +388,20 @@ private static void deserializeBiomeContainer(
             final Biome biome = biomeRegistry.findValue(key).get();
             biomePalette.assign(biome, biomeMap.getInt(biomeKey).get());
         }
-        final byte[] biomeData = (byte[]) view.get(Constants.Sponge.Schematic.BIOME_DATA)
-            .orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
-        SchematicTranslator.readByteArrayData(
-            width, (width * length), offset, biomePalette, biomeData, archetypeVolume,
-            BiomeVolume.Modifiable::setBiome
-        );
-    }
-
-
-    static interface PostSetter<V, T> {
 
-        void apply(V volume, int x, int y, int z, T type);
-    }
-
-    private static <Buffer, Type, ParentType> void readByteArrayData(
-        final int width,
-        final int i1,
-        final Vector3i offset,
-        final Palette<Type, ParentType> palette,
-        final byte[] data,
-        final Buffer buffer,
-        final PostSetter<Buffer, Type> setter
-    ) {
-        int index = 0;
-        int i = 0;
-        int value = 0;
-        int varint_length = 0;
-        while (i < data.length) {
-            value = 0;
-            varint_length = 0;
-
-            while (true) {
-                value |= (data[i] & 127) << (varint_length++ * 7);
-                if (varint_length > 5) {
-                    throw new RuntimeException("VarInt too big (probably corrupted data)");
-                }
-                if ((data[i] & 128) != 128) {
-                    i++;
-                    break;
-                }
-                i++;
-            }
-            // index = (y * length + z) * width + x
-            final int y = index / i1;
-            final int z = (index % i1) / width;
-            final int x = (index % i1) % width;
-            final Type state = palette.get(value, Sponge.game()).get();
-            setter.apply(buffer, x + offset.x(), y + offset.y(), z + offset.z(), state);
-
-            index++;
+        final byte[] data;
+        if (streamedBiomes != null) {
+            data = streamedBiomes;
+        } else {
+            final byte[] biomeData = (byte[]) view.get(Constants.Sponge.Schematic.BIOME_DATA)
+                .orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
+            final SchematicIdDecoder.BiomeIds ids = new SchematicIdDecoder.BiomeIds(window.volume());
+            final SchematicIdDecoder decoder = new SchematicIdDecoder(schematicSize, window, ids);
+            decoder.decode(biomeData);
+            decoder.finish();
+            data = ids.data();
         }
+        return new ByteArrayMutableBiomeBuffer(biomePalette, data, start, window.size);
     }
 
     @Override
@@ -405,6 +414,15 @@ public DataContainer translate(final Schematic schematic) throws InvalidDataExce
 
     @Override
     public DataView addTo(final Schematic schematic, final DataView data) {
+        return this.addTo(schematic, data, null);
+    }
+
+    /**
+     * @param deferredData If present, the encoders for the block and biome
+     *     data arrays are put in here by their full path instead of the
+     *     encoded arrays being set on the view
+     */
+    DataView addTo(final Schematic schematic, final DataView data, final @Nullable Map<DataQuery, SchematicIdEncoder> deferredData) {
         final int xMin = schematic.min().x();
         final int yMin = schematic.min().y();
         final int zMin = schematic.min().z();
@@ -436,23 +454,9 @@ public DataView addTo(final Schematic schematic, final DataView data) {
             final DataView blockData = data.createView(Constants.Sponge.Schematic.BLOCK_CONTAINER);
             final Palette.Mutable<BlockState, BlockType> palette = schematic.blockPalette().asMutable(
                 Sponge.server());
-            try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length)) {
-                for (int y = 0; y < height; y++) {
-                    final int y0 = yMin + y;
-                    for (int z = 0; z < length; z++) {
-                        final int z0 = zMin + z;
-                        for (int x = 0; x < width; x++) {
-                            final int x0 = xMin + x;
-                            final BlockState state = schematic.block(x0, y0, z0);
-                            SchematicTranslator.writeIdToBuffer(buffer, palette.orAssign(state));
-                        }
-                    }
-                }
-
-                blockData.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
-            } catch (final IOException e) {
-                // should never reach here
-            }
+            final SchematicIdEncoder blockIds = new SchematicIdEncoder(schematic.min(), schematic.size(),
+                (x, y, z) -> palette.orAssign(schematic.block(x, y, z)));
+            SchematicTranslator.setIds(blockData, Constants.Sponge.Schematic.BLOCK_DATA, blockIds, deferredData);
 
             final Registry<BlockType> blockRegistry = VolumeStreamUtils.nativeToSpongeRegistry(
                 net.minecraft.core.Registry.BLOCK);
@@ -488,24 +492,9 @@ public DataView addTo(final Schematic schematic, final DataView data) {
             final Palette.Mutable<Biome, Biome> biomePalette = schematic.biomePalette().asMutable(
                 Sponge.game());
 
-            try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length)) {
-                for (int y = 0; y < height; y++) {
-                    final int y0 = yMin + y;
-                    for (int z = 0; z < length; z++) {
-                        final int z0 = zMin + z;
-                        for (int x = 0; x < width; x++) {
-                            final int x0 = xMin + x;
-                            final Biome state = schematic.biome(x0, y0, z0);
-                            SchematicTranslator.writeIdToBuffer(buffer, biomePalette.orAssign(state));
-                        }
-
-                    }
-                }
-
-                biomeContainer.set(Constants.Sponge.Schematic.BIOME_DATA, buffer.toByteArray());
-            } catch (final IOException e) {
-                // Should never reach here.
-            }
+            final SchematicIdEncoder biomeIds = new SchematicIdEncoder(schematic.min(), schematic.size(),
+                (x, y, z) -> biomePalette.orAssign(schematic.biome(x, y, z)));
+            SchematicTranslator.setIds(biomeContainer, Constants.Sponge.Schematic.BIOME_DATA, biomeIds, deferredData);
 
             final Registry<Biome> biomeRegistry = VolumeStreamUtils.nativeToSpongeRegistry(BuiltinRegistries.BIOME);
 
@@ -542,6 +531,21 @@ public DataView addTo(final Schematic schematic, final DataView data) {
         return data;
     }
 
+    private static void setIds(
+        final DataView container,
+        final DataQuery dataQuery,
+        final SchematicIdEncoder ids,
+        final @Nullable Map<DataQuery, SchematicIdEncoder> deferredData
+    ) {
+        if (deferredData == null) {
+            container.set(dataQuery, ids.encode());
+        } else {
+            // Measuring assigns every id, so the palette written next is complete
+            ids.encodedLength();
+            deferredData.put(container.currentPath().then(dataQuery), ids);
+        }
+    }
+
     private static <T, P> void writePaletteToView(
         final DataView view,
         final Palette.Mutable<T, P> palette,
@@ -92,7 +92,7 @@ public void load() {
                         throw new RuntimeException("Failed to decompress player data within [" + playerFile + "]!");
                     }
 
-                    final DataContainer container = NBTTranslator.INSTANCE.translateFrom(compound);
+                    final DataContainer container = NBTTranslator.INSTANCE.translateOwned(compound);
                     final SpongePlayerData data = container.getSerializable(DataQuery.of(), SpongePlayerData.class).get();
                     this.playerDataByUniqueId.put(data.getUniqueId(), data);
                 }
@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.world.volume;
 
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.ChunkAccess;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.event.EventContextKeys;
@@ -37,11 +39,14 @@
 import org.spongepowered.api.world.volume.stream.VolumePositionTranslator;
 import org.spongepowered.api.world.volume.stream.VolumePredicate;
 import org.spongepowered.api.world.volume.stream.VolumeStream;
+import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -51,14 +56,28 @@
 
 public class SpongeVolumeStream<V extends Volume, T> implements VolumeStream<V, T> {
 
+    /**
+     * The number of elements written per task when a parallel stream is
+     * applied to a world from outside the server thread.
+     */
+    private static final int APPLY_BATCH_SIZE = 4096;
+
     private final Supplier<? extends V> volumeSupplier;
     private final Stream<VolumeElement<V, T>> stream;
+    private final boolean parallel;
 
     public SpongeVolumeStream(final Stream<VolumeElement<V, T>> elementStream,
         final Supplier<? extends V> volumeSupplier
+    ) {
+        this(elementStream, volumeSupplier, false);
+    }
+
+    public SpongeVolumeStream(final Stream<VolumeElement<V, T>> elementStream,
+        final Supplier<? extends V> volumeSupplier, final boolean parallel
     ) {
         this.stream = elementStream;
         this.volumeSupplier = volumeSupplier;
+        this.parallel = parallel;
     }
 
     @Override
@@ -77,12 +96,12 @@ public VolumeStream<V, T> filter(final VolumePredicate<V, T> predicate) {
                     element.position().y(),
                     element.position().z()
                 )
-            ), this.volumeSupplier);
+            ), this.volumeSupplier, this.parallel);
     }
 
     @Override
     public VolumeStream<V, T> filter(final Predicate<VolumeElement<V, ? super T>> predicate) {
-        return new SpongeVolumeStream<>(this.stream.filter(predicate), this.volumeSupplier);
+        return new SpongeVolumeStream<>(this.stream.filter(predicate), this.volumeSupplier, this.parallel);
     }
 
     @Override
@@ -95,7 +114,7 @@ public <Out> VolumeStream<V, Out> map(final VolumeMapper<V, T, Out> mapper) {
                 element.position().y(),
                 element.position().z()
             ), element.position())
-        ), this.volumeSupplier);
+        ), this.volumeSupplier, this.parallel);
     }
 
     @Override
@@ -114,7 +133,8 @@ public VolumeStream<V, Optional<? extends T>> flatMap(final VolumeFlatMapper<V,
                     element.position()
                 )
             ),
-            this.volumeSupplier
+            this.volumeSupplier,
+            this.parallel
         );
     }
 
@@ -122,7 +142,8 @@ public VolumeStream<V, Optional<? extends T>> flatMap(final VolumeFlatMapper<V,
     public VolumeStream<V, T> transform(final VolumePositionTranslator<V, T> transformer) {
         return new SpongeVolumeStream<>(
             this.stream.map(transformer::apply),
-            this.volumeSupplier
+            this.volumeSupplier,
+            this.parallel
         );
     }
 
@@ -132,7 +153,7 @@ public <Out> VolumeStream<V, Out> map(final Function<VolumeElement<V, T>, ? exte
             this.volume(),
             mapper.apply(element),
             element.position()
-        )), this.volumeSupplier);
+        )), this.volumeSupplier, this.parallel);
     }
 
     @Override
@@ -206,6 +227,30 @@ public Stream<VolumeElement<V, T>> toStream() {
 
     @Override
     public <W extends MutableVolume> void apply(final VolumeCollector<W, T, ?> collector) {
+        if (this.parallel && !PhaseTracker.SERVER.onSidedThread() && SpongeVolumeStream.isWorldBacked(collector.target().get())) {
+            // Parallel streams applied off the server thread only write to the
+            // world on the server thread, one batch at a time.
+            final List<VolumeElement<V, T>> batch = new ArrayList<>(SpongeVolumeStream.APPLY_BATCH_SIZE);
+            for (final Iterator<VolumeElement<V, T>> iterator = this.stream.iterator(); iterator.hasNext(); ) {
+                batch.add(iterator.next());
+                if (batch.size() == SpongeVolumeStream.APPLY_BATCH_SIZE || !iterator.hasNext()) {
+                    final List<VolumeElement<V, T>> elements = new ArrayList<>(batch);
+                    batch.clear();
+                    SpongeCommon.server().executeBlocking(() -> this.applyElements(elements.stream(), collector));
+                }
+            }
+            return;
+        }
+        this.applyElements(this.stream, collector);
+    }
+
+    private static boolean isWorldBacked(final MutableVolume volume) {
+        return volume instanceof Level || volume instanceof ChunkAccess;
+    }
+
+    private <W extends MutableVolume> void applyElements(final Stream<VolumeElement<V, T>> elements,
+        final VolumeCollector<W, T, ?> collector
+    ) {
         final PhaseTracker instance = PhaseTracker.getInstance();
         try (final @Nullable PhaseContext<@NonNull ?> context = instance.getPhaseContext().isApplyingStreams()
             ? null
@@ -217,7 +262,7 @@ public <W extends MutableVolume> void apply(final VolumeCollector<W, T, ?> colle
             if (context != null) {
                 context.buildAndSwitch();
             }
-            this.stream.forEach(element -> {
+            elements.forEach(element -> {
                 final W targetVolume = collector.target().get();
                 final VolumeElement<W, T> transformed = collector.positionTransform().apply(VolumeElement.of(
                     collector.target(),
@@ -57,19 +57,23 @@
 import org.spongepowered.api.world.volume.stream.VolumeStream;
 import org.spongepowered.common.accessor.world.level.block.entity.BlockEntityAccessor;
 import org.spongepowered.common.accessor.world.level.chunk.ChunkBiomeContainerAccessor;
+import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.volume.buffer.biome.ObjectArrayMutableBiomeBuffer;
 import org.spongepowered.common.world.volume.buffer.block.ArrayMutableBlockBuffer;
 import org.spongepowered.common.world.volume.buffer.blockentity.ObjectArrayMutableBlockEntityBuffer;
 import org.spongepowered.common.world.volume.buffer.entity.ObjectArrayMutableEntityBuffer;
+import org.spongepowered.common.world.volume.stream.SpongeStreamOptions;
 import org.spongepowered.math.vector.Vector3d;
 import org.spongepowered.math.vector.Vector3i;
 
 import java.lang.ref.WeakReference;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -79,6 +83,7 @@
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -147,13 +152,13 @@ public static <T> Predicate<T> filterPositions(final Function<T, Vector3i> pos,
         };
     }
 
-    public static Function<ChunkAccess, Stream<Map.Entry<BlockPos, Biome>>> getBiomesForChunkByPos(final LevelReader reader, final Vector3i min,
+    public static ElementSource<ChunkAccess, Biome> getBiomesForChunkByPos(final LevelReader reader, final Vector3i min,
         final Vector3i max
     ) {
         return VolumeStreamUtils.getElementByPosition(VolumeStreamUtils.chunkSectionBiomeGetter().asTri(reader), min, max);
     }
 
-    public static Function<ChunkAccess, Stream<Map.Entry<BlockPos, BlockState>>> getBlockStatesForSections(
+    public static ElementSource<ChunkAccess, BlockState> getBlockStatesForSections(
         final Vector3i min,
         final Vector3i max
     ) {
@@ -329,6 +334,36 @@ public static boolean setBiome(@Nullable ChunkBiomeContainer biomeContainer,
         return true;
     }
 
+    /**
+     * Receives the elements of a volume one position at a time. The position
+     * may be a cursor that is moved on once this returns, it has to be
+     * {@link BlockPos#immutable() made immutable} to be retained.
+     *
+     * @param <T> The type of element
+     */
+    @FunctionalInterface
+    public interface ElementVisitor<T> {
+
+        void visit(BlockPos pos, T element);
+    }
+
+    /**
+     * Feeds every element of a section, usually a chunk, to a visitor without
+     * creating an intermediate {@link Stream} of entries.
+     *
+     * @param <Section> The type of section
+     * @param <T> The type of element
+     */
+    @FunctionalInterface
+    public interface ElementSource<Section, T> {
+
+        void forEach(Section section, ElementVisitor<T> visitor);
+
+        static <Section, T> ElementSource<Section, T> ofStream(final Function<Section, Stream<Map.Entry<BlockPos, T>>> entryStream) {
+            return (section, visitor) -> entryStream.apply(section).forEach(entry -> visitor.visit(entry.getKey(), entry.getValue()));
+        }
+    }
+
     public interface TriFunction<A, B, C, Out> {
         Out apply(A a, B b, C c);
     }
@@ -365,7 +400,7 @@ private static TriFunction<ChunkAccess, LevelChunkSection, BlockPos, BlockState>
             pos.getZ() - (chunk.getPos().z << 4)));
     }
 
-    private static <T> Function<ChunkAccess, Stream<Map.Entry<BlockPos, T>>> getElementByPosition(
+    private static <T> ElementSource<ChunkAccess, T> getElementByPosition(
         final TriFunction<ChunkAccess, LevelChunkSection, BlockPos, T> elementAccessor, final Vector3i min,
         final Vector3i max
     ) {
@@ -373,43 +408,40 @@ private static <T> Function<ChunkAccess, Stream<Map.Entry<BlockPos, T>>> getElem
         final ChunkCursor minCursor = new ChunkCursor(min);
         final ChunkCursor maxCursor = new ChunkCursor(max);
 
-        return chunk -> {
+        return (chunk, visitor) -> {
             final ChunkPos pos = chunk.getPos();
 
             final int xStart = pos.x == minCursor.chunkX ? minCursor.xOffset : 0;
-            final int xEnd = pos.x == maxCursor.chunkX ? maxCursor.xOffset + 1 : 16; // 16 because IntStream.range is upper range exclusive
+            final int xEnd = pos.x == maxCursor.chunkX ? maxCursor.xOffset + 1 : 16; // 16 because the upper bound is exclusive
             final int zStart = pos.z == minCursor.chunkZ ? minCursor.zOffset : 0;
-            final int zEnd = pos.z == maxCursor.chunkZ ? maxCursor.zOffset + 1 : 16; // 16 because IntStream.range is upper range exclusive
+            final int zEnd = pos.z == maxCursor.chunkZ ? maxCursor.zOffset + 1 : 16; // 16 because the upper bound is exclusive
 
             final int chunkMinX = pos.x << 4;
             final int chunkMinZ = pos.z << 4;
 
-            return Arrays.stream(chunk.getSections())
-                .filter(Objects::nonNull)
-                .filter(chunkSection -> chunkSection.bottomBlockY() >= minCursor.ySection && chunkSection.bottomBlockY() <= maxCursor.ySection)
-                .flatMap(
-                chunkSection -> IntStream.range(zStart, zEnd)
-                    .mapToObj(z -> IntStream.range(xStart, xEnd)
-                        .mapToObj(x -> {
-                            final int sectionY = chunkSection.bottomBlockY();
-                            final int yStart = sectionY == minCursor.ySection ? minCursor.yOffset : 0;
-                            final int yEnd = sectionY == maxCursor.ySection ? maxCursor.yOffset + 1 : 16; // plus 1 because of IntStream range exclusive
-                            return IntStream.range(yStart, yEnd)
-                                .mapToObj(y ->
-                                    {
-                                        final int adjustedX = x + chunkMinX;
-                                        final int adjustedY = y + sectionY;
-                                        final int adjustedZ = z + chunkMinZ;
-
-                                        final BlockPos blockPos = new BlockPos(adjustedX, adjustedY, adjustedZ);
-                                        final T apply = Objects.requireNonNull(elementAccessor.apply(chunk, chunkSection, blockPos), "Element cannot be null");
-                                        return new AbstractMap.SimpleEntry<>(blockPos, apply);
-                                    }
-                                );
-                        }))
-                    .flatMap(Function.identity())
-                    .flatMap(Function.identity())
-            );
+            // One cursor is moved over every position, visitors copy it if they need to keep it
+            final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+            for (final @Nullable LevelChunkSection chunkSection : chunk.getSections()) {
+                if (chunkSection == null) {
+                    continue;
+                }
+                final int sectionY = chunkSection.bottomBlockY();
+                if (sectionY < minCursor.ySection || sectionY > maxCursor.ySection) {
+                    continue;
+                }
+                final int yStart = sectionY == minCursor.ySection ? minCursor.yOffset : 0;
+                final int yEnd = sectionY == maxCursor.ySection ? maxCursor.yOffset + 1 : 16; // plus 1 because the upper bound is exclusive
+                // Walk the section in the order of its storage, y then z then x
+                for (int y = yStart; y < yEnd; y++) {
+                    for (int z = zStart; z < zEnd; z++) {
+                        for (int x = xStart; x < xEnd; x++) {
+                            cursor.set(x + chunkMinX, y + sectionY, z + chunkMinZ);
+                            final T element = Objects.requireNonNull(elementAccessor.apply(chunk, chunkSection, cursor), "Element cannot be null");
+                            visitor.visit(cursor, element);
+                        }
+                    }
+                }
+            }
         };
     }
 
@@ -544,6 +576,21 @@ public static <R extends Volume, API, MC, Section, KeyReference> VolumeStream<R,
         final BiFunction<BlockPos, MC, KeyReference> entityToKey,
         final Function<Section, Stream<Map.Entry<BlockPos, MC>>> entityAccessor,
         final BiFunction<KeyReference, R, Tuple<BlockPos, MC>> filteredPositionEntityAccessor
+    ) {
+        return VolumeStreamUtils.generateStream(min, max, options, ref, identityFunction, chunkAccessor, entityToKey,
+            ElementSource.ofStream(entityAccessor), filteredPositionEntityAccessor);
+    }
+
+    public static <R extends Volume, API, MC, Section, KeyReference> VolumeStream<R, API> generateStream(
+        final Vector3i min,
+        final Vector3i max,
+        final StreamOptions options,
+        final R ref,
+        final BiConsumer<KeyReference, MC> identityFunction,
+        final BiFunction<R, ChunkPos, Section> chunkAccessor,
+        final BiFunction<BlockPos, MC, KeyReference> entityToKey,
+        final ElementSource<Section, MC> entityAccessor,
+        final BiFunction<KeyReference, R, Tuple<BlockPos, MC>> filteredPositionEntityAccessor
     ) {
         final Supplier<R> worldSupplier = VolumeStreamUtils.createWeaklyReferencedSupplier(ref, "World");
         final BlockPos chunkMin = new BlockPos(min.x() >> 4, 0, min.z() >> 4);
@@ -577,6 +624,19 @@ public static <R extends Volume, API, MC, Section, KeyReference> VolumeStream<R,
         final BiFunction<BlockPos, MC, KeyReference> entityToKey,
         final BiFunction<KeyReference, R, Tuple<BlockPos, @Nullable MC>> filteredPositionEntityAccessor
 
+    ) {
+        return VolumeStreamUtils.generateStream(options, ref, section, ElementSource.ofStream(entityAccessor), identityFunction, entityToKey,
+            filteredPositionEntityAccessor);
+    }
+
+    public static <R extends Volume, API, MC, Section, KeyReference> VolumeStream<R, API> generateStream(
+        final StreamOptions options,
+        final R ref,
+        final Section section,
+        final ElementSource<Section, MC> entityAccessor,
+        final BiConsumer<KeyReference, MC> identityFunction,
+        final BiFunction<BlockPos, MC, KeyReference> entityToKey,
+        final BiFunction<KeyReference, R, Tuple<BlockPos, @Nullable MC>> filteredPositionEntityAccessor
     ) {
         final Supplier<R> worldSupplier = VolumeStreamUtils.createWeaklyReferencedSupplier(ref, "World");
         // Generate the chunk position stream to iterate on, whether they're accessed immediately
@@ -598,7 +658,7 @@ private static <R extends Volume, API, MC, Section, KeyReference> SpongeVolumeSt
         final StreamOptions options,
         final BiConsumer<KeyReference, MC> identityFunction,
         final BiFunction<BlockPos, MC, KeyReference> entityToKey,
-        final Function<Section, Stream<Map.Entry<BlockPos, MC>>> entityAccessor,
+        final ElementSource<Section, MC> entityAccessor,
         final BiFunction<KeyReference, R, Tuple<BlockPos, MC>> filteredPositionEntityAccessor,
         final Supplier<R> worldSupplier,
         final Stream<Section> sectionStream
@@ -616,23 +676,46 @@ private static <R extends Volume, API, MC, Section, KeyReference> SpongeVolumeSt
         // to the identity function whether the entity is to be "cloned" or merely retained by key. This is useful
         // compared to a traditional filter operation since the identity function renders the entity completely
         // separated from the volume target in the event of transformational operations being run on the VolumeStream
-        // itself.
-        final BiConsumer<Map.Entry<BlockPos, MC>, Set<KeyReference>> entryConsumer = (entry, poses) -> {
-            final BlockPos pos = entry.getKey();
-            final KeyReference keyRef = entityToKey.apply(pos, entry.getValue());
+        // itself. Positions may be cursors, so they're only kept once made immutable.
+        final Function<Set<KeyReference>, ElementVisitor<MC>> entryConsumer = poses -> (pos, element) -> {
+            final KeyReference keyRef = entityToKey.apply(pos.immutable(), element);
             poses.add(keyRef);
-            identityFunction.accept(keyRef, entry.getValue());
+            identityFunction.accept(keyRef, element);
         };
         // The stream of filtered key references, whether they're BlockPos or UUID,
         // depending on how the stream is being constructed, (immediate loading or not)
         // the positions can be dynamically generated by a stream, or can be pre-calculated
         // and offered as a pre-initialized collection of keys.
         final Stream<KeyReference> filteredPosStream;
-        if (options.loadingStyle().immediateLoading()) {
+        final boolean parallel = options instanceof SpongeStreamOptions && ((SpongeStreamOptions) options).parallel();
+        if (VolumeStreamUtils.readsInParallel(options, PhaseTracker.SERVER.onSidedThread())) {
+            // Chunks are still looked up on this thread, only reading their elements is
+            // spread over the common pool. The identity function copies into buffers that
+            // aren't thread safe, so it runs here afterwards, in chunk order.
+            final List<Section> sections = sectionStream.collect(Collectors.toList());
+            final List<ReadElements<KeyReference, MC>> read = sections.parallelStream()
+                .map(section -> {
+                    final ReadElements<KeyReference, MC> elements = new ReadElements<>();
+                    entityAccessor.forEach(section, (pos, element) -> {
+                        elements.keys.add(entityToKey.apply(pos.immutable(), element));
+                        elements.elements.add(element);
+                    });
+                    return elements;
+                })
+                .collect(Collectors.toList());
+            final Set<KeyReference> availablePositions = new LinkedHashSet<>();
+            for (final ReadElements<KeyReference, MC> elements : read) {
+                for (int i = 0; i < elements.keys.size(); i++) {
+                    final KeyReference keyRef = elements.keys.get(i);
+                    availablePositions.add(keyRef);
+                    identityFunction.accept(keyRef, elements.elements.get(i));
+                }
+            }
+            filteredPosStream = availablePositions.stream();
+        } else if (options.loadingStyle().immediateLoading()) {
             final Set<KeyReference> availableTileEntityPositions = new LinkedHashSet<>();
-            sectionStream
-                .map(entityAccessor)
-                .forEach((map) -> map.forEach(entry -> entryConsumer.accept(entry, availableTileEntityPositions)));
+            final ElementVisitor<MC> visitor = entryConsumer.apply(availableTileEntityPositions);
+            sectionStream.forEach(section -> entityAccessor.forEach(section, visitor));
             filteredPosStream = availableTileEntityPositions.stream();
         } else {
             // This is where the entirety of stream lazy evaluation occurs:
@@ -641,8 +724,7 @@ private static <R extends Volume, API, MC, Section, KeyReference> SpongeVolumeSt
             filteredPosStream = sectionStream
                 .flatMap(chunk -> {
                     final Set<KeyReference> blockEntityPoses = new LinkedHashSet<>();
-                    entityAccessor.apply(chunk)
-                        .forEach(entry -> entryConsumer.accept(entry, blockEntityPoses));
+                    entityAccessor.forEach(chunk, entryConsumer.apply(blockEntityPoses));
                     return blockEntityPoses.stream();
                 });
         }
@@ -652,7 +734,28 @@ private static <R extends Volume, API, MC, Section, KeyReference> SpongeVolumeSt
             .filter(Objects::nonNull)
             .filter(tuple -> Objects.nonNull(tuple.getB()))
             .map(elementGenerator);
-        return new SpongeVolumeStream<>(volumeStreamBacker, worldSupplier);
+        return new SpongeVolumeStream<>(volumeStreamBacker, worldSupplier, parallel);
+    }
+
+    /**
+     * Gets whether a stream with the given options reads its chunks in
+     * parallel. Sections are read live, so this is only allowed from the
+     * server thread, which then blocks until every read is joined and
+     * no tick can change them in the meantime. Anywhere else the stream
+     * falls back to reading the sections one by one.
+     *
+     * @param options The stream options
+     * @param onServerThread Whether the stream is created on the server thread
+     * @return Whether the chunks are read in parallel
+     */
+    static boolean readsInParallel(final StreamOptions options, final boolean onServerThread) {
+        return onServerThread && options instanceof SpongeStreamOptions && ((SpongeStreamOptions) options).parallel();
+    }
+
+    private static final class ReadElements<KeyReference, MC> {
+
+        final List<KeyReference> keys = new ArrayList<>();
+        final List<MC> elements = new ArrayList<>();
     }
 
 }
@@ -92,6 +92,24 @@ public SpongeArchetypeVolume(final Vector3i start, final Vector3i size, final Re
         this.entities = new ObjectArrayMutableEntityArchetypeBuffer(start, size);
     }
 
+    /**
+     * Wraps already populated block and biome buffers, which must cover the
+     * same area. Neither buffer is copied.
+     *
+     * @param blocks The blocks
+     * @param biomes The biomes
+     */
+    public SpongeArchetypeVolume(final ArrayMutableBlockBuffer blocks, final ByteArrayMutableBiomeBuffer biomes) {
+        super(blocks.min(), blocks.size());
+        if (!blocks.min().equals(biomes.min()) || !blocks.size().equals(biomes.size())) {
+            throw new IllegalArgumentException("Block and biome buffers must cover the same area");
+        }
+        this.blocks = blocks;
+        this.blockEntities = new MutableMapBlockEntityArchetypeBuffer(blocks);
+        this.biomes = biomes;
+        this.entities = new ObjectArrayMutableEntityArchetypeBuffer(blocks.min(), blocks.size());
+    }
+
     private SpongeArchetypeVolume(final Vector3i start, final Vector3i size, final Palette<Biome, Biome> biomePalette) {
         super(start, size);
         final ArrayMutableBlockBuffer blocks = new ArrayMutableBlockBuffer(start, size);
@@ -109,7 +109,7 @@ public ArrayMutableBlockBuffer(final Palette<BlockState, BlockType> palette, fin
      * @param start The start block position
      * @param size The block size
      */
-    ArrayMutableBlockBuffer(final Palette<BlockState, BlockType> palette, final BlockBackingData blocks, final Vector3i start, final Vector3i size) {
+    public ArrayMutableBlockBuffer(final Palette<BlockState, BlockType> palette, final BlockBackingData blocks, final Vector3i start, final Vector3i size) {
         super(start, size);
         this.palette = palette.asMutable(Sponge.game());
         this.data = blocks;
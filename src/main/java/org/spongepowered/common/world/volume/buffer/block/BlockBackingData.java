@@ -173,6 +173,24 @@ public int get(final int index) {
             return (int) (this.longArray[longIndex] >>> bitOffset & this.maxValue);
         }
 
+        /**
+         * Gets backing data able to hold {@code highestValue}, which is this
+         * instance if it already can, or a wider copy of it otherwise.
+         *
+         * @param highestValue The highest value to prepare for
+         * @return The backing data holding the same values
+         */
+        public PackedBackingData grow(final int highestValue) {
+            if (highestValue <= this.maxValue) {
+                return this;
+            }
+            final PackedBackingData grown = new PackedBackingData(this.arraySize, highestValue);
+            for (int i = 0; i < this.arraySize; i++) {
+                grown.set(i, this.get(i));
+            }
+            return grown;
+        }
+
         @Override
         public PackedBackingData copyOf() {
             return new PackedBackingData(this.arraySize, this.bits, this.longArray.clone());
@@ -34,11 +34,13 @@ public class SpongeStreamOptions implements StreamOptions {
 
     private final boolean copies;
     private final LoadingStyle loadingStyle;
+    private final boolean parallel;
 
     SpongeStreamOptions(final SpongeStreamOptionsBuilder builder) {
         Objects.requireNonNull(builder, "Builder cannot be null!");
         this.loadingStyle = builder.loadingStyle;
         this.copies = builder.copies;
+        this.parallel = builder.parallel;
     }
 
     @Override
@@ -51,6 +53,19 @@ public LoadingStyle loadingStyle() {
         return this.loadingStyle;
     }
 
+    /**
+     * Gets whether the stream reads its chunks in parallel. This only
+     * happens for streams created on the server thread, the region is
+     * then read up front regardless of the {@link #loadingStyle()}.
+     * Applying a parallel stream to a world from another thread is done in
+     * batches on the server thread.
+     *
+     * @return Whether the stream reads its chunks in parallel
+     */
+    public boolean parallel() {
+        return this.parallel;
+    }
+
     @Override
     public boolean equals(final @Nullable Object o) {
         if (this == o) {
@@ -60,12 +75,12 @@ public boolean equals(final @Nullable Object o) {
             return false;
         }
         final SpongeStreamOptions that = (SpongeStreamOptions) o;
-        return this.copies == that.copies && this.loadingStyle == that.loadingStyle;
+        return this.copies == that.copies && this.loadingStyle == that.loadingStyle && this.parallel == that.parallel;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.copies, this.loadingStyle);
+        return Objects.hash(this.copies, this.loadingStyle, this.parallel);
     }
 
     @Override
@@ -77,6 +92,7 @@ public String toString() {
         )
             .add("copies=" + this.copies)
             .add("loadingStyle=" + this.loadingStyle)
+            .add("parallel=" + this.parallel)
             .toString();
     }
 }
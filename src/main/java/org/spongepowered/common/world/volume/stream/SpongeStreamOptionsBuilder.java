@@ -32,6 +32,7 @@ public class SpongeStreamOptionsBuilder implements StreamOptions.Builder {
 
     boolean copies = false;
     StreamOptions.LoadingStyle loadingStyle = StreamOptions.LoadingStyle.LAZILY_UNGENERATED;
+    boolean parallel = false;
 
     @Override
     public StreamOptions.Builder setCarbonCopy(final boolean copies) {
@@ -45,10 +46,22 @@ public StreamOptions.Builder setLoadingStyle(final StreamOptions.LoadingStyle st
         return this;
     }
 
+    /**
+     * Sets whether chunks are read in parallel, see {@link SpongeStreamOptions#parallel()}.
+     *
+     * @param parallel Whether to read chunks in parallel
+     * @return This builder, for chaining
+     */
+    public StreamOptions.Builder setParallel(final boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
     @Override
     public StreamOptions.Builder reset() {
         this.copies = false;
         this.loadingStyle = StreamOptions.LoadingStyle.LAZILY_UNGENERATED;
+        this.parallel = false;
         return this;
     }
 
@@ -42,10 +42,12 @@
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -55,7 +57,7 @@
 public abstract class GameProfileCacheMixin_API implements GameProfileCache {
 
     // @formatter:off
-    @Shadow @Final @Mutable private final Map<String, GameProfileCache_GameProfileInfoAccessor> profilesByName = new ConcurrentHashMap<>();
+    @Shadow @Final @Mutable private final Map<String, GameProfileCache_GameProfileInfoAccessor> profilesByName = new ConcurrentSkipListMap<>();
     @Shadow @Final @Mutable private final Map<UUID, GameProfileCache_GameProfileInfoAccessor> profilesByUUID = new ConcurrentHashMap<>();
 
     @Nullable @Shadow public abstract com.mojang.authlib.GameProfile shadow$get(UUID uniqueId);
@@ -172,9 +174,10 @@ public Collection<GameProfile> all() {
     @Override
     public Stream<GameProfile> streamOfMatches(final String name) {
         final String search = Objects.requireNonNull(name, "name").toLowerCase(Locale.ROOT);
-        return this.profilesByName.values().stream()
+        // Names are keyed in lower case, so all matches are within the range of keys starting with the search
+        return ((NavigableMap<String, GameProfileCache_GameProfileInfoAccessor>) this.profilesByName)
+                .subMap(search, true, search + Character.MAX_VALUE, true).values().stream()
                 .filter(profile -> profile.invoker$getProfile().getName() != null)
-                .filter(profile -> profile.invoker$getProfile().getName().toLowerCase(Locale.ROOT).startsWith(search))
                 .map(this::api$updateLastAccess);
     }
 
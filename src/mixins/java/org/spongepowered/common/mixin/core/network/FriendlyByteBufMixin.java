@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.network;
 
+import io.netty.handler.codec.EncoderException;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
@@ -32,9 +33,13 @@
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.util.locale.Locales;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.ModifyVariable;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.adventure.AdventureTextComponent;
 import org.spongepowered.common.adventure.NativeComponentRenderer;
 import org.spongepowered.common.bridge.network.FriendlyByteBufBridge;
 import org.spongepowered.common.util.Constants;
@@ -44,6 +49,10 @@
 @Mixin(FriendlyByteBuf.class)
 public abstract class FriendlyByteBufMixin implements FriendlyByteBufBridge {
 
+    // @formatter:off
+    @Shadow public abstract FriendlyByteBuf shadow$writeVarInt(int value);
+    // @formatter:on
+
     private @Nullable Locale impl$locale;
 
     @ModifyVariable(method = "writeComponent", at = @At("HEAD"), argsOnly = true)
@@ -51,6 +60,21 @@ private Component localizeComponent(final Component input) {
         return NativeComponentRenderer.apply(input, this.impl$locale == null ? Locales.DEFAULT : this.impl$locale);
     }
 
+    @Inject(method = "writeComponent", at = @At("HEAD"), cancellable = true)
+    private void impl$writeEncodedComponent(final Component input, final CallbackInfoReturnable<FriendlyByteBuf> cir) {
+        if (!(input instanceof AdventureTextComponent)) {
+            return;
+        }
+        // Reuse the json of the render for this locale, rendering an already rendered component is a no-op
+        final byte[] encoded = ((AdventureTextComponent) input).rendered(this.impl$locale == null ? Locales.DEFAULT : this.impl$locale).encoded();
+        if (encoded.length > 262144) {
+            throw new EncoderException("String too big (was " + encoded.length + " bytes encoded, max " + 262144 + ")");
+        }
+        this.shadow$writeVarInt(encoded.length);
+        ((FriendlyByteBuf) (Object) this).writeBytes(encoded);
+        cir.setReturnValue((FriendlyByteBuf) (Object) this);
+    }
+
     @Override
     public CompoundTag bridge$renderItemComponents(CompoundTag tag) {
         if (tag == null || !tag.contains(Constants.Item.ITEM_DISPLAY, 10)) {
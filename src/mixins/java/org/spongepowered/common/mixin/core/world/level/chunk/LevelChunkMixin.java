@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.world.level.chunk;
 
 import com.google.common.base.MoreObjects;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerChunkCache;
 import net.minecraft.util.ClassInstanceMultiMap;
@@ -61,15 +62,13 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.function.LongToIntFunction;
 
 import javax.annotation.Nullable;
 
@@ -94,8 +93,7 @@ public abstract class LevelChunkMixin implements LevelChunkBridge, CacheKeyBridg
     private boolean impl$isSpawning = false;
     private final net.minecraft.world.level.chunk.LevelChunk[] impl$neighbors = new net.minecraft.world.level.chunk.LevelChunk[4];
     private long impl$cacheKey;
-    private Map<Integer, PlayerTracker> impl$trackedIntBlockPositions = new HashMap<>();
-    private Map<Short, PlayerTracker> impl$trackedShortBlockPositions = new HashMap<>();
+    private Int2LongMap impl$trackedBlockPositions = PlayerTracker.newPositionMap(0);
 
     @Inject(method = "<init>(Lnet/minecraft/world/level/Level;Lnet/minecraft/world/level/ChunkPos;Lnet/minecraft/world/level/chunk/ChunkBiomeContainer;Lnet/minecraft/world/level/chunk/UpgradeData;Lnet/minecraft/world/level/TickList;Lnet/minecraft/world/level/TickList;J[Lnet/minecraft/world/level/chunk/LevelChunkSection;Ljava/util/function/Consumer;)V",
             at = @At("RETURN"))
@@ -139,23 +137,13 @@ public abstract class LevelChunkMixin implements LevelChunkBridge, CacheKeyBridg
     // These methods are enabled in ChunkMixin_CreatorTracked as a Mixin plugin
 
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() {
-        return this.impl$trackedIntBlockPositions;
+    public Int2LongMap bridge$getTrackedPlayerPositions() {
+        return this.impl$trackedBlockPositions;
     }
 
     @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() {
-        return this.impl$trackedShortBlockPositions;
-    }
-
-    @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) {
-        this.impl$trackedIntBlockPositions = trackedPositions;
-    }
-
-    @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) {
-        this.impl$trackedShortBlockPositions = trackedPositions;
+    public void bridge$setTrackedPlayerPositions(final Int2LongMap trackedPositions) {
+        this.impl$trackedBlockPositions = trackedPositions;
     }
 
     @Override
@@ -189,78 +177,60 @@ public abstract class LevelChunkMixin implements LevelChunkBridge, CacheKeyBridg
             }
         }
 
-        if (trackerType == PlayerTracker.Type.CREATOR) {
-            this.impl$setTrackedUUID(pos, uuid, trackerType, (pt, idx) -> {
-                pt.creatorindex = idx;
-                pt.notifierIndex = idx;
-            });
-        } else {
-            this.impl$setTrackedUUID(pos, uuid, trackerType, (pt, idx) -> pt.notifierIndex = idx);
-        }
+        // A new creator is also the notifier of an already tracked position
+        this.impl$setTrackedUUID(pos, uuid, trackerType, true);
     }
 
-    public Optional<UUID> bridge$trackedUUID(final BlockPos pos, final Function<PlayerTracker, Integer> func) {
+    public Optional<UUID> bridge$trackedUUID(final BlockPos pos, final LongToIntFunction func) {
         if (((LevelBridge) this.level).bridge$isFake()) {
             return Optional.empty();
         }
 
         final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.impl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = func.apply(intTracker);
-            return this.impl$getValidatedUUID(key, ownerIndex);
-        }
-        final short shortKey = Constants.Sponge.blockPosToShort(pos);
-        final PlayerTracker shortTracker = this.impl$trackedShortBlockPositions.get(shortKey);
-        if (shortTracker != null) {
-            final int ownerIndex = func.apply(shortTracker);
-            return this.impl$getValidatedUUID(shortKey, ownerIndex);
+        final long indices = this.impl$trackedBlockPositions.get(key);
+        if (indices == PlayerTracker.NONE) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        return this.impl$getValidatedUUID(key, func.applyAsInt(indices));
     }
 
     @Override
     public Optional<UUID> bridge$getBlockCreatorUUID(final BlockPos pos) {
-       return this.bridge$trackedUUID(pos, pt -> pt.creatorindex);
+       return this.bridge$trackedUUID(pos, PlayerTracker::creatorIndex);
     }
 
     @Override
     public Optional<UUID> bridge$getBlockNotifierUUID(final BlockPos pos) {
-        return this.bridge$trackedUUID(pos, pt -> pt.notifierIndex);
-    }
-
-    private <T> void impl$computePlayerTracker(final Map<T, PlayerTracker> map, final T blockPos, final int index, final PlayerTracker.Type type, final BiConsumer<PlayerTracker, Integer> consumer) {
-        final PlayerTracker tracker = map.get(blockPos);
-        if (tracker != null) {
-            consumer.accept(tracker, index);
-        } else {
-            map.put(blockPos, new PlayerTracker(index, type));
-        }
+        return this.bridge$trackedUUID(pos, PlayerTracker::notifierIndex);
     }
 
-    private void impl$setTrackedUUID(final BlockPos pos, final UUID uuid, final PlayerTracker.Type type, final BiConsumer<PlayerTracker, Integer> consumer) {
+    private void impl$setTrackedUUID(final BlockPos pos, final UUID uuid, final PlayerTracker.Type type, final boolean creatorNotifies) {
         if (((LevelBridge) this.level).bridge$isFake()) {
             return;
         }
         final PrimaryLevelDataBridge worldInfo = (PrimaryLevelDataBridge) this.level.getLevelData();
         final int index = uuid == null ? -1 : worldInfo.bridge$getIndexForUniqueId(uuid);
-        if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            this.impl$computePlayerTracker(this.impl$trackedShortBlockPositions, blockPos, index, type, consumer);
+        final int key = Constants.Sponge.blockPosToInt(pos);
+        if (!this.impl$trackedBlockPositions.containsKey(key)) {
+            this.impl$trackedBlockPositions.put(key, type == PlayerTracker.Type.CREATOR ? PlayerTracker.pack(index, -1) : PlayerTracker.pack(-1, index));
             return;
         }
-        final int blockPos = Constants.Sponge.blockPosToInt(pos);
-        this.impl$computePlayerTracker(this.impl$trackedIntBlockPositions, blockPos, index, type, consumer);
+        final long indices = this.impl$trackedBlockPositions.get(key);
+        if (type == PlayerTracker.Type.CREATOR) {
+            this.impl$trackedBlockPositions.put(key, PlayerTracker.pack(index, creatorNotifies ? index : PlayerTracker.notifierIndex(indices)));
+        } else {
+            this.impl$trackedBlockPositions.put(key, PlayerTracker.pack(PlayerTracker.creatorIndex(indices), index));
+        }
     }
 
     @Override
     public void bridge$setBlockNotifier(final BlockPos pos, @Nullable final UUID uuid) {
-       this.impl$setTrackedUUID(pos, uuid, PlayerTracker.Type.NOTIFIER, (pt, idx) -> pt.notifierIndex = idx);
+       this.impl$setTrackedUUID(pos, uuid, PlayerTracker.Type.NOTIFIER, false);
     }
 
     @Override
     public void bridge$setBlockCreator(final BlockPos pos, @Nullable final UUID uuid) {
-        this.impl$setTrackedUUID(pos, uuid, PlayerTracker.Type.CREATOR, (pt, idx) -> pt.creatorindex = idx);
+        this.impl$setTrackedUUID(pos, uuid, PlayerTracker.Type.CREATOR, false);
     }
 
     private Optional<UUID> impl$getValidatedUUID(final int key, final int ownerIndex) {
@@ -269,10 +239,7 @@ public abstract class LevelChunkMixin implements LevelChunkBridge, CacheKeyBridg
         if (uuid != null) {
             // Verify id is valid and not invalid
             if (SpongeConfigs.getCommon().get().world.invalidLookupUuids.contains(uuid)) {
-                if (key <= Short.MAX_VALUE) {
-                    this.impl$trackedShortBlockPositions.remove((short) key);
-                }
-                this.impl$trackedIntBlockPositions.remove(key);
+                this.impl$trackedBlockPositions.remove(key);
                 return Optional.empty();
             }
 
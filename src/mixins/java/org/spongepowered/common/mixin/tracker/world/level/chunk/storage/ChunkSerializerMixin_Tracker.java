@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.mixin.tracker.world.level.chunk.storage;
 
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMaps;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
@@ -43,10 +45,6 @@
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.util.Constants;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.BiConsumer;
-
 @Mixin(ChunkSerializer.class)
 public abstract class ChunkSerializerMixin_Tracker {
 
@@ -55,29 +53,22 @@ public abstract class ChunkSerializerMixin_Tracker {
         if (!(param1 instanceof LevelChunk)) {
             return;
         }
-        final LevelChunkBridge chunk = (LevelChunkBridge) param1;
-        if (!chunk.bridge$getTrackedShortPlayerPositions().isEmpty() || !chunk.bridge$getTrackedIntPlayerPositions().isEmpty()) {
+        final Int2LongMap trackedPositions = ((LevelChunkBridge) param1).bridge$getTrackedPlayerPositions();
+        if (!trackedPositions.isEmpty()) {
             final CompoundTag level = (CompoundTag) cir.getReturnValue().get("Level");
             final CompoundTag trackedNbt = new CompoundTag();
-            final ListTag positions = new ListTag();
-            trackedNbt.put(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
             level.put(Constants.Sponge.Data.V2.SPONGE_DATA, trackedNbt);
 
-            ChunkSerializerMixin_Tracker.impl$writeMap(positions, chunk.bridge$getTrackedShortPlayerPositions(), (nbt, pos) -> nbt.putShort("pos", pos));
-            ChunkSerializerMixin_Tracker.impl$writeMap(positions, chunk.bridge$getTrackedIntPlayerPositions(), (nbt, pos) -> nbt.putInt("ipos", pos));
-        }
-    }
-
-    private static <T> void impl$writeMap(ListTag positions, Map<T, PlayerTracker> map, BiConsumer<CompoundTag, T> consumer) {
-        for (final Map.Entry<T, PlayerTracker> mapEntry : map.entrySet()) {
-            final T pos = mapEntry.getKey();
-            final int ownerUniqueIdIndex = mapEntry.getValue().creatorindex;
-            final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-            final CompoundTag valueNbt = new CompoundTag();
-            valueNbt.putInt("owner", ownerUniqueIdIndex);
-            valueNbt.putInt("notifier", notifierUniqueIdIndex);
-            consumer.accept(valueNbt, pos);
-            positions.add(valueNbt);
+            // Written as two parallel arrays instead of a compound per position
+            final int[] positions = new int[trackedPositions.size()];
+            final long[] indices = new long[trackedPositions.size()];
+            int i = 0;
+            for (final Int2LongMap.Entry entry : Int2LongMaps.fastIterable(trackedPositions)) {
+                positions[i] = entry.getIntKey();
+                indices[i++] = entry.getLongValue();
+            }
+            trackedNbt.putIntArray(Constants.Sponge.SPONGE_TRACKED_POSITIONS, positions);
+            trackedNbt.putLongArray(Constants.Sponge.SPONGE_TRACKED_INDICES, indices);
         }
     }
 
@@ -92,30 +83,31 @@ public abstract class ChunkSerializerMixin_Tracker {
         if (spongeData.isEmpty()) {
             return;
         }
-        final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-        final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
+        final LevelChunkBridge chunk = (LevelChunkBridge) chunkAccess;
+        if (spongeData.contains(Constants.Sponge.SPONGE_TRACKED_POSITIONS, Constants.NBT.TAG_INT_ARRAY)) {
+            final int[] positions = spongeData.getIntArray(Constants.Sponge.SPONGE_TRACKED_POSITIONS);
+            final long[] indices = spongeData.getLongArray(Constants.Sponge.SPONGE_TRACKED_INDICES);
+            final int size = Math.min(positions.length, indices.length);
+            final Int2LongMap trackedPositions = PlayerTracker.newPositionMap(size);
+            for (int i = 0; i < size; i++) {
+                trackedPositions.put(positions[i], indices[i]);
+            }
+            chunk.bridge$setTrackedPlayerPositions(trackedPositions);
+            return;
+        }
 
+        // Chunks saved before the positions were written as arrays
         final ListTag list = spongeData.getList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, 10);
-        final LevelChunkBridge chunk = (LevelChunkBridge) chunkAccess;
+        final Int2LongMap trackedPositions = PlayerTracker.newPositionMap(list.size());
         for (Tag tag : list) {
-            final PlayerTracker tracker = new PlayerTracker();
             final CompoundTag data = (CompoundTag) tag;
-            final boolean isShortPos = data.contains("pos");
-            if (data.contains("owner")) {
-                tracker.creatorindex = data.getInt("owner");
-            }
-            if (data.contains("notifier")) {
-                tracker.notifierIndex = data.getInt("notifier");
-            }
-            if (tracker.notifierIndex != -1 || tracker.creatorindex != -1) {
-                if (isShortPos) {
-                    trackedShortPlayerPositions.put(data.getShort("pos"), tracker);
-                } else {
-                    trackedIntPlayerPositions.put(data.getInt("ipos"), tracker);
-                }
+            final int creatorIndex = data.contains("owner") ? data.getInt("owner") : -1;
+            final int notifierIndex = data.contains("notifier") ? data.getInt("notifier") : -1;
+            if (notifierIndex != -1 || creatorIndex != -1) {
+                final int pos = data.contains("pos") ? Constants.Sponge.blockPosShortToInt(data.getShort("pos")) : data.getInt("ipos");
+                trackedPositions.put(pos, PlayerTracker.pack(creatorIndex, notifierIndex));
             }
         }
-        chunk.bridge$setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-        chunk.bridge$setTrackedShortPlayerPositions(trackedShortPlayerPositions);
+        chunk.bridge$setTrackedPlayerPositions(trackedPositions);
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.adventure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.renderer.ComponentRenderer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RenderCacheTest {
+
+    private static ComponentRenderer<Locale> countingRenderer(final AtomicInteger renders) {
+        return (component, locale) -> {
+            renders.incrementAndGet();
+            return component.append(Component.text(locale.toLanguageTag()));
+        };
+    }
+
+    @Test
+    void rendersOncePerLocaleForNewWrappers() {
+        final AtomicInteger renders = new AtomicInteger();
+        final ComponentRenderer<Locale> renderer = RenderCacheTest.countingRenderer(renders);
+        final Locale[] locales = {Locale.ENGLISH, Locale.GERMAN};
+        final Set<AdventureTextComponent> rendered = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < 1000; i++) {
+            // Wrapped anew for every send, like SpongeAdventure.asVanilla does
+            final AdventureTextComponent wrapper = new AdventureTextComponent(Component.text("Hello"), renderer);
+            rendered.add(wrapper.rendered(locales[i % locales.length]));
+        }
+        assertEquals(2, renders.get());
+        // So the encoded json is shared as well
+        assertEquals(2, rendered.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final AtomicInteger renders = new AtomicInteger();
+        final ComponentRenderer<Locale> renderer = RenderCacheTest.countingRenderer(renders);
+        final RenderCache cache = new RenderCache(2);
+        final Component first = Component.text("first");
+        final Component second = Component.text("second");
+        final Component third = Component.text("third");
+
+        final AdventureTextComponent firstRender = cache.rendered(renderer, first, Locale.ENGLISH);
+        cache.rendered(renderer, second, Locale.ENGLISH);
+        // Used more recently than the second render, so it survives the third
+        assertSame(firstRender, cache.rendered(renderer, first, Locale.ENGLISH));
+        cache.rendered(renderer, third, Locale.ENGLISH);
+        assertEquals(3, renders.get());
+        assertEquals(2, cache.size());
+
+        assertSame(firstRender, cache.rendered(renderer, first, Locale.ENGLISH));
+        assertEquals(3, renders.get());
+        cache.rendered(renderer, second, Locale.ENGLISH);
+        assertEquals(4, renders.get());
+    }
+
+    @Test
+    void keysOnComponentLocaleAndRenderer() {
+        final AtomicInteger renders = new AtomicInteger();
+        final ComponentRenderer<Locale> renderer = RenderCacheTest.countingRenderer(renders);
+        final RenderCache cache = new RenderCache(16);
+        cache.rendered(renderer, Component.text("a"), Locale.ENGLISH);
+        cache.rendered(renderer, Component.text("a"), Locale.ENGLISH);
+        assertEquals(1, renders.get());
+        cache.rendered(renderer, Component.text("a"), Locale.FRENCH);
+        cache.rendered(renderer, Component.text("b"), Locale.ENGLISH);
+        cache.rendered(RenderCacheTest.countingRenderer(renders), Component.text("a"), Locale.ENGLISH);
+        assertEquals(4, renders.get());
+    }
+
+}
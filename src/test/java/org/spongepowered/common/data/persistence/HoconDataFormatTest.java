@@ -0,0 +1,184 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataFormatException;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.data.SpongeDataManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class HoconDataFormatTest {
+
+    private static final HoconDataFormat HOCON = new HoconDataFormat();
+    private static @Nullable SpongeDataManager dataManager;
+
+    @BeforeAll
+    static void setup() {
+        // Plain values don't need any translators or registries
+        HoconDataFormatTest.dataManager = SpongeDataManager.INSTANCE;
+        SpongeDataManager.INSTANCE = Mockito.mock(SpongeDataManager.class);
+    }
+
+    @AfterAll
+    static void teardown() {
+        SpongeDataManager.INSTANCE = HoconDataFormatTest.dataManager;
+    }
+
+    private static DataContainer createContainer() {
+        final DataContainer inner = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        inner.set(DataQuery.of("name"), "inner");
+        inner.set(DataQuery.of("flag"), true);
+
+        final List<DataView> entries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final DataContainer entry = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+            entry.set(DataQuery.of("index"), i);
+            entries.add(entry);
+        }
+
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        container.set(DataQuery.of("int"), 1);
+        container.set(DataQuery.of("long"), Long.MAX_VALUE);
+        container.set(DataQuery.of("double"), 10.5D);
+        container.set(DataQuery.of("nested", "inner"), inner);
+        container.set(DataQuery.of("nested", "entries"), entries);
+        container.set(DataQuery.of("names"), Arrays.asList("a", "b", "c"));
+        container.set(DataQuery.of("bytes"), new byte[] {Byte.MIN_VALUE, -1, 0, 1, Byte.MAX_VALUE});
+        container.set(DataQuery.of("ints"), new int[] {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE});
+        container.set(DataQuery.of("longs"), new long[] {Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE});
+        return container;
+    }
+
+    private static void assertContents(final DataView view) {
+        assertEquals(1, view.getInt(DataQuery.of("int")).get());
+        assertEquals(Long.MAX_VALUE, view.getLong(DataQuery.of("long")).get());
+        assertEquals(10.5D, view.getDouble(DataQuery.of("double")).get());
+
+        final DataView inner = view.getView(DataQuery.of("nested", "inner")).get();
+        assertEquals("inner", inner.getString(DataQuery.of("name")).get());
+        assertEquals(true, inner.getBoolean(DataQuery.of("flag")).get());
+        final List<DataView> entries = view.getViewList(DataQuery.of("nested", "entries")).get();
+        assertEquals(3, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i, entries.get(i).getInt(DataQuery.of("index")).get());
+        }
+        assertEquals(Arrays.asList("a", "b", "c"), view.getStringList(DataQuery.of("names")).get());
+
+        // HOCON has no typed arrays, they come back as lists of numbers
+        assertEquals(Arrays.asList(Byte.MIN_VALUE, (byte) -1, (byte) 0, (byte) 1, Byte.MAX_VALUE),
+                view.getByteList(DataQuery.of("bytes")).get());
+        assertEquals(Arrays.asList(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE), view.getIntegerList(DataQuery.of("ints")).get());
+        assertEquals(Arrays.asList(Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE), view.getLongList(DataQuery.of("longs")).get());
+    }
+
+    @Test
+    void stringsRoundTrip() throws IOException {
+        final String hocon = HoconDataFormatTest.HOCON.write(HoconDataFormatTest.createContainer());
+
+        HoconDataFormatTest.assertContents(HoconDataFormatTest.HOCON.read(hocon));
+    }
+
+    @Test
+    void streamsRoundTrip() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HoconDataFormatTest.HOCON.writeTo(output, HoconDataFormatTest.createContainer());
+
+        HoconDataFormatTest.assertContents(HoconDataFormatTest.HOCON.readFrom(new ByteArrayInputStream(output.toByteArray())));
+    }
+
+    @Test
+    void handWrittenDocuments() throws IOException {
+        final DataContainer view = HoconDataFormatTest.HOCON.read(""
+                + "# Comments and unquoted keys are fine\n"
+                + "nested.inner { name = inner, flag = true }\n"
+                + "nested.entries = [ { index = 0 }, { index = 1 } ]\n"
+                + "names = [ a, b ]\n");
+
+        assertEquals("inner", view.getString(DataQuery.of("nested", "inner", "name")).get());
+        assertEquals(true, view.getBoolean(DataQuery.of("nested", "inner", "flag")).get());
+        assertEquals(1, view.getViewList(DataQuery.of("nested", "entries")).get().get(1).getInt(DataQuery.of("index")).get());
+        assertEquals(Arrays.asList("a", "b"), view.getStringList(DataQuery.of("names")).get());
+    }
+
+    @Test
+    void invalidDocumentsFail() {
+        assertThrows(InvalidDataFormatException.class, () -> HoconDataFormatTest.HOCON.read("nested { name = "));
+    }
+
+    @Test
+    void visitorsSeeTheDocumentInOrder() throws IOException {
+        // HOCON objects don't keep their key order, so this sticks to a single key per view
+        final String document = "b { c = [ true, { d = e } ] }";
+        final StringBuilder events = new StringBuilder();
+        HoconDataFormatTest.HOCON.readFrom(new StringReader(document), new DataVisitor() {
+
+            @Override
+            public void beginView(final @Nullable String key) {
+                events.append("view ").append(key).append(';');
+            }
+
+            @Override
+            public void endView() {
+                events.append("end view;");
+            }
+
+            @Override
+            public void beginList(final @Nullable String key) {
+                events.append("list ").append(key).append(';');
+            }
+
+            @Override
+            public void endList() {
+                events.append("end list;");
+            }
+
+            @Override
+            public void value(final @Nullable String key, final @Nullable Object value) {
+                events.append(key).append('=').append(value).append(';');
+            }
+        });
+
+        assertEquals("view b;list c;null=true;view null;d=e;end view;end list;end view;", events.toString());
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.data.SpongeDataManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class JsonDataFormatTest {
+
+    private static final JsonDataFormat JSON = new JsonDataFormat();
+    private static @Nullable SpongeDataManager dataManager;
+
+    @BeforeAll
+    static void setup() {
+        // Plain values don't need any translators or registries
+        JsonDataFormatTest.dataManager = SpongeDataManager.INSTANCE;
+        SpongeDataManager.INSTANCE = Mockito.mock(SpongeDataManager.class);
+    }
+
+    @AfterAll
+    static void teardown() {
+        SpongeDataManager.INSTANCE = JsonDataFormatTest.dataManager;
+    }
+
+    private static DataContainer createContainer() {
+        final DataContainer inner = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        inner.set(DataQuery.of("name"), "inner");
+        inner.set(DataQuery.of("flag"), true);
+
+        final List<DataView> entries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final DataContainer entry = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+            entry.set(DataQuery.of("index"), i);
+            entries.add(entry);
+        }
+
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        container.set(DataQuery.of("int"), 1);
+        container.set(DataQuery.of("long"), Long.MAX_VALUE);
+        container.set(DataQuery.of("double"), 10.5D);
+        container.set(DataQuery.of("nested", "inner"), inner);
+        container.set(DataQuery.of("nested", "entries"), entries);
+        container.set(DataQuery.of("names"), Arrays.asList("a", "b", "c"));
+        container.set(DataQuery.of("bytes"), new byte[] {Byte.MIN_VALUE, -1, 0, 1, Byte.MAX_VALUE});
+        container.set(DataQuery.of("ints"), new int[] {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE});
+        container.set(DataQuery.of("longs"), new long[] {Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE});
+        return container;
+    }
+
+    private static void assertContents(final DataView view) {
+        assertEquals(1, view.get(DataQuery.of("int")).get());
+        assertEquals(Long.MAX_VALUE, view.get(DataQuery.of("long")).get());
+        assertEquals(10.5D, view.get(DataQuery.of("double")).get());
+
+        final DataView inner = view.getView(DataQuery.of("nested", "inner")).get();
+        assertEquals("inner", inner.getString(DataQuery.of("name")).get());
+        assertEquals(true, inner.getBoolean(DataQuery.of("flag")).get());
+        final List<DataView> entries = view.getViewList(DataQuery.of("nested", "entries")).get();
+        assertEquals(3, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i, entries.get(i).getInt(DataQuery.of("index")).get());
+        }
+        assertEquals(Arrays.asList("a", "b", "c"), view.getStringList(DataQuery.of("names")).get());
+
+        assertArrayEquals(new byte[] {Byte.MIN_VALUE, -1, 0, 1, Byte.MAX_VALUE}, (byte[]) view.get(DataQuery.of("bytes")).get());
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE}, (int[]) view.get(DataQuery.of("ints")).get());
+        assertArrayEquals(new long[] {Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE}, (long[]) view.get(DataQuery.of("longs")).get());
+    }
+
+    @Test
+    void stringsRoundTrip() throws IOException {
+        final String json = JsonDataFormatTest.JSON.write(JsonDataFormatTest.createContainer());
+
+        JsonDataFormatTest.assertContents(JsonDataFormatTest.JSON.read(json));
+    }
+
+    @Test
+    void streamsRoundTrip() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        JsonDataFormatTest.JSON.writeTo(output, JsonDataFormatTest.createContainer());
+
+        JsonDataFormatTest.assertContents(JsonDataFormatTest.JSON.readFrom(new ByteArrayInputStream(output.toByteArray())));
+    }
+
+    @Test
+    void rewrittenDocumentsAreUnchanged() throws IOException {
+        final String json = JsonDataFormatTest.JSON.write(JsonDataFormatTest.createContainer());
+
+        assertEquals(json, JsonDataFormatTest.JSON.write(JsonDataFormatTest.JSON.read(json)));
+    }
+
+    @Test
+    void typedArraysWithTheirTypeLast() throws IOException {
+        // Written by other tools, these are read as views and converted once they end
+        final DataContainer view = JsonDataFormatTest.JSON.read("{"
+                + "\"bytes\": {\"value\": [-128, -1, 0, 127], \"_arraytype\": \"byte\"},"
+                + "\"ints\": {\"value\": [-1, 2147483647], \"_arraytype\": \"int\"},"
+                + "\"longs\": {\"value\": [-1, 9223372036854775807], \"_arraytype\": \"long\"},"
+                + "\"nested\": {\"inner\": {\"value\": [1, 2], \"_arraytype\": \"byte\"}}"
+                + "}");
+
+        assertArrayEquals(new byte[] {-128, -1, 0, 127}, (byte[]) view.get(DataQuery.of("bytes")).get());
+        assertArrayEquals(new int[] {-1, Integer.MAX_VALUE}, (int[]) view.get(DataQuery.of("ints")).get());
+        assertArrayEquals(new long[] {-1L, Long.MAX_VALUE}, (long[]) view.get(DataQuery.of("longs")).get());
+        assertArrayEquals(new byte[] {1, 2}, (byte[]) view.get(DataQuery.of("nested", "inner")).get());
+    }
+
+    @Test
+    void typedArraysSkipUnknownFields() throws IOException {
+        final DataContainer view = JsonDataFormatTest.JSON.read(
+                "{\"bytes\": {\"_arraytype\": \"byte\", \"comment\": {\"a\": [1]}, \"value\": [-2, 3]}}");
+
+        assertArrayEquals(new byte[] {-2, 3}, (byte[]) view.get(DataQuery.of("bytes")).get());
+    }
+
+    @Test
+    void typedArraysWithoutValuesFail() {
+        assertThrows(InvalidDataException.class, () -> JsonDataFormatTest.JSON.read("{\"bytes\": {\"_arraytype\": \"byte\"}}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> JsonDataFormatTest.JSON.read("{\"bytes\": {\"_arraytype\": \"short\", \"value\": []}}"));
+    }
+
+    @Test
+    void emptyViewsAndListsRoundTrip() throws IOException {
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        container.createView(DataQuery.of("empty"));
+        container.set(DataQuery.of("list"), new ArrayList<>());
+        container.set(DataQuery.of("bytes"), new byte[0]);
+
+        final DataContainer view = JsonDataFormatTest.JSON.read(JsonDataFormatTest.JSON.write(container));
+
+        assertTrue(view.getView(DataQuery.of("empty")).get().keys(false).isEmpty());
+        assertTrue(view.getList(DataQuery.of("list")).get().isEmpty());
+        assertArrayEquals(new byte[0], (byte[]) view.get(DataQuery.of("bytes")).get());
+    }
+
+    @Test
+    void visitorsSeeTheDocumentInOrder() throws IOException {
+        final String document = "{\"a\": 1, \"b\": {\"c\": [true, {\"d\": \"e\"}]}, \"f\": {\"_arraytype\": \"int\", \"value\": [2]}}";
+        final StringBuilder events = new StringBuilder();
+        JsonDataFormatTest.JSON.readFrom(new StringReader(document), new DataVisitor() {
+
+            @Override
+            public void beginView(final @Nullable String key) {
+                events.append("view ").append(key).append(';');
+            }
+
+            @Override
+            public void endView() {
+                events.append("end view;");
+            }
+
+            @Override
+            public void beginList(final @Nullable String key) {
+                events.append("list ").append(key).append(';');
+            }
+
+            @Override
+            public void endList() {
+                events.append("end list;");
+            }
+
+            @Override
+            public void value(final @Nullable String key, final @Nullable Object value) {
+                events.append(key).append('=').append(value instanceof int[] ? Arrays.toString((int[]) value) : value).append(';');
+            }
+        });
+
+        assertEquals("a=1;view b;list c;null=true;view null;d=e;end view;end list;end view;f=[2];", events.toString());
+    }
+
+}
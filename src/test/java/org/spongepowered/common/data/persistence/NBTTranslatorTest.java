@@ -0,0 +1,221 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import net.minecraft.nbt.ByteTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.data.MemoryDataView;
+import org.spongepowered.common.data.SpongeDataManager;
+
+import java.util.List;
+
+class NBTTranslatorTest {
+
+    private static @Nullable SpongeDataManager dataManager;
+
+    @BeforeAll
+    static void setup() {
+        // Plain values don't need any translators or registries
+        NBTTranslatorTest.dataManager = SpongeDataManager.INSTANCE;
+        SpongeDataManager.INSTANCE = Mockito.mock(SpongeDataManager.class);
+    }
+
+    @AfterAll
+    static void teardown() {
+        SpongeDataManager.INSTANCE = NBTTranslatorTest.dataManager;
+    }
+
+    private static CompoundTag createCompound() {
+        final CompoundTag inner = new CompoundTag();
+        inner.putString("name", "inner");
+        inner.putIntArray("ids", new int[] {1, 2, 3});
+
+        final CompoundTag nested = new CompoundTag();
+        nested.putLong("long", Long.MAX_VALUE);
+        nested.putDouble("double", 10.5D);
+        nested.put("inner", inner);
+
+        final ListTag entries = new ListTag();
+        for (int i = 0; i < 3; i++) {
+            final CompoundTag entry = new CompoundTag();
+            entry.putInt("index", i);
+            entries.add(entry);
+        }
+        final ListTag names = new ListTag();
+        names.add(StringTag.valueOf("a"));
+        names.add(StringTag.valueOf("b"));
+
+        final CompoundTag compound = new CompoundTag();
+        compound.putInt("int", 1);
+        compound.putByte("byte", (byte) 2);
+        compound.put("flag" + NBTTranslator.BOOLEAN_IDENTIFIER, ByteTag.valueOf(true));
+        compound.put("nested", nested);
+        compound.put("entries", entries);
+        compound.put("names", names);
+        return compound;
+    }
+
+    private static boolean isPending(final DataView view) {
+        return ((MemoryDataView) view).pendingCompound().isPresent();
+    }
+
+    @Test
+    void untouchedViewsRoundTrip() {
+        final CompoundTag compound = NBTTranslatorTest.createCompound();
+        final DataContainer view = NBTTranslator.INSTANCE.translate(compound);
+
+        assertTrue(NBTTranslatorTest.isPending(view));
+        assertEquals(compound, NBTTranslator.INSTANCE.translate(view));
+        assertTrue(NBTTranslatorTest.isPending(view));
+    }
+
+    @Test
+    void inflatedViewsRoundTrip() {
+        final CompoundTag compound = NBTTranslatorTest.createCompound();
+        final DataContainer view = NBTTranslator.INSTANCE.translate(compound);
+
+        assertEquals(1, view.getInt(DataQuery.of("int")).get());
+        assertEquals(true, view.getBoolean(DataQuery.of("flag")).get());
+        assertEquals("inner", view.getString(DataQuery.of("nested", "inner", "name")).get());
+        final List<DataView> entries = view.getViewList(DataQuery.of("entries")).get();
+        assertEquals(3, entries.size());
+        assertEquals(2, entries.get(2).getInt(DataQuery.of("index")).get());
+        assertEquals(2, view.getStringList(DataQuery.of("names")).get().size());
+        // Reading every key fills in the whole tree
+        view.keys(true);
+
+        assertFalse(NBTTranslatorTest.isPending(view));
+        assertEquals(compound, NBTTranslator.INSTANCE.translate(view));
+    }
+
+    @Test
+    void nestedViewsAreFilledWhenReached() {
+        final CompoundTag compound = NBTTranslatorTest.createCompound();
+        final DataContainer view = NBTTranslator.INSTANCE.translate(compound);
+        final DataView nested = view.getView(DataQuery.of("nested")).get();
+
+        assertFalse(NBTTranslatorTest.isPending(view));
+        assertTrue(NBTTranslatorTest.isPending(nested));
+        assertEquals(Long.MAX_VALUE, nested.getLong(DataQuery.of("long")).get());
+        assertFalse(NBTTranslatorTest.isPending(nested));
+        assertTrue(NBTTranslatorTest.isPending(nested.getView(DataQuery.of("inner")).get()));
+    }
+
+    @Test
+    void mutatingBeforeInflation() {
+        final CompoundTag compound = NBTTranslatorTest.createCompound();
+        final CompoundTag original = compound.copy();
+        final DataContainer view = NBTTranslator.INSTANCE.translate(compound);
+
+        view.set(DataQuery.of("added"), 5);
+        view.remove(DataQuery.of("int"));
+
+        final CompoundTag result = NBTTranslator.INSTANCE.translate(view);
+        assertEquals(5, result.getInt("added"));
+        assertFalse(result.contains("int"));
+        assertEquals(original.get("nested"), result.get("nested"));
+        assertEquals(original, compound);
+    }
+
+    @Test
+    void mutatingAfterInflation() {
+        final CompoundTag compound = NBTTranslatorTest.createCompound();
+        final CompoundTag original = compound.copy();
+        final DataContainer view = NBTTranslator.INSTANCE.translate(compound);
+        view.keys(true);
+
+        view.set(DataQuery.of("nested", "inner", "name"), "changed");
+        view.remove(DataQuery.of("nested", "long"));
+
+        final CompoundTag result = NBTTranslator.INSTANCE.translate(view);
+        assertEquals("changed", result.getCompound("nested").getCompound("inner").getString("name"));
+        assertFalse(result.getCompound("nested").contains("long"));
+        assertEquals(original, compound);
+    }
+
+    @Test
+    void copiesAndSetViewsDoNotShareChanges() {
+        final CompoundTag compound = NBTTranslatorTest.createCompound();
+        final CompoundTag original = compound.copy();
+        final DataContainer view = NBTTranslator.INSTANCE.translate(compound);
+
+        final DataContainer copy = view.copy();
+        copy.set(DataQuery.of("nested", "long"), 0L);
+        final DataContainer parent = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        parent.set(DataQuery.of("child"), view);
+        parent.set(DataQuery.of("child", "int"), 7);
+
+        assertTrue(NBTTranslatorTest.isPending(view));
+        assertEquals(compound, NBTTranslator.INSTANCE.translate(view));
+        assertEquals(0L, NBTTranslator.INSTANCE.translate(copy).getCompound("nested").getLong("long"));
+        assertEquals(7, NBTTranslator.INSTANCE.translate(parent).getCompound("child").getInt("int"));
+        assertEquals(original, compound);
+    }
+
+    @Test
+    void ownedCompoundsAreNotCopied() {
+        final CompoundTag compound = NBTTranslatorTest.createCompound();
+        final CompoundTag original = compound.copy();
+        final DataContainer view = NBTTranslator.INSTANCE.translateOwned(compound);
+
+        assertSame(compound, ((MemoryDataView) view).pendingCompound().get());
+        view.set(DataQuery.of("nested", "long"), 0L);
+
+        assertEquals(0L, NBTTranslator.INSTANCE.translate(view).getCompound("nested").getLong("long"));
+        assertEquals(original, compound);
+    }
+
+    @Test
+    void addingToViewsLeavesTheCompoundUntouched() {
+        final CompoundTag compound = NBTTranslatorTest.createCompound();
+        final CompoundTag original = compound.copy();
+        final DataContainer view = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        NBTTranslator.INSTANCE.addTo(compound, view);
+
+        view.set(DataQuery.of("nested", "inner", "name"), "changed");
+        final List<DataView> entries = view.getViewList(DataQuery.of("entries")).get();
+        entries.get(0).set(DataQuery.of("index"), 10);
+
+        assertEquals("changed", NBTTranslator.INSTANCE.translate(view).getCompound("nested").getCompound("inner").getString("name"));
+        assertEquals(original, compound);
+    }
+
+}
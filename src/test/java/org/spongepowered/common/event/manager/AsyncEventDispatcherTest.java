@@ -0,0 +1,163 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncEventDispatcherTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    @SuppressWarnings("unchecked")
+    private final AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(this.executor, (event, plugin, listeners) -> {
+        for (final RegisteredListener<?> listener : listeners) {
+            try {
+                ((RegisteredListener<Event>) listener).handle(event);
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    });
+
+    @AfterEach
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private static RegisteredListener<Event> listener(final PluginContainer plugin, final Order order, final EventListener<Event> listener) {
+        return new RegisteredListener<>(plugin, new EventType<>(Event.class), order, listener, false);
+    }
+
+    private static RegisteredListener.Cache cache(final List<RegisteredListener<?>> listeners) {
+        final RegisteredListener.Cache cache = Mockito.mock(RegisteredListener.Cache.class);
+        for (final Order order : Order.values()) {
+            final List<RegisteredListener<?>> byOrder = new ArrayList<>();
+            for (final RegisteredListener<?> listener : listeners) {
+                if (listener.getOrder() == order) {
+                    byOrder.add(listener);
+                }
+            }
+            Mockito.when(cache.getListenersByOrder(order)).thenReturn(byOrder);
+        }
+        return cache;
+    }
+
+    @Test
+    public void slowPluginOnlyDelaysLaterOrders() throws Exception {
+        final PluginContainer slowPlugin = Mockito.mock(PluginContainer.class);
+        final PluginContainer otherPlugin = Mockito.mock(PluginContainer.class);
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final CountDownLatch releaseSlow = new CountDownLatch(1);
+        final CountDownLatch otherCalled = new CountDownLatch(1);
+        final CountDownLatch laterCalled = new CountDownLatch(1);
+
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        listeners.add(AsyncEventDispatcherTest.listener(slowPlugin, Order.DEFAULT, event -> {
+            slowStarted.countDown();
+            releaseSlow.await();
+        }));
+        listeners.add(AsyncEventDispatcherTest.listener(otherPlugin, Order.DEFAULT, event -> otherCalled.countDown()));
+        listeners.add(AsyncEventDispatcherTest.listener(otherPlugin, Order.LATE, event -> laterCalled.countDown()));
+
+        final CompletableFuture<Boolean> future = this.dispatcher.post(Mockito.mock(Event.class), AsyncEventDispatcherTest.cache(listeners));
+
+        Assertions.assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+        // The other plugin's listener in the same order is not held up by the blocked one
+        Assertions.assertTrue(otherCalled.await(5, TimeUnit.SECONDS));
+        // but the next order waits for every listener of the previous one
+        Assertions.assertFalse(laterCalled.await(200, TimeUnit.MILLISECONDS));
+        Assertions.assertFalse(future.isDone());
+
+        releaseSlow.countDown();
+        Assertions.assertTrue(laterCalled.await(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void listenersOfOnePluginRunInOrder() throws Exception {
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+        final List<Integer> called = new ArrayList<>();
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int index = i;
+            listeners.add(AsyncEventDispatcherTest.listener(plugin, Order.DEFAULT, event -> {
+                synchronized (called) {
+                    called.add(index);
+                }
+            }));
+        }
+
+        final RegisteredListener.Cache cache = AsyncEventDispatcherTest.cache(listeners);
+        final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(this.dispatcher.post(Mockito.mock(Event.class), cache));
+        }
+        for (final CompletableFuture<Boolean> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        // The lane of a plugin calls its listeners one after another, never concurrently
+        Assertions.assertEquals(100, called.size());
+        for (int i = 0; i < called.size(); i++) {
+            Assertions.assertEquals(i % 5, called.get(i));
+        }
+    }
+
+    @Test
+    public void postingDoesNotBlockTheCaller() throws Exception {
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread caller = Thread.currentThread();
+        final List<Thread> threads = new ArrayList<>();
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        listeners.add(AsyncEventDispatcherTest.listener(plugin, Order.FIRST, event -> {
+            synchronized (threads) {
+                threads.add(Thread.currentThread());
+            }
+            release.await();
+        }));
+
+        final CompletableFuture<Boolean> future = this.dispatcher.post(Mockito.mock(Event.class), AsyncEventDispatcherTest.cache(listeners));
+        Assertions.assertFalse(future.isDone());
+        release.countDown();
+        future.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(1, threads.size());
+        Assertions.assertNotSame(caller, threads.get(0));
+    }
+
+}
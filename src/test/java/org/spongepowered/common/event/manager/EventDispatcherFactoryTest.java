@@ -0,0 +1,73 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.common.test.UnitTestExtension;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@ExtendWith(UnitTestExtension.class)
+public class EventDispatcherFactoryTest {
+
+    private static final EventDispatcherFactory FACTORY = new EventDispatcherFactory("org.spongepowered.common.test.dispatcher");
+
+    @Test
+    public void compiledDispatcherInvokesListenerByIndex() throws Exception {
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+        final List<Integer> invoked = new ArrayList<>();
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int index = i;
+            listeners.add(new RegisteredListener<Event>(plugin, new EventType<>(Event.class), Order.DEFAULT, event -> invoked.add(index), false));
+        }
+
+        final EventDispatcher dispatcher = EventDispatcherFactoryTest.FACTORY.create(new EventType<>(Event.class), listeners);
+        Assertions.assertNotEquals(EventDispatcher.Looping.class, dispatcher.getClass());
+
+        final Event event = Mockito.mock(Event.class);
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            dispatcher.invoke(i, event);
+        }
+        dispatcher.invoke(listeners.size(), event);
+        Assertions.assertEquals(Arrays.asList(4, 3, 2, 1, 0), invoked);
+    }
+
+    @Test
+    public void emptyListenersUseLoopingDispatcher() {
+        final EventDispatcher dispatcher = EventDispatcherFactoryTest.FACTORY.create(new EventType<>(Event.class), new ArrayList<>());
+        Assertions.assertTrue(dispatcher.isEmpty());
+        Assertions.assertEquals(EventDispatcher.Looping.class, dispatcher.getClass());
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+class TickProfilerTest {
+
+    private static final ResourceLocation WORLD = new ResourceLocation("minecraft", "overworld");
+    private static final long SHORT = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long LONG = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final TickProfiler profiler = TickProfiler.INSTANCE;
+
+    @BeforeEach
+    void enable() {
+        this.profiler.reset();
+        this.profiler.enable(1);
+    }
+
+    @AfterEach
+    void disable() {
+        this.profiler.disable();
+        this.profiler.reset();
+    }
+
+    private static void spin(final long nanos) {
+        final long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            // Busy wait, sleeping may overshoot by far more than the measured times
+        }
+    }
+
+    private Map<Object, TickProfiler.Stats> types() {
+        final Map<Object, TickProfiler.Stats> types = new HashMap<>();
+        for (final Map.Entry<Object, TickProfiler.Stats> entry : this.profiler.topTypes(Integer.MAX_VALUE)) {
+            types.put(entry.getKey(), entry.getValue());
+        }
+        return types;
+    }
+
+    private Map<PluginContainer, Long> plugins() {
+        final Map<PluginContainer, Long> plugins = new HashMap<>();
+        for (final Object2LongMap.Entry<PluginContainer> entry : this.profiler.topPlugins(Integer.MAX_VALUE)) {
+            plugins.put(entry.getKey(), entry.getLongValue());
+        }
+        return plugins;
+    }
+
+    @Test
+    void nestedTicksOnlyCountSelfTime() {
+        final int outer = this.profiler.begin();
+        TickProfilerTest.spin(TickProfilerTest.SHORT);
+        final int inner = this.profiler.begin();
+        TickProfilerTest.spin(TickProfilerTest.LONG);
+        this.profiler.end(inner, "inner", TickProfilerTest.WORLD, 0, 0);
+        this.profiler.end(outer, "outer", TickProfilerTest.WORLD, 0, 0);
+
+        final Map<Object, TickProfiler.Stats> types = this.types();
+        assertEquals(1, types.get("inner").ticks());
+        assertEquals(1, types.get("outer").ticks());
+        assertTrue(types.get("inner").totalNanos() >= TickProfilerTest.LONG);
+        assertTrue(types.get("outer").totalNanos() >= TickProfilerTest.SHORT);
+        assertTrue(types.get("outer").totalNanos() < TickProfilerTest.LONG);
+        assertFalse(this.profiler.isRecording());
+    }
+
+    @Test
+    void sampledTicksAreScaledByTheInterval() {
+        this.profiler.enable(4);
+        int frame;
+        do {
+            frame = this.profiler.begin();
+        } while (frame < 0);
+        this.profiler.recordEvent();
+        final int nested = this.profiler.begin();
+        assertEquals(1, nested);
+        this.profiler.end(nested, "nested", TickProfilerTest.WORLD, 0, 0);
+        this.profiler.end(frame, "sampled", TickProfilerTest.WORLD, 0, 0);
+
+        final Map<Object, TickProfiler.Stats> types = this.types();
+        assertEquals(4, types.get("sampled").ticks());
+        assertEquals(4, types.get("sampled").events());
+        // Ticks nested in a sampled tick are always measured, with the weight of the sampled one
+        assertEquals(4, types.get("nested").ticks());
+    }
+
+    @Test
+    void nestedListenerRunsAreNotCountedTwice() {
+        final PluginContainer outerPlugin = Mockito.mock(PluginContainer.class);
+        final PluginContainer innerPlugin = Mockito.mock(PluginContainer.class);
+        final int frame = this.profiler.begin();
+        final int outer = this.profiler.beginPlugin();
+        TickProfilerTest.spin(TickProfilerTest.SHORT);
+        // A listener of the outer plugin posts an event the inner plugin listens to
+        final int inner = this.profiler.beginPlugin();
+        TickProfilerTest.spin(TickProfilerTest.LONG);
+        this.profiler.endPlugin(inner, innerPlugin);
+        this.profiler.endPlugin(outer, outerPlugin);
+        this.profiler.end(frame, "ticked", TickProfilerTest.WORLD, 0, 0);
+
+        final Map<PluginContainer, Long> plugins = this.plugins();
+        assertTrue(plugins.get(innerPlugin) >= TickProfilerTest.LONG);
+        assertTrue(plugins.get(outerPlugin) >= TickProfilerTest.SHORT);
+        assertTrue(plugins.get(outerPlugin) < TickProfilerTest.LONG);
+    }
+
+    @Test
+    void ticksCausedByListenersAreNotCountedForThePlugin() {
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+        final int frame = this.profiler.begin();
+        final int run = this.profiler.beginPlugin();
+        TickProfilerTest.spin(TickProfilerTest.SHORT);
+        final int nested = this.profiler.begin();
+        TickProfilerTest.spin(TickProfilerTest.LONG);
+        this.profiler.end(nested, "nested", TickProfilerTest.WORLD, 0, 0);
+        this.profiler.endPlugin(run, plugin);
+        this.profiler.end(frame, "ticked", TickProfilerTest.WORLD, 0, 0);
+
+        final long pluginNanos = this.plugins().get(plugin);
+        assertTrue(pluginNanos >= TickProfilerTest.SHORT);
+        assertTrue(pluginNanos < TickProfilerTest.LONG);
+        assertTrue(this.types().get("nested").totalNanos() >= TickProfilerTest.LONG);
+    }
+
+    @Test
+    void listenersOutsideOfTicksAreNotRecorded() {
+        assertEquals(-1, this.profiler.beginPlugin());
+    }
+
+}
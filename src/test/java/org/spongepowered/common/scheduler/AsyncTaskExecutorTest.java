@@ -0,0 +1,123 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.common.applaunch.config.common.SchedulerCategory;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class AsyncTaskExecutorTest {
+
+    private static AsyncTaskExecutor createExecutor(final int concurrency, final int maxPending) {
+        final SchedulerCategory config = new SchedulerCategory();
+        config.asyncPerPluginConcurrency = concurrency;
+        config.asyncPerPluginMaxPending = maxPending;
+        return new AsyncTaskExecutor(config);
+    }
+
+    @Test
+    void tasksPastTheMaxPendingAreRejected() throws InterruptedException {
+        final AsyncTaskExecutor executor = AsyncTaskExecutorTest.createExecutor(1, 2);
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class, Mockito.RETURNS_DEEP_STUBS);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        final AtomicReference<RejectedExecutionException> rejection = new AtomicReference<>();
+        try {
+            executor.execute(plugin, () -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ignored) {
+                }
+                done.countDown();
+            }, rejection::set);
+            executor.execute(plugin, done::countDown, rejection::set);
+            assertNull(rejection.get());
+            assertEquals(1, executor.queueDepths().get(plugin));
+
+            executor.execute(plugin, done::countDown, rejection::set);
+            assertNotNull(rejection.get());
+
+            release.countDown();
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void otherPluginsAreNotRejected() throws InterruptedException {
+        final AsyncTaskExecutor executor = AsyncTaskExecutorTest.createExecutor(1, 1);
+        final PluginContainer flooding = Mockito.mock(PluginContainer.class, Mockito.RETURNS_DEEP_STUBS);
+        final PluginContainer other = Mockito.mock(PluginContainer.class, Mockito.RETURNS_DEEP_STUBS);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicInteger rejections = new AtomicInteger();
+        try {
+            executor.execute(flooding, () -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ignored) {
+                }
+            }, e -> rejections.incrementAndGet());
+            for (int i = 0; i < 100; i++) {
+                executor.execute(flooding, () -> {}, e -> rejections.incrementAndGet());
+            }
+            executor.execute(other, done::countDown, e -> rejections.incrementAndGet());
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(100, rejections.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void tasksRejectedByTheExecutorAreHandedBack() throws InterruptedException {
+        final AsyncTaskExecutor executor = AsyncTaskExecutorTest.createExecutor(0, 0);
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class, Mockito.RETURNS_DEEP_STUBS);
+        final AtomicReference<RejectedExecutionException> rejection = new AtomicReference<>();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        executor.execute(plugin, () -> {}, rejection::set);
+
+        assertNotNull(rejection.get());
+        assertEquals(0, executor.activeTasks().get(plugin));
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TaskQueueTest {
+
+    private static SpongeScheduler createScheduler() {
+        return new SpongeScheduler("test") {
+        };
+    }
+
+    private static SpongeScheduledTask addTask(final SpongeScheduler scheduler) {
+        final SpongeTask task = new SpongeTask(null, scheduled -> {}, 0L, 0L, false, false, false);
+        final SpongeScheduledTask scheduledTask = new SpongeScheduledTask(scheduler, task, "test");
+        scheduler.addTask(scheduledTask);
+        return scheduledTask;
+    }
+
+    @Test
+    void pollingCancelledTasksForgetsThem() {
+        final SpongeScheduler scheduler = TaskQueueTest.createScheduler();
+        final TaskQueue queue = scheduler.queue(false);
+        for (int i = 0; i < 1000; i++) {
+            final SpongeScheduledTask task = TaskQueueTest.addTask(scheduler);
+            task.cancel();
+            assertEquals(1, queue.cancelledCount());
+            assertSame(task, queue.pollDue(Long.MAX_VALUE));
+            assertEquals(0, queue.cancelledCount());
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void cancellingPolledOrCancelledTasksIsNotCounted() {
+        final SpongeScheduler scheduler = TaskQueueTest.createScheduler();
+        final TaskQueue queue = scheduler.queue(false);
+        final SpongeScheduledTask polled = TaskQueueTest.addTask(scheduler);
+        assertSame(polled, queue.pollDue(Long.MAX_VALUE));
+        polled.cancel();
+        assertEquals(0, queue.cancelledCount());
+
+        final SpongeScheduledTask queued = TaskQueueTest.addTask(scheduler);
+        queued.cancel();
+        queued.cancel();
+        assertEquals(1, queue.cancelledCount());
+        assertSame(queued, queue.pollDue(Long.MAX_VALUE));
+        assertEquals(0, queue.cancelledCount());
+        assertNull(queue.pollDue(Long.MAX_VALUE));
+    }
+
+    @Test
+    void purgeRemovesCancelledTasks() {
+        final SpongeScheduler scheduler = TaskQueueTest.createScheduler();
+        final TaskQueue queue = scheduler.queue(false);
+        final List<SpongeScheduledTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(TaskQueueTest.addTask(scheduler));
+        }
+        // The 101st cancellation exceeds half of the queue and purges it
+        for (int i = 0; i < 101; i++) {
+            tasks.get(i).cancel();
+        }
+        assertEquals(99, queue.size());
+        assertEquals(0, queue.cancelledCount());
+        tasks.get(150).cancel();
+        assertEquals(1, queue.cancelledCount());
+        int polled = 0;
+        while (queue.pollDue(Long.MAX_VALUE) != null) {
+            polled++;
+        }
+        assertEquals(99, polled);
+        assertEquals(0, queue.cancelledCount());
+    }
+
+}
@@ -110,4 +110,34 @@ public void testCreateFromValues() throws Exception {
         Assertions.assertEquals(Tristate.FALSE, nodes.get("generate.thunderstorm.explosive"));
         Assertions.assertEquals(Tristate.UNDEFINED, nodes.get("random.perm"));
     }
+
+    @Test
+    public void testIgnoresCase() throws Exception {
+        final Map<String, Boolean> testPermissions = new HashMap<>();
+        testPermissions.put("Generate.Rainbow", true);
+        testPermissions.put("generate.sunset", false);
+
+        final NodeTree nodes = NodeTreeTest.FACTORY.ofBooleans(testPermissions, Tristate.UNDEFINED);
+
+        Assertions.assertEquals(Tristate.TRUE, nodes.get("generate.rainbow"));
+        Assertions.assertEquals(Tristate.TRUE, nodes.get("GENERATE.RAINBOW.double"));
+        Assertions.assertEquals(Tristate.FALSE, nodes.get("generate.Sunset"));
+        Assertions.assertEquals(Tristate.UNDEFINED, nodes.get("generate"));
+    }
+
+    @Test
+    public void testManyNodes() throws Exception {
+        final Map<String, Boolean> testPermissions = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            testPermissions.put("plugin" + (i % 50) + ".node" + i + ".sub" + (i % 7), i % 3 == 0);
+        }
+
+        final NodeTree nodes = NodeTreeTest.FACTORY.ofBooleans(testPermissions, Tristate.UNDEFINED);
+
+        for (final Map.Entry<String, Boolean> entry : testPermissions.entrySet()) {
+            Assertions.assertEquals(Tristate.fromBoolean(entry.getValue()), nodes.get(entry.getKey()));
+        }
+        Assertions.assertEquals(testPermissions, nodes.asMap());
+        Assertions.assertEquals(Tristate.UNDEFINED, nodes.get("plugin1.unknown"));
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.server.permission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.Cause;
+import org.spongepowered.api.service.permission.NodeTree;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.service.permission.SubjectReference;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.test.stub.StubModule;
+
+import java.util.concurrent.CompletableFuture;
+
+class ResolvedPermissionsTest {
+
+    @SuppressWarnings("unused")
+    static class DummyInjectable {
+        @Inject Game game;
+    }
+
+    @BeforeAll
+    static void setup() {
+        Guice.createInjector(new StubModule()).injectMembers(new DummyInjectable());
+        Sponge.game().factoryProvider().registerFactory(NodeTree.Factory.class, new SpongeNodeTree.FactoryImpl());
+    }
+
+    private static SpongeSubject createSubject(final SpongeSubject... parents) {
+        final SpongeSubject subject = Mockito.mock(SpongeSubject.class, Mockito.CALLS_REAL_METHODS);
+        final MemorySubjectData data = new MemorySubjectData(subject);
+        Mockito.doReturn(data).when(subject).subjectData();
+        for (final SpongeSubject parent : parents) {
+            final SubjectReference reference = Mockito.mock(SubjectReference.class);
+            Mockito.doReturn(CompletableFuture.completedFuture(parent)).when(reference).resolve();
+            data.addParent(SubjectData.GLOBAL_CONTEXT, reference);
+        }
+        return subject;
+    }
+
+    private static MemorySubjectData.ResolvedPermissions resolved(final SpongeSubject subject) {
+        return subject.subjectData().resolvedPermissions();
+    }
+
+    @Test
+    void valuesAreInheritedAndCached() {
+        final SpongeSubject group = ResolvedPermissionsTest.createSubject();
+        final SpongeSubject child = ResolvedPermissionsTest.createSubject(group);
+        group.subjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test", Tristate.TRUE);
+
+        assertEquals(Tristate.TRUE, child.permissionValue("sponge.test", (Cause) null));
+        final MemorySubjectData.ResolvedPermissions resolved = ResolvedPermissionsTest.resolved(child);
+        assertEquals(Tristate.TRUE, resolved.inheritedValues.getIfPresent("sponge.test"));
+        assertEquals(Tristate.TRUE, child.permissionValue("sponge.test", (Cause) null));
+        assertSame(resolved, ResolvedPermissionsTest.resolved(child));
+    }
+
+    @Test
+    void parentChangesInvalidateChildren() {
+        final SpongeSubject root = ResolvedPermissionsTest.createSubject();
+        final SpongeSubject group = ResolvedPermissionsTest.createSubject(root);
+        final SpongeSubject child = ResolvedPermissionsTest.createSubject(group);
+        root.subjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, child.permissionValue("sponge.test", (Cause) null));
+        final MemorySubjectData.ResolvedPermissions resolved = ResolvedPermissionsTest.resolved(child);
+
+        root.subjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test", Tristate.FALSE);
+
+        assertNotSame(resolved, ResolvedPermissionsTest.resolved(child));
+        assertEquals(Tristate.FALSE, child.permissionValue("sponge.test", (Cause) null));
+    }
+
+    @Test
+    void unrelatedChangesKeepValuesCached() {
+        final SpongeSubject group = ResolvedPermissionsTest.createSubject();
+        final SpongeSubject child = ResolvedPermissionsTest.createSubject(group);
+        final SpongeSubject other = ResolvedPermissionsTest.createSubject(group);
+        final SpongeSubject unrelated = ResolvedPermissionsTest.createSubject();
+        group.subjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, child.permissionValue("sponge.test", (Cause) null));
+        final MemorySubjectData.ResolvedPermissions childResolved = ResolvedPermissionsTest.resolved(child);
+        final MemorySubjectData.ResolvedPermissions groupResolved = ResolvedPermissionsTest.resolved(group);
+
+        other.subjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.other", Tristate.TRUE);
+        unrelated.subjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test", Tristate.FALSE);
+
+        assertSame(childResolved, ResolvedPermissionsTest.resolved(child));
+        assertSame(groupResolved, ResolvedPermissionsTest.resolved(group));
+        assertEquals(Tristate.TRUE, childResolved.inheritedValues.getIfPresent("sponge.test"));
+    }
+
+    @Test
+    void childChangesDoNotInvalidateParents() {
+        final SpongeSubject group = ResolvedPermissionsTest.createSubject();
+        final SpongeSubject child = ResolvedPermissionsTest.createSubject(group);
+        group.subjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, child.permissionValue("sponge.test", (Cause) null));
+        final MemorySubjectData.ResolvedPermissions groupResolved = ResolvedPermissionsTest.resolved(group);
+
+        child.subjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test", Tristate.FALSE);
+
+        assertEquals(Tristate.FALSE, child.permissionValue("sponge.test", (Cause) null));
+        assertSame(groupResolved, ResolvedPermissionsTest.resolved(group));
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.math.vector.Vector3d;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class BlockStepperTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private static BlockStepper stepper(final Vector3d start, final Vector3d end) {
+        final Vector3d offset = end.sub(start);
+        final double length = offset.length();
+        final Vector3d direction = offset.div(length);
+        return new BlockStepper(start.x(), start.y(), start.z(), direction.x(), direction.y(), direction.z(), length);
+    }
+
+    private static List<Vector3i> blocks(final Vector3d start, final Vector3d end) {
+        final BlockStepper stepper = BlockStepperTest.stepper(start, end);
+        final List<Vector3i> blocks = new ArrayList<>();
+        while (true) {
+            blocks.add(new Vector3i(stepper.x(), stepper.y(), stepper.z()));
+            if (stepper.isLast()) {
+                return blocks;
+            }
+            stepper.advance();
+        }
+    }
+
+    @Test
+    void stepsAlongPositiveAxis() {
+        assertEquals(Arrays.asList(new Vector3i(0, 0, 0), new Vector3i(1, 0, 0), new Vector3i(2, 0, 0), new Vector3i(3, 0, 0)),
+                BlockStepperTest.blocks(new Vector3d(0.5, 0.5, 0.5), new Vector3d(3.5, 0.5, 0.5)));
+        assertEquals(Arrays.asList(new Vector3i(4, 7, -3), new Vector3i(4, 8, -3), new Vector3i(4, 9, -3)),
+                BlockStepperTest.blocks(new Vector3d(4.25, 7.5, -2.75), new Vector3d(4.25, 9.5, -2.75)));
+    }
+
+    @Test
+    void stepsAlongNegativeAxis() {
+        assertEquals(Arrays.asList(new Vector3i(0, 0, 0), new Vector3i(0, 0, -1), new Vector3i(0, 0, -2)),
+                BlockStepperTest.blocks(new Vector3d(0.5, 0.5, 0.5), new Vector3d(0.5, 0.5, -1.5)));
+        assertEquals(Arrays.asList(new Vector3i(-5, 64, 10), new Vector3i(-6, 64, 10)),
+                BlockStepperTest.blocks(new Vector3d(-4.5, 64.5, 10.5), new Vector3d(-5.5, 64.5, 10.5)));
+    }
+
+    @Test
+    void tracksEnterAndExitDistances() {
+        final BlockStepper stepper = BlockStepperTest.stepper(new Vector3d(0.25, 0.5, 0.5), new Vector3d(2.5, 0.5, 0.5));
+        assertEquals(0, stepper.enter(), BlockStepperTest.EPSILON);
+        assertEquals(0.75, stepper.exit(), BlockStepperTest.EPSILON);
+        stepper.advance();
+        assertEquals(0.75, stepper.enter(), BlockStepperTest.EPSILON);
+        assertEquals(1.75, stepper.exit(), BlockStepperTest.EPSILON);
+        stepper.advance();
+        assertTrue(stepper.isLast());
+        // The ray ends within the last block
+        assertEquals(1.75, stepper.enter(), BlockStepperTest.EPSILON);
+        assertEquals(2.25, stepper.exit(), BlockStepperTest.EPSILON);
+    }
+
+    @Test
+    void startsOnBoundaryInTheBlockAhead() {
+        // Travelling forwards from a boundary starts in the block in front of it
+        assertEquals(Arrays.asList(new Vector3i(1, 0, 0), new Vector3i(2, 0, 0)),
+                BlockStepperTest.blocks(new Vector3d(1, 0.5, 0.5), new Vector3d(2.5, 0.5, 0.5)));
+        // and travelling backwards in the block behind it, on every axis and not only at zero
+        assertEquals(Arrays.asList(new Vector3i(0, 0, 2), new Vector3i(-1, 0, 2)),
+                BlockStepperTest.blocks(new Vector3d(1, 0.5, 2), new Vector3d(-0.5, 0.5, 2)));
+        assertEquals(Arrays.asList(new Vector3i(0, 4, 0), new Vector3i(0, 3, 0)),
+                BlockStepperTest.blocks(new Vector3d(0.5, 5, 0.5), new Vector3d(0.5, 3.5, 0.5)));
+        assertEquals(Arrays.asList(new Vector3i(0, 0, 2), new Vector3i(0, 0, 1)),
+                BlockStepperTest.blocks(new Vector3d(0.5, 0.5, 3), new Vector3d(0.5, 0.5, 1.5)));
+        assertEquals(Arrays.asList(new Vector3i(0, 0, -1), new Vector3i(0, 0, -2)),
+                BlockStepperTest.blocks(new Vector3d(0.5, 0.5, 0), new Vector3d(0.5, 0.5, -1.5)));
+    }
+
+    @Test
+    void stepsEachAxisInItsOwnDirection() {
+        // Z must step with its own sign rather than that of x
+        assertEquals(Arrays.asList(new Vector3i(0, 0, 0), new Vector3i(0, 0, -1), new Vector3i(1, 0, -1), new Vector3i(2, 0, -1)),
+                BlockStepperTest.blocks(new Vector3d(0.5, 0.5, 0.2), new Vector3d(2.5, 0.5, -0.8)));
+        assertEquals(Arrays.asList(new Vector3i(0, 0, 0), new Vector3i(-1, 0, 0), new Vector3i(-1, 0, 1)),
+                BlockStepperTest.blocks(new Vector3d(0.25, 0.5, 0.25), new Vector3d(-0.25, 0.5, 1.25)));
+    }
+
+    @Test
+    void stepsDiagonallyThroughCorners() {
+        // Crossing an edge steps both axes at once rather than visiting either neighbour
+        assertEquals(Arrays.asList(new Vector3i(0, 0, 0), new Vector3i(1, 0, -1), new Vector3i(2, 0, -2)),
+                BlockStepperTest.blocks(new Vector3d(0.5, 0.5, 0.5), new Vector3d(2.25, 0.5, -1.25)));
+    }
+
+    @Test
+    void neverStepsAlongAxesWithoutDirection() {
+        final BlockStepper stepper = BlockStepperTest.stepper(new Vector3d(0.5, 0.5, 0.5), new Vector3d(0.5, 0.5, 30.5));
+        for (int i = 0; i < 30; i++) {
+            assertEquals(0, stepper.x());
+            assertEquals(0, stepper.y());
+            assertEquals(i, stepper.z());
+            stepper.advance();
+        }
+        assertTrue(stepper.isLast());
+    }
+
+    @Test
+    void initialBlockAndFirstBoundary() {
+        assertEquals(-1, BlockStepper.initialBlock(-0.5, 1));
+        assertEquals(-1, BlockStepper.initialBlock(0, -1));
+        assertEquals(0, BlockStepper.initialBlock(0, 1));
+        assertEquals(3, BlockStepper.initialBlock(3, 0));
+        assertEquals(0.5, BlockStepper.firstBoundary(2.5, 1, 2), BlockStepperTest.EPSILON);
+        assertEquals(1.0, BlockStepper.firstBoundary(2.5, -0.5, 2), BlockStepperTest.EPSILON);
+        assertEquals(2.0, BlockStepper.firstBoundary(3, -0.5, 2), BlockStepperTest.EPSILON);
+        assertEquals(Double.POSITIVE_INFINITY, BlockStepper.firstBoundary(2.5, 0, 2));
+    }
+
+}
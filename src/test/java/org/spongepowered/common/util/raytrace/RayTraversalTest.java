@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.world.server.ServerWorld;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.util.Arrays;
+
+class RayTraversalTest {
+
+    private static final double EPSILON = 1e-9;
+    private static final double DIAGONAL = Math.sqrt(0.5);
+    private static final AABB BOX = new AABB(2, 0, 0, 3, 1, 1);
+
+    @BeforeAll
+    static void bootstrap() {
+        Bootstrap.bootStrap();
+    }
+
+    private static net.minecraft.world.entity.Entity entity(final AABB bounds) {
+        final net.minecraft.world.entity.Entity entity = Mockito.mock(net.minecraft.world.entity.Entity.class,
+                Mockito.withSettings().extraInterfaces(Entity.class));
+        Mockito.when(entity.getBoundingBox()).thenReturn(bounds);
+        return entity;
+    }
+
+    @Test
+    void clipsAxisAlignedRays() {
+        assertEquals(1.5, RayTraversal.clip(RayTraversalTest.BOX, 0.5, 0.5, 0.5, 1, 0, 0, 10), RayTraversalTest.EPSILON);
+        assertEquals(2.5, RayTraversal.clip(RayTraversalTest.BOX, 5.5, 0.5, 0.5, -1, 0, 0, 10), RayTraversalTest.EPSILON);
+        assertEquals(0.5, RayTraversal.clip(RayTraversalTest.BOX, 2.5, 1.5, 0.5, 0, -1, 0, 10), RayTraversalTest.EPSILON);
+        assertEquals(1.0, RayTraversal.clip(RayTraversalTest.BOX, 2.5, 0.5, -1, 0, 0, 1, 10), RayTraversalTest.EPSILON);
+    }
+
+    @Test
+    void clipsDiagonalRays() {
+        final AABB box = new AABB(1, 0, 1, 2, 1, 2);
+        assertEquals(Math.sqrt(2), RayTraversal.clip(box, 0, 0.5, 0, RayTraversalTest.DIAGONAL, 0, RayTraversalTest.DIAGONAL, 10),
+                RayTraversalTest.EPSILON);
+        assertEquals(Math.sqrt(2), RayTraversal.clip(box, 3, 0.5, 3, -RayTraversalTest.DIAGONAL, 0, -RayTraversalTest.DIAGONAL, 10),
+                RayTraversalTest.EPSILON);
+        // Passes by the corner of the box
+        assertEquals(Double.POSITIVE_INFINITY,
+                RayTraversal.clip(box, 0, 0.5, 2.5, RayTraversalTest.DIAGONAL, 0, RayTraversalTest.DIAGONAL, 10));
+    }
+
+    @Test
+    void missesBoxesOutOfReach() {
+        // Parallel to the box, beside it and along its face
+        assertEquals(Double.POSITIVE_INFINITY, RayTraversal.clip(RayTraversalTest.BOX, 0.5, 1.5, 0.5, 1, 0, 0, 10));
+        assertEquals(Double.POSITIVE_INFINITY, RayTraversal.clip(RayTraversalTest.BOX, 0.5, 1, 0.5, 1, 0, 0, 10));
+        // Pointing away from the box
+        assertEquals(Double.POSITIVE_INFINITY, RayTraversal.clip(RayTraversalTest.BOX, 0.5, 0.5, 0.5, -1, 0, 0, 10));
+        // Ending before the box
+        assertEquals(Double.POSITIVE_INFINITY, RayTraversal.clip(RayTraversalTest.BOX, 0.5, 0.5, 0.5, 1, 0, 0, 1));
+        // Starting inside of the box, or on its face
+        assertEquals(Double.POSITIVE_INFINITY, RayTraversal.clip(RayTraversalTest.BOX, 2.5, 0.5, 0.5, 1, 0, 0, 10));
+        assertEquals(Double.POSITIVE_INFINITY, RayTraversal.clip(RayTraversalTest.BOX, 2, 0.5, 0.5, 1, 0, 0, 10));
+    }
+
+    @Test
+    void gathersEntitiesOnceForEveryRay() {
+        final net.minecraft.world.entity.Entity selectable = RayTraversalTest.entity(new AABB(3, 0, 0, 4, 1, 1));
+        final net.minecraft.world.entity.Entity failing = RayTraversalTest.entity(new AABB(6, 0, 0, 7, 1, 1));
+        final net.minecraft.world.entity.Entity ignored = RayTraversalTest.entity(new AABB(1, 0, 0, 2, 1, 1));
+        final Level level = Mockito.mock(Level.class, Mockito.withSettings().extraInterfaces(ServerWorld.class));
+        Mockito.when(level.getEntities(ArgumentMatchers.isNull(), ArgumentMatchers.any(AABB.class), ArgumentMatchers.any()))
+                .thenReturn(Arrays.asList(selectable, failing, ignored));
+
+        final RayTraversal traversal = new RayTraversal((ServerWorld) level);
+        traversal.gatherEntities(new AABB(0, 0, 0, 10, 1, 1), entity -> entity == selectable, entity -> entity != failing);
+
+        traversal.beginRay(0.5, 0.5, 0.5, 1, 0, 0, 9);
+        assertSame(selectable, traversal.selectedEntity());
+        assertEquals(2.5, traversal.selectedHit(), RayTraversalTest.EPSILON);
+        assertEquals(5.5, traversal.failingHit(), RayTraversalTest.EPSILON);
+        assertEquals(new Vector3d(3, 0.5, 0.5), traversal.pointAt(2.5));
+
+        // The opposite ray reuses the gathered entities
+        traversal.beginRay(9.5, 0.5, 0.5, -1, 0, 0, 9);
+        assertSame(selectable, traversal.selectedEntity());
+        assertEquals(5.5, traversal.selectedHit(), RayTraversalTest.EPSILON);
+        assertEquals(2.5, traversal.failingHit(), RayTraversalTest.EPSILON);
+
+        // A ray that ends before reaching either
+        traversal.beginRay(0.5, 0.5, 0.5, 1, 0, 0, 2);
+        assertNull(traversal.selectedEntity());
+        assertEquals(Double.POSITIVE_INFINITY, traversal.selectedHit());
+        assertEquals(Double.POSITIVE_INFINITY, traversal.failingHit());
+        Mockito.verify(level, Mockito.times(1)).getEntities(ArgumentMatchers.isNull(), ArgumentMatchers.any(AABB.class),
+                ArgumentMatchers.any());
+    }
+
+    @Test
+    void gatheringReplacesPreviousEntities() {
+        final net.minecraft.world.entity.Entity first = RayTraversalTest.entity(new AABB(3, 0, 0, 4, 1, 1));
+        final net.minecraft.world.entity.Entity second = RayTraversalTest.entity(new AABB(5, 0, 0, 6, 1, 1));
+        final Level level = Mockito.mock(Level.class, Mockito.withSettings().extraInterfaces(ServerWorld.class));
+        Mockito.when(level.getEntities(ArgumentMatchers.isNull(), ArgumentMatchers.any(AABB.class), ArgumentMatchers.any()))
+                .thenReturn(Arrays.asList(first), Arrays.asList(second));
+
+        final RayTraversal traversal = new RayTraversal((ServerWorld) level);
+        traversal.gatherEntities(new AABB(0, 0, 0, 10, 1, 1), entity -> true, null);
+        traversal.gatherEntities(new AABB(0, 0, 0, 10, 1, 1), entity -> true, null);
+        traversal.beginRay(0.5, 0.5, 0.5, 1, 0, 0, 9);
+        assertSame(second, traversal.selectedEntity());
+        assertEquals(4.5, traversal.selectedHit(), RayTraversalTest.EPSILON);
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.Arrays;
+
+class SchematicIdCodecTest {
+
+    private static final Vector3i SIZE = new Vector3i(7, 5, 6);
+    // Deliberately not the origin, the encoder looks ids up in volume coordinates
+    private static final Vector3i MIN = new Vector3i(-3, 10, 4);
+
+    private static int id(final int x, final int y, final int z) {
+        // Spans one to three varint bytes
+        return (x * 4099 + y * 257 + z * 31) % 20000;
+    }
+
+    private static byte[] encode() {
+        final SchematicIdEncoder encoder = new SchematicIdEncoder(SchematicIdCodecTest.MIN, SchematicIdCodecTest.SIZE,
+            (x, y, z) -> SchematicIdCodecTest.id(x - SchematicIdCodecTest.MIN.x(), y - SchematicIdCodecTest.MIN.y(),
+                z - SchematicIdCodecTest.MIN.z()));
+        final byte[] encoded = encoder.encode();
+        assertEquals(encoder.encodedLength(), encoded.length);
+        return encoded;
+    }
+
+    private static BlockBackingData decodeBlocks(final byte[] encoded, final SchematicIdDecoder.Window window) {
+        final SchematicIdDecoder.BlockIds ids = new SchematicIdDecoder.BlockIds(window.volume(), 1);
+        final SchematicIdDecoder decoder = new SchematicIdDecoder(SchematicIdCodecTest.SIZE, window, ids);
+        decoder.decode(encoded);
+        decoder.finish();
+        return ids.data();
+    }
+
+    private static void assertWindow(final BlockBackingData data, final SchematicIdDecoder.Window window) {
+        for (int x = window.min.x(); x <= window.max.x(); x++) {
+            for (int y = window.min.y(); y <= window.max.y(); y++) {
+                for (int z = window.min.z(); z <= window.max.z(); z++) {
+                    assertEquals(SchematicIdCodecTest.id(x, y, z), data.get(window.index(x, y, z)), "Id at " + x + ", " + y + ", " + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    void roundTripsWholeVolume() {
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(SchematicIdCodecTest.SIZE, null, null);
+        assertEquals(SchematicIdCodecTest.SIZE, window.size);
+        final BlockBackingData data = SchematicIdCodecTest.decodeBlocks(SchematicIdCodecTest.encode(), window);
+        SchematicIdCodecTest.assertWindow(data, window);
+    }
+
+    @Test
+    void roundTripsWindow() {
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(SchematicIdCodecTest.SIZE,
+            new Vector3i(2, 1, 3), new Vector3i(5, 3, 4));
+        assertEquals(new Vector3i(4, 3, 2), window.size);
+        assertEquals(24, window.volume());
+        final BlockBackingData data = SchematicIdCodecTest.decodeBlocks(SchematicIdCodecTest.encode(), window);
+        SchematicIdCodecTest.assertWindow(data, window);
+    }
+
+    @Test
+    void clampsWindowToSchematic() {
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(SchematicIdCodecTest.SIZE,
+            new Vector3i(-10, 2, -1), new Vector3i(3, 100, 100));
+        assertEquals(new Vector3i(0, 2, 0), window.min);
+        assertEquals(new Vector3i(3, 4, 5), window.max);
+        final BlockBackingData data = SchematicIdCodecTest.decodeBlocks(SchematicIdCodecTest.encode(), window);
+        SchematicIdCodecTest.assertWindow(data, window);
+
+        assertThrows(IllegalArgumentException.class, () -> SchematicIdDecoder.Window.of(SchematicIdCodecTest.SIZE,
+            new Vector3i(10, 0, 0), null));
+    }
+
+    @Test
+    void decodesInChunks() {
+        final byte[] encoded = SchematicIdCodecTest.encode();
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(SchematicIdCodecTest.SIZE, null, null);
+        final SchematicIdDecoder.BlockIds ids = new SchematicIdDecoder.BlockIds(window.volume(), 1);
+        final SchematicIdDecoder decoder = new SchematicIdDecoder(SchematicIdCodecTest.SIZE, window, ids);
+        // Splits varints across calls
+        for (int offset = 0; offset < encoded.length; offset += 3) {
+            decoder.decode(encoded, offset, Math.min(3, encoded.length - offset));
+        }
+        decoder.finish();
+        SchematicIdCodecTest.assertWindow(ids.data(), window);
+    }
+
+    @Test
+    void roundTripsBiomes() {
+        final Vector3i size = new Vector3i(3, 2, 4);
+        final byte[] expected = new byte[size.x() * size.y() * size.z()];
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(size, null, null);
+        for (int x = 0; x < size.x(); x++) {
+            for (int y = 0; y < size.y(); y++) {
+                for (int z = 0; z < size.z(); z++) {
+                    expected[window.index(x, y, z)] = (byte) (x + y * 3 + z * 7);
+                }
+            }
+        }
+        final byte[] encoded = new SchematicIdEncoder(Vector3i.ZERO, size, (x, y, z) -> expected[window.index(x, y, z)]).encode();
+        final SchematicIdDecoder.BiomeIds ids = new SchematicIdDecoder.BiomeIds(window.volume());
+        final SchematicIdDecoder decoder = new SchematicIdDecoder(size, window, ids);
+        decoder.decode(encoded);
+        decoder.finish();
+        assertArrayEquals(expected, ids.data());
+    }
+
+    @Test
+    void rejectsMalformedData() {
+        final byte[] encoded = SchematicIdCodecTest.encode();
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(SchematicIdCodecTest.SIZE, null, null);
+
+        final SchematicIdDecoder truncated = new SchematicIdDecoder(SchematicIdCodecTest.SIZE, window,
+            new SchematicIdDecoder.BlockIds(window.volume(), 1));
+        // The last id of the volume takes more than one byte
+        truncated.decode(encoded, 0, encoded.length - 1);
+        assertThrows(InvalidDataException.class, truncated::finish);
+
+        final SchematicIdDecoder overlong = new SchematicIdDecoder(SchematicIdCodecTest.SIZE, window,
+            new SchematicIdDecoder.BlockIds(window.volume(), 1));
+        final byte[] twice = Arrays.copyOf(encoded, encoded.length * 2);
+        System.arraycopy(encoded, 0, twice, encoded.length, encoded.length);
+        assertThrows(InvalidDataException.class, () -> overlong.decode(twice));
+    }
+
+    @Test
+    void growsPackedDataKeepingValues() {
+        final BlockBackingData.PackedBackingData data = new BlockBackingData.PackedBackingData(100, 3);
+        for (int i = 0; i < 100; i++) {
+            data.set(i, i % 4);
+        }
+        final BlockBackingData.PackedBackingData same = data.grow(3);
+        assertTrue(same == data);
+        final BlockBackingData.PackedBackingData grown = data.grow(5000);
+        assertTrue(grown.getMax() >= 5000);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 4, grown.get(i));
+        }
+        grown.set(99, 5000);
+        assertEquals(5000, grown.get(99));
+        assertEquals(2, grown.get(98));
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.NbtIo;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+class SchematicStreamsTest {
+
+    // Large enough for the encoded block data to span more than one read chunk
+    private static final Vector3i SIZE = new Vector3i(40, 8, 37);
+    private static final DataQuery BLOCK_DATA = Constants.Sponge.Schematic.SCHEMATIC
+        .then(Constants.Sponge.Schematic.BLOCK_CONTAINER).then(Constants.Sponge.Schematic.BLOCK_DATA);
+    private static final DataQuery BIOME_DATA = Constants.Sponge.Schematic.SCHEMATIC
+        .then(Constants.Sponge.Schematic.BIOME_CONTAINER).then(Constants.Sponge.Schematic.BIOME_DATA);
+
+    @TempDir
+    Path directory;
+
+    private static int blockId(final int x, final int y, final int z) {
+        // Spans one and two varint bytes, beyond the three entries of the palette
+        return (x * 31 + y * 7 + z * 13) % 300;
+    }
+
+    private static int biomeId(final int x, final int y, final int z) {
+        return (x + z) % 5;
+    }
+
+    private static SchematicIdEncoder blockEncoder() {
+        return new SchematicIdEncoder(Vector3i.ZERO, SchematicStreamsTest.SIZE, SchematicStreamsTest::blockId);
+    }
+
+    private static SchematicIdEncoder biomeEncoder() {
+        return new SchematicIdEncoder(Vector3i.ZERO, SchematicStreamsTest.SIZE, SchematicStreamsTest::biomeId);
+    }
+
+    private Path writeSchematic() throws IOException {
+        final CompoundTag palette = new CompoundTag();
+        palette.putInt("minecraft:air", 0);
+        palette.putInt("minecraft:stone", 1);
+        palette.putInt("minecraft:dirt", 2);
+        final CompoundTag blocks = new CompoundTag();
+        blocks.put("Palette", palette);
+        final CompoundTag biomes = new CompoundTag();
+        biomes.put("Palette", new CompoundTag());
+        final CompoundTag schematic = new CompoundTag();
+        schematic.putInt("Version", Constants.Sponge.Schematic.CURRENT_VERSION);
+        schematic.putShort("Width", (short) SchematicStreamsTest.SIZE.x());
+        schematic.putShort("Height", (short) SchematicStreamsTest.SIZE.y());
+        schematic.putShort("Length", (short) SchematicStreamsTest.SIZE.z());
+        schematic.put("Blocks", blocks);
+        schematic.put("Biomes", biomes);
+        final CompoundTag root = new CompoundTag();
+        root.put("Schematic", schematic);
+
+        final Map<DataQuery, SchematicIdEncoder> deferredData = new HashMap<>();
+        deferredData.put(SchematicStreamsTest.BLOCK_DATA, SchematicStreamsTest.blockEncoder());
+        deferredData.put(SchematicStreamsTest.BIOME_DATA, SchematicStreamsTest.biomeEncoder());
+        final Path file = this.directory.resolve("test.schem");
+        try (final OutputStream output = Files.newOutputStream(file)) {
+            SchematicStreams.write(root, deferredData, output);
+        }
+        return file;
+    }
+
+    private static void assertBlocks(final @Nullable BlockBackingData blocks,
+        final SchematicIdDecoder.Window window) {
+        assertNotNull(blocks);
+        for (int x = window.min.x(); x <= window.max.x(); x++) {
+            for (int y = window.min.y(); y <= window.max.y(); y++) {
+                for (int z = window.min.z(); z <= window.max.z(); z++) {
+                    assertEquals(SchematicStreamsTest.blockId(x, y, z), blocks.get(window.index(x, y, z)),
+                        "Block at " + x + ", " + y + ", " + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    void writesStandardNbt() throws IOException {
+        final Path file = this.writeSchematic();
+        final CompoundTag root;
+        try (final InputStream input = Files.newInputStream(file)) {
+            root = NbtIo.readCompressed(input);
+        }
+        final CompoundTag schematic = root.getCompound("Schematic");
+        assertEquals(SchematicStreamsTest.SIZE.x(), schematic.getShort("Width"));
+        assertEquals(3, schematic.getCompound("Blocks").getCompound("Palette").size());
+        assertArrayEquals(SchematicStreamsTest.blockEncoder().encode(), schematic.getCompound("Blocks").getByteArray("Data"));
+        assertArrayEquals(SchematicStreamsTest.biomeEncoder().encode(), schematic.getCompound("Biomes").getByteArray("Data"));
+    }
+
+    @Test
+    void decodesDataWhileReading() throws IOException {
+        final Path file = this.writeSchematic();
+        final SchematicStreams.Reader reader = new SchematicStreams.Reader(null, null);
+        final CompoundTag root;
+        try (final InputStream input = Files.newInputStream(file)) {
+            root = reader.read(input);
+        }
+        // The data arrays are decoded instead of kept, everything else is read as usual
+        final CompoundTag schematic = root.getCompound("Schematic");
+        assertFalse(schematic.getCompound("Blocks").contains("Data"));
+        assertFalse(schematic.getCompound("Biomes").contains("Data"));
+        assertEquals(3, schematic.getCompound("Blocks").getCompound("Palette").size());
+        assertEquals(SchematicStreamsTest.SIZE.z(), schematic.getShort("Length"));
+
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(SchematicStreamsTest.SIZE, null, null);
+        SchematicStreamsTest.assertBlocks(reader.blocks, window);
+        assertNotNull(reader.biomes);
+        assertEquals(window.volume(), reader.biomes.length);
+        for (int x = 0; x < SchematicStreamsTest.SIZE.x(); x++) {
+            for (int y = 0; y < SchematicStreamsTest.SIZE.y(); y++) {
+                for (int z = 0; z < SchematicStreamsTest.SIZE.z(); z++) {
+                    assertEquals(SchematicStreamsTest.biomeId(x, y, z), reader.biomes[window.index(x, y, z)]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void decodesWindowWhileReading() throws IOException {
+        final Path file = this.writeSchematic();
+        final Vector3i min = new Vector3i(5, 1, 30);
+        final Vector3i max = new Vector3i(20, 2, 50);
+        final SchematicStreams.Reader reader = new SchematicStreams.Reader(min, max);
+        try (final InputStream input = Files.newInputStream(file)) {
+            reader.read(input);
+        }
+        final SchematicIdDecoder.Window window = SchematicIdDecoder.Window.of(SchematicStreamsTest.SIZE, min, max);
+        assertEquals(new Vector3i(16, 2, 7), window.size);
+        SchematicStreamsTest.assertBlocks(reader.blocks, window);
+        assertNotNull(reader.biomes);
+        assertEquals(window.volume(), reader.biomes.length);
+    }
+
+    @Test
+    void keepsDataPrecedingTheDimensions() throws IOException {
+        final byte[] encoded = SchematicStreamsTest.blockEncoder().encode();
+        final Path file = this.directory.resolve("unordered.schem");
+        try (final DataOutputStream output = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(file)))) {
+            output.writeByte(Constants.NBT.TAG_COMPOUND);
+            output.writeUTF("");
+            output.writeByte(Constants.NBT.TAG_COMPOUND);
+            output.writeUTF("Schematic");
+            output.writeByte(Constants.NBT.TAG_COMPOUND);
+            output.writeUTF("Blocks");
+            output.writeByte(Constants.NBT.TAG_BYTE_ARRAY);
+            output.writeUTF("Data");
+            new ByteArrayTag(encoded).write(output);
+            output.writeByte(Constants.NBT.TAG_END);
+            output.writeByte(Constants.NBT.TAG_INT);
+            output.writeUTF("Version");
+            IntTag.valueOf(Constants.Sponge.Schematic.CURRENT_VERSION).write(output);
+            output.writeByte(Constants.NBT.TAG_SHORT);
+            output.writeUTF("Width");
+            output.writeShort(SchematicStreamsTest.SIZE.x());
+            output.writeByte(Constants.NBT.TAG_SHORT);
+            output.writeUTF("Height");
+            output.writeShort(SchematicStreamsTest.SIZE.y());
+            output.writeByte(Constants.NBT.TAG_SHORT);
+            output.writeUTF("Length");
+            output.writeShort(SchematicStreamsTest.SIZE.z());
+            output.writeByte(Constants.NBT.TAG_END);
+            output.writeByte(Constants.NBT.TAG_END);
+        }
+
+        final SchematicStreams.Reader reader = new SchematicStreams.Reader(null, null);
+        final CompoundTag root;
+        try (final InputStream input = Files.newInputStream(file)) {
+            root = reader.read(input);
+        }
+        // Left for the translator to decode from memory
+        assertNull(reader.blocks);
+        final CompoundTag blocks = root.getCompound("Schematic").getCompound("Blocks");
+        assertTrue(blocks.contains("Data"));
+        assertArrayEquals(encoded, blocks.getByteArray("Data"));
+    }
+
+}
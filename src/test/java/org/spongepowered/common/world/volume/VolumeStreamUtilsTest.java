@@ -0,0 +1,73 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.volume;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.world.volume.stream.StreamOptions;
+import org.spongepowered.common.world.volume.stream.SpongeStreamOptions;
+import org.spongepowered.common.world.volume.stream.SpongeStreamOptionsBuilder;
+
+class VolumeStreamUtilsTest {
+
+    private static StreamOptions options(final boolean parallel) {
+        final SpongeStreamOptionsBuilder builder = new SpongeStreamOptionsBuilder();
+        builder.setParallel(parallel);
+        return builder.build();
+    }
+
+    @Test
+    void parallelIsOffByDefault() {
+        final SpongeStreamOptions options = (SpongeStreamOptions) new SpongeStreamOptionsBuilder().build();
+
+        assertFalse(options.parallel());
+        assertFalse(VolumeStreamUtils.readsInParallel(options, true));
+    }
+
+    @Test
+    void parallelFlagIsKeptAndReset() {
+        final SpongeStreamOptionsBuilder builder = new SpongeStreamOptionsBuilder();
+        builder.setParallel(true);
+        final StreamOptions parallel = builder.build();
+        builder.reset();
+
+        assertTrue(((SpongeStreamOptions) parallel).parallel());
+        assertFalse(((SpongeStreamOptions) builder.build()).parallel());
+        assertNotEquals(VolumeStreamUtilsTest.options(false), parallel);
+        assertEquals(VolumeStreamUtilsTest.options(true), parallel);
+    }
+
+    @Test
+    void parallelReadsOnlyOnTheServerThread() {
+        assertTrue(VolumeStreamUtils.readsInParallel(VolumeStreamUtilsTest.options(true), true));
+        assertFalse(VolumeStreamUtils.readsInParallel(VolumeStreamUtilsTest.options(true), false));
+        assertFalse(VolumeStreamUtils.readsInParallel(VolumeStreamUtilsTest.options(false), false));
+    }
+
+}